@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class decodes and scales the ingredient images in the background when the program starts, so that the
+ * main window can come up right away and the customize window opens with the images already in the cache.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class AssetPreloader{
+
+    private ImageCache imageCache;           // Adds the cache that the images are loaded into
+    private CompletableFuture<Void> ready;   // Adds the signal that all the images are loaded
+
+    /**
+     * Constructs the preloader for the given image cache.
+     *
+     * @param imageCache The cache that the images are loaded into.
+     * @param AssetPreloader The constructor of the preloader.
+     */
+
+    public AssetPreloader( ImageCache imageCache ){
+
+        this.imageCache = imageCache;
+        this.ready = new CompletableFuture<>();
+
+    }
+
+    /**
+     * Starts loading the images of the given ingredients in parallel. The number of threads is bounded by the number
+     * of processors so that the decoding does not starve the event dispatch thread. It returns right away.
+     *
+     * @param ingredients The ingredients whose images are to be loaded.
+     * @param width The width of the scaled images.
+     * @param height The height of the scaled images.
+     * @param start Method to start the preloading.
+     * @return the signal that completes when all the images are loaded
+     */
+
+    public CompletableFuture<Void> start( List<Ingredient> ingredients, int width, int height ){
+
+        int threads = Math.max( 1, Math.min( ingredients.size(), Runtime.getRuntime().availableProcessors() ) );
+        AtomicInteger threadCount = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads, runnable -> {
+
+            Thread thread = new Thread( runnable, "asset-preloader-" + threadCount.incrementAndGet() );
+            thread.setDaemon( true );
+            thread.setPriority( Thread.NORM_PRIORITY - 1 );
+
+            return thread;
+
+        } );
+
+        List< CompletableFuture<Void> > loads = new ArrayList<>();
+
+        for( Ingredient ingredient : new ArrayList<>( ingredients ) ){
+
+            String imagePath = ingredient.getImagePath();
+            loads.add( CompletableFuture.runAsync( () -> imageCache.getIcon( imagePath, width, height ), executor ) );
+
+        }
+
+        CompletableFuture.allOf( loads.toArray( new CompletableFuture<?>[0] ) ).whenComplete( ( result, error ) -> {
+
+            executor.shutdown();
+
+            if( error != null ){
+
+                ready.completeExceptionally( error );
+
+            }
+
+            else{
+
+                ready.complete( null );
+
+            }
+
+        } );
+
+        return ready;
+
+    }
+
+    /**
+     * Gets the signal that completes when all the images are loaded.
+     *
+     * @return the readiness signal
+     */
+
+    public CompletableFuture<Void> whenReady(){
+
+        return ready;
+
+    }
+
+    /**
+     * Checks if all the images are loaded.
+     *
+     * @return True if the images are loaded. If not, then False.
+     */
+
+    public boolean isReady(){
+
+        return ready.isDone();
+
+    }
+
+}
@@ -0,0 +1,634 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class is the cash drawer of the vending machine: how many of every coin and bill are in it. The change of an
+ * order is made from what is actually in the drawer, with the fewest pieces, and an order whose change cannot be made
+ * is refused before anything is taken.
+ *
+ * The fewest pieces for every amount of change, up to MAX_CHANGE, are kept in tables, one per denomination, from the
+ * largest bill down to the smallest coin: the table of a denomination holds the fewest pieces for every amount using
+ * that denomination and the ones before it, as many of each as the drawer has. Those denominations can only make
+ * multiples of their greatest common divisor, so a table only keeps those amounts: every hundred pesos down to the
+ * hundred peso bill, every ten pesos down to the ten peso coin and every five pesos with the five peso coin. The
+ * smallest coin has no table of its own, which would have a thousand amounts; the coins it takes are found when change
+ * is needed, by trying every count of them that leaves a multiple of five pesos for the table before. When the count
+ * of a denomination changes only its table and the ones after it are out of date, and they are filled in again the
+ * next time change is needed, in time proportional to the size of the tables. A count that is already more than an
+ * amount of change could ever use, like a second thousand peso bill, does not change the tables at all. Making change
+ * then only reads the tables, takes microseconds and creates nothing.
+ *
+ * Cash that is put in and change that is put back never wait for each other, only making change does.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class CashDrawer{
+
+    public static final long MAX_CHANGE = Money.pesos( 1000 ); // The most change the drawer gives for one order
+
+    private static final long[] DENOMINATIONS = { 100_000, 50_000, 20_000, 10_000, 5_000, 2_000, 1_000, 500, 100 }; // In centavos, largest first
+    private static final int[] FLOAT = { 0, 0, 0, 10, 10, 20, 20, 20, 50 }; // The pieces the drawer is filled with for change
+    private static final long UNIT = Money.CENTAVOS_PER_PESO; // The smallest coin, every amount is counted in these
+    private static final int MAX_UNITS = ( int ) ( MAX_CHANGE / UNIT );
+    private static final short INFINITE = Short.MAX_VALUE;  // The pieces of an amount that cannot be made
+    private static final int UP_TO_DATE = DENOMINATIONS.length;
+    private static final int LAST = DENOMINATIONS.length - 1; // The smallest coin, which has no table
+    private static final int[] SCALE = scales(); // The units every amount of a table is a multiple of, by denomination
+
+    private AtomicLongArray counts;     // Adds the pieces of every denomination in the drawer
+    private AtomicInteger outOfDate;    // Adds the first table that is out of date, or UP_TO_DATE
+    private int[] usable;               // Adds the pieces of every denomination the tables were filled with, capped
+    private short[][] fewestPieces;     // Adds the tables, by denomination but the last and then by amount in its scale, or null until change is first needed
+    private short[] spread;             // Adds the table before the one being filled in, spread over the amounts of that one
+    private int[] window;               // Adds the queue of the sliding minimum that fills a table in
+
+    /**
+     * Constructs a drawer that is filled with the float, the coins and small bills the machine starts with for change.
+     *
+     * @param CashDrawer The constructor of the drawer.
+     */
+
+    public CashDrawer(){
+
+        counts = new AtomicLongArray( DENOMINATIONS.length );
+        outOfDate = new AtomicInteger( 0 );
+        usable = new int[ DENOMINATIONS.length ];
+
+        for( int i = 0; i < FLOAT.length; i++ ){
+
+            counts.set( i, FLOAT[ i ] );
+
+        }
+
+    }
+
+    /**
+     * Gets the number of denominations the drawer takes.
+     *
+     * @param getDenominationCount The method to get the number of denominations.
+     * @return the number of denominations
+     */
+
+    public int getDenominationCount(){
+
+        return DENOMINATIONS.length;
+
+    }
+
+    /**
+     * Gets the value of a denomination. The denominations go from the largest bill to the smallest coin.
+     *
+     * @param index The index of the denomination.
+     * @param getDenomination The method to get the value of a denomination.
+     * @return the value in centavos
+     */
+
+    public long getDenomination( int index ){
+
+        return DENOMINATIONS[ index ];
+
+    }
+
+    /**
+     * Gets the number of pieces of a denomination in the drawer.
+     *
+     * @param index The index of the denomination.
+     * @param getCount The method to get the pieces of a denomination.
+     * @return the number of pieces
+     */
+
+    public long getCount( int index ){
+
+        return counts.get( index );
+
+    }
+
+    /**
+     * Gets the value of everything in the drawer.
+     *
+     * @param getTotal The method to get the value of the drawer.
+     * @return the value in centavos
+     */
+
+    public long getTotal(){
+
+        long total = 0;
+
+        for( int i = 0; i < DENOMINATIONS.length; i++ ){
+
+            total += DENOMINATIONS[ i ] * counts.get( i );
+
+        }
+
+        return total;
+
+    }
+
+    /**
+     * Gets the value of the float the drawer is filled with for change.
+     *
+     * @param getFloat The method to get the value of the float.
+     * @return the value in centavos
+     */
+
+    public long getFloat(){
+
+        long total = 0;
+
+        for( int i = 0; i < DENOMINATIONS.length; i++ ){
+
+            total += DENOMINATIONS[ i ] * FLOAT[ i ];
+
+        }
+
+        return total;
+
+    }
+
+    /**
+     * Checks if an amount can be put in with the coins and bills the machine takes.
+     *
+     * @param amount The amount, in centavos.
+     * @param isPayable The method to check an amount.
+     * @return True if it is a whole number of the smallest coin. If not, then False.
+     */
+
+    public boolean isPayable( long amount ){
+
+        return amount >= 0 && amount % UNIT == 0;
+
+    }
+
+    /**
+     * Puts pieces of a denomination into the drawer, like the cash of a paid order or a refill by the admin. A
+     * negative number takes pieces out, like a recovery that sets the drawer back to what the journal says.
+     *
+     * @param index The index of the denomination.
+     * @param pieces The number of pieces.
+     * @param deposit The method to put pieces in.
+     */
+
+    public void deposit( int index, long pieces ){
+
+        long before = counts.getAndAdd( index, pieces );
+
+        if( Math.min( before, before + pieces ) < cap( index ) ){
+
+            markOutOfDate( index );
+
+        }
+
+    }
+
+    /**
+     * Finds the change with the fewest pieces for the given amount from what is in the drawer, without taking it.
+     *
+     * @param amount The change, in centavos.
+     * @param pieces Gets the pieces of every denomination, by index, it has at least getDenominationCount entries.
+     * @param findChange The method to find the change.
+     * @return true if the change can be made, false if not, then the pieces are left as they are
+     */
+
+    public synchronized boolean findChange( long amount, int[] pieces ){
+
+        if( amount < 0 || amount > MAX_CHANGE || amount % UNIT != 0 ){
+
+            return false;
+
+        }
+
+        update();
+
+        int units = ( int ) ( amount / UNIT );
+        int coins = smallestCoins( units );
+
+        if( coins < 0 ){
+
+            return false;
+
+        }
+
+        pieces[ LAST ] = coins;
+        units -= coins * units( LAST );
+
+        // Goes back to the largest bill, taking as many of every denomination as the tables say were used.
+        for( int i = LAST - 1; i >= 0; i-- ){
+
+            int step = units( i );
+            int target = fewest( i, units );
+            int most = Math.min( usable[ i ], units / step );
+            int taken = 0;
+
+            while( taken < most && fewest( i - 1, units - taken * step ) + taken != target ){
+
+                taken++;
+
+            }
+
+            pieces[ i ] = taken;
+            units -= taken * step;
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Takes the cash of an order: works out the coins and bills it was put in with, and sets the change aside from
+     * the drawer. The cash stays apart from the drawer until the payment is committed, so an order that is given up
+     * hands back the very cash that was put in.
+     *
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param totalCost The total cost of the order, in centavos.
+     * @param takePayment The method to take the cash of an order.
+     * @return the payment, or null if the cash cannot be put in or the change cannot be made
+     * @throws IllegalArgumentException if the cash is less than the total cost.
+     */
+
+    public CashPayment takePayment( long cashTendered, long totalCost ){
+
+        if( cashTendered < totalCost ){
+
+            throw new IllegalArgumentException( "The cash is less than the total cost" );
+
+        }
+
+        if( !isPayable( cashTendered ) ){
+
+            return null;
+
+        }
+
+        // The payment keeps the change until it is committed or rolled back, so it needs pieces of its own.
+        int[] change = new int[ DENOMINATIONS.length ];
+
+        if( cashTendered > totalCost && !takeChange( cashTendered - totalCost, change ) ){
+
+            return null;
+
+        }
+
+        return new CashPayment( this, cashTendered, totalCost, change );
+
+    }
+
+    /**
+     * Takes everything above the float out of the drawer and fills it up to the float again, like the admin does
+     * when the money is collected.
+     *
+     * @param resetToFloat The method to take the money out of the drawer.
+     * @return the value taken out, in centavos, less what was put in to fill the float
+     */
+
+    public long resetToFloat(){
+
+        return resetToFloat( new long[ DENOMINATIONS.length ] );
+
+    }
+
+    /**
+     * Takes everything above the float out of the drawer and fills it up to the float again, and tells how many pieces
+     * of every denomination were taken out, so the reset can be written to the journal.
+     *
+     * @param taken Gets the pieces taken out of every denomination, by index, negative where the float was filled up.
+     * @param resetToFloat The method to take the money out of the drawer.
+     * @return the value taken out, in centavos, less what was put in to fill the float
+     */
+
+    public synchronized long resetToFloat( long[] taken ){
+
+        long value = 0;
+
+        for( int i = 0; i < DENOMINATIONS.length; i++ ){
+
+            taken[ i ] = counts.getAndSet( i, FLOAT[ i ] ) - FLOAT[ i ];
+            value += taken[ i ] * DENOMINATIONS[ i ];
+
+        }
+
+        outOfDate.set( 0 );
+
+        return value;
+
+    }
+
+    /**
+     * Gets the pieces of a denomination an amount is put in with. The denominations go up in steps that make the
+     * largest first always the fewest pieces, so every larger denomination takes all it can first.
+     */
+
+    static int tenderedPieces( long amount, int index ){
+
+        long left = amount;
+
+        for( int i = 0; i < index; i++ ){
+
+            left %= DENOMINATIONS[ i ];
+
+        }
+
+        return ( int ) ( left / DENOMINATIONS[ index ] );
+
+    }
+
+    /**
+     * Finds the change and takes it out of the drawer in one step, so two orders never count on the same coins.
+     */
+
+    private synchronized boolean takeChange( long amount, int[] pieces ){
+
+        if( !findChange( amount, pieces ) ){
+
+            return false;
+
+        }
+
+        for( int i = 0; i < pieces.length; i++ ){
+
+            if( pieces[ i ] > 0 && counts.addAndGet( i, -pieces[ i ] ) < cap( i ) ){
+
+                markOutOfDate( i );
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Fills in the tables that are out of date. The counts are read after the mark is cleared, so a deposit that is
+     * missed here marks the tables again.
+     */
+
+    private void update(){
+
+        if( fewestPieces == null ){
+
+            // A drawer that is only ever paid the exact amount never needs the tables, which matters in a big fleet.
+            fewestPieces = new short[ LAST ][];
+            spread = new short[ MAX_UNITS / SCALE[ LAST - 1 ] + 1 ];
+            window = new int[ spread.length ];
+
+            for( int i = 0; i < LAST; i++ ){
+
+                fewestPieces[ i ] = new short[ MAX_UNITS / SCALE[ i ] + 1 ];
+
+            }
+
+            outOfDate.set( 0 );
+
+        }
+
+        int first = outOfDate.getAndSet( UP_TO_DATE );
+
+        for( int i = first; i < DENOMINATIONS.length; i++ ){
+
+            usable[ i ] = ( int ) Math.min( counts.get( i ), cap( i ) );
+
+            if( i < LAST ){
+
+                fill( i );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Fills in the table of a denomination from the one before it. The fewest pieces for an amount is the least, over
+     * taking 0 up to all the usable pieces, of the fewest pieces for what is left plus the pieces taken. Going over
+     * the amounts that are the same modulo the denomination, the least is a sliding minimum, so every amount takes
+     * constant time. A denomination the drawer has none of changes nothing, and one it has enough of for any amount
+     * only needs the piece before, so both skip the sliding minimum.
+     */
+
+    private void fill( int index ){
+
+        short[] table = fewestPieces[ index ];
+        short[] before = spreadBefore( index );
+        int step = units( index ) / SCALE[ index ];
+        int most = usable[ index ];
+        int size = table.length;
+
+        if( most == 0 ){
+
+            System.arraycopy( before, 0, table, 0, size );
+            return;
+
+        }
+
+        if( most >= cap( index ) ){
+
+            System.arraycopy( before, 0, table, 0, Math.min( step, size ) );
+
+            for( int amount = step; amount < size; amount++ ){
+
+                table[ amount ] = ( short ) Math.min( before[ amount ], table[ amount - step ] + 1 );
+
+            }
+
+            return;
+
+        }
+
+        for( int start = 0; start < step && start < size; start++ ){
+
+            int head = 0;
+            int tail = 0;
+
+            for( int k = 0, amount = start; amount < size; k++, amount += step ){
+
+                if( before[ amount ] < INFINITE ){
+
+                    int value = before[ amount ] - k;
+
+                    while( tail > head && before[ start + window[ tail - 1 ] * step ] - window[ tail - 1 ] >= value ){
+
+                        tail--;
+
+                    }
+
+                    window[ tail++ ] = k;
+
+                }
+
+                while( tail > head && window[ head ] < k - most ){
+
+                    head++;
+
+                }
+
+                table[ amount ] = ( tail > head ) ? ( short ) ( before[ start + window[ head ] * step ] - window[ head ] + k ) : INFINITE;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the table before the one of a denomination over the amounts of that one. When both have the same scale it
+     * is the table itself, otherwise the amounts in between cannot be made.
+     */
+
+    private short[] spreadBefore( int index ){
+
+        int size = fewestPieces[ index ].length;
+
+        if( index > 0 && SCALE[ index - 1 ] == SCALE[ index ] ){
+
+            return fewestPieces[ index - 1 ];
+
+        }
+
+        Arrays.fill( spread, 0, size, INFINITE );
+
+        if( index == 0 ){
+
+            spread[ 0 ] = 0;
+            return spread;
+
+        }
+
+        short[] before = fewestPieces[ index - 1 ];
+        int ratio = SCALE[ index - 1 ] / SCALE[ index ];
+
+        for( int amount = 0; amount < before.length; amount++ ){
+
+            spread[ amount * ratio ] = before[ amount ];
+
+        }
+
+        return spread;
+
+    }
+
+    /**
+     * Finds the number of smallest coins in the change with the fewest pieces. Only the counts that leave a multiple
+     * of the scale of the table before can be part of it, so at most a few dozen are tried.
+     */
+
+    private int smallestCoins( int units ){
+
+        short[] before = fewestPieces[ LAST - 1 ];
+        int step = units( LAST );
+        int scale = SCALE[ LAST - 1 ];
+        int most = Math.min( usable[ LAST ], units / step );
+        int best = INFINITE;
+        int bestCoins = -1;
+        int coins = 0;
+
+        while( coins <= most && ( units - coins * step ) % scale != 0 ){
+
+            coins++;
+
+        }
+
+        for( ; coins <= most; coins += scale / SCALE[ LAST ] ){
+
+            int rest = before[ ( units - coins * step ) / scale ];
+
+            if( rest < INFINITE && rest + coins < best ){
+
+                best = rest + coins;
+                bestCoins = coins;
+
+            }
+
+        }
+
+        return bestCoins;
+
+    }
+
+    /**
+     * Gets the fewest pieces for an amount, in units, using the denominations up to the given one, -1 for none. It
+     * is only used for the denominations that have a table.
+     */
+
+    private short fewest( int index, int units ){
+
+        if( index < 0 ){
+
+            return ( units == 0 ) ? 0 : INFINITE;
+
+        }
+
+        return ( units % SCALE[ index ] == 0 ) ? fewestPieces[ index ][ units / SCALE[ index ] ] : INFINITE;
+
+    }
+
+    /**
+     * Marks the table of a denomination, and the ones after it, as out of date.
+     */
+
+    private void markOutOfDate( int index ){
+
+        int first;
+
+        while( ( first = outOfDate.get() ) > index && !outOfDate.compareAndSet( first, index ) ){
+
+        }
+
+    }
+
+    /**
+     * Gets the value of a denomination in units of the smallest coin.
+     */
+
+    private static int units( int index ){
+
+        return ( int ) ( DENOMINATIONS[ index ] / UNIT );
+
+    }
+
+    /**
+     * Gets the greatest common divisor of every denomination up to each one, in units.
+     */
+
+    private static int[] scales(){
+
+        int[] scales = new int[ DENOMINATIONS.length ];
+        int divisor = 0;
+
+        for( int i = 0; i < DENOMINATIONS.length; i++ ){
+
+            int a = divisor;
+            int b = units( i );
+
+            while( b != 0 ){
+
+                int rest = a % b;
+                a = b;
+                b = rest;
+
+            }
+
+            divisor = a;
+            scales[ i ] = divisor;
+
+        }
+
+        return scales;
+
+    }
+
+    /**
+     * Gets the most pieces of a denomination any amount of change could use; more than that make no difference.
+     */
+
+    private static long cap( int index ){
+
+        return MAX_UNITS / units( index );
+
+    }
+
+}
@@ -0,0 +1,186 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class holds the cash of one order while the order is on its way. The change was already taken out of the
+ * CashDrawer when the payment was made, and the cash that was put in is kept apart, so the order can either commit
+ * the payment once it is dispensed, which puts the cash in the drawer, or roll it back, which puts the change back in
+ * the drawer and hands the cash back. Only the pieces of the change are kept; the pieces the cash was put in with
+ * follow from its amount.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class CashPayment{
+
+    private static final int PENDING = 0;      // The payment is still open
+    private static final int COMMITTED = 1;    // The cash went into the drawer and the change was handed out
+    private static final int ROLLED_BACK = 2;  // The change went back into the drawer and the cash was handed back
+
+    private CashDrawer drawer;      // Adds the drawer the change was taken from
+    private long cashTendered;      // Adds the cash the customer put in, in centavos
+    private long totalCost;         // Adds the total cost of the order, in centavos
+    private int[] change;           // Adds the pieces of the change, by denomination
+    private AtomicInteger state;    // Adds the state of the payment
+
+    /**
+     * Constructs a payment whose change was already taken out of the drawer. It is only called by the CashDrawer.
+     *
+     * @param drawer The drawer the change was taken from.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param totalCost The total cost of the order, in centavos.
+     * @param change The pieces of the change, by denomination.
+     * @param CashPayment The constructor of the payment.
+     */
+
+    CashPayment( CashDrawer drawer, long cashTendered, long totalCost, int[] change ){
+
+        this.drawer = drawer;
+        this.cashTendered = cashTendered;
+        this.totalCost = totalCost;
+        this.change = change;
+        this.state = new AtomicInteger( PENDING );
+
+    }
+
+    /**
+     * Gets the cash the customer put in.
+     *
+     * @param getCashTendered The method to get the cash.
+     * @return the cash in centavos
+     */
+
+    public long getCashTendered(){
+
+        return cashTendered;
+
+    }
+
+    /**
+     * Gets the change of the order.
+     *
+     * @param getChange The method to get the change.
+     * @return the change in centavos
+     */
+
+    public long getChange(){
+
+        return cashTendered - totalCost;
+
+    }
+
+    /**
+     * Gets the pieces of a denomination in the change.
+     *
+     * @param index The index of the denomination in the drawer.
+     * @param getChangePieces The method to get the pieces of the change.
+     * @return the number of pieces
+     */
+
+    public int getChangePieces( int index ){
+
+        return change[ index ];
+
+    }
+
+    /**
+     * Gets the pieces of a denomination the cash was put in with.
+     *
+     * @param index The index of the denomination in the drawer.
+     * @param getTenderedPieces The method to get the pieces of the cash.
+     * @return the number of pieces
+     */
+
+    public int getTenderedPieces( int index ){
+
+        return CashDrawer.tenderedPieces( cashTendered, index );
+
+    }
+
+    /**
+     * Commits the payment: the cash goes into the drawer and the change is handed out.
+     *
+     * @param commit The method to commit the payment.
+     * @return True if the payment was committed now. If it was already committed or rolled back, then False.
+     */
+
+    public boolean commit(){
+
+        if( !state.compareAndSet( PENDING, COMMITTED ) ){
+
+            return false;
+
+        }
+
+        for( int i = 0; i < change.length; i++ ){
+
+            int pieces = getTenderedPieces( i );
+
+            if( pieces > 0 ){
+
+                drawer.deposit( i, pieces );
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Rolls the payment back: the change goes back into the drawer and the cash is handed back.
+     *
+     * @param rollback The method to roll back the payment.
+     * @return True if the payment was rolled back now. If it was already committed or rolled back, then False.
+     */
+
+    public boolean rollback(){
+
+        if( !state.compareAndSet( PENDING, ROLLED_BACK ) ){
+
+            return false;
+
+        }
+
+        for( int i = 0; i < change.length; i++ ){
+
+            if( change[ i ] > 0 ){
+
+                drawer.deposit( i, change[ i ] );
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Describes the change for the customer, like "1 x 50.00, 2 x 10.00".
+     *
+     * @return the description, or "none" if there is no change
+     */
+
+    @Override
+    public String toString(){
+
+        StringBuilder text = new StringBuilder();
+
+        for( int i = 0; i < change.length; i++ ){
+
+            if( change[ i ] > 0 ){
+
+                text.append( ( text.length() == 0 ) ? "" : ", " ).append( change[ i ] ).append( " x " ).append( Money.format( drawer.getDenomination( i ) ) );
+
+            }
+
+        }
+
+        return ( text.length() == 0 ) ? "none" : text.toString();
+
+    }
+
+}
@@ -0,0 +1,461 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class reads and writes the catalog of ingredients: their names, calories, prices, images, preparation steps,
+ * capacities and low-water marks.
+ * The catalog comes in two forms:
+ *
+ * The text form is the one people edit. Every line is one ingredient, with its fields split by "|", and the order of
+ * the lines is the usual order of preparation. Blank lines and lines that start with "#" are skipped. A field cannot
+ * hold a "|", and the preparation step can be left empty. The capacity and the low-water mark can be left off
+ * together, then the ingredient holds Ingredient.DEFAULT_CAPACITY.
+ *
+ *   # name | calories | price in pesos | image | preparation step | capacity | low-water mark
+ *   Noodles | 300 | 20.00 | ramen.jpg | Blanching noodles... | 400 | 60
+ *
+ * The compiled form is the same catalog in a compact binary file that is memory mapped, so a catalog of thousands of
+ * ingredients is read without parsing any text. It starts with a header, then one record of fixed size for every
+ * ingredient, then the strings the records point to:
+ *
+ *   header   magic, version, count, offset of the strings                     4 ints
+ *   record   price in centavos, calories, capacity, low-water mark, name,   1 long, 6 ints
+ *            image, preparation step
+ *   strings  the length in bytes and the UTF-8 bytes of every string           1 int, the bytes
+ *
+ * A string field is the offset of the string from the start of the strings, or -1 if there is none. The numbers are
+ * big endian.
+ *
+ * The program reads catalog.bin when it is at least as new as catalog.txt, and otherwise reads catalog.txt and
+ * compiles it to catalog.bin for the next start. A catalog can also be compiled by hand:
+ *
+ *   java CatalogFile catalog.txt catalog.bin
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public final class CatalogFile{
+
+    public static final String TEXT_NAME = "catalog.txt";    // The name of the text catalog, in the working folder and on the classpath
+    public static final String BINARY_NAME = "catalog.bin";  // The name of the compiled catalog, in the working folder
+
+    private static final int MAGIC = 0x52434154;             // "RCAT", the start of every compiled catalog
+    private static final int VERSION = 2;                    // The version of the compiled form, version 1 had no capacities
+    private static final int HEADER_BYTES = 16;              // The size of the header
+    private static final int RECORD_BYTES = 32;              // The size of the record of one ingredient
+    private static final int FIELDS = 7;                     // The number of fields on a line of the text form
+    private static final int SHORT_FIELDS = 5;               // The number of fields on a line without a capacity
+
+    /**
+     * There are no CatalogFile objects.
+     */
+
+    private CatalogFile(){
+
+    }
+
+    /**
+     * Compiles a text catalog into a binary one.
+     *
+     * @param args The text catalog and the binary catalog to write.
+     * @param main Method to compile a catalog.
+     * @throws IOException if the text catalog cannot be read or the binary one cannot be written.
+     */
+
+    public static void main( String[] args ) throws IOException{
+
+        if( args.length != 2 ){
+
+            System.err.println( "Usage: java CatalogFile <catalog.txt> <catalog.bin>" );
+            System.exit( 2 );
+
+        }
+
+        long start = System.nanoTime();
+        List<Ingredient> ingredients = readText( Path.of( args[ 0 ] ) );
+        writeBinary( ingredients, Path.of( args[ 1 ] ) );
+
+        System.out.println( "Compiled " + ingredients.size() + " ingredients to " + args[ 1 ] + " in " + ( System.nanoTime() - start ) / 1_000_000 + " ms" );
+
+    }
+
+    /**
+     * Reads the catalog from the given folder. The compiled catalog is used when it is at least as new as the text
+     * one. If it is older, missing or cannot be read, the text catalog is read and compiled again; if there is no text
+     * catalog in the folder either, the one on the classpath is read.
+     *
+     * @param directory The folder of catalog.txt and catalog.bin.
+     * @param load Method to read the catalog.
+     * @return the ingredients, in the usual order of preparation
+     * @throws IOException if no catalog can be read.
+     */
+
+    public static List<Ingredient> load( Path directory ) throws IOException{
+
+        Path text = directory.resolve( TEXT_NAME );
+        Path binary = directory.resolve( BINARY_NAME );
+        boolean hasText = Files.isRegularFile( text );
+
+        if( Files.isRegularFile( binary ) && ( !hasText || !Files.getLastModifiedTime( binary ).toInstant().isBefore( Files.getLastModifiedTime( text ).toInstant() ) ) ){
+
+            try{
+
+                return readBinary( binary );
+
+            }catch( IOException e ){
+
+                System.err.println( "Could not read " + binary + ", reading the text catalog instead: " + e.getMessage() );
+
+            }
+
+        }
+
+        if( !hasText ){
+
+            try( InputStream in = CatalogFile.class.getResourceAsStream( "/" + TEXT_NAME ) ){
+
+                if( in == null ){
+
+                    throw new IOException( "No catalog in " + directory.toAbsolutePath() + " or on the classpath" );
+
+                }
+
+                return readText( new InputStreamReader( in, StandardCharsets.UTF_8 ), TEXT_NAME );
+
+            }
+
+        }
+
+        List<Ingredient> ingredients = readText( text );
+
+        try{
+
+            writeBinary( ingredients, binary );
+
+        }catch( IOException e ){
+
+            System.err.println( "Could not compile the catalog to " + binary + ": " + e.getMessage() );
+
+        }
+
+        return ingredients;
+
+    }
+
+    /**
+     * Reads a text catalog.
+     *
+     * @param file The text catalog.
+     * @param readText Method to read a text catalog.
+     * @return the ingredients, in the order of the lines
+     * @throws IOException if the file cannot be read or a line is not a valid ingredient.
+     */
+
+    public static List<Ingredient> readText( Path file ) throws IOException{
+
+        try( Reader reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 ) ){
+
+            return readText( reader, file.toString() );
+
+        }
+
+    }
+
+    /**
+     * Reads a text catalog.
+     *
+     * @param reader The text of the catalog.
+     * @param source The name of the catalog, for the error messages.
+     * @param readText Method to read a text catalog.
+     * @return the ingredients, in the order of the lines
+     * @throws IOException if the text cannot be read or a line is not a valid ingredient.
+     */
+
+    public static List<Ingredient> readText( Reader reader, String source ) throws IOException{
+
+        BufferedReader lines = new BufferedReader( reader );
+        List<Ingredient> ingredients = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+
+        while( ( line = lines.readLine() ) != null ){
+
+            lineNumber++;
+            line = line.trim();
+
+            if( line.isEmpty() || line.startsWith("#") ){
+
+                continue;
+
+            }
+
+            String[] fields = line.split( "\\|", -1 );
+
+            if( fields.length != FIELDS && fields.length != SHORT_FIELDS ){
+
+                throw new IOException( source + " line " + lineNumber + ": expected " + SHORT_FIELDS + " or " + FIELDS + " fields split by |, found " + fields.length );
+
+            }
+
+            try{
+
+                String name = fields[ 0 ].trim();
+                int calories = Integer.parseInt( fields[ 1 ].trim() );
+                long price = Money.parse( fields[ 2 ] );
+
+                if( name.isEmpty() || calories < 0 ){
+
+                    throw new NumberFormatException( "Not a valid name or calorie count" );
+
+                }
+
+                int capacity = ( fields.length == FIELDS ) ? Integer.parseInt( fields[ 5 ].trim() ) : Ingredient.DEFAULT_CAPACITY;
+                int lowWaterMark = ( fields.length == FIELDS ) ? Integer.parseInt( fields[ 6 ].trim() ) : Ingredient.DEFAULT_LOW_WATER_MARK;
+
+                ingredients.add( new Ingredient( name, calories, price, fields[ 3 ].trim(), fields[ 4 ].trim(), capacity, lowWaterMark ) );
+
+            }catch( IllegalArgumentException e ){
+
+                throw new IOException( source + " line " + lineNumber + ": " + e.getMessage() );
+
+            }
+
+        }
+
+        return ingredients;
+
+    }
+
+    /**
+     * Writes a compiled catalog. It is written to a temporary file first and then moved over the old one, so a
+     * program that starts at the same time never maps half a catalog.
+     *
+     * @param ingredients The ingredients, in the usual order of preparation.
+     * @param file The compiled catalog.
+     * @param writeBinary Method to write a compiled catalog.
+     * @throws IOException if the file cannot be written.
+     */
+
+    public static void writeBinary( List<Ingredient> ingredients, Path file ) throws IOException{
+
+        StringPool strings = new StringPool();
+        ByteBuffer records = ByteBuffer.allocate( HEADER_BYTES + ingredients.size() * RECORD_BYTES );
+
+        records.putInt( MAGIC ).putInt( VERSION ).putInt( ingredients.size() ).putInt( records.capacity() );
+
+        for( Ingredient ingredient : ingredients ){
+
+            records.putLong( ingredient.getPrice() );
+            records.putInt( ingredient.getCalorieCount() );
+            records.putInt( ingredient.getCapacity() );
+            records.putInt( ingredient.getLowWaterMark() );
+            records.putInt( strings.add( ingredient.getName() ) );
+            records.putInt( strings.add( ingredient.getImagePath() ) );
+            records.putInt( strings.add( ingredient.getPreparationStep() ) );
+
+        }
+
+        records.flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile( directory, BINARY_NAME, ".tmp" );
+
+        try( FileChannel channel = FileChannel.open( temporary, StandardOpenOption.WRITE ) ){
+
+            ByteBuffer pool = strings.toBuffer();
+
+            while( records.hasRemaining() || pool.hasRemaining() ){
+
+                channel.write( new ByteBuffer[]{ records, pool } );
+
+            }
+
+        }catch( IOException e ){
+
+            Files.deleteIfExists( temporary );
+            throw e;
+
+        }
+
+        Files.move( temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+
+    }
+
+    /**
+     * Reads a compiled catalog by mapping it into memory.
+     *
+     * @param file The compiled catalog.
+     * @param readBinary Method to read a compiled catalog.
+     * @return the ingredients, in the usual order of preparation
+     * @throws IOException if the file cannot be read or is not a compiled catalog of this version.
+     */
+
+    public static List<Ingredient> readBinary( Path file ) throws IOException{
+
+        MappedByteBuffer buffer;
+
+        try( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) ){
+
+            // The mapping stays valid after the channel is closed.
+            buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+
+        }
+
+        buffer.order( ByteOrder.BIG_ENDIAN );
+
+        try{
+
+            if( buffer.getInt( 0 ) != MAGIC || buffer.getInt( 4 ) != VERSION ){
+
+                throw new IOException( file + " is not a compiled catalog of version " + VERSION );
+
+            }
+
+            int count = buffer.getInt( 8 );
+            int stringsOffset = buffer.getInt( 12 );
+
+            if( count < 0 || stringsOffset != HEADER_BYTES + ( long ) count * RECORD_BYTES || stringsOffset > buffer.limit() ){
+
+                throw new IOException( file + " is damaged, the header does not match its size" );
+
+            }
+
+            List<Ingredient> ingredients = new ArrayList<>( count );
+            byte[] scratch = new byte[ 64 ];
+
+            for( int i = 0; i < count; i++ ){
+
+                int record = HEADER_BYTES + i * RECORD_BYTES;
+
+                long price = buffer.getLong( record );
+                int calories = buffer.getInt( record + 8 );
+                int capacity = buffer.getInt( record + 12 );
+                int lowWaterMark = buffer.getInt( record + 16 );
+                String name = readString( buffer, stringsOffset, buffer.getInt( record + 20 ), scratch );
+                String image = readString( buffer, stringsOffset, buffer.getInt( record + 24 ), scratch );
+                String step = readString( buffer, stringsOffset, buffer.getInt( record + 28 ), scratch );
+
+                if( name == null ){
+
+                    throw new IOException( file + " is damaged, ingredient " + i + " has no name" );
+
+                }
+
+                ingredients.add( new Ingredient( name, calories, price, image, step, capacity, lowWaterMark ) );
+
+            }
+
+            return ingredients;
+
+        }catch( IndexOutOfBoundsException | BufferUnderflowException e ){
+
+            throw new IOException( file + " is damaged, a record points outside of the file" );
+
+        }catch( IllegalArgumentException e ){
+
+            throw new IOException( file + " is damaged: " + e.getMessage() );
+
+        }
+
+    }
+
+    /**
+     * Reads the string at the given offset from the start of the strings.
+     */
+
+    private static String readString( ByteBuffer buffer, int stringsOffset, int offset, byte[] scratch ){
+
+        if( offset < 0 ){
+
+            return null;
+
+        }
+
+        int position = stringsOffset + offset;
+        int length = buffer.getInt( position );
+        byte[] bytes = ( length <= scratch.length ) ? scratch : new byte[ length ];
+
+        buffer.get( position + 4, bytes, 0, length );
+
+        return new String( bytes, 0, length, StandardCharsets.UTF_8 );
+
+    }
+
+    /**
+     * This class collects the strings of a compiled catalog. A string that is used more than once, like an image that
+     * many ingredients share, is only written once.
+     */
+
+    private static final class StringPool{
+
+        private Map< String, Integer > offsets = new HashMap<>();           // Adds the offset of every string
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream(); // Adds the lengths and bytes
+
+        /**
+         * Adds a string and gets its offset.
+         */
+
+        int add( String text ){
+
+            if( text == null ){
+
+                return -1;
+
+            }
+
+            Integer offset = offsets.get( text );
+
+            if( offset != null ){
+
+                return offset;
+
+            }
+
+            byte[] utf8 = text.getBytes( StandardCharsets.UTF_8 );
+            int position = bytes.size();
+
+            bytes.write( utf8.length >>> 24 );
+            bytes.write( utf8.length >>> 16 );
+            bytes.write( utf8.length >>> 8 );
+            bytes.write( utf8.length );
+            bytes.write( utf8, 0, utf8.length );
+
+            offsets.put( text, position );
+
+            return position;
+
+        }
+
+        /**
+         * Gets the strings as a buffer that is ready to be written.
+         */
+
+        ByteBuffer toBuffer(){
+
+            return ByteBuffer.wrap( bytes.toByteArray() );
+
+        }
+
+    }
+
+}
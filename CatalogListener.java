@@ -0,0 +1,33 @@
+/**
+ * This is what the IngredientCatalog calls back when an ingredient is added or its information, like its price or its
+ * image, changes after a reload, so anything that is worked out from the ingredients, like the totals of the ramen
+ * presets, can be kept up to date without going over the whole catalog again.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public interface CatalogListener{
+
+    /**
+     * Is called after an ingredient was added to the catalog and given its id.
+     *
+     * @param ingredient The ingredient that was added.
+     * @param ingredientAdded The method that is called for a new ingredient.
+     */
+
+    void ingredientAdded( Ingredient ingredient );
+
+    /**
+     * Is called after the catalog was reloaded and an ingredient was replaced by one with new information. Both have
+     * the same id and share the same stock, and the new one is already in the current version of the catalog.
+     *
+     * @param oldIngredient The ingredient as it was before the reload.
+     * @param newIngredient The ingredient as it is now.
+     * @param ingredientChanged The method that is called for a changed ingredient.
+     */
+
+    void ingredientChanged( Ingredient oldIngredient, Ingredient newIngredient );
+
+}
@@ -0,0 +1,157 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class is one version of the catalog of ingredients. It never changes after it is built: adding an ingredient
+ * or reloading the catalog builds a new version next to it, and the IngredientCatalog swaps the new one in all at
+ * once. An order that looked its ingredients up in one version keeps pricing against that version, even if a new one
+ * is swapped in while it is in flight, and reading a version never takes a lock.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public final class CatalogVersion{
+
+    private final long number;                           // Adds the number of the version, starting from 0
+    private final Ingredient[] ingredientsById;          // Adds the ingredients, where the index is the id
+    private final Map< String, Ingredient > ingredientsByName; // Adds the ingredients, keyed by their lower case name
+    private final List<Ingredient> ingredients;          // Adds the read only list of the ingredients, by id
+
+    /**
+     * Constructs the empty version the catalog starts with.
+     *
+     * @param CatalogVersion The constructor of the version.
+     */
+
+    CatalogVersion(){
+
+        this( 0, new Ingredient[ 0 ], new HashMap<>() );
+
+    }
+
+    /**
+     * Constructs a version. The arrays and maps are owned by the version from now on and must not be changed.
+     *
+     * @param number The number of the version.
+     * @param ingredientsById The ingredients, where the index is the id.
+     * @param ingredientsByName The ingredients, keyed by toKey of their names.
+     */
+
+    CatalogVersion( long number, Ingredient[] ingredientsById, Map< String, Ingredient > ingredientsByName ){
+
+        this.number = number;
+        this.ingredientsById = ingredientsById;
+        this.ingredientsByName = ingredientsByName;
+        this.ingredients = Collections.unmodifiableList( Arrays.asList( ingredientsById ) );
+
+    }
+
+    /**
+     * Gets the number of the version. Every change of the catalog adds one.
+     *
+     * @param getNumber Method to get the number of the version.
+     * @return the number
+     */
+
+    public long getNumber(){
+
+        return number;
+
+    }
+
+    /**
+     * Gets the ingredient with the given name. The name is not case sensitive.
+     *
+     * @param name The name of the ingredient.
+     * @param get Method to get the ingredient.
+     * @return the ingredient, or null if it is not in this version
+     */
+
+    public Ingredient get( String name ){
+
+        return ( name == null ) ? null : ingredientsByName.get( toKey( name ) );
+
+    }
+
+    /**
+     * Gets the ingredient with the given id.
+     *
+     * @param id The id of the ingredient.
+     * @return the ingredient, or null if there is no ingredient with that id in this version
+     */
+
+    public Ingredient get( int id ){
+
+        return ( id >= 0 && id < ingredientsById.length ) ? ingredientsById[ id ] : null;
+
+    }
+
+    /**
+     * Gets all the ingredients in the order of their ids.
+     *
+     * @return a read only list of the ingredients
+     */
+
+    public List<Ingredient> getIngredients(){
+
+        return ingredients;
+
+    }
+
+    /**
+     * Gets the number of ingredients in this version. The ids go from 0 to size - 1.
+     *
+     * @return the number of ingredients
+     */
+
+    public int size(){
+
+        return ingredientsById.length;
+
+    }
+
+    /**
+     * Gets a copy of the ingredients by id, with room for more, to build the next version from.
+     *
+     * @param capacity The length of the copy, at least size().
+     * @return the copy
+     */
+
+    Ingredient[] copyIngredients( int capacity ){
+
+        return Arrays.copyOf( ingredientsById, capacity );
+
+    }
+
+    /**
+     * Gets a copy of the ingredients by name, to build the next version from.
+     *
+     * @return the copy
+     */
+
+    Map< String, Ingredient > copyNames(){
+
+        return new HashMap<>( ingredientsByName );
+
+    }
+
+    /**
+     * Turns the name into the key used for the lookup so that the names are not case sensitive.
+     *
+     * @param name The name of the ingredient.
+     * @return the key
+     */
+
+    static String toKey( String name ){
+
+        return name.toLowerCase( Locale.ROOT );
+
+    }
+
+}
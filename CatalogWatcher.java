@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class watches the folder of the catalog files and reloads the catalog of the vending machine when catalog.txt
+ * or catalog.bin is changed, so prices, images and new ingredients go live without restarting the program. An editor
+ * often writes a file in more than one step, so the watcher waits until the files have been quiet for a moment before
+ * it reads them.
+ *
+ * The reload builds a new version of the catalog and swaps it in all at once, see IngredientCatalog, so the orders
+ * that are in flight are never stopped and finish with the prices they started with.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class CatalogWatcher{
+
+    public static final long DEFAULT_QUIET_MILLIS = 250; // The time the files must be quiet before they are read
+
+    private VendingMachine vendingMachine;  // Adds the vending machine whose catalog is reloaded
+    private Path directory;                 // Adds the folder of the catalog files
+    private long quietMillis;               // Adds the time the files must be quiet before they are read
+    private WatchService watchService;      // Adds the service that tells about changes in the folder
+    private Thread watcher;                 // Adds the thread that waits for the changes
+    private volatile long reloads;          // Adds the number of reloads that changed the catalog, only the thread writes it
+
+    /**
+     * Constructs a watcher for the catalog files in the given folder and starts its thread.
+     *
+     * @param vendingMachine The vending machine whose catalog is reloaded.
+     * @param directory The folder of catalog.txt and catalog.bin.
+     * @param quietMillis The time the files must be quiet before they are read, in milliseconds.
+     * @param CatalogWatcher The constructor of the watcher.
+     * @throws IOException if the folder cannot be watched.
+     */
+
+    public CatalogWatcher( VendingMachine vendingMachine, Path directory, long quietMillis ) throws IOException{
+
+        this.vendingMachine = vendingMachine;
+        this.directory = directory.toAbsolutePath();
+        this.quietMillis = Math.max( 0, quietMillis );
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        this.directory.register( watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY );
+
+        watcher = new Thread( this::watchLoop, "catalog-watcher" );
+        watcher.setDaemon( true );
+        watcher.start();
+
+    }
+
+    /**
+     * Reads the catalog files now and swaps the new catalog in.
+     *
+     * @param reload The method to reload the catalog.
+     * @return the number of ingredients that were added or changed
+     * @throws IOException if no catalog can be read, then the catalog is left as it is.
+     */
+
+    public int reload() throws IOException{
+
+        List<Ingredient> ingredients = CatalogFile.load( directory );
+        int changed = vendingMachine.reloadCatalog( ingredients );
+
+        if( changed > 0 ){
+
+            reloads++;
+            System.out.println( "Catalog reloaded: version " + vendingMachine.getCatalog().current().getNumber() + ", " + changed + " ingredients added or changed" );
+
+        }
+
+        return changed;
+
+    }
+
+    /**
+     * Gets the number of reloads that changed the catalog.
+     *
+     * @return the number of reloads
+     */
+
+    public long getReloadCount(){
+
+        return reloads;
+
+    }
+
+    /**
+     * Stops watching the folder.
+     *
+     * @param close The method to stop the watcher.
+     */
+
+    public void close(){
+
+        try{
+
+            watchService.close();
+
+        }catch( IOException e ){
+
+            System.err.println( "Could not stop watching " + directory + ": " + e.getMessage() );
+
+        }
+
+    }
+
+    /**
+     * Waits for a change to a catalog file, then waits until the folder is quiet and reloads the catalog. Writing the
+     * compiled catalog is a change too, but reading it again finds nothing new, so the watcher settles right away.
+     */
+
+    private void watchLoop(){
+
+        try{
+
+            while( true ){
+
+                if( !isCatalogChange( watchService.take() ) ){
+
+                    continue;
+
+                }
+
+                // Other files in the folder, like the order history, change all the time, so only a change to a
+                // catalog file starts the wait again.
+                long quietUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( quietMillis );
+                long wait;
+
+                while( ( wait = quietUntil - System.nanoTime() ) > 0 ){
+
+                    WatchKey key = watchService.poll( wait, TimeUnit.NANOSECONDS );
+
+                    if( key != null && isCatalogChange( key ) ){
+
+                        quietUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( quietMillis );
+
+                    }
+
+                }
+
+                try{
+
+                    reload();
+
+                }catch( IOException | RuntimeException e ){
+
+                    // A half written or broken file must not stop the watcher, the next save is read again.
+                    System.err.println( "Could not reload the catalog, keeping the current one: " + e.getMessage() );
+
+                }
+
+            }
+
+        }catch( ClosedWatchServiceException | InterruptedException e ){
+
+            // The watcher was closed.
+
+        }
+
+    }
+
+    /**
+     * Checks if the events of the key are about a catalog file, and gets the key ready for the next events.
+     */
+
+    private static boolean isCatalogChange( WatchKey key ){
+
+        boolean catalogChanged = false;
+
+        for( WatchEvent<?> event : key.pollEvents() ){
+
+            Object context = event.context();
+
+            if( event.kind() == StandardWatchEventKinds.OVERFLOW || ( context instanceof Path && isCatalogFile( (Path) context ) ) ){
+
+                catalogChanged = true;
+
+            }
+
+        }
+
+        key.reset();
+
+        return catalogChanged;
+
+    }
+
+    /**
+     * Checks if the file is catalog.txt or catalog.bin.
+     */
+
+    private static boolean isCatalogFile( Path file ){
+
+        String name = file.getFileName().toString();
+
+        return name.equals( CatalogFile.TEXT_NAME ) || name.equals( CatalogFile.BINARY_NAME );
+
+    }
+
+}
@@ -0,0 +1,303 @@
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class keeps the ingredient pictures already decoded and scaled so that the customize window does not have to
+ * read the JPEG files every time the user presses Buy Ramen. When a reload of the catalog replaces an ingredient, the
+ * pictures of its old image are dropped, so a new image is read the next time it is shown.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class ImageCache implements CatalogListener{
+
+    private Map< String, CompletableFuture<ImageIcon> > icons;  // Adds the cached icons, keyed by image path and size
+    private AtomicLong hits;                  // Adds a counter for icons served from the cache
+    private AtomicLong misses;                // Adds a counter for icons that had to be decoded
+    private AtomicLong memoryUsed;            // Adds the bytes held by the scaled images
+
+    /**
+     * Constructs an empty image cache.
+     *
+     * @param ImageCache The constructor of the image cache.
+     */
+
+    public ImageCache(){
+
+        icons = new ConcurrentHashMap<>();
+        hits = new AtomicLong();
+        misses = new AtomicLong();
+        memoryUsed = new AtomicLong();
+
+    }
+
+    /**
+     * Decodes and scales the images of all the given ingredients so that later calls to getIcon are served from memory.
+     *
+     * @param ingredients The ingredients whose images are to be loaded.
+     * @param width The width of the scaled image.
+     * @param height The height of the scaled image.
+     * @param preload Method to fill the cache at startup.
+     */
+
+    public void preload( Iterable<Ingredient> ingredients, int width, int height ){
+
+        for( Ingredient ingredient : ingredients ){
+
+            getIcon( ingredient.getImagePath(), width, height );
+
+        }
+
+    }
+
+    /**
+     * Gets the icon of the image scaled to the given size. The image is only decoded the first time it is asked for,
+     * every call after that hands back the same icon.
+     *
+     * @param imagePath The path of the image.
+     * @param width The width of the scaled image.
+     * @param height The height of the scaled image.
+     * @param getIcon Method to get the scaled icon.
+     * @return the scaled icon
+     */
+
+    public ImageIcon getIcon( String imagePath, int width, int height ){
+
+        String key = imagePath + "@" + width + "x" + height;
+        CompletableFuture<ImageIcon> icon = icons.get( key );
+
+        if( icon == null ){
+
+            // Only the thread that puts the future in decodes the image, and it does so outside the map, so the file is
+            // never read while the map is locked. Other threads asking for the same image wait for the future.
+            CompletableFuture<ImageIcon> loading = new CompletableFuture<>();
+            icon = icons.putIfAbsent( key, loading );
+
+            if( icon == null ){
+
+                misses.incrementAndGet();
+                return load( key, loading, imagePath, width, height );
+
+            }
+
+        }
+
+        hits.incrementAndGet();
+        return icon.join();
+
+    }
+
+    /**
+     * Drops the pictures of the old image of the ingredient, so the next time it is shown its image is read again.
+     *
+     * @param oldIngredient The ingredient as it was before the reload.
+     * @param newIngredient The ingredient as it is now.
+     */
+
+    @Override
+    public void ingredientChanged( Ingredient oldIngredient, Ingredient newIngredient ){
+
+        String prefix = oldIngredient.getImagePath() + "@";
+
+        for( Map.Entry< String, CompletableFuture<ImageIcon> > entry : icons.entrySet() ){
+
+            if( entry.getKey().startsWith( prefix ) && icons.remove( entry.getKey(), entry.getValue() ) ){
+
+                // A picture that is still being decoded is taken off the memory used once it is done.
+                entry.getValue().thenAccept( icon -> memoryUsed.addAndGet( -bytesOf( icon ) ) );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Does nothing, a new ingredient has no pictures in the cache yet.
+     *
+     * @param ingredient The ingredient that was added.
+     */
+
+    @Override
+    public void ingredientAdded( Ingredient ingredient ){
+
+    }
+
+    /**
+     * Decodes and scales the image and completes the future in the cache with it. If that fails, the future is taken
+     * out again so the next call tries once more.
+     */
+
+    private ImageIcon load( String key, CompletableFuture<ImageIcon> loading, String imagePath, int width, int height ){
+
+        try{
+
+            ImageIcon icon = new ImageIcon( loadScaled( imagePath, width, height ) );
+            memoryUsed.addAndGet( bytesOf( icon ) );
+            loading.complete( icon );
+
+            return icon;
+
+        }catch( RuntimeException | Error e ){
+
+            icons.remove( key, loading );
+            loading.completeExceptionally( e );
+
+            throw e;
+
+        }
+
+    }
+
+    /**
+     * Gets the bytes held by a scaled image, which has four bytes for every pixel.
+     */
+
+    private static long bytesOf( ImageIcon icon ){
+
+        return ( long ) icon.getIconWidth() * icon.getIconHeight() * 4;
+
+    }
+
+    /**
+     * Reads the image from the disk and draws it into a new image of the given size. If the file cannot be read,
+     * a blank image is returned so that the layout of the window stays the same.
+     *
+     * @param imagePath The path of the image.
+     * @param width The width of the scaled image.
+     * @param height The height of the scaled image.
+     * @return the scaled image
+     */
+
+    private BufferedImage loadScaled( String imagePath, int width, int height ){
+
+        BufferedImage scaled = new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+        Graphics2D graphics = scaled.createGraphics();
+
+        try{
+
+            BufferedImage source = ImageIO.read( new File( imagePath ) );
+
+            if( source != null ){
+
+                source = halveUntilNear( source, width, height );
+                graphics.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC );
+                graphics.setRenderingHint( RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY );
+                graphics.drawImage( source, 0, 0, width, height, null );
+
+            }
+
+            else{
+
+                graphics.setColor( Color.LIGHT_GRAY );
+                graphics.fillRect( 0, 0, width, height );
+
+            }
+
+        }catch( IOException e ){
+
+            graphics.setColor( Color.LIGHT_GRAY );
+            graphics.fillRect( 0, 0, width, height );
+
+        }finally{
+
+            graphics.dispose();
+
+        }
+
+        return scaled;
+
+    }
+
+    /**
+     * Shrinks a large image by halves until it is less than twice the target size. A single bicubic step from a very
+     * large picture looks grainy, so this keeps the quality close to what SCALE_SMOOTH gave.
+     *
+     * @param source The decoded image.
+     * @param width The target width.
+     * @param height The target height.
+     * @return the reduced image
+     */
+
+    private BufferedImage halveUntilNear( BufferedImage source, int width, int height ){
+
+        BufferedImage current = source;
+
+        while( current.getWidth() / 2 >= width * 2 && current.getHeight() / 2 >= height * 2 ){
+
+            int halfWidth = current.getWidth() / 2;
+            int halfHeight = current.getHeight() / 2;
+
+            BufferedImage half = new BufferedImage( halfWidth, halfHeight, BufferedImage.TYPE_INT_RGB );
+            Graphics2D graphics = half.createGraphics();
+            graphics.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+            graphics.drawImage( current, 0, 0, halfWidth, halfHeight, null );
+            graphics.dispose();
+
+            current = half;
+
+        }
+
+        return current;
+
+    }
+
+    /**
+     * Gets the number of icons that were served from the cache.
+     *
+     * @return the number of hits
+     */
+
+    public long getHits(){
+
+        return hits.get();
+
+    }
+
+    /**
+     * Gets the number of icons that had to be decoded and scaled.
+     *
+     * @return the number of misses
+     */
+
+    public long getMisses(){
+
+        return misses.get();
+
+    }
+
+    /**
+     * Gets the memory held by the scaled images in bytes.
+     *
+     * @return the memory used
+     */
+
+    public long getMemoryUsed(){
+
+        return memoryUsed.get();
+
+    }
+
+    /**
+     * Gets the number of icons in the cache.
+     *
+     * @return the size of the cache
+     */
+
+    public int size(){
+
+        return icons.size();
+
+    }
+
+}
@@ -1,5 +1,16 @@
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * This class sets the ingredients and their respective information and implements it in the RamenApp class.
+ *
+ * Every ingredient has a capacity, the most its bin holds, and a low-water mark, the stock at which it should be
+ * restocked. A small machine holds 10 of everything, a busy site can hold hundreds.
+ *
+ * The name, calories, price, image, preparation step, capacity and low-water mark of an ingredient never change.
+ * When the catalog is reloaded with a new price, a new Ingredient takes the place of the old one in the catalog, with
+ * the same id and the same stock, so an order that already priced the old one finishes with the old price while the
+ * stock stays shared.
  * 
  * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
  * @version     1.0
@@ -8,29 +19,113 @@
 
 public class Ingredient{
 
-    private String name;      // Adds a naming field
-    private int calorieCount; // Adds a calorie count field
-    private double price;     // Adds a price field
-    private String imagePath; // Adds an image field
-    private int quantity;     // Adds a quantity field
+    public static final int DEFAULT_CAPACITY = 10;       // The most an ingredient holds, unless the catalog says otherwise
+    public static final int DEFAULT_LOW_WATER_MARK = 2;  // The stock an ingredient should be restocked at, unless the catalog says otherwise
+
+    private final String name;      // Adds a naming field
+    private final int calorieCount; // Adds a calorie count field
+    private final long price;       // Adds a price field, in centavos
+    private final String imagePath; // Adds an image field
+    private final String preparationStep; // Adds the text shown when the ingredient is prepared, or null if there is none
+    private final int capacity;     // Adds the most the bin of the ingredient holds
+    private final int lowWaterMark; // Adds the stock at which the ingredient should be restocked
+    private final AtomicInteger quantity; // Adds a quantity field, it is atomic so that many terminals can order at once
+    private int id;           // Adds the catalog id field
+    private IngredientCatalog catalog; // Adds the catalog the ingredient is in, which is told when the stock changes
 
     /**
      * The constructor class of the Ingredient. It constructs the names, calories, price, images, and quantity of their respective ingredient.
      *
      * @param name The name of the ingredient.
      * @param calorieCount The calorie count of the ingredient.
-     * @param price The price of the ingredient.
+     * @param price The price of the ingredient in centavos, see Money.pesos.
+     * @param imagePath The imagePath of the ingredient.
+     * @param Ingredient The name of the constructor.
+     */
+
+    public Ingredient( String name, int calorieCount, long price, String imagePath ){
+
+        this( name, calorieCount, price, imagePath, null );
+
+    }
+
+    /**
+     * Constructs an ingredient with the text that is shown when it is prepared, like "Cooking Egg...".
+     *
+     * @param name The name of the ingredient.
+     * @param calorieCount The calorie count of the ingredient.
+     * @param price The price of the ingredient in centavos, see Money.pesos.
+     * @param imagePath The imagePath of the ingredient.
+     * @param preparationStep The text shown when the ingredient is prepared, or null if there is none.
+     * @param Ingredient The name of the constructor.
+     */
+
+    public Ingredient( String name, int calorieCount, long price, String imagePath, String preparationStep ){
+
+        this( name, calorieCount, price, imagePath, preparationStep, DEFAULT_CAPACITY, DEFAULT_LOW_WATER_MARK );
+
+    }
+
+    /**
+     * Constructs an ingredient with its own capacity and low-water mark. It starts full.
+     *
+     * @param name The name of the ingredient.
+     * @param calorieCount The calorie count of the ingredient.
+     * @param price The price of the ingredient in centavos, see Money.pesos.
      * @param imagePath The imagePath of the ingredient.
+     * @param preparationStep The text shown when the ingredient is prepared, or null if there is none.
+     * @param capacity The most the bin of the ingredient holds.
+     * @param lowWaterMark The stock at which the ingredient should be restocked, from 0 to below the capacity.
      * @param Ingredient The name of the constructor.
+     * @throws IllegalArgumentException if the capacity is not positive or the low-water mark is not below it.
      */
 
-    public Ingredient( String name, int calorieCount, double price, String imagePath ){
+    public Ingredient( String name, int calorieCount, long price, String imagePath, String preparationStep, int capacity, int lowWaterMark ){
+
+        if( capacity <= 0 ){
+
+            throw new IllegalArgumentException( "Capacity of " + name + " must be positive: " + capacity );
+
+        }
+
+        if( lowWaterMark < 0 || lowWaterMark >= capacity ){
+
+            throw new IllegalArgumentException( "Low-water mark of " + name + " must be from 0 to below " + capacity + ": " + lowWaterMark );
+
+        }
 
         this.name = name;
         this.calorieCount = calorieCount;
         this.price = price;
         this.imagePath = imagePath;
-        this.quantity = 10; // Sets the default quantity to 10.
+        this.preparationStep = ( preparationStep == null || preparationStep.isEmpty() ) ? null : preparationStep;
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.quantity = new AtomicInteger( capacity ); // Starts full.
+        this.id = -1; // Sets the id once the ingredient is added to a catalog.
+
+    }
+
+    /**
+     * Constructs the ingredient that replaces another one in the catalog: it has the new information, and the id,
+     * the catalog and the stock of the one it replaces.
+     *
+     * @param data The ingredient with the new information.
+     * @param replaced The ingredient that is replaced.
+     */
+
+    private Ingredient( Ingredient data, Ingredient replaced ){
+
+        this.name = data.name;
+        this.calorieCount = data.calorieCount;
+        this.price = data.price;
+        this.imagePath = data.imagePath;
+        this.preparationStep = data.preparationStep;
+        this.capacity = data.capacity;
+        this.lowWaterMark = data.lowWaterMark;
+        this.quantity = replaced.quantity;
+        this.id = replaced.id;
+        this.catalog = replaced.catalog;
 
     }
 
@@ -48,6 +143,65 @@ public class Ingredient{
 
     }
 
+    /**
+     * Gets the id of the ingredient in the catalog of the vending machine. The ids are dense, starting from 0.
+     *
+     * @param getId The method to get the id of the ingredient.
+     * @return the id, or -1 if the ingredient is not in a catalog yet
+     */
+
+    public int getId(){
+
+        return id;
+
+    }
+
+    /**
+     * Sets the catalog and the id of the ingredient. It is only called by the IngredientCatalog when the ingredient
+     * is added.
+     *
+     * @param catalog The catalog the ingredient was added to.
+     * @param id The id of the ingredient.
+     */
+
+    void addedTo( IngredientCatalog catalog, int id ){
+
+        this.catalog = catalog;
+        this.id = id;
+
+    }
+
+    /**
+     * Builds the ingredient that takes the place of this one in the catalog, with the information of the given
+     * ingredient and the id and the stock of this one. It is only called by the IngredientCatalog when it is reloaded.
+     *
+     * @param data The ingredient with the new information, which is not in a catalog.
+     * @return the new ingredient
+     */
+
+    Ingredient replacedBy( Ingredient data ){
+
+        return new Ingredient( data, this );
+
+    }
+
+    /**
+     * Checks if the given ingredient has the same name, calories, price, image, preparation step, capacity and
+     * low-water mark as this one.
+     *
+     * @param other The other ingredient.
+     * @param hasSameInformation The method to compare two ingredients.
+     * @return true if everything but the stock is the same
+     */
+
+    public boolean hasSameInformation( Ingredient other ){
+
+        return name.equals( other.name ) && calorieCount == other.calorieCount && price == other.price
+                && Objects.equals( imagePath, other.imagePath ) && Objects.equals( preparationStep, other.preparationStep )
+                && capacity == other.capacity && lowWaterMark == other.lowWaterMark;
+
+    }
+
     /**
      * Gets the calorie count of the ingredient.
      *
@@ -65,56 +219,82 @@ public class Ingredient{
      * Gets the price of the ingredient.
      *
      * @param getPrice The method to get the price of the ingredients.
-     * @return the price
+     * @return the price in centavos
      */
 
-    public double getPrice(){
+    public long getPrice(){
 
         return price;
 
     }
 
     /**
-     * Sets the price of the ingredient.
+     * Gets the image path of the ingredient. It is so that I can use images in the Vending Machine to their corresponding Ingredients.
      *
-     * @param price The price of the ingredient.
-     * @param setPrice The method to set the price of the ingredients.
+     * @param getImagePath The method to get the image path of the ingredients.
+     * @return the image path
      */
 
-    public void setPrice( double price ){
+    public String getImagePath(){
 
-        this.price = price;
+        return imagePath;
 
     }
 
     /**
-     * Gets the image path of the ingredient. It is so that I can use images in the Vending Machine to their corresponding Ingredients.
+     * Gets the text that is shown when the ingredient is prepared.
      *
-     * @param getImagePath The method to get the image path of the ingredients.
-     * @return the image path
+     * @param getPreparationStep The method to get the preparation step of the ingredient.
+     * @return the preparation step, or null if the ingredient has none
      */
 
-    public String getImagePath(){
+    public String getPreparationStep(){
 
-        return imagePath;
+        return preparationStep;
 
     }
 
     /**
-     * Sets the image path of the ingredient.
+     * Gets the most the bin of the ingredient holds.
      *
-     * @param imagePath the image path of the image. It is set in the Ramen App class and is used in the RamenView class.
-     * @param setImagePath The method to set the image path of the ingredients.
+     * @param getCapacity The method to get the capacity of the ingredient.
+     * @return the capacity
      */
 
-    public void setImagePath( String imagePath ){
+    public int getCapacity(){
 
-        this.imagePath = imagePath;
+        return capacity;
+
+    }
+
+    /**
+     * Gets the stock at which the ingredient should be restocked.
+     *
+     * @param getLowWaterMark The method to get the low-water mark of the ingredient.
+     * @return the low-water mark
+     */
+
+    public int getLowWaterMark(){
+
+        return lowWaterMark;
+
+    }
+
+    /**
+     * Checks if the stock is at or below the low-water mark.
+     *
+     * @param isLow The method to check the stock.
+     * @return True if it should be restocked. If not, then False.
+     */
+
+    public boolean isLow(){
+
+        return quantity.get() <= lowWaterMark;
 
     }
 
     /**
-     * Gets the quantity of the ingredient. Which is set to 10.
+     * Gets the quantity of the ingredient. Which starts at the capacity.
      *
      * @param getQuantity The method to get the quantity of the ingredients.
      * @return the quanitity
@@ -122,12 +302,12 @@ public class Ingredient{
 
     public int getQuantity(){
 
-        return quantity;
+        return quantity.get();
 
     }
     
     /**
-     * Sets the quantity of the ingredient, makes sure that the value is between 0 and 10.
+     * Sets the quantity of the ingredient, makes sure that the value is between 0 and the capacity.
      *
      * @param quantity The new quantity of the ingredient.
      * @param setQuantity The method to set the quantity of the ingredients.
@@ -135,7 +315,117 @@ public class Ingredient{
 
     public void setQuantity( int quantity ){
 
-        this.quantity = ( quantity > 10 ) ? 10 : Math.max( 0, quantity );
+        this.quantity.set( ( quantity > capacity ) ? capacity : Math.max( 0, quantity ) );
+        stockChanged();
+
+    }
+
+    /**
+     * Takes the given amount out of the stock, but only if there is enough of it. It never goes below 0, even when
+     * many orders take from the same ingredient at the same time.
+     *
+     * @param amount The amount to take.
+     * @param tryTake The method to take from the stock.
+     * @return True if the amount was taken. If there is not enough, then False and the stock is left as it is.
+     */
+
+    public boolean tryTake( int amount ){
+
+        while( true ){
+
+            int current = quantity.get();
+
+            if( current < amount ){
+
+                return false;
+
+            }
+
+            if( quantity.compareAndSet( current, current - amount ) ){
+
+                stockChanged();
+                return true;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gives back an amount that was taken with tryTake. Unlike put, it is not capped, since the amount never left
+     * the machine.
+     *
+     * @param amount The amount to give back.
+     * @param release The method to give back to the stock.
+     */
+
+    public void release( int amount ){
+
+        quantity.addAndGet( amount );
+        stockChanged();
+
+    }
+
+    /**
+     * Changes the stock by the given amount, which can be negative, without any checks. It is only used when the
+     * journal is replayed, since the changes in the journal were already checked when they were made.
+     *
+     * @param change The change in stock.
+     */
+
+    public void adjustQuantity( int change ){
+
+        quantity.addAndGet( change );
+        stockChanged();
+
+    }
+
+    /**
+     * Puts the given amount back into the stock, without going over the capacity. A stock that is already over it,
+     * after a reload made the capacity smaller, is left as it is.
+     *
+     * @param amount The amount to put back.
+     * @param put The method to add to the stock.
+     * @return the amount that was actually added
+     */
+
+    public int put( int amount ){
+
+        while( true ){
+
+            int current = quantity.get();
+            int updated = Math.max( current, Math.min( capacity, current + Math.max( 0, amount ) ) );
+
+            if( quantity.compareAndSet( current, updated ) ){
+
+                if( updated != current ){
+
+                    stockChanged();
+
+                }
+
+                return updated - current;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Tells the catalog that the stock changed, so the event bus of the vending machine can tell its listeners.
+     */
+
+    private void stockChanged(){
+
+        IngredientCatalog catalog = this.catalog;
+
+        if( catalog != null ){
+
+            catalog.stockChanged( this );
+
+        }
 
     }
 
@@ -0,0 +1,296 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class is the index of the ingredients stocked in the vending machine. Every ingredient gets a dense id in
+ * the order it was added, so it can be looked up by id or by name without going through the whole list. Listeners
+ * are told when an ingredient is added or changed, and the event bus of the vending machine is told when the
+ * stock of an ingredient changes.
+ *
+ * The ingredients are kept in a CatalogVersion that never changes. Adding ingredients or reloading the catalog builds
+ * a new version and swaps it in all at once, so reading the catalog never takes a lock and an order that holds on to
+ * a version sees the same prices from start to finish. Only the changes wait for each other.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class IngredientCatalog{
+
+    private AtomicReference<CatalogVersion> current;    // Adds the version that is read right now
+    private List<CatalogListener> listeners;            // Adds the listeners that are told about changes
+    private volatile MachineEventBus events;            // Adds the bus that is told when a stock changes, if anyone listens
+
+    /**
+     * Constructs an empty catalog.
+     *
+     * @param IngredientCatalog The constructor of the catalog.
+     */
+
+    public IngredientCatalog(){
+
+        current = new AtomicReference<>( new CatalogVersion() );
+        listeners = new CopyOnWriteArrayList<>();
+
+    }
+
+    /**
+     * Adds an ingredient to the catalog and gives it the next id.
+     *
+     * @param ingredient The ingredient to be added.
+     * @param add Method to add the ingredient.
+     * @return the id of the ingredient
+     * @throws IllegalArgumentException if an ingredient with the same name is already in the catalog.
+     */
+
+    public int add( Ingredient ingredient ){
+
+        addAll( List.of( ingredient ) );
+
+        return ingredient.getId();
+
+    }
+
+    /**
+     * Adds ingredients to the catalog in one new version and gives them the next ids, in order. It is much faster
+     * than adding them one at a time when there are many, since the catalog is only copied once.
+     *
+     * @param ingredients The ingredients to be added.
+     * @param addAll Method to add the ingredients.
+     * @throws IllegalArgumentException if an ingredient with the same name is already in the catalog. Then none of
+     *                                  them are added.
+     */
+
+    public synchronized void addAll( List<Ingredient> ingredients ){
+
+        CatalogVersion version = current.get();
+        Ingredient[] ingredientsById = version.copyIngredients( version.size() + ingredients.size() );
+        Map< String, Ingredient > ingredientsByName = version.copyNames();
+        int id = version.size();
+
+        for( Ingredient ingredient : ingredients ){
+
+            if( ingredientsByName.putIfAbsent( CatalogVersion.toKey( ingredient.getName() ), ingredient ) != null ){
+
+                throw new IllegalArgumentException( "Ingredient already stocked: " + ingredient.getName() );
+
+            }
+
+            ingredientsById[ id++ ] = ingredient;
+
+        }
+
+        for( int i = version.size(); i < id; i++ ){
+
+            ingredientsById[ i ].addedTo( this, i );
+
+        }
+
+        current.set( new CatalogVersion( version.getNumber() + 1, ingredientsById, ingredientsByName ) );
+
+        for( Ingredient ingredient : ingredients ){
+
+            for( CatalogListener listener : listeners ){
+
+                listener.ingredientAdded( ingredient );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Reloads the catalog from a new list of ingredients, like a catalog file that was edited, in one new version.
+     * The ingredients are matched by name. One that is new is added with the next id and the usual stock; one whose
+     * information changed is replaced by a new Ingredient with the same id that shares the stock of the old one; one
+     * that did not change is kept as it is. An ingredient that is missing from the list is kept too, since the stock,
+     * the order history and the journal still refer to its id.
+     *
+     * @param ingredients The ingredients as they should be, which are not in a catalog yet.
+     * @param reload Method to reload the catalog.
+     * @return the number of ingredients that were added or changed
+     */
+
+    public synchronized int reload( List<Ingredient> ingredients ){
+
+        CatalogVersion version = current.get();
+        List<Ingredient> added = new ArrayList<>();
+        List<Ingredient> replaced = new ArrayList<>();
+        Ingredient[] ingredientsById = version.copyIngredients( version.size() + ingredients.size() );
+        Map< String, Ingredient > ingredientsByName = version.copyNames();
+        int size = version.size();
+
+        for( Ingredient data : ingredients ){
+
+            String key = CatalogVersion.toKey( data.getName() );
+            Ingredient old = ingredientsByName.get( key );
+
+            if( old == null ){
+
+                ingredientsByName.put( key, data );
+                ingredientsById[ size ] = data;
+                data.addedTo( this, size++ );
+                added.add( data );
+
+            }
+
+            else if( !old.hasSameInformation( data ) ){
+
+                Ingredient replacement = old.replacedBy( data );
+                ingredientsByName.put( key, replacement );
+                ingredientsById[ old.getId() ] = replacement;
+                replaced.add( old );
+
+            }
+
+        }
+
+        if( added.isEmpty() && replaced.isEmpty() ){
+
+            return 0;
+
+        }
+
+        CatalogVersion next = new CatalogVersion( version.getNumber() + 1, Arrays.copyOf( ingredientsById, size ), ingredientsByName );
+        current.set( next );
+
+        for( Ingredient old : replaced ){
+
+            for( CatalogListener listener : listeners ){
+
+                listener.ingredientChanged( old, next.get( old.getId() ) );
+
+            }
+
+        }
+
+        for( Ingredient ingredient : added ){
+
+            for( CatalogListener listener : listeners ){
+
+                listener.ingredientAdded( ingredient );
+
+            }
+
+        }
+
+        return added.size() + replaced.size();
+
+    }
+
+    /**
+     * Gets the version of the catalog that is read right now. An order that looks up all of its ingredients in the
+     * same version sees the same prices from start to finish, even if the catalog is reloaded in the meantime.
+     *
+     * @param current Method to get the current version.
+     * @return the current version
+     */
+
+    public CatalogVersion current(){
+
+        return current.get();
+
+    }
+
+    /**
+     * Gets the ingredient with the given name from the current version. The name is not case sensitive.
+     *
+     * @param name The name of the ingredient.
+     * @param get Method to get the ingredient.
+     * @return the ingredient, or null if it is not in the catalog
+     */
+
+    public Ingredient get( String name ){
+
+        return current.get().get( name );
+
+    }
+
+    /**
+     * Gets the ingredient with the given id from the current version.
+     *
+     * @param id The id of the ingredient.
+     * @return the ingredient, or null if there is no ingredient with that id
+     */
+
+    public Ingredient get( int id ){
+
+        return current.get().get( id );
+
+    }
+
+    /**
+     * Gets all the ingredients of the current version in the order of their ids.
+     *
+     * @return a read only list of the ingredients
+     */
+
+    public List<Ingredient> getIngredients(){
+
+        return current.get().getIngredients();
+
+    }
+
+    /**
+     * Gets the number of ingredients in the catalog. The ids go from 0 to size - 1.
+     *
+     * @return the number of ingredients
+     */
+
+    public int size(){
+
+        return current.get().size();
+
+    }
+
+    /**
+     * Adds a listener that is told when an ingredient is added or changed.
+     *
+     * @param listener The listener.
+     * @param addListener The method to add a listener.
+     */
+
+    public void addListener( CatalogListener listener ){
+
+        listeners.add( listener );
+
+    }
+
+    /**
+     * Sets the bus that is told when the stock of an ingredient changes. It is only called by the VendingMachine.
+     *
+     * @param events The event bus of the vending machine.
+     */
+
+    void publishTo( MachineEventBus events ){
+
+        this.events = events;
+
+    }
+
+    /**
+     * Tells the event bus that the stock of an ingredient changed. It is only called by the Ingredient, on the thread
+     * of the change, so it does nothing when nobody listens.
+     *
+     * @param ingredient The ingredient, which already has the new stock.
+     */
+
+    void stockChanged( Ingredient ingredient ){
+
+        MachineEventBus events = this.events;
+
+        if( events != null ){
+
+            events.stockChanged( ingredient.getId() );
+
+        }
+
+    }
+
+}
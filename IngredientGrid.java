@@ -0,0 +1,329 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class is the grid of ingredients in the customize window. It is built once, with a checkbox, an image, a price
+ * label and a quantity label for every ingredient, and after that it is only updated: the event bus of the vending
+ * machine tells it which ingredients had their stock or catalog information changed, or were added, so only the
+ * labels and images of those ingredients are changed. Opening the customize window does not build any component.
+ *
+ * The bus tells a burst of changes at most once per frame, and the labels are changed on the Swing thread.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class IngredientGrid extends JPanel implements MachineListener{
+
+    private static final long serialVersionUID = 1L; // The version of the serialized form of the panel
+
+    private IngredientCatalog catalog;  // Adds the catalog of the vending machine
+    private ImageCache imageCache;      // Adds the cache of the scaled ingredient images
+    private List<String> imagePaths;     // Adds the path of the image shown for every ingredient, by id
+    private List<JCheckBox> checkBoxes; // Adds the checkbox of every ingredient, by id
+    private List<JLabel> priceLabels;   // Adds the price label of every ingredient, by id
+    private List<JLabel> quantityLabels; // Adds the quantity label of every ingredient, by id
+    private List<JLabel> imageLabels;   // Adds the image label of every ingredient, by id
+    private boolean showImages;         // Adds whether the images are shown, they are only shown once they are loaded
+
+    /**
+     * Constructs the grid with every ingredient that is stocked in the vending machine and starts listening to it.
+     * The images are left empty until showImages is called, since they may still be loading.
+     *
+     * @param vendingMachine The vending machine.
+     * @param imageCache The cache of the scaled ingredient images.
+     * @param IngredientGrid The constructor of the grid.
+     */
+
+    public IngredientGrid( VendingMachine vendingMachine, ImageCache imageCache ){
+
+        super( new GridLayout( 2, 4, 0, 0 ) );
+
+        this.catalog = vendingMachine.getCatalog();
+        this.imageCache = imageCache;
+        imagePaths = new ArrayList<>();
+        checkBoxes = new ArrayList<>();
+        priceLabels = new ArrayList<>();
+        quantityLabels = new ArrayList<>();
+        imageLabels = new ArrayList<>();
+
+        setBorder( BorderFactory.createTitledBorder("Please Choose What You Desire!") );
+
+        // Listens first, so an ingredient that is added while the grid is built is not missed. The cells are added
+        // in the order of the ids, and addCell skips the ones that are already in the grid.
+        vendingMachine.addListener( this );
+
+        for( Ingredient ingredient : vendingMachine.getStockedIngredients() ){
+
+            addCell( ingredient );
+
+        }
+
+    }
+
+    /**
+     * Shows the images of the ingredients. It is called once the images are loaded, so it never waits for the disk.
+     *
+     * @param showImages The method to show the images.
+     */
+
+    public void showImages(){
+
+        onSwingThread( () ->{
+
+            showImages = true;
+
+            for( int id = 0; id < imageLabels.size(); id++ ){
+
+                showImage( id );
+
+            }
+
+        } );
+
+    }
+
+    /**
+     * Checks if the customer ticked the ingredient with the given id.
+     *
+     * @param id The id of the ingredient.
+     * @param isSelected The method to check an ingredient.
+     * @return true if it is ticked
+     */
+
+    public boolean isSelected( int id ){
+
+        return id >= 0 && id < checkBoxes.size() && checkBoxes.get( id ).isSelected();
+
+    }
+
+    /**
+     * Unticks every ingredient, so the next customer starts with an empty order.
+     *
+     * @param clearSelection The method to untick every ingredient.
+     */
+
+    public void clearSelection(){
+
+        for( JCheckBox checkBox : checkBoxes ){
+
+            checkBox.setSelected( false );
+
+        }
+
+    }
+
+    /**
+     * Gets the number of ingredients in the grid.
+     *
+     * @return the number of ingredients
+     */
+
+    public int getIngredientCount(){
+
+        return checkBoxes.size();
+
+    }
+
+    /**
+     * Hands the change to the Swing thread, where the cells of new ingredients are added and the labels of the
+     * ingredients that changed are set.
+     *
+     * @param change The ingredients that changed.
+     */
+
+    @Override
+    public void machineChanged( MachineChange change ){
+
+        onSwingThread( () -> apply( change ) );
+
+    }
+
+    /**
+     * Adds the cells of the new ingredients and sets the labels of the ingredients that changed.
+     */
+
+    private void apply( MachineChange change ){
+
+        int cells = checkBoxes.size();
+
+        for( int id = cells; id < change.getIngredientCount(); id++ ){
+
+            addCell( catalog.get( id ) );
+
+        }
+
+        for( int i = 0; i < change.getStockChangeCount(); i++ ){
+
+            setQuantity( catalog.get( change.getStockChangedId( i ) ) );
+
+        }
+
+        for( int i = 0; i < change.getCatalogChangeCount(); i++ ){
+
+            Ingredient ingredient = catalog.get( change.getCatalogChangedId( i ) );
+            setPrice( ingredient );
+            setQuantity( ingredient );
+            setImage( ingredient );
+
+        }
+
+        if( checkBoxes.size() != cells ){
+
+            revalidate();
+
+        }
+
+    }
+
+    /**
+     * Builds the cell of an ingredient, unless it is already in the grid. The ids are dense, so the cells are added
+     * in the order of the ids.
+     */
+
+    private void addCell( Ingredient ingredient ){
+
+        int id = ingredient.getId();
+
+        if( id < checkBoxes.size() ){
+
+            return;
+
+        }
+
+        JCheckBox checkBox = new JCheckBox( ingredient.getName() );
+        JLabel priceLabel = new JLabel();
+        JLabel quantityLabel = new JLabel();
+        JLabel imageLabel = new JLabel();
+        imageLabel.setHorizontalAlignment( JLabel.CENTER ); // Centers the image horizontally
+        imageLabel.setPreferredSize( new Dimension( RamenView.IMAGE_SIZE, RamenView.IMAGE_SIZE ) );
+
+        JPanel labelPanel = new JPanel( new GridLayout(2, 1) );
+        labelPanel.add( priceLabel );
+        labelPanel.add( quantityLabel );
+
+        JPanel ingredientEntryPanel = new JPanel( new BorderLayout() );
+        ingredientEntryPanel.add( imageLabel, BorderLayout.CENTER );
+        ingredientEntryPanel.add( labelPanel, BorderLayout.SOUTH ); // Add the price and quantity labels
+        ingredientEntryPanel.add( checkBox, BorderLayout.NORTH ); // Move the checkbox to the top
+
+        imagePaths.add( ingredient.getImagePath() );
+        checkBoxes.add( checkBox );
+        priceLabels.add( priceLabel );
+        quantityLabels.add( quantityLabel );
+        imageLabels.add( imageLabel );
+
+        setPrice( ingredient );
+        setQuantity( ingredient );
+
+        if( showImages ){
+
+            showImage( id );
+
+        }
+
+        add( ingredientEntryPanel );
+
+    }
+
+    /**
+     * Sets the price label from the price the ingredient has now.
+     */
+
+    private void setPrice( Ingredient ingredient ){
+
+        int id = ( ingredient != null ) ? ingredient.getId() : -1;
+
+        if( id >= 0 && id < priceLabels.size() ){
+
+            priceLabels.get( id ).setText( "\u20B1" + Money.format( ingredient.getPrice() ) );
+
+        }
+
+    }
+
+    /**
+     * Sets the quantity label from the stock the ingredient has now, so a late update never shows an old stock. The
+     * stock is shown out of the capacity, in red once it is at the low-water mark.
+     */
+
+    private void setQuantity( Ingredient ingredient ){
+
+        int id = ( ingredient != null ) ? ingredient.getId() : -1;
+
+        if( id >= 0 && id < quantityLabels.size() ){
+
+            int quantity = ingredient.getQuantity();
+            JLabel quantityLabel = quantityLabels.get( id );
+
+            quantityLabel.setText( "Quantity: " + quantity + "/" + ingredient.getCapacity() );
+            quantityLabel.setForeground( ( quantity <= ingredient.getLowWaterMark() ) ? Color.RED : UIManager.getColor( "Label.foreground" ) );
+
+        }
+
+    }
+
+    /**
+     * Shows the new image of an ingredient whose image path was changed by a reload of the catalog.
+     */
+
+    private void setImage( Ingredient ingredient ){
+
+        int id = ( ingredient != null ) ? ingredient.getId() : -1;
+
+        if( id >= 0 && id < imagePaths.size() && !Objects.equals( imagePaths.get( id ), ingredient.getImagePath() ) ){
+
+            imagePaths.set( id, ingredient.getImagePath() );
+            imageLabels.get( id ).setIcon( null );
+
+            if( showImages ){
+
+                showImage( id );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Sets the image of the ingredient with the given id from the cache, if it is not set yet.
+     */
+
+    private void showImage( int id ){
+
+        JLabel imageLabel = imageLabels.get( id );
+
+        if( imageLabel.getIcon() == null ){
+
+            imageLabel.setIcon( imageCache.getIcon( imagePaths.get( id ), RamenView.IMAGE_SIZE, RamenView.IMAGE_SIZE ) );
+
+        }
+
+    }
+
+    /**
+     * Runs the change right away if this is the Swing thread, or hands it to the Swing thread if it is not.
+     */
+
+    private static void onSwingThread( Runnable change ){
+
+        if( SwingUtilities.isEventDispatchThread() ){
+
+            change.run();
+
+        }
+
+        else{
+
+            SwingUtilities.invokeLater( change );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,238 @@
+import java.util.Arrays;
+
+/**
+ * This class holds a quantity for some of the ingredients, like the recipe of a ramen dish or the ingredients a
+ * customer chose. The ids of the ingredients are dense, so the quantities are kept in an int array where the index
+ * is the id, next to the list of the ids that have a quantity, in the order they were added. Nothing is boxed and no
+ * string is hashed, and once the arrays are big enough for the catalog, adding, removing, going over and clearing
+ * the quantities never creates an object.
+ *
+ * Go over the quantities with an index:
+ *
+ *   for( int i = 0; i < quantities.size(); i++ ){
+ *       int id = quantities.getId( i );
+ *       int quantity = quantities.getQuantityAt( i );
+ *   }
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class IngredientQuantities{
+
+    private int[] quantities; // Adds the quantity of every ingredient, where the index is the id, 0 if it has none
+    private int[] ids;        // Adds the ids that have a quantity, in the order they were added
+    private int size;         // Adds the number of ids that have a quantity
+
+    /**
+     * Constructs empty quantities with room for the ids from 0 to capacity - 1.
+     *
+     * @param capacity The number of ids there is room for, usually the size of the catalog.
+     * @param IngredientQuantities The constructor of the quantities.
+     */
+
+    public IngredientQuantities( int capacity ){
+
+        quantities = new int[ Math.max( 1, capacity ) ];
+        ids = new int[ Math.min( 8, quantities.length ) ];
+
+    }
+
+    /**
+     * Sets the quantity of an ingredient. A quantity of 0 removes it.
+     *
+     * @param id The id of the ingredient.
+     * @param quantity The quantity.
+     * @param set The method to set a quantity.
+     * @throws IllegalArgumentException if the id or the quantity is negative.
+     */
+
+    public void set( int id, int quantity ){
+
+        if( id < 0 || quantity < 0 ){
+
+            throw new IllegalArgumentException( "Not a valid ingredient quantity: " + id + " x " + quantity );
+
+        }
+
+        if( quantity == 0 ){
+
+            remove( id );
+            return;
+
+        }
+
+        if( id >= quantities.length ){
+
+            quantities = Arrays.copyOf( quantities, Math.max( id + 1, quantities.length * 2 ) );
+
+        }
+
+        if( quantities[ id ] == 0 ){
+
+            if( size == ids.length ){
+
+                ids = Arrays.copyOf( ids, size * 2 );
+
+            }
+
+            ids[ size++ ] = id;
+
+        }
+
+        quantities[ id ] = quantity;
+
+    }
+
+    /**
+     * Adds to the quantity of an ingredient.
+     *
+     * @param id The id of the ingredient.
+     * @param quantity The quantity to add.
+     * @param add The method to add to a quantity.
+     * @throws IllegalArgumentException if the id is negative or the quantity would be.
+     */
+
+    public void add( int id, int quantity ){
+
+        set( id, Math.addExact( get( id ), quantity ) );
+
+    }
+
+    /**
+     * Removes an ingredient. The ones after it keep their order.
+     *
+     * @param id The id of the ingredient.
+     * @param remove The method to remove an ingredient.
+     */
+
+    public void remove( int id ){
+
+        if( !contains( id ) ){
+
+            return;
+
+        }
+
+        quantities[ id ] = 0;
+
+        for( int i = 0; i < size; i++ ){
+
+            if( ids[ i ] == id ){
+
+                System.arraycopy( ids, i + 1, ids, i, size - i - 1 );
+                size--;
+
+                return;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the quantity of an ingredient.
+     *
+     * @param id The id of the ingredient.
+     * @return the quantity, or 0 if it has none
+     */
+
+    public int get( int id ){
+
+        return ( id >= 0 && id < quantities.length ) ? quantities[ id ] : 0;
+
+    }
+
+    /**
+     * Checks if an ingredient has a quantity.
+     *
+     * @param id The id of the ingredient.
+     * @return true if it has a quantity
+     */
+
+    public boolean contains( int id ){
+
+        return get( id ) > 0;
+
+    }
+
+    /**
+     * Gets the number of ingredients that have a quantity.
+     *
+     * @return the number of ingredients
+     */
+
+    public int size(){
+
+        return size;
+
+    }
+
+    /**
+     * Checks if no ingredient has a quantity.
+     *
+     * @return true if it is empty
+     */
+
+    public boolean isEmpty(){
+
+        return size == 0;
+
+    }
+
+    /**
+     * Gets the id of the ingredient at the given index, in the order they were added.
+     *
+     * @param index The index, from 0 to size - 1.
+     * @return the id
+     * @throws IndexOutOfBoundsException if there is no ingredient at that index.
+     */
+
+    public int getId( int index ){
+
+        if( index < 0 || index >= size ){
+
+            throw new IndexOutOfBoundsException( "Index " + index + " of " + size );
+
+        }
+
+        return ids[ index ];
+
+    }
+
+    /**
+     * Gets the quantity of the ingredient at the given index, in the order they were added.
+     *
+     * @param index The index, from 0 to size - 1.
+     * @return the quantity
+     * @throws IndexOutOfBoundsException if there is no ingredient at that index.
+     */
+
+    public int getQuantityAt( int index ){
+
+        return quantities[ getId( index ) ];
+
+    }
+
+    /**
+     * Removes every ingredient. Only the ids that have a quantity are cleared, so it does not go over the whole
+     * catalog.
+     *
+     * @param clear The method to remove every ingredient.
+     */
+
+    public void clear(){
+
+        for( int i = 0; i < size; i++ ){
+
+            quantities[ ids[ i ] ] = 0;
+
+        }
+
+        size = 0;
+
+    }
+
+}
@@ -0,0 +1,131 @@
+import java.util.Map;
+
+/**
+ * This class takes care of the stock of the vending machine when many terminals order at the same time. An order
+ * reserves all of its ingredients in one step: either every ingredient is taken out, or none of them are. It does
+ * not use a lock, every ingredient has its own atomic counter.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class InventoryEngine{
+
+    private IngredientCatalog catalog; // Adds the catalog of the stocked ingredients
+
+    /**
+     * Constructs the inventory engine for the given catalog.
+     *
+     * @param catalog The catalog of the stocked ingredients.
+     * @param InventoryEngine The constructor of the inventory engine.
+     */
+
+    public InventoryEngine( IngredientCatalog catalog ){
+
+        this.catalog = catalog;
+
+    }
+
+    /**
+     * Reserves the given ingredients. If one of them does not have enough stock, the ones that were already
+     * taken are put back and nothing is reserved.
+     *
+     * @param ingredients The ingredients to reserve.
+     * @param quantities The quantity of each ingredient.
+     * @param reserve The method to reserve the ingredients.
+     * @return the reservation, or null if a quantity is negative or there is not enough stock
+     * @throws IllegalArgumentException if there is not one quantity for every ingredient.
+     */
+
+    public Reservation reserve( Ingredient[] ingredients, int[] quantities ){
+
+        if( ingredients.length != quantities.length ){
+
+            throw new IllegalArgumentException( "There are " + ingredients.length + " ingredients but " + quantities.length + " quantities" );
+
+        }
+
+        // A negative quantity would add stock instead of taking it, so it is refused before anything is taken.
+        for( int quantity : quantities ){
+
+            if( quantity < 0 ){
+
+                return null;
+
+            }
+
+        }
+
+        for( int i = 0; i < ingredients.length; i++ ){
+
+            if( !ingredients[ i ].tryTake( quantities[ i ] ) ){
+
+                // Puts back what was taken before this ingredient.
+                for( int j = 0; j < i; j++ ){
+
+                    ingredients[ j ].release( quantities[ j ] );
+
+                }
+
+                return null;
+
+            }
+
+        }
+
+        return new Reservation( ingredients, quantities );
+
+    }
+
+    /**
+     * Reserves the ingredients of an order given as ingredient names and quantities.
+     *
+     * @param order The names of the ingredients and their quantities.
+     * @return the reservation, or null if an ingredient is not stocked or there is not enough stock
+     */
+
+    public Reservation reserve( Map< String, Integer > order ){
+
+        Ingredient[] ingredients = new Ingredient[ order.size() ];
+        int[] quantities = new int[ order.size() ];
+        int index = 0;
+
+        for( Map.Entry< String, Integer > entry : order.entrySet() ){
+
+            Ingredient ingredient = catalog.get( entry.getKey() );
+
+            if( ingredient == null || entry.getValue() < 0 ){
+
+                return null;
+
+            }
+
+            ingredients[ index ] = ingredient;
+            quantities[ index ] = entry.getValue();
+            index++;
+
+        }
+
+        return reserve( ingredients, quantities );
+
+    }
+
+    /**
+     * Restocks the ingredient with the given name, without going over its capacity.
+     *
+     * @param ingredientName The name of the ingredient.
+     * @param quantityToAdd The quantity to add.
+     * @param restock The method to restock.
+     * @return the quantity that was actually added, or -1 if the ingredient is not stocked
+     */
+
+    public int restock( String ingredientName, int quantityToAdd ){
+
+        Ingredient ingredient = catalog.get( ingredientName );
+
+        return ( ingredient != null ) ? ingredient.put( quantityToAdd ) : -1;
+
+    }
+
+}
@@ -0,0 +1,164 @@
+import java.util.Arrays;
+
+/**
+ * This class collects the records of one transaction before they are written to the OrderJournal, so that all the
+ * records of an order are written together and either all of them are replayed or none of them are.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class JournalBatch{
+
+    private byte[] types;       // Adds the type of each record
+    private int[] ids;          // Adds the ingredient id of each record
+    private int[] quantities;   // Adds the quantity of each record
+    private long[] amounts;     // Adds the amount of money of each record
+    private long[] timestamps;  // Adds the time of each record
+    private int size;           // Adds the number of records in the batch
+
+    /**
+     * Constructs an empty batch.
+     *
+     * @param expectedSize The number of records the batch is expected to hold.
+     * @param JournalBatch The constructor of the batch.
+     */
+
+    public JournalBatch( int expectedSize ){
+
+        int capacity = Math.max( 1, expectedSize );
+
+        types = new byte[ capacity ];
+        ids = new int[ capacity ];
+        quantities = new int[ capacity ];
+        amounts = new long[ capacity ];
+        timestamps = new long[ capacity ];
+
+    }
+
+    /**
+     * Adds a record to the batch.
+     *
+     * @param type The type of the record, one of the OrderJournal constants.
+     * @param id The ingredient id, or the calories of an ORDER_END record.
+     * @param quantity The quantity or the change in stock.
+     * @param amount The amount of money in centavos.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param add The method to add a record.
+     * @return this batch
+     */
+
+    public JournalBatch add( byte type, int id, int quantity, long amount, long timestamp ){
+
+        if( size == types.length ){
+
+            int capacity = size * 2;
+
+            types = Arrays.copyOf( types, capacity );
+            ids = Arrays.copyOf( ids, capacity );
+            quantities = Arrays.copyOf( quantities, capacity );
+            amounts = Arrays.copyOf( amounts, capacity );
+            timestamps = Arrays.copyOf( timestamps, capacity );
+
+        }
+
+        types[ size ] = type;
+        ids[ size ] = id;
+        quantities[ size ] = quantity;
+        amounts[ size ] = amount;
+        timestamps[ size ] = timestamp;
+        size++;
+
+        return this;
+
+    }
+
+    /**
+     * Removes all the records, so the batch can be used again.
+     */
+
+    public void clear(){
+
+        size = 0;
+
+    }
+
+    /**
+     * Gets the number of records in the batch.
+     *
+     * @return the number of records
+     */
+
+    public int size(){
+
+        return size;
+
+    }
+
+    /**
+     * Gets the type of the record at the given position.
+     *
+     * @param index The position of the record.
+     * @return the type
+     */
+
+    public byte getType( int index ){
+
+        return types[ index ];
+
+    }
+
+    /**
+     * Gets the ingredient id of the record at the given position.
+     *
+     * @param index The position of the record.
+     * @return the id
+     */
+
+    public int getId( int index ){
+
+        return ids[ index ];
+
+    }
+
+    /**
+     * Gets the quantity of the record at the given position.
+     *
+     * @param index The position of the record.
+     * @return the quantity
+     */
+
+    public int getQuantity( int index ){
+
+        return quantities[ index ];
+
+    }
+
+    /**
+     * Gets the amount of money of the record at the given position.
+     *
+     * @param index The position of the record.
+     * @return the amount in centavos
+     */
+
+    public long getAmount( int index ){
+
+        return amounts[ index ];
+
+    }
+
+    /**
+     * Gets the time of the record at the given position.
+     *
+     * @param index The position of the record.
+     * @return the time in milliseconds since the epoch
+     */
+
+    public long getTimestamp( int index ){
+
+        return timestamps[ index ];
+
+    }
+
+}
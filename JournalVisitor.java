@@ -0,0 +1,25 @@
+/**
+ * This is what the OrderJournal calls back with every record when it is read back. Only records of transactions
+ * that were fully written are passed on, so a crash in the middle of an order never shows up half done.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public interface JournalVisitor{
+
+    /**
+     * Is called with one record of the journal.
+     *
+     * @param type The type of the record, one of the OrderJournal constants.
+     * @param id The ingredient id, or the calories of an ORDER_END record.
+     * @param quantity The quantity or the change in stock.
+     * @param amount The amount of money in centavos.
+     * @param timestamp The time the record was written, in milliseconds since the epoch.
+     * @param visit The method that is called for every record.
+     */
+
+    void visit( byte type, int id, int quantity, long amount, long timestamp );
+
+}
@@ -0,0 +1,217 @@
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class runs the kitchen of the vending machine without the user interface and without waiting, on a simulated
+ * clock: the time only moves when the simulator moves it, so hours of orders are scheduled in a blink. Orders arrive
+ * at random, about one every interval, and are scheduled with the PreparationScheduler. At the end it prints the
+ * plans of the first few orders, how long the orders took from payment until they were ready, next to how long they
+ * would have taken if the kitchen made one order at a time, and the utilization of every station.
+ *
+ * Options, all optional, are given as --name=value:
+ *
+ *   --orders      the number of orders (500)
+ *   --interval    the mean seconds between two orders (4)
+ *   --boilers     the number of noodle boilers (1)
+ *   --heaters     the number of broth heaters (2)
+ *   --seed        the seed of the made up orders and their arrival (1)
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class KitchenSimulator{
+
+    public static final int PLANS_SHOWN = 3; // The number of orders whose plans are printed
+
+    private PreparationScheduler scheduler;     // Adds the scheduler of the kitchen
+    private Map< KitchenStation, Long > stepMillis; // Adds the time one step takes, by station
+    private long now;                           // Adds the simulated clock, in milliseconds
+
+    /**
+     * Constructs a simulator for a kitchen with the given stations. The clock starts at 0.
+     *
+     * @param units The number of units of the stations, the ones that are not in it get their default.
+     * @param KitchenSimulator The constructor of the simulator.
+     */
+
+    public KitchenSimulator( Map< KitchenStation, Integer > units ){
+
+        this.stepMillis = new EnumMap<>( KitchenStation.class );
+
+        for( KitchenStation station : KitchenStation.values() ){
+
+            stepMillis.put( station, station.getDefaultStepMillis() );
+
+        }
+
+        this.scheduler = new PreparationScheduler( units, stepMillis );
+
+    }
+
+    /**
+     * Runs the simulator from the command line.
+     *
+     * @param args The options, as --name=value.
+     */
+
+    public static void main( String[] args ){
+
+        Map< String, String > options = OrderSimulator.parseOptions( args );
+
+        int orders = Integer.parseInt( options.getOrDefault( "orders", "500" ) );
+        double intervalSeconds = Double.parseDouble( options.getOrDefault( "interval", "4" ) );
+        long seed = Long.parseLong( options.getOrDefault( "seed", "1" ) );
+
+        Map< KitchenStation, Integer > units = new EnumMap<>( KitchenStation.class );
+        units.put( KitchenStation.NOODLE_BOILER, Integer.parseInt( options.getOrDefault( "boilers", "1" ) ) );
+        units.put( KitchenStation.BROTH_HEATER, Integer.parseInt( options.getOrDefault( "heaters", "2" ) ) );
+
+        VendingMachine vendingMachine = new VendingMachine();
+        RamenApp.stockVendingMachine( vendingMachine );
+
+        // Only the preparation steps of the orders are needed, so they are priced once and never paid for.
+        OrderService orderService = new OrderService( vendingMachine );
+        List< Map< String, Integer > > mix = OrderSimulator.syntheticMix( vendingMachine.getCatalog(), orders, seed );
+        List<String>[] steps = preparationSteps( orderService, mix );
+
+        new KitchenSimulator( units ).run( steps, ( long ) ( intervalSeconds * 1000 ), new Random( seed ), System.out );
+
+    }
+
+    /**
+     * Schedules the orders as they arrive, moving the simulated clock from one arrival to the next, and prints the
+     * report once the last order is ready.
+     *
+     * @param orders The preparation steps of every order.
+     * @param intervalMillis The mean time between two orders, in milliseconds.
+     * @param random The random numbers of the arrivals.
+     * @param out The stream the report is printed to.
+     * @param run The method to run the simulator.
+     * @throws IllegalArgumentException if there are no orders.
+     */
+
+    public void run( List<String>[] orders, long intervalMillis, Random random, PrintStream out ){
+
+        if( orders.length == 0 ){
+
+            throw new IllegalArgumentException( "There are no orders to prepare" );
+
+        }
+
+        long[] scheduledMillis = new long[ orders.length ];
+        long[] oneAtATimeMillis = new long[ orders.length ];
+        long oneAtATimeFree = 0;
+        long lastReady = 0;
+
+        for( int i = 0; i < orders.length; i++ ){
+
+            // The arrivals are random, with the given mean time between them.
+            now += ( long ) ( -Math.log( 1 - random.nextDouble() ) * intervalMillis );
+
+            PreparationPlan plan = scheduler.schedule( orders[ i ], now );
+            scheduledMillis[ i ] = plan.getTotalMillis();
+            lastReady = Math.max( lastReady, plan.getReadyAt() );
+
+            if( i < PLANS_SHOWN ){
+
+                print( i + 1, plan, out );
+
+            }
+
+            // A kitchen that makes one order at a time does its steps one after the other, after the order before.
+            oneAtATimeFree = Math.max( oneAtATimeFree, now ) + totalStepMillis( orders[ i ] );
+            oneAtATimeMillis[ i ] = oneAtATimeFree - now;
+
+        }
+
+        now = lastReady;
+
+        out.printf( "%d orders over %.1f minutes%n", orders.length, now / 60_000.0 );
+        out.printf( "ready after          mean s    p50 s    p95 s    max s%n" );
+        printPercentiles( "stations together", scheduledMillis, out );
+        printPercentiles( "one at a time", oneAtATimeMillis, out );
+        out.println( "station          units  utilization" );
+
+        for( KitchenStation station : KitchenStation.values() ){
+
+            out.printf( "%-16s %5d %11.1f%%%n", station.getName(), scheduler.getUnits( station ), scheduler.getUtilization( station, now ) * 100 );
+
+        }
+
+    }
+
+    /**
+     * Prices every order of the mix, for its preparation steps.
+     */
+
+    private static List<String>[] preparationSteps( OrderService orderService, List< Map< String, Integer > > mix ){
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        List<String>[] steps = new List[ mix.size() ];
+
+        for( int i = 0; i < steps.length; i++ ){
+
+            steps[ i ] = orderService.quote( mix.get( i ) ).getPreparationSteps();
+
+        }
+
+        return steps;
+
+    }
+
+    /**
+     * Adds up the time of every step of an order.
+     */
+
+    private long totalStepMillis( List<String> steps ){
+
+        long total = 0;
+
+        for( String step : steps ){
+
+            total += stepMillis.get( KitchenStation.forStep( step ) );
+
+        }
+
+        return total;
+
+    }
+
+    /**
+     * Prints the plan of one order.
+     */
+
+    private static void print( int number, PreparationPlan plan, PrintStream out ){
+
+        out.printf( "order %d, paid at %.1f s, ready at %.1f s%n", number, plan.getQueuedAt() / 1000.0, plan.getReadyAt() / 1000.0 );
+
+        for( int i = 0; i < plan.getStepCount(); i++ ){
+
+            out.printf( "    %-34s %-14s #%d %6.1f s to %6.1f s%n", plan.getStep( i ), plan.getStation( i ).getName(),
+                    plan.getUnit( i ) + 1, plan.getStart( i ) / 1000.0, plan.getEnd( i ) / 1000.0 );
+
+        }
+
+    }
+
+    /**
+     * Prints the mean, the median, the 95th percentile and the maximum of the times, in seconds.
+     */
+
+    private static void printPercentiles( String label, long[] millis, PrintStream out ){
+
+        long[] sorted = millis.clone();
+        Arrays.sort( sorted );
+
+        out.printf( "%-18s %8.1f %8.1f %8.1f %8.1f%n", label, Arrays.stream( sorted ).average().orElse( 0 ) / 1000,
+                sorted[ sorted.length / 2 ] / 1000.0, sorted[ ( int ) ( sorted.length * 0.95 ) ] / 1000.0, sorted[ sorted.length - 1 ] / 1000.0 );
+
+    }
+
+}
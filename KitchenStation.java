@@ -0,0 +1,110 @@
+/**
+ * This is a station of the kitchen behind the vending machine, like the noodle boiler or the broth heaters. Every
+ * preparation step is done at one station, which is told by the first word of the step, so "Heating Miso broth..."
+ * is done at a broth heater. A station can have more than one unit, which each do one step at a time.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public enum KitchenStation{
+
+    NOODLE_BOILER( "Noodle boiler", 1, 3_000, "Blanching", "Boiling" ),
+    BROTH_HEATER( "Broth heater", 2, 4_000, "Heating" ),
+    SLICER( "Slicer", 1, 1_000, "Slicing", "Chopping" ),
+    FRYER( "Fryer", 1, 2_000, "Frying" ),
+    EGG_COOKER( "Egg cooker", 1, 2_000, "Cooking" ),
+    COUNTER( "Counter", 1, 500 );   // Every step that no other station does
+
+    private final String name;              // Adds the name shown in the reports
+    private final int defaultUnits;         // Adds the number of units the kitchen has, by default
+    private final long defaultStepMillis;   // Adds the time one step takes, by default
+    private final String[] verbs;           // Adds the first words of the steps that are done here
+
+    /**
+     * Constructs a station.
+     *
+     * @param name The name shown in the reports.
+     * @param defaultUnits The number of units the kitchen has, by default.
+     * @param defaultStepMillis The time one step takes, by default, in milliseconds.
+     * @param verbs The first words of the steps that are done at the station.
+     */
+
+    KitchenStation( String name, int defaultUnits, long defaultStepMillis, String... verbs ){
+
+        this.name = name;
+        this.defaultUnits = defaultUnits;
+        this.defaultStepMillis = defaultStepMillis;
+        this.verbs = verbs;
+
+    }
+
+    /**
+     * Gets the name of the station.
+     *
+     * @param getName The method to get the name of the station.
+     * @return the name
+     */
+
+    public String getName(){
+
+        return name;
+
+    }
+
+    /**
+     * Gets the number of units of the station the kitchen has, unless it is told otherwise.
+     *
+     * @param getDefaultUnits The method to get the default number of units.
+     * @return the number of units
+     */
+
+    public int getDefaultUnits(){
+
+        return defaultUnits;
+
+    }
+
+    /**
+     * Gets the time one step takes at the station, unless it is told otherwise.
+     *
+     * @param getDefaultStepMillis The method to get the default step time.
+     * @return the time in milliseconds
+     */
+
+    public long getDefaultStepMillis(){
+
+        return defaultStepMillis;
+
+    }
+
+    /**
+     * Finds the station a preparation step is done at, from the first word of the step.
+     *
+     * @param step The preparation step, like "Blanching noodles...".
+     * @param forStep The method to find the station of a step.
+     * @return the station, or COUNTER if no other station does the step
+     */
+
+    public static KitchenStation forStep( String step ){
+
+        for( KitchenStation station : values() ){
+
+            for( String verb : station.verbs ){
+
+                if( step.regionMatches( true, 0, verb, 0, verb.length() ) ){
+
+                    return station;
+
+                }
+
+            }
+
+        }
+
+        return COUNTER;
+
+    }
+
+}
@@ -0,0 +1,261 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts how long something took, like an order, in buckets that get wider as the times get longer, the
+ * same way an HDR histogram does. Every power of two is split into 32 buckets, so a percentile is never more than
+ * about 3% off, from a nanosecond up to hours. Many threads can record at once without a lock and recording never
+ * creates an object.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class LatencyHistogram{
+
+    private static final int SUB_BUCKET_BITS = 5;                  // 32 buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = ( 64 - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+    private String name;          // Adds the name that is shown in the dump
+    private AtomicLongArray counts; // Adds the number of times in each bucket
+    private LongAdder total;      // Adds the sum of all the times
+    private AtomicLong max;       // Adds the longest time
+
+    /**
+     * Constructs an empty histogram.
+     *
+     * @param name The name that is shown in the dump.
+     * @param LatencyHistogram The constructor of the histogram.
+     */
+
+    public LatencyHistogram( String name ){
+
+        this.name = name;
+        this.counts = new AtomicLongArray( BUCKETS );
+        this.total = new LongAdder();
+        this.max = new AtomicLong();
+
+    }
+
+    /**
+     * Records one time.
+     *
+     * @param nanos The time in nanoseconds, negative times count as 0.
+     * @param record The method to record a time.
+     */
+
+    public void record( long nanos ){
+
+        long value = Math.max( 0, nanos );
+
+        counts.incrementAndGet( bucketOf( value ) );
+        total.add( value );
+
+        long longest = max.get();
+
+        while( value > longest && !max.compareAndSet( longest, value ) ){
+
+            longest = max.get();
+
+        }
+
+    }
+
+    /**
+     * Records the time since the given start.
+     *
+     * @param startNanos The start, from System.nanoTime.
+     * @param recordSince The method to record the time since a start.
+     */
+
+    public void recordSince( long startNanos ){
+
+        record( System.nanoTime() - startNanos );
+
+    }
+
+    /**
+     * Gets the name of the histogram.
+     *
+     * @return the name
+     */
+
+    public String getName(){
+
+        return name;
+
+    }
+
+    /**
+     * Gets the number of recorded times.
+     *
+     * @return the count
+     */
+
+    public long getCount(){
+
+        long count = 0;
+
+        for( int i = 0; i < BUCKETS; i++ ){
+
+            count += counts.get( i );
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Gets the average of the recorded times.
+     *
+     * @return the average in nanoseconds, or 0 if nothing was recorded
+     */
+
+    public double getMean(){
+
+        long count = getCount();
+
+        return ( count == 0 ) ? 0.0 : total.sum() / ( double ) count;
+
+    }
+
+    /**
+     * Gets the longest recorded time.
+     *
+     * @return the longest time in nanoseconds
+     */
+
+    public long getMax(){
+
+        return max.get();
+
+    }
+
+    /**
+     * Gets the time that the given percentage of the recorded times are at or below, rounded up to the end of its
+     * bucket.
+     *
+     * @param percentile The percentage, from 0 to 100.
+     * @param getPercentile The method to get a percentile.
+     * @return the time in nanoseconds, or 0 if nothing was recorded
+     */
+
+    public long getPercentile( double percentile ){
+
+        long[] snapshot = new long[ BUCKETS ];
+        long count = 0;
+
+        for( int i = 0; i < BUCKETS; i++ ){
+
+            snapshot[ i ] = counts.get( i );
+            count += snapshot[ i ];
+
+        }
+
+        if( count == 0 ){
+
+            return 0;
+
+        }
+
+        long rank = Math.max( 1, ( long ) Math.ceil( Math.min( 100.0, Math.max( 0.0, percentile ) ) / 100.0 * count ) );
+        long seen = 0;
+
+        for( int i = 0; i < BUCKETS; i++ ){
+
+            seen += snapshot[ i ];
+
+            if( seen >= rank ){
+
+                return Math.min( highestValueOf( i ), max.get() );
+
+            }
+
+        }
+
+        return max.get();
+
+    }
+
+    /**
+     * Removes all the recorded times.
+     */
+
+    public void reset(){
+
+        for( int i = 0; i < BUCKETS; i++ ){
+
+            counts.set( i, 0 );
+
+        }
+
+        total.reset();
+        max.set( 0 );
+
+    }
+
+    /**
+     * Describes the histogram in one line, in microseconds.
+     *
+     * @return the description
+     */
+
+    @Override
+    public String toString(){
+
+        return String.format( "%s: count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                name, getCount(), getMean() / 1000.0, micros( getPercentile( 50 ) ), micros( getPercentile( 90 ) ),
+                micros( getPercentile( 99 ) ), micros( getPercentile( 99.9 ) ), micros( getMax() ) );
+
+    }
+
+    /**
+     * Finds the bucket of a time. Times below 32 have a bucket each, after that every power of two has 32 buckets.
+     */
+
+    private static int bucketOf( long value ){
+
+        if( value < SUB_BUCKETS ){
+
+            return ( int ) value;
+
+        }
+
+        int highestBit = 63 - Long.numberOfLeadingZeros( value );
+        int shift = highestBit - SUB_BUCKET_BITS;
+
+        return ( shift + 1 ) * SUB_BUCKETS + ( int ) ( ( value >>> shift ) - SUB_BUCKETS );
+
+    }
+
+    /**
+     * Gets the longest time that falls in the given bucket.
+     */
+
+    private static long highestValueOf( int bucket ){
+
+        if( bucket < SUB_BUCKETS ){
+
+            return bucket;
+
+        }
+
+        int shift = bucket / SUB_BUCKETS - 1;
+        long top = SUB_BUCKETS + bucket % SUB_BUCKETS;
+
+        return ( ( top + 1 ) << shift ) - 1;
+
+    }
+
+    private static double micros( long nanos ){
+
+        return nanos / ( double ) TimeUnit.MICROSECONDS.toNanos( 1 );
+
+    }
+
+}
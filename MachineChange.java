@@ -0,0 +1,141 @@
+/**
+ * This class is one burst of changes of a vending machine, as it is handed to the MachineListeners: the ids of the
+ * ingredients whose stock changed, the ids of the ingredients whose price changed, and whether the money changed.
+ * An ingredient is in it once, no matter how many times it changed, so read the ingredient for its newest value.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class MachineChange{
+
+    private VendingMachine vendingMachine; // Adds the vending machine that changed
+    private int[] stockChanged;            // Adds the ids of the ingredients whose stock changed
+    private int[] catalogChanged;          // Adds the ids of the ingredients whose catalog information changed
+    private boolean moneyChanged;          // Adds whether the money collected changed
+    private int ingredientCount;           // Adds the number of ingredients in the catalog when the change was told
+
+    /**
+     * Constructs a burst of changes.
+     *
+     * @param vendingMachine The vending machine that changed.
+     * @param stockChanged The ids of the ingredients whose stock changed.
+     * @param catalogChanged The ids of the ingredients whose catalog information changed.
+     * @param moneyChanged Whether the money collected changed.
+     * @param ingredientCount The number of ingredients in the catalog.
+     * @param MachineChange The constructor of the change.
+     */
+
+    public MachineChange( VendingMachine vendingMachine, int[] stockChanged, int[] catalogChanged, boolean moneyChanged, int ingredientCount ){
+
+        this.vendingMachine = vendingMachine;
+        this.stockChanged = stockChanged;
+        this.catalogChanged = catalogChanged;
+        this.moneyChanged = moneyChanged;
+        this.ingredientCount = ingredientCount;
+
+    }
+
+    /**
+     * Gets the vending machine that changed.
+     *
+     * @return the vending machine
+     */
+
+    public VendingMachine getVendingMachine(){
+
+        return vendingMachine;
+
+    }
+
+    /**
+     * Gets the number of ingredients whose stock changed.
+     *
+     * @return the number of ingredients
+     */
+
+    public int getStockChangeCount(){
+
+        return stockChanged.length;
+
+    }
+
+    /**
+     * Gets the id of an ingredient whose stock changed. The ids are in ascending order.
+     *
+     * @param index The index, from 0 to getStockChangeCount() - 1.
+     * @return the id
+     */
+
+    public int getStockChangedId( int index ){
+
+        return stockChanged[ index ];
+
+    }
+
+    /**
+     * Gets the number of ingredients whose price, image or other catalog information changed. Read the catalog
+     * of the vending machine for the new Ingredient.
+     *
+     * @return the number of ingredients
+     */
+
+    public int getCatalogChangeCount(){
+
+        return catalogChanged.length;
+
+    }
+
+    /**
+     * Gets the id of an ingredient whose catalog information changed. The ids are in ascending order.
+     *
+     * @param index The index, from 0 to getCatalogChangeCount() - 1.
+     * @return the id
+     */
+
+    public int getCatalogChangedId( int index ){
+
+        return catalogChanged[ index ];
+
+    }
+
+    /**
+     * Checks if the money collected changed.
+     *
+     * @return true if it changed, read the vending machine for the new total
+     */
+
+    public boolean isMoneyChanged(){
+
+        return moneyChanged;
+
+    }
+
+    /**
+     * Gets the number of ingredients in the catalog when the change was told. A listener that keeps something for
+     * every ingredient can compare it with what it has to find the ones that were added.
+     *
+     * @return the number of ingredients
+     */
+
+    public int getIngredientCount(){
+
+        return ingredientCount;
+
+    }
+
+    /**
+     * Describes the change for the logs.
+     *
+     * @return the description
+     */
+
+    @Override
+    public String toString(){
+
+        return "MachineChange[stock=" + stockChanged.length + ", catalog=" + catalogChanged.length + ", money=" + moneyChanged + "]";
+
+    }
+
+}
@@ -0,0 +1,375 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class tells the MachineListeners of a vending machine about the changes to its stock, its catalog and its
+ * money. A change only sets a bit for the ingredient, or a flag for the money, and wakes up the thread of the bus if
+ * it is asleep, so an order never waits for a listener and never creates an object. The thread of the bus then hands
+ * everything that changed to the listeners in one call, at most once per frame, so a burst of orders or a batch is
+ * told once instead of once per ingredient per order.
+ *
+ * The bus is created by the vending machine when the first listener is added, so a machine that nobody listens to
+ * does no work for it.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class MachineEventBus implements CatalogListener{
+
+    public static final long DEFAULT_FRAME_MILLIS = 16; // The shortest time between two calls, about one screen frame
+
+    private VendingMachine vendingMachine;      // Adds the vending machine whose changes are told
+    private long frameNanos;                    // Adds the shortest time between two calls
+    private List<MachineListener> listeners;    // Adds the listeners
+    private volatile AtomicLongArray stockBits; // Adds one bit for every ingredient whose stock changed, by id
+    private volatile AtomicLongArray catalogBits; // Adds one bit for every ingredient whose catalog information changed, by id
+    private AtomicBoolean moneyChanged;         // Adds whether the money changed
+    private AtomicBoolean pending;              // Adds whether there are changes that were not told yet
+    private Thread dispatcher;                  // Adds the thread that tells the listeners
+    private volatile boolean closed;            // Adds whether the bus was closed
+    private volatile long dispatches;           // Adds the number of calls made to the listeners, only the thread of the bus writes it
+
+    /**
+     * Constructs the bus of a vending machine and starts its thread.
+     *
+     * @param vendingMachine The vending machine whose changes are told.
+     * @param frameMillis The shortest time between two calls to the listeners, in milliseconds.
+     * @param MachineEventBus The constructor of the bus.
+     */
+
+    public MachineEventBus( VendingMachine vendingMachine, long frameMillis ){
+
+        this.vendingMachine = vendingMachine;
+        this.frameNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 0, frameMillis ) );
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.stockBits = new AtomicLongArray( words( vendingMachine.getCatalog().size() ) );
+        this.catalogBits = new AtomicLongArray( words( vendingMachine.getCatalog().size() ) );
+        this.pending = new AtomicBoolean();
+        this.moneyChanged = new AtomicBoolean();
+
+        dispatcher = new Thread( this::dispatchLoop, "machine-events" );
+        dispatcher.setDaemon( true );
+        dispatcher.start();
+
+    }
+
+    /**
+     * Adds a listener.
+     *
+     * @param listener The listener.
+     * @param addListener The method to add a listener.
+     */
+
+    public void addListener( MachineListener listener ){
+
+        listeners.add( listener );
+
+    }
+
+    /**
+     * Removes a listener. It may still get the call that is being made right now.
+     *
+     * @param listener The listener.
+     * @param removeListener The method to remove a listener.
+     */
+
+    public void removeListener( MachineListener listener ){
+
+        listeners.remove( listener );
+
+    }
+
+    /**
+     * Marks the stock of an ingredient as changed. It is called on the thread of the change, so it only sets a bit.
+     *
+     * @param id The id of the ingredient.
+     * @param stockChanged The method to mark a stock change.
+     */
+
+    public void stockChanged( int id ){
+
+        mark( true, id );
+
+    }
+
+    /**
+     * Marks the money as changed.
+     *
+     * @param moneyChanged The method to mark a money change.
+     */
+
+    public void moneyChanged(){
+
+        moneyChanged.set( true );
+        schedule();
+
+    }
+
+    /**
+     * Makes room for the new ingredient and marks its stock and information as changed, so the listeners pick it up.
+     *
+     * @param ingredient The ingredient that was added.
+     */
+
+    @Override
+    public void ingredientAdded( Ingredient ingredient ){
+
+        grow( ingredient.getId() + 1 );
+        mark( true, ingredient.getId() );
+        mark( false, ingredient.getId() );
+
+    }
+
+    /**
+     * Marks the information of the ingredient as changed.
+     *
+     * @param oldIngredient The ingredient as it was before the reload.
+     * @param newIngredient The ingredient as it is now.
+     */
+
+    @Override
+    public void ingredientChanged( Ingredient oldIngredient, Ingredient newIngredient ){
+
+        mark( false, newIngredient.getId() );
+
+    }
+
+    /**
+     * Gets the number of calls that were made to the listeners. Every call can hold many changes.
+     *
+     * @return the number of calls
+     */
+
+    public long getDispatchCount(){
+
+        return dispatches;
+
+    }
+
+    /**
+     * Stops the thread of the bus. Changes that were not told yet are dropped.
+     *
+     * @param close The method to stop the bus.
+     */
+
+    public void close(){
+
+        closed = true;
+        LockSupport.unpark( dispatcher );
+
+    }
+
+    /**
+     * Sets the bit of the ingredient in the stock or the catalog bits. If the bits were replaced by bigger ones while
+     * the bit was set, it is set again in the new ones, so a change is never lost.
+     */
+
+    private void mark( boolean stock, int id ){
+
+        if( id < 0 ){
+
+            return;
+
+        }
+
+        AtomicLongArray bits;
+
+        do{
+
+            bits = stock ? stockBits : catalogBits;
+
+            if( ( id >>> 6 ) >= bits.length() ){
+
+                grow( id + 1 );
+                continue;
+
+            }
+
+            long mask = 1L << id;
+
+            // Most changes come in bursts to the same ingredients, so the bit is often set already and is only read.
+            if( ( bits.get( id >>> 6 ) & mask ) == 0 ){
+
+                bits.getAndAccumulate( id >>> 6, mask, MachineEventBus::or );
+
+            }
+
+        }while( bits != ( stock ? stockBits : catalogBits ) );
+
+        schedule();
+
+    }
+
+    /**
+     * Wakes up the thread of the bus, unless there are already changes waiting for it.
+     */
+
+    private void schedule(){
+
+        if( !pending.get() && pending.compareAndSet( false, true ) ){
+
+            LockSupport.unpark( dispatcher );
+
+        }
+
+    }
+
+    /**
+     * Replaces the bits with bigger ones, so there is room for the given number of ingredients. The bigger bits are
+     * published first and the old bits are moved over after, so a bit that is set in the old ones at the same time is
+     * either moved or set again by mark.
+     */
+
+    private synchronized void grow( int ingredientCount ){
+
+        int words = words( ingredientCount );
+
+        if( words <= stockBits.length() ){
+
+            return;
+
+        }
+
+        AtomicLongArray oldStock = stockBits;
+        AtomicLongArray oldCatalog = catalogBits;
+        AtomicLongArray newStock = new AtomicLongArray( words );
+        AtomicLongArray newCatalog = new AtomicLongArray( words );
+
+        stockBits = newStock;
+        catalogBits = newCatalog;
+
+        for( int i = 0; i < oldStock.length(); i++ ){
+
+            newStock.getAndAccumulate( i, oldStock.getAndSet( i, 0 ), MachineEventBus::or );
+            newCatalog.getAndAccumulate( i, oldCatalog.getAndSet( i, 0 ), MachineEventBus::or );
+
+        }
+
+        schedule();
+
+    }
+
+    /**
+     * Sleeps until there are changes, waits until a frame has passed since the last call, and then hands everything
+     * that changed to the listeners.
+     */
+
+    private void dispatchLoop(){
+
+        long lastDispatch = System.nanoTime() - frameNanos;
+        int[] scratch = new int[ 64 ];
+
+        while( !closed ){
+
+            if( !pending.get() ){
+
+                LockSupport.park( this );
+                continue;
+
+            }
+
+            long wait = lastDispatch + frameNanos - System.nanoTime();
+
+            if( wait > 0 ){
+
+                LockSupport.parkNanos( this, wait );
+                continue;
+
+            }
+
+            // Cleared before the bits are read, so a change that comes in while they are read schedules the next call.
+            pending.set( false );
+            lastDispatch = System.nanoTime();
+
+            boolean money = moneyChanged.getAndSet( false );
+
+            int[] stock = drain( stockBits, scratch );
+            int[] catalog = drain( catalogBits, scratch );
+
+            if( stock.length == 0 && catalog.length == 0 && !money ){
+
+                continue;
+
+            }
+
+            MachineChange change = new MachineChange( vendingMachine, stock, catalog, money, vendingMachine.getCatalog().size() );
+            dispatches++;
+
+            for( MachineListener listener : listeners ){
+
+                try{
+
+                    listener.machineChanged( change );
+
+                }catch( RuntimeException e ){
+
+                    // One broken listener must not stop the others or the bus.
+                    System.err.println( "A machine listener failed: " + e );
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Clears the bits and gives back the ids that were set, in ascending order.
+     */
+
+    private static int[] drain( AtomicLongArray bits, int[] scratch ){
+
+        int count = 0;
+
+        for( int i = 0; i < bits.length(); i++ ){
+
+            long word = ( bits.get( i ) == 0 ) ? 0 : bits.getAndSet( i, 0 );
+
+            while( word != 0 ){
+
+                if( count == scratch.length ){
+
+                    scratch = Arrays.copyOf( scratch, count * 2 );
+
+                }
+
+                scratch[ count++ ] = i * 64 + Long.numberOfTrailingZeros( word );
+                word &= word - 1;
+
+            }
+
+        }
+
+        return Arrays.copyOf( scratch, count );
+
+    }
+
+    /**
+     * Gets the number of longs needed for one bit per ingredient.
+     */
+
+    private static int words( int ingredientCount ){
+
+        return Math.max( 1, ( ingredientCount + 63 ) >>> 6 );
+
+    }
+
+    /**
+     * Combines two words of bits.
+     */
+
+    private static long or( long left, long right ){
+
+        return left | right;
+
+    }
+
+}
@@ -0,0 +1,22 @@
+/**
+ * This is what the MachineEventBus of a vending machine calls back after its stock, its prices or its money changed.
+ * A burst of changes is told in one call, and the call is made on the thread of the bus, never on the thread of an
+ * order, so a slow listener only delays the next call and never an order.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public interface MachineListener{
+
+    /**
+     * Is called with everything that changed since the last call.
+     *
+     * @param change The ingredients whose stock or price changed and whether the money changed.
+     * @param machineChanged The method that is called for a burst of changes.
+     */
+
+    void machineChanged( MachineChange change );
+
+}
@@ -0,0 +1,324 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts what happens in a vending machine: orders, orders that could not be filled, cash that was not
+ * enough, restocks of every ingredient, and how long orders and the customize window take. Counting never takes a
+ * lock and never creates an object, so it can be left on in the order path. The counts are only read when they are
+ * dumped.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class MachineMetrics{
+
+    private LongAdder ordersPlaced;             // Adds the number of accepted orders
+    private LongAdder ordersUnavailable;        // Adds the number of orders and quotes that failed the stock check
+    private LongAdder ordersUnknownIngredient;  // Adds the number of orders and quotes with an ingredient that is not stocked
+    private LongAdder insufficientCash;         // Adds the number of times the cash was not enough
+    private LongAdder noChange;                 // Adds the number of times the change could not be made
+    private LongAdder quotes;                   // Adds the number of orders that were priced
+    private volatile LongAdder[] restocks;      // Adds the number of restocks of every ingredient, by id
+    private volatile LongAdder[] unitsRestocked; // Adds the number of units restocked of every ingredient, by id
+    private LatencyHistogram orderLatency;      // Adds how long placing an order takes
+    private LatencyHistogram customizeWindowLatency; // Adds how long the customize window takes to open
+
+    /**
+     * Constructs metrics with every count at 0.
+     *
+     * @param MachineMetrics The constructor of the metrics.
+     */
+
+    public MachineMetrics(){
+
+        ordersPlaced = new LongAdder();
+        ordersUnavailable = new LongAdder();
+        ordersUnknownIngredient = new LongAdder();
+        insufficientCash = new LongAdder();
+        noChange = new LongAdder();
+        quotes = new LongAdder();
+        restocks = new LongAdder[ 0 ];
+        unitsRestocked = new LongAdder[ 0 ];
+        orderLatency = new LatencyHistogram( "order" );
+        customizeWindowLatency = new LatencyHistogram( "customize window" );
+
+    }
+
+    /**
+     * Makes room for the counts of a new ingredient. It is called when the ingredient is stocked, so counting a
+     * restock never has to.
+     *
+     * @param id The id of the ingredient.
+     * @param ingredientAdded The method to make room for an ingredient.
+     */
+
+    public synchronized void ingredientAdded( int id ){
+
+        if( id < restocks.length ){
+
+            return;
+
+        }
+
+        // The counters that are already there are kept, so nothing that is counted while the arrays grow is lost.
+        LongAdder[] moreRestocks = Arrays.copyOf( restocks, id + 1 );
+        LongAdder[] moreUnits = Arrays.copyOf( unitsRestocked, id + 1 );
+
+        for( int i = restocks.length; i <= id; i++ ){
+
+            moreRestocks[ i ] = new LongAdder();
+            moreUnits[ i ] = new LongAdder();
+
+        }
+
+        unitsRestocked = moreUnits;
+        restocks = moreRestocks;
+
+    }
+
+    /**
+     * Counts the outcome of an order or a quote and, for orders, how long it took.
+     *
+     * @param status The outcome.
+     * @param startNanos The time the order was started, from System.nanoTime, or -1 for a quote.
+     * @param orderCompleted The method to count an order.
+     */
+
+    public void orderCompleted( OrderStatus status, long startNanos ){
+
+        switch( status ){
+
+            case ACCEPTED:
+
+                ordersPlaced.increment();
+                break;
+
+            case QUOTED:
+
+                quotes.increment();
+                break;
+
+            case UNAVAILABLE:
+
+                ordersUnavailable.increment();
+                break;
+
+            case UNKNOWN_INGREDIENT:
+
+                ordersUnknownIngredient.increment();
+                break;
+
+            case INSUFFICIENT_CASH:
+
+                insufficientCash.increment();
+                break;
+
+            case NO_CHANGE:
+
+                noChange.increment();
+                break;
+
+            default:
+
+                break;
+
+        }
+
+        if( startNanos >= 0 ){
+
+            orderLatency.recordSince( startNanos );
+
+        }
+
+    }
+
+    /**
+     * Counts a restock of an ingredient.
+     *
+     * @param id The id of the ingredient.
+     * @param units The number of units that were added.
+     * @param restocked The method to count a restock.
+     */
+
+    public void restocked( int id, int units ){
+
+        LongAdder[] counts = restocks;
+        LongAdder[] unitCounts = unitsRestocked;
+
+        if( id >= 0 && id < counts.length && id < unitCounts.length ){
+
+            counts[ id ].increment();
+            unitCounts[ id ].add( units );
+
+        }
+
+    }
+
+    /**
+     * Gets the histogram of how long placing an order takes.
+     *
+     * @return the histogram
+     */
+
+    public LatencyHistogram getOrderLatency(){
+
+        return orderLatency;
+
+    }
+
+    /**
+     * Gets the histogram of how long the customize window takes to open.
+     *
+     * @return the histogram
+     */
+
+    public LatencyHistogram getCustomizeWindowLatency(){
+
+        return customizeWindowLatency;
+
+    }
+
+    /**
+     * Gets the number of accepted orders.
+     *
+     * @return the count
+     */
+
+    public long getOrdersPlaced(){
+
+        return ordersPlaced.sum();
+
+    }
+
+    /**
+     * Gets the number of orders and quotes that failed the stock check.
+     *
+     * @return the count
+     */
+
+    public long getOrdersUnavailable(){
+
+        return ordersUnavailable.sum();
+
+    }
+
+    /**
+     * Gets the number of times the cash was not enough.
+     *
+     * @return the count
+     */
+
+    public long getInsufficientCash(){
+
+        return insufficientCash.sum();
+
+    }
+
+    /**
+     * Gets the number of times the change could not be made, so the order was refused.
+     *
+     * @return the count
+     */
+
+    public long getNoChange(){
+
+        return noChange.sum();
+
+    }
+
+    /**
+     * Gets the number of restocks of an ingredient.
+     *
+     * @param id The id of the ingredient.
+     * @return the count
+     */
+
+    public long getRestocks( int id ){
+
+        LongAdder[] counts = restocks;
+
+        return ( id >= 0 && id < counts.length ) ? counts[ id ].sum() : 0;
+
+    }
+
+    /**
+     * Writes all the counts and histograms in a readable form.
+     *
+     * @param out The stream to write to.
+     * @param catalog The catalog, to name the ingredients.
+     * @param dump The method to write the metrics.
+     */
+
+    public void dump( PrintStream out, IngredientCatalog catalog ){
+
+        out.print( describe( catalog ) );
+        out.flush();
+
+    }
+
+    /**
+     * Writes all the counts and histograms to a file, replacing it.
+     *
+     * @param file The file to write to.
+     * @param catalog The catalog, to name the ingredients.
+     * @throws IOException if the file cannot be written.
+     */
+
+    public void dump( Path file, IngredientCatalog catalog ) throws IOException{
+
+        Files.write( file, describe( catalog ).getBytes( StandardCharsets.UTF_8 ) );
+
+    }
+
+    /**
+     * Describes all the counts and histograms.
+     *
+     * @param catalog The catalog, to name the ingredients.
+     * @param describe The method to describe the metrics.
+     * @return the description, one line per count
+     */
+
+    public String describe( IngredientCatalog catalog ){
+
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter( text );
+
+        out.println( "Vending machine metrics at " + Instant.now() );
+        out.println( "orders.placed " + ordersPlaced.sum() );
+        out.println( "orders.quoted " + quotes.sum() );
+        out.println( "orders.unavailable " + ordersUnavailable.sum() );
+        out.println( "orders.unknownIngredient " + ordersUnknownIngredient.sum() );
+        out.println( "orders.insufficientCash " + insufficientCash.sum() );
+        out.println( "orders.noChange " + noChange.sum() );
+        out.println( "latency." + orderLatency );
+        out.println( "latency." + customizeWindowLatency );
+
+        LongAdder[] counts = restocks;
+        LongAdder[] unitCounts = unitsRestocked;
+        List<Ingredient> ingredients = catalog.getIngredients();
+
+        for( int id = 0; id < Math.min( counts.length, unitCounts.length ); id++ ){
+
+            String name = ( id < ingredients.size() ) ? ingredients.get( id ).getName() : "#" + id;
+            out.println( "restocks." + name + " " + counts[ id ].sum() + " (" + unitCounts[ id ].sum() + " units)" );
+
+        }
+
+        out.flush();
+
+        return text.toString();
+
+    }
+
+}
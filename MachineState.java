@@ -0,0 +1,453 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is a copy of the state of a vending machine that is kept up to date by replaying the OrderJournal:
+ * the stock of every ingredient, the money collected, the coins and bills in the cash drawer and the most recent orders. It is used to rebuild the vending
+ * machine when the program starts, and to write snapshots in the background without touching the vending machine
+ * that takes the orders.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class MachineState implements JournalVisitor{
+
+    private long journalPosition;     // Adds the position in the journal this state is up to date with
+    private long moneyCollected;      // Adds the money collected in centavos
+    private long[] drawer;            // Adds the pieces of every denomination in the cash drawer
+    private int[] quantities;         // Adds the stock of every ingredient, by id
+    private String[] names;           // Adds the name of every ingredient, by id
+    private long[] prices;            // Adds the price of every ingredient in centavos, by id
+    private OrderHistory recentOrders; // Adds the most recent orders
+    private int[] orderIds;           // Adds the ingredient ids of the order being read
+    private int[] orderQuantities;    // Adds the quantities of the order being read
+    private int orderSize;            // Adds the number of ingredients of the order being read
+
+    /**
+     * Constructs an empty state.
+     *
+     * @param ingredientCount The number of ingredients.
+     * @param historyCapacity The number of recent orders that are kept.
+     * @param MachineState The constructor of the state.
+     */
+
+    public MachineState( int ingredientCount, int historyCapacity ){
+
+        drawer = new long[ 0 ];
+        quantities = new int[ ingredientCount ];
+        names = new String[ ingredientCount ];
+        prices = new long[ ingredientCount ];
+        recentOrders = new OrderHistory( historyCapacity, null );
+        orderIds = new int[ 8 ];
+        orderQuantities = new int[ 8 ];
+
+    }
+
+    /**
+     * Copies the state of a vending machine that was just stocked and did not take any orders yet. The journal is
+     * replayed on top of it.
+     *
+     * @param vendingMachine The vending machine.
+     * @param of The method to copy the state.
+     * @return the state
+     */
+
+    public static MachineState of( VendingMachine vendingMachine ){
+
+        List<Ingredient> ingredients = vendingMachine.getStockedIngredients();
+        MachineState state = new MachineState( ingredients.size(), vendingMachine.getOrderHistory().getCapacity() );
+
+        for( Ingredient ingredient : ingredients ){
+
+            state.quantities[ ingredient.getId() ] = ingredient.getQuantity();
+
+        }
+
+        state.copyCatalog( vendingMachine.getCatalog() );
+        state.copyDrawer( vendingMachine.getCashDrawer() );
+        state.moneyCollected = vendingMachine.getTotalMoneyCollected();
+
+        return state;
+
+    }
+
+    /**
+     * Applies one record of the journal to this state.
+     */
+
+    @Override
+    public void visit( byte type, int id, int quantity, long amount, long timestamp ){
+
+        switch( type ){
+
+            case OrderJournal.COLLECT:
+
+                moneyCollected += amount;
+                break;
+
+            case OrderJournal.RESET_MONEY:
+
+                moneyCollected = 0;
+                break;
+
+            case OrderJournal.STOCK:
+
+                ensureIngredient( id );
+                quantities[ id ] += quantity;
+                break;
+
+            case OrderJournal.ORDER_LINE:
+
+                if( orderSize == orderIds.length ){
+
+                    orderIds = Arrays.copyOf( orderIds, orderSize * 2 );
+                    orderQuantities = Arrays.copyOf( orderQuantities, orderSize * 2 );
+
+                }
+
+                orderIds[ orderSize ] = id;
+                orderQuantities[ orderSize ] = quantity;
+                orderSize++;
+                break;
+
+            case OrderJournal.ORDER_END:
+
+                recentOrders.restore( new OrderRecord( timestamp, Arrays.copyOf( orderIds, orderSize ), Arrays.copyOf( orderQuantities, orderSize ), id, amount ) );
+                orderSize = 0;
+                break;
+
+            case OrderJournal.DRAWER:
+
+                if( id >= 0 && id < drawer.length ){
+
+                    drawer[ id ] += quantity;
+
+                }
+
+                break;
+
+            default:
+
+                // Skips records this version does not know about.
+                break;
+
+        }
+
+    }
+
+    /**
+     * Puts this state into a vending machine that was just stocked. The vending machine must not have its journal
+     * yet, otherwise the changes would be written to it a second time.
+     *
+     * @param vendingMachine The vending machine.
+     * @param applyTo The method to restore the vending machine.
+     */
+
+    public void applyTo( VendingMachine vendingMachine ){
+
+        for( int id = 0; id < quantities.length; id++ ){
+
+            Ingredient ingredient = vendingMachine.getCatalog().get( id );
+
+            if( ingredient != null ){
+
+                ingredient.adjustQuantity( quantities[ id ] - ingredient.getQuantity() );
+
+            }
+
+        }
+
+        vendingMachine.resetTotalMoneyCollected();
+        vendingMachine.collectMoney( moneyCollected );
+
+        CashDrawer cashDrawer = vendingMachine.getCashDrawer();
+
+        for( int i = 0; i < drawer.length && i < cashDrawer.getDenominationCount(); i++ ){
+
+            cashDrawer.deposit( i, drawer[ i ] - cashDrawer.getCount( i ) );
+
+        }
+
+        List<OrderRecord> orders = recentOrders.getRecent( 0, recentOrders.size() );
+
+        for( int i = orders.size() - 1; i >= 0; i-- ){
+
+            vendingMachine.getOrderHistory().restore( orders.get( i ) );
+
+        }
+
+    }
+
+    /**
+     * Copies the names and prices of the ingredients, which are not in the journal, from the catalog.
+     *
+     * @param catalog The catalog of the vending machine.
+     * @param copyCatalog The method to copy the names and prices.
+     */
+
+    public void copyCatalog( IngredientCatalog catalog ){
+
+        ensureIngredient( catalog.size() - 1 );
+
+        for( int id = 0; id < catalog.size(); id++ ){
+
+            names[ id ] = catalog.get( id ).getName();
+            prices[ id ] = catalog.get( id ).getPrice();
+
+        }
+
+    }
+
+    /**
+     * Copies the pieces in a cash drawer that was just filled with its float. The journal is replayed on top of them.
+     *
+     * @param cashDrawer The cash drawer.
+     * @param copyDrawer The method to copy the pieces.
+     */
+
+    public void copyDrawer( CashDrawer cashDrawer ){
+
+        drawer = new long[ cashDrawer.getDenominationCount() ];
+
+        for( int i = 0; i < drawer.length; i++ ){
+
+            drawer[ i ] = cashDrawer.getCount( i );
+
+        }
+
+    }
+
+    /**
+     * Gets the position in the journal this state is up to date with.
+     *
+     * @return the position in bytes
+     */
+
+    public long getJournalPosition(){
+
+        return journalPosition;
+
+    }
+
+    /**
+     * Sets the position in the journal this state is up to date with.
+     *
+     * @param journalPosition The position in bytes.
+     */
+
+    public void setJournalPosition( long journalPosition ){
+
+        this.journalPosition = journalPosition;
+
+    }
+
+    /**
+     * Gets the money collected.
+     *
+     * @return the money collected in centavos
+     */
+
+    public long getMoneyCollected(){
+
+        return moneyCollected;
+
+    }
+
+    /**
+     * Gets the stock of the ingredient with the given id.
+     *
+     * @param id The id of the ingredient.
+     * @return the stock, or 0 if there is no such ingredient
+     */
+
+    public int getQuantity( int id ){
+
+        return ( id >= 0 && id < quantities.length ) ? quantities[ id ] : 0;
+
+    }
+
+    /**
+     * Gets the pieces of a denomination in the cash drawer.
+     *
+     * @param index The index of the denomination.
+     * @param getDrawerCount The method to get the pieces of a denomination.
+     * @return the number of pieces, or 0 if there is no such denomination
+     */
+
+    public long getDrawerCount( int index ){
+
+        return ( index >= 0 && index < drawer.length ) ? drawer[ index ] : 0;
+
+    }
+
+    /**
+     * Writes this state as a snapshot.
+     *
+     * @param out The stream to write to.
+     * @param write The method to write the state.
+     * @throws IOException if the stream cannot be written.
+     */
+
+    public void write( DataOutputStream out ) throws IOException{
+
+        out.writeLong( journalPosition );
+        out.writeLong( moneyCollected );
+        out.writeInt( drawer.length );
+
+        for( int i = 0; i < drawer.length; i++ ){
+
+            out.writeLong( drawer[ i ] );
+
+        }
+
+        out.writeInt( quantities.length );
+
+        for( int id = 0; id < quantities.length; id++ ){
+
+            out.writeUTF( ( names[ id ] != null ) ? names[ id ] : "" );
+            out.writeInt( quantities[ id ] );
+            out.writeLong( prices[ id ] );
+
+        }
+
+        List<OrderRecord> orders = recentOrders.getRecent( 0, recentOrders.size() );
+        out.writeLong( recentOrders.getTotalRecorded() );
+        out.writeInt( orders.size() );
+
+        // Oldest first, so they are restored in the same order.
+        for( int i = orders.size() - 1; i >= 0; i-- ){
+
+            OrderRecord order = orders.get( i );
+            out.writeLong( order.getTimestamp() );
+            out.writeInt( order.getTotalCalories() );
+            out.writeLong( order.getTotalCost() );
+            out.writeInt( order.getIngredientCount() );
+
+            for( int j = 0; j < order.getIngredientCount(); j++ ){
+
+                out.writeInt( order.getIngredientId( j ) );
+                out.writeInt( order.getQuantity( j ) );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Reads a state that was written as a snapshot. The stock is matched to the catalog by the names of the
+     * ingredients, so it is still right if the ingredients were stocked in a different order. A snapshot written
+     * before the cash drawer was kept leaves the drawer at its float, which is all its journal knew of it too.
+     *
+     * @param in The stream to read from.
+     * @param withDrawer Whether the snapshot holds the cash drawer.
+     * @param catalog The catalog of the vending machine.
+     * @param cashDrawer The cash drawer of the vending machine, which was just filled with its float.
+     * @param historyCapacity The number of recent orders that are kept.
+     * @param read The method to read the state.
+     * @return the state
+     * @throws IOException if the stream cannot be read.
+     */
+
+    public static MachineState read( DataInputStream in, boolean withDrawer, IngredientCatalog catalog, CashDrawer cashDrawer, int historyCapacity ) throws IOException{
+
+        MachineState state = new MachineState( catalog.size(), historyCapacity );
+        state.journalPosition = in.readLong();
+        state.moneyCollected = in.readLong();
+        state.copyDrawer( cashDrawer );
+
+        if( withDrawer ){
+
+            int denominations = in.readInt();
+
+            for( int i = 0; i < denominations; i++ ){
+
+                long pieces = in.readLong();
+
+                if( i < state.drawer.length ){
+
+                    state.drawer[ i ] = pieces;
+
+                }
+
+            }
+
+        }
+
+        for( int id = 0; id < catalog.size(); id++ ){
+
+            state.quantities[ id ] = catalog.get( id ).getQuantity();
+
+        }
+
+        int count = in.readInt();
+
+        for( int i = 0; i < count; i++ ){
+
+            String name = in.readUTF();
+            int quantity = in.readInt();
+            in.readLong(); // The catalog stays the source of the prices.
+
+            Ingredient ingredient = catalog.get( name );
+
+            if( ingredient != null ){
+
+                state.quantities[ ingredient.getId() ] = quantity;
+
+            }
+
+        }
+
+        state.copyCatalog( catalog );
+
+        in.readLong(); // The total number of orders ever recorded, kept for reference.
+        int orders = in.readInt();
+
+        for( int i = 0; i < orders; i++ ){
+
+            long timestamp = in.readLong();
+            int calories = in.readInt();
+            long cost = in.readLong();
+            int size = in.readInt();
+            int[] ids = new int[ size ];
+            int[] quantities = new int[ size ];
+
+            for( int j = 0; j < size; j++ ){
+
+                ids[ j ] = in.readInt();
+                quantities[ j ] = in.readInt();
+
+            }
+
+            state.recentOrders.restore( new OrderRecord( timestamp, ids, quantities, calories, cost ) );
+
+        }
+
+        return state;
+
+    }
+
+    /**
+     * Makes sure there is room for the ingredient with the given id.
+     */
+
+    private void ensureIngredient( int id ){
+
+        if( id >= quantities.length ){
+
+            int size = id + 1;
+
+            quantities = Arrays.copyOf( quantities, size );
+            names = Arrays.copyOf( names, size );
+            prices = Arrays.copyOf( prices, size );
+
+        }
+
+    }
+
+}
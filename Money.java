@@ -0,0 +1,150 @@
+/**
+ * This class works with amounts of money as a whole number of centavos in a long, so prices, totals and change are
+ * always exact and adding them up never drifts. Nothing here creates objects except format and parse, which are only
+ * used when an amount is shown to or typed in by the user.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public final class Money{
+
+    public static final long CENTAVOS_PER_PESO = 100; // The number of centavos in one peso
+
+    /**
+     * There are no Money objects, amounts are plain longs.
+     */
+
+    private Money(){
+
+    }
+
+    /**
+     * Converts whole pesos to centavos.
+     *
+     * @param pesos The amount in pesos.
+     * @param pesos The method to convert pesos.
+     * @return the amount in centavos
+     * @throws ArithmeticException if the amount does not fit in a long.
+     */
+
+    public static long pesos( long pesos ){
+
+        return Math.multiplyExact( pesos, CENTAVOS_PER_PESO );
+
+    }
+
+    /**
+     * Multiplies a price by a quantity.
+     *
+     * @param centavos The price in centavos.
+     * @param quantity The quantity.
+     * @param times The method to multiply a price.
+     * @return the amount in centavos
+     * @throws ArithmeticException if the amount does not fit in a long.
+     */
+
+    public static long times( long centavos, int quantity ){
+
+        return Math.multiplyExact( centavos, ( long ) quantity );
+
+    }
+
+    /**
+     * Formats an amount as pesos with two decimals, like 125.50, without the peso sign.
+     *
+     * @param centavos The amount in centavos.
+     * @param format The method to format an amount.
+     * @return the formatted amount
+     */
+
+    public static String format( long centavos ){
+
+        long whole = Math.abs( centavos / CENTAVOS_PER_PESO );
+        long fraction = Math.abs( centavos % CENTAVOS_PER_PESO );
+        StringBuilder text = new StringBuilder( 24 );
+
+        if( centavos < 0 ){
+
+            text.append('-');
+
+        }
+
+        text.append( whole ).append('.');
+
+        if( fraction < 10 ){
+
+            text.append('0');
+
+        }
+
+        return text.append( fraction ).toString();
+
+    }
+
+    /**
+     * Reads an amount of pesos that was typed in, like 100, 100.5 or 100.50, without going through a double.
+     *
+     * @param text The amount in pesos.
+     * @param parse The method to read an amount.
+     * @return the amount in centavos
+     * @throws NumberFormatException if the text is not a positive amount with at most two decimals.
+     */
+
+    public static long parse( String text ){
+
+        String trimmed = text.trim();
+        int point = trimmed.indexOf('.');
+        String whole = ( point < 0 ) ? trimmed : trimmed.substring( 0, point );
+        String fraction = ( point < 0 ) ? "" : trimmed.substring( point + 1 );
+
+        if( ( whole.isEmpty() && fraction.isEmpty() ) || fraction.length() > 2 || !isDigits( whole ) || !isDigits( fraction ) ){
+
+            throw new NumberFormatException( "Not an amount of money: " + text );
+
+        }
+
+        long centavos = 0;
+
+        if( fraction.length() > 0 ){
+
+            centavos = ( fraction.charAt( 0 ) - '0' ) * 10 + ( ( fraction.length() > 1 ) ? fraction.charAt( 1 ) - '0' : 0 );
+
+        }
+
+        try{
+
+            centavos = Math.addExact( pesos( whole.isEmpty() ? 0 : Long.parseLong( whole ) ), centavos );
+
+        }catch( ArithmeticException e ){
+
+            throw new NumberFormatException( "Amount of money is too large: " + text );
+
+        }
+
+        return centavos;
+
+    }
+
+    /**
+     * Checks that the text is only the digits 0 to 9.
+     */
+
+    private static boolean isDigits( String text ){
+
+        for( int i = 0; i < text.length(); i++ ){
+
+            if( text.charAt( i ) < '0' || text.charAt( i ) > '9' ){
+
+                return false;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+}
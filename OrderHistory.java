@@ -0,0 +1,304 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * This class is the order history of the vending machine. Only the most recent orders are kept in memory, in a ring
+ * of a fixed size, so the memory does not grow the longer the machine runs. When an order is pushed out of the ring
+ * it is written to the spill file, if there is one.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderHistory{
+
+    public static final int DEFAULT_CAPACITY = 1000; // The number of orders kept in memory by default
+
+    private AtomicReferenceArray<OrderRecord> slots; // Adds the ring of the most recent orders
+    private AtomicLong recorded;                     // Adds the number of orders ever recorded
+    private Path spillFile;                          // Adds the file the older orders are written to
+    private ExecutorService spillWriter;             // Adds the thread that writes to the spill file
+    private BufferedWriter writer;                   // Adds the open spill file
+
+    /**
+     * Constructs an order history that keeps the given number of orders in memory.
+     *
+     * @param capacity The number of orders kept in memory.
+     * @param spillFile The file the older orders are written to, or null to drop them.
+     * @param OrderHistory The constructor of the order history.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+
+    public OrderHistory( int capacity, Path spillFile ){
+
+        if( capacity <= 0 ){
+
+            throw new IllegalArgumentException( "Capacity must be positive: " + capacity );
+
+        }
+
+        this.slots = new AtomicReferenceArray<>( capacity );
+        this.recorded = new AtomicLong();
+        this.spillFile = spillFile;
+
+        if( spillFile != null ){
+
+            spillWriter = Executors.newSingleThreadExecutor( runnable -> {
+
+                Thread thread = new Thread( runnable, "order-history-spill" );
+                thread.setDaemon( true );
+
+                return thread;
+
+            } );
+
+        }
+
+    }
+
+    /**
+     * Adds an order to the history. If the ring is full, the oldest order is pushed out to the spill file. Writing
+     * the file happens on another thread, so this never waits for the disk.
+     *
+     * @param record The order to be added.
+     * @param add Method to add the order.
+     */
+
+    public void add( OrderRecord record ){
+
+        OrderRecord evicted = put( record );
+
+        if( evicted != null && spillWriter != null ){
+
+            spillWriter.execute( () -> spill( Collections.singletonList( evicted ) ) );
+
+        }
+
+    }
+
+    /**
+     * Adds the orders of a batch to the history, in the order they were placed. The slots are taken all at once, and
+     * the orders that are pushed out are written to the spill file together.
+     *
+     * @param records The orders to be added.
+     * @param addAll Method to add many orders.
+     */
+
+    public void addAll( List<OrderRecord> records ){
+
+        long first = recorded.getAndAdd( records.size() );
+        List<OrderRecord> evicted = new ArrayList<>();
+
+        for( int i = 0; i < records.size(); i++ ){
+
+            OrderRecord pushedOut = slots.getAndSet( ( int ) ( ( first + i ) % slots.length() ), records.get( i ) );
+
+            if( pushedOut != null ){
+
+                evicted.add( pushedOut );
+
+            }
+
+        }
+
+        if( !evicted.isEmpty() && spillWriter != null ){
+
+            spillWriter.execute( () -> spill( evicted ) );
+
+        }
+
+    }
+
+    /**
+     * Adds an order that was recorded before the program was restarted. It is not written to the spill file when it
+     * is pushed out, since it was already written there the first time.
+     *
+     * @param record The order to be added.
+     * @param restore Method to add an order back.
+     */
+
+    public void restore( OrderRecord record ){
+
+        put( record );
+
+    }
+
+    /**
+     * Puts the order in the next slot of the ring.
+     *
+     * @param record The order to be added.
+     * @return the order that was pushed out, or null if the slot was empty
+     */
+
+    private OrderRecord put( OrderRecord record ){
+
+        long sequence = recorded.getAndIncrement();
+
+        return slots.getAndSet( ( int ) ( sequence % slots.length() ), record );
+
+    }
+
+    /**
+     * Gets a page of the most recent orders, the newest one first.
+     *
+     * @param offset The number of recent orders to skip.
+     * @param limit The maximum number of orders to get.
+     * @param getRecent Method to get a page of the history.
+     * @return the orders on the page
+     */
+
+    public List<OrderRecord> getRecent( int offset, int limit ){
+
+        long newest = recorded.get() - 1;
+        long oldest = Math.max( 0, recorded.get() - slots.length() );
+        List<OrderRecord> page = new ArrayList<>( Math.max( 0, limit ) );
+
+        for( long sequence = newest - offset; sequence >= oldest && page.size() < limit; sequence-- ){
+
+            OrderRecord record = slots.get( ( int ) ( sequence % slots.length() ) );
+
+            if( record != null ){
+
+                page.add( record );
+
+            }
+
+        }
+
+        return page;
+
+    }
+
+    /**
+     * Goes over the orders kept in memory once, the oldest one first, without copying them.
+     *
+     * @param action What is done with every order.
+     * @param forEach Method to go over the history.
+     */
+
+    public void forEach( Consumer<OrderRecord> action ){
+
+        long end = recorded.get();
+
+        for( long sequence = Math.max( 0, end - slots.length() ); sequence < end; sequence++ ){
+
+            OrderRecord record = slots.get( ( int ) ( sequence % slots.length() ) );
+
+            if( record != null ){
+
+                action.accept( record );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the number of orders kept in memory.
+     *
+     * @return the number of orders in memory
+     */
+
+    public int size(){
+
+        return ( int ) Math.min( recorded.get(), slots.length() );
+
+    }
+
+    /**
+     * Gets the number of orders kept in memory at most.
+     *
+     * @return the capacity
+     */
+
+    public int getCapacity(){
+
+        return slots.length();
+
+    }
+
+    /**
+     * Gets the number of orders recorded since the history was made, including the ones no longer in memory.
+     *
+     * @return the number of recorded orders
+     */
+
+    public long getTotalRecorded(){
+
+        return recorded.get();
+
+    }
+
+    /**
+     * Checks if no orders were recorded yet.
+     *
+     * @return True if the history is empty. If not, then False.
+     */
+
+    public boolean isEmpty(){
+
+        return recorded.get() == 0;
+
+    }
+
+    /**
+     * Writes the orders that were pushed out of the ring to the spill file, one line per order:
+     * timestamp, calories, cost in centavos, and then id:quantity of each ingredient.
+     *
+     * @param records The orders to write.
+     */
+
+    private void spill( List<OrderRecord> records ){
+
+        StringBuilder lines = new StringBuilder();
+
+        for( OrderRecord record : records ){
+
+            lines.append( record.getTimestamp() ).append(',')
+                    .append( record.getTotalCalories() ).append(',')
+                    .append( record.getTotalCost() );
+
+            for( int i = 0; i < record.getIngredientCount(); i++ ){
+
+                lines.append(',').append( record.getIngredientId( i ) ).append(':').append( record.getQuantity( i ) );
+
+            }
+
+            lines.append( System.lineSeparator() );
+
+        }
+
+        try{
+
+            if( writer == null ){
+
+                writer = Files.newBufferedWriter( spillFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND );
+
+            }
+
+            writer.write( lines.toString() );
+            writer.flush();
+
+        }catch( IOException e ){
+
+            System.err.println( "Could not write to the order history file " + spillFile + ": " + e.getMessage() );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,929 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * This class is the write-ahead journal of the vending machine. Every change to the money, the stock and the order
+ * history is written to it before the customer is told the order went through, so the state can be rebuilt after
+ * the program is restarted or the machine loses power.
+ *
+ * The journal is a list of segment files that are memory-mapped. Every record is 32 bytes:
+ *
+ *   0  int   CRC32C of bytes 4 to 31
+ *   4  byte  type
+ *   5  byte  flags, MORE_FOLLOWS if the next record belongs to the same transaction
+ *   8  int   ingredient id, or the calories of an ORDER_END record
+ *   12 int   quantity, or the change in stock of a STOCK record
+ *   16 long  amount of money in centavos
+ *   24 long  timestamp in milliseconds since the epoch
+ *
+ * The disk is forced by one background thread. Everyone who is waiting for their records to be durable is released
+ * by the same force, so many orders share one fsync.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderJournal implements Closeable{
+
+    public static final int RECORD_SIZE = 32;                         // The size of every record in bytes
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024; // The size of a segment file, 2 million records
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 2;       // The longest time written records wait to be forced
+
+    public static final byte COLLECT = 1;     // Money was collected: amount
+    public static final byte RESET_MONEY = 2; // The admin collected the money from the machine: amount
+    public static final byte STOCK = 3;       // The stock changed: id, quantity is the change
+    public static final byte ORDER_LINE = 4;  // One ingredient of a recorded order: id, quantity
+    public static final byte ORDER_END = 5;   // The end of a recorded order: id is the calories, amount is the cost
+    public static final byte DRAWER = 6;      // Pieces went into or out of the cash drawer: id is the denomination, quantity is the change
+
+    private static final byte MORE_FOLLOWS = 1; // The flag for a record that is not the last of its transaction
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte[] EMPTY_RECORD = new byte[ RECORD_SIZE ];
+
+    private Path directory;                        // Adds the folder of the segment files
+    private long segmentSize;                      // Adds the size of a segment file
+    private long commitIntervalMillis;             // Adds the longest time before written records are forced
+
+    private Object appendLock;                     // Adds the lock that keeps the records in order
+    private MappedByteBuffer segment;              // Adds the segment that is written to
+    private long segmentStart;                     // Adds the position of the first byte of that segment
+    private long position;                         // Adds the position the next record is written at
+    private List<MappedByteBuffer> rolledSegments; // Adds the full segments that still have to be forced
+    private byte[] writeBuffer;                    // Adds the bytes of the record being written
+    private CRC32C writeChecksum;                  // Adds the checksum of the record being written
+    private volatile long written;                 // Adds the end of the last written transaction
+
+    private ReentrantLock flushLock;               // Adds the lock that guards the forced position
+    private Condition flushNeeded;                 // Adds the signal that wakes up the flusher
+    private Condition flushed;                     // Adds the signal that wakes up the waiting writers
+    private long durable;                          // Adds the position up to which the disk was forced
+    private boolean flushRequested;                // Adds whether someone is waiting for a force
+    private Thread flusher;                        // Adds the thread that forces the disk
+    private volatile boolean closed;               // Adds whether the journal is closed
+
+    /**
+     * Constructs a journal in the given folder with the default segment size and commit interval. Nothing can be
+     * written until recover is called.
+     *
+     * @param directory The folder of the segment files.
+     * @param OrderJournal The constructor of the journal.
+     */
+
+    public OrderJournal( Path directory ){
+
+        this( directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMMIT_INTERVAL_MILLIS );
+
+    }
+
+    /**
+     * Constructs a journal in the given folder. Nothing can be written until recover is called.
+     *
+     * @param directory The folder of the segment files.
+     * @param segmentSize The size of a segment file, a multiple of the record size.
+     * @param commitIntervalMillis The longest time written records wait to be forced to the disk.
+     * @throws IllegalArgumentException if the segment size is not a positive multiple of the record size.
+     */
+
+    public OrderJournal( Path directory, long segmentSize, long commitIntervalMillis ){
+
+        if( segmentSize <= 0 || segmentSize % RECORD_SIZE != 0 || segmentSize > Integer.MAX_VALUE ){
+
+            throw new IllegalArgumentException( "Segment size must be a positive multiple of " + RECORD_SIZE + ": " + segmentSize );
+
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.commitIntervalMillis = Math.max( 1, commitIntervalMillis );
+
+        appendLock = new Object();
+        flushLock = new ReentrantLock();
+        flushNeeded = flushLock.newCondition();
+        flushed = flushLock.newCondition();
+        rolledSegments = new ArrayList<>();
+        writeBuffer = new byte[ RECORD_SIZE ];
+        writeChecksum = new CRC32C();
+        position = -1;
+
+    }
+
+    /**
+     * Reads the whole journal back, passes every record of every complete transaction to the visitor and gets the
+     * journal ready for writing. A transaction that was cut off by a crash, or a record with a bad checksum, ends the
+     * journal: it and everything after it is wiped.
+     *
+     * @param visitor The visitor that gets the records, or null to only find the end.
+     * @param recover The method to replay the journal.
+     * @return the number of transactions that were replayed
+     * @throws IOException if the segment files cannot be read or written.
+     */
+
+    public long recover( JournalVisitor visitor ) throws IOException{
+
+        return recover( 0, visitor );
+
+    }
+
+    /**
+     * Reads the journal back from the given position, which is where a snapshot left off, and gets the journal ready
+     * for writing. Only the records after the position are passed to the visitor, so the time it takes depends on
+     * the tail since the snapshot and not on how long the machine has been running.
+     *
+     * @param from The position to start reading at, the end of a transaction.
+     * @param visitor The visitor that gets the records, or null to only find the end.
+     * @return the number of transactions that were replayed
+     * @throws IOException if the segment files cannot be read or written, or do not reach back to the position.
+     */
+
+    public long recover( long from, JournalVisitor visitor ) throws IOException{
+
+        synchronized( appendLock ){
+
+            if( position >= 0 ){
+
+                throw new IllegalStateException( "The journal was already recovered" );
+
+            }
+
+            if( from < 0 || from % RECORD_SIZE != 0 ){
+
+                throw new IllegalArgumentException( "Not a record position: " + from );
+
+            }
+
+            Files.createDirectories( directory );
+
+            List<Long> starts = listSegments();
+            int count = 0;
+
+            while( count < starts.size() && starts.get( count ) == starts.get( 0 ) + count * segmentSize ){
+
+                // Stops at a missing segment, nothing after the gap can be trusted.
+                count++;
+
+            }
+
+            long first = from;
+            List<MappedByteBuffer> segments = new ArrayList<>();
+
+            if( count == 0 && from > 0 ){
+
+                // The segments are always kept back to the newest snapshot, so none at all means they were lost.
+                throw new IOException( "The journal in " + directory + " has no segments, so it does not contain position " + from );
+
+            }
+
+            if( count > 0 ){
+
+                if( from < starts.get( 0 ) || from > starts.get( 0 ) + count * segmentSize ){
+
+                    throw new IOException( "The journal in " + directory + " does not contain position " + from );
+
+                }
+
+                int skipped = ( int ) ( ( from - starts.get( 0 ) ) / segmentSize );
+                first = starts.get( 0 ) + skipped * segmentSize;
+
+                for( int i = skipped; i < count; i++ ){
+
+                    segments.add( map( starts.get( i ) ) );
+
+                }
+
+            }
+
+            long limit = first + segments.size() * segmentSize;
+            byte[] record = new byte[ RECORD_SIZE ];
+            CRC32C checksum = new CRC32C();
+            long transactions = 0;
+            long transactionStart = from;
+            long scan = from;
+
+            while( scan < limit ){
+
+                read( segments, first, scan, record );
+
+                if( !isValid( record, checksum ) ){
+
+                    break;
+
+                }
+
+                scan += RECORD_SIZE;
+
+                if( ( record[ 5 ] & MORE_FOLLOWS ) == 0 ){
+
+                    // The transaction is complete, so its records can be replayed.
+                    if( visitor != null ){
+
+                        replay( segments, first, transactionStart, scan, visitor, record );
+
+                    }
+
+                    transactions++;
+                    transactionStart = scan;
+
+                }
+
+            }
+
+            long end = transactionStart;
+
+            // Wipes a transaction that was cut off and anything written after it, so it is never read back later.
+            for( long wipe = end; wipe < limit; wipe += RECORD_SIZE ){
+
+                read( segments, first, wipe, record );
+
+                if( wipe >= scan && isEmpty( record ) ){
+
+                    break;
+
+                }
+
+                segments.get( ( int ) ( ( wipe - first ) / segmentSize ) ).put( ( int ) ( ( wipe - first ) % segmentSize ), EMPTY_RECORD );
+
+            }
+
+            segmentStart = first + ( ( end - first ) / segmentSize ) * segmentSize;
+
+            for( long start : starts ){
+
+                if( start > segmentStart ){
+
+                    Files.deleteIfExists( segmentPath( start ) );
+
+                }
+
+            }
+
+            for( MappedByteBuffer buffer : segments ){
+
+                buffer.force();
+
+            }
+
+            segment = map( segmentStart );
+            position = end;
+            written = end;
+            durable = end;
+
+            flusher = new Thread( this::flushLoop, "order-journal-flusher" );
+            flusher.setDaemon( true );
+            flusher.start();
+
+            return transactions;
+
+        }
+
+    }
+
+    /**
+     * Passes the records between two positions to the visitor while the journal is being written to. It is used to
+     * bring a snapshot up to date in the background, so it reads the segment files on its own and never takes the
+     * locks the writers use.
+     *
+     * @param from The first position, the end of a transaction.
+     * @param to The last position, at most the durable position.
+     * @param visitor The visitor that gets the records.
+     * @param read The method to read part of the journal.
+     * @return the number of records that were read
+     * @throws IOException if a segment file cannot be read or a record is damaged.
+     */
+
+    public long read( long from, long to, JournalVisitor visitor ) throws IOException{
+
+        byte[] record = new byte[ RECORD_SIZE ];
+        CRC32C checksum = new CRC32C();
+        long at = from;
+
+        for( long start : listSegments() ){
+
+            if( at >= to ){
+
+                break;
+
+            }
+
+            if( start + segmentSize <= at ){
+
+                continue;
+
+            }
+
+            if( start > at ){
+
+                throw new IOException( "The journal segment at position " + at + " is missing" );
+
+            }
+
+            MappedByteBuffer buffer;
+
+            try( FileChannel channel = FileChannel.open( segmentPath( start ), StandardOpenOption.READ ) ){
+
+                buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, segmentSize );
+
+            }
+
+            for( ; at < to && at < start + segmentSize; at += RECORD_SIZE ){
+
+                buffer.get( ( int ) ( at - start ), record );
+
+                if( !isValid( record, checksum ) ){
+
+                    throw new IOException( "The journal record at position " + at + " is damaged" );
+
+                }
+
+                visitor.visit( record[ 4 ], getInt( record, 8 ), getInt( record, 12 ), getLong( record, 16 ), getLong( record, 24 ) );
+
+            }
+
+        }
+
+        if( at < to ){
+
+            throw new IOException( "The journal ends before position " + to );
+
+        }
+
+        return ( to - from ) / RECORD_SIZE;
+
+    }
+
+    /**
+     * Deletes the segment files that only hold records before the given position. It is called once a snapshot up to
+     * that position is safely on the disk. The segment that is being written to is always kept.
+     *
+     * @param position The position of the snapshot.
+     * @param deleteSegmentsBefore The method to compact the journal.
+     * @return the number of segment files that were deleted
+     * @throws IOException if a segment file cannot be deleted.
+     */
+
+    public int deleteSegmentsBefore( long position ) throws IOException{
+
+        long current;
+
+        synchronized( appendLock ){
+
+            current = segmentStart;
+
+        }
+
+        int deleted = 0;
+
+        for( long start : listSegments() ){
+
+            if( start + segmentSize <= position && start < current && Files.deleteIfExists( segmentPath( start ) ) ){
+
+                deleted++;
+
+            }
+
+        }
+
+        return deleted;
+
+    }
+
+    /**
+     * Writes all the records of the batch as one transaction. The records are in memory once this returns; call
+     * awaitDurable with the returned position to wait until they are on the disk.
+     *
+     * @param batch The records of the transaction.
+     * @param append The method to write a transaction.
+     * @return the position after the last record of the transaction
+     * @throws IllegalStateException if the journal was not recovered yet or is closed.
+     */
+
+    public long append( JournalBatch batch ){
+
+        synchronized( appendLock ){
+
+            if( position < 0 || closed ){
+
+                throw new IllegalStateException( "The journal is not open for writing" );
+
+            }
+
+            // Maps every new segment the batch reaches before anything is written, so a disk that is full fails the
+            // batch before any of it is in the journal. A batch that fits in the current segment needs none.
+            List<MappedByteBuffer> targets = null;
+            long end = position + ( long ) batch.size() * RECORD_SIZE;
+
+            if( end > segmentStart + segmentSize ){
+
+                targets = new ArrayList<>();
+                targets.add( segment );
+
+                for( long start = segmentStart + segmentSize; start < end; start += segmentSize ){
+
+                    targets.add( mapNew( start ) );
+
+                }
+
+            }
+
+            long at = position;
+
+            try{
+
+                for( int i = 0; i < batch.size(); i++, at += RECORD_SIZE ){
+
+                    boolean last = ( i == batch.size() - 1 );
+                    encode( batch.getType( i ), last ? 0 : MORE_FOLLOWS, batch.getId( i ), batch.getQuantity( i ), batch.getAmount( i ), batch.getTimestamp( i ) );
+                    bufferAt( targets, at ).put( ( int ) ( ( at - segmentStart ) % segmentSize ), writeBuffer );
+
+                }
+
+            }catch( RuntimeException | Error e ){
+
+                // Wipes the records of the torn transaction, so it can never run into the next one on recovery.
+                for( long wipe = position; wipe < at; wipe += RECORD_SIZE ){
+
+                    bufferAt( targets, wipe ).put( ( int ) ( ( wipe - segmentStart ) % segmentSize ), EMPTY_RECORD );
+
+                }
+
+                throw e;
+
+            }
+
+            // Only a transaction that was written in full moves the journal on.
+            int current = ( int ) ( ( end - RECORD_SIZE - segmentStart ) / segmentSize );
+
+            if( targets != null && current > 0 ){
+
+                rolledSegments.addAll( targets.subList( 0, current ) );
+                segment = targets.get( current );
+                segmentStart += current * segmentSize;
+
+            }
+
+            position = end;
+            written = position;
+
+            return position;
+
+        }
+
+    }
+
+    /**
+     * Writes a transaction of a single record.
+     *
+     * @param type The type of the record.
+     * @param id The ingredient id, or the calories of an ORDER_END record.
+     * @param quantity The quantity or the change in stock.
+     * @param amount The amount of money in centavos.
+     * @return the position after the record
+     */
+
+    public long append( byte type, int id, int quantity, long amount ){
+
+        return append( new JournalBatch( 1 ).add( type, id, quantity, amount, System.currentTimeMillis() ) );
+
+    }
+
+    /**
+     * Waits until everything up to the given position is forced to the disk. Writers that wait at the same time
+     * share one force.
+     *
+     * @param position The position returned by append.
+     * @param awaitDurable The method to wait for the disk.
+     * @throws IllegalStateException if the journal is closed before the position is forced.
+     */
+
+    public void awaitDurable( long position ){
+
+        flushLock.lock();
+
+        try{
+
+            boolean interrupted = false;
+
+            while( durable < position ){
+
+                if( closed ){
+
+                    throw new IllegalStateException( "The journal was closed before the records were forced" );
+
+                }
+
+                // Only the first writer wakes the flusher, the others just wait for the same force.
+                if( !flushRequested ){
+
+                    flushRequested = true;
+                    flushNeeded.signal();
+
+                }
+
+                try{
+
+                    flushed.await();
+
+                }catch( InterruptedException e ){
+
+                    interrupted = true;
+
+                }
+
+            }
+
+            if( interrupted ){
+
+                Thread.currentThread().interrupt();
+
+            }
+
+        }finally{
+
+            flushLock.unlock();
+
+        }
+
+    }
+
+    /**
+     * Gets the position after the last written transaction.
+     *
+     * @return the position in bytes
+     */
+
+    public long getPosition(){
+
+        return written;
+
+    }
+
+    /**
+     * Gets the position up to which the records are forced to the disk.
+     *
+     * @return the position in bytes
+     */
+
+    public long getDurablePosition(){
+
+        flushLock.lock();
+
+        try{
+
+            return durable;
+
+        }finally{
+
+            flushLock.unlock();
+
+        }
+
+    }
+
+    /**
+     * Gets the folder of the segment files.
+     *
+     * @return the folder
+     */
+
+    public Path getDirectory(){
+
+        return directory;
+
+    }
+
+    /**
+     * Forces what is left to the disk and stops the flusher thread.
+     *
+     * @throws IOException never, it is declared for Closeable.
+     */
+
+    @Override
+    public void close() throws IOException{
+
+        if( flusher != null && !closed ){
+
+            long end = written;
+            awaitDurable( end );
+
+        }
+
+        closed = true;
+        flushLock.lock();
+
+        try{
+
+            flushNeeded.signal();
+            flushed.signalAll();
+
+        }finally{
+
+            flushLock.unlock();
+
+        }
+
+    }
+
+    /**
+     * Forces the written records to the disk whenever someone is waiting, or at the latest every commit interval.
+     */
+
+    private void flushLoop(){
+
+        while( !closed ){
+
+            flushLock.lock();
+
+            try{
+
+                if( !flushRequested ){
+
+                    flushNeeded.await( commitIntervalMillis, TimeUnit.MILLISECONDS );
+
+                }
+
+                flushRequested = false;
+
+            }catch( InterruptedException e ){
+
+                return;
+
+            }finally{
+
+                flushLock.unlock();
+
+            }
+
+            long target;
+            long start;
+            MappedByteBuffer current;
+            List<MappedByteBuffer> full;
+
+            synchronized( appendLock ){
+
+                target = written;
+                start = segmentStart;
+                current = segment;
+                full = new ArrayList<>( rolledSegments );
+                rolledSegments.clear();
+
+            }
+
+            long from;
+
+            flushLock.lock();
+
+            try{
+
+                from = durable;
+
+            }finally{
+
+                flushLock.unlock();
+
+            }
+
+            if( target <= from && full.isEmpty() ){
+
+                continue;
+
+            }
+
+            for( MappedByteBuffer buffer : full ){
+
+                buffer.force();
+
+            }
+
+            int offset = ( int ) Math.max( 0, from - start );
+            int length = ( int ) ( target - start ) - offset;
+
+            if( length > 0 ){
+
+                current.force( offset, length );
+
+            }
+
+            flushLock.lock();
+
+            try{
+
+                durable = Math.max( durable, target );
+                flushed.signalAll();
+
+            }finally{
+
+                flushLock.unlock();
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the segment a record of the batch being written goes to: the current one, or one of the segments mapped
+     * for a batch that does not fit in it.
+     */
+
+    private MappedByteBuffer bufferAt( List<MappedByteBuffer> targets, long at ){
+
+        return ( targets == null ) ? segment : targets.get( ( int ) ( ( at - segmentStart ) / segmentSize ) );
+
+    }
+
+    /**
+     * Maps a new segment file for a batch that does not fit in the current one.
+     */
+
+    private MappedByteBuffer mapNew( long start ){
+
+        try{
+
+            return map( start );
+
+        }catch( IOException e ){
+
+            throw new UncheckedIOException( "Could not create a new journal segment", e );
+
+        }
+
+    }
+
+    /**
+     * Puts the fields of a record and its checksum into the write buffer.
+     */
+
+    private void encode( byte type, int flags, int id, int quantity, long amount, long timestamp ){
+
+        writeBuffer[ 4 ] = type;
+        writeBuffer[ 5 ] = ( byte ) flags;
+        writeBuffer[ 6 ] = 0;
+        writeBuffer[ 7 ] = 0;
+        putInt( writeBuffer, 8, id );
+        putInt( writeBuffer, 12, quantity );
+        putLong( writeBuffer, 16, amount );
+        putLong( writeBuffer, 24, timestamp );
+
+        writeChecksum.reset();
+        writeChecksum.update( writeBuffer, 4, RECORD_SIZE - 4 );
+        putInt( writeBuffer, 0, ( int ) writeChecksum.getValue() );
+
+    }
+
+    /**
+     * Passes the records between the two positions to the visitor.
+     */
+
+    private void replay( List<MappedByteBuffer> segments, long first, long from, long to, JournalVisitor visitor, byte[] record ){
+
+        for( long at = from; at < to; at += RECORD_SIZE ){
+
+            read( segments, first, at, record );
+            visitor.visit( record[ 4 ], getInt( record, 8 ), getInt( record, 12 ), getLong( record, 16 ), getLong( record, 24 ) );
+
+        }
+
+    }
+
+    /**
+     * Reads the record at the given position of the mapped segments.
+     */
+
+    private void read( List<MappedByteBuffer> segments, long first, long at, byte[] record ){
+
+        segments.get( ( int ) ( ( at - first ) / segmentSize ) ).get( ( int ) ( ( at - first ) % segmentSize ), record );
+
+    }
+
+    /**
+     * Checks that the record was written and that its checksum matches.
+     */
+
+    private static boolean isValid( byte[] record, CRC32C checksum ){
+
+        if( record[ 4 ] == 0 ){
+
+            return false;
+
+        }
+
+        checksum.reset();
+        checksum.update( record, 4, RECORD_SIZE - 4 );
+
+        return getInt( record, 0 ) == ( int ) checksum.getValue();
+
+    }
+
+    /**
+     * Checks that the record was never written.
+     */
+
+    private static boolean isEmpty( byte[] record ){
+
+        for( byte value : record ){
+
+            if( value != 0 ){
+
+                return false;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Lists the start positions of the segment files in the folder, in order.
+     */
+
+    private List<Long> listSegments() throws IOException{
+
+        List<Long> starts = new ArrayList<>();
+
+        try( DirectoryStream<Path> files = Files.newDirectoryStream( directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX ) ){
+
+            for( Path file : files ){
+
+                String name = file.getFileName().toString();
+                starts.add( Long.parseLong( name.substring( SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length() ) ) );
+
+            }
+
+        }
+
+        starts.sort( null );
+
+        return starts;
+
+    }
+
+    /**
+     * Gets the path of the segment file that starts at the given position.
+     */
+
+    private Path segmentPath( long start ){
+
+        return directory.resolve( String.format( "%s%020d%s", SEGMENT_PREFIX, start, SEGMENT_SUFFIX ) );
+
+    }
+
+    /**
+     * Maps the segment file that starts at the given position, creating it if it is not there yet.
+     */
+
+    private MappedByteBuffer map( long start ) throws IOException{
+
+        try( FileChannel channel = FileChannel.open( segmentPath( start ), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE ) ){
+
+            return channel.map( FileChannel.MapMode.READ_WRITE, 0, segmentSize );
+
+        }
+
+    }
+
+    private static void putInt( byte[] bytes, int offset, int value ){
+
+        bytes[ offset ] = ( byte ) ( value >>> 24 );
+        bytes[ offset + 1 ] = ( byte ) ( value >>> 16 );
+        bytes[ offset + 2 ] = ( byte ) ( value >>> 8 );
+        bytes[ offset + 3 ] = ( byte ) value;
+
+    }
+
+    private static void putLong( byte[] bytes, int offset, long value ){
+
+        putInt( bytes, offset, ( int ) ( value >>> 32 ) );
+        putInt( bytes, offset + 4, ( int ) value );
+
+    }
+
+    private static int getInt( byte[] bytes, int offset ){
+
+        return ( ( bytes[ offset ] & 0xFF ) << 24 ) | ( ( bytes[ offset + 1 ] & 0xFF ) << 16 )
+                | ( ( bytes[ offset + 2 ] & 0xFF ) << 8 ) | ( bytes[ offset + 3 ] & 0xFF );
+
+    }
+
+    private static long getLong( byte[] bytes, int offset ){
+
+        return ( ( long ) getInt( bytes, offset ) << 32 ) | ( getInt( bytes, offset + 4 ) & 0xFFFFFFFFL );
+
+    }
+
+}
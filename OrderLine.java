@@ -0,0 +1,82 @@
+/**
+ * This class is one line of an order, it holds the quantity of one ingredient and how much it adds to the calories
+ * and the cost of the order.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderLine{
+
+    private Ingredient ingredient; // Adds the ordered ingredient
+    private int quantity;          // Adds the ordered quantity
+    private int calories;          // Adds the calories of this line
+    private long cost;             // Adds the cost of this line in centavos
+
+    /**
+     * Constructs a line of an order.
+     *
+     * @param ingredient The ordered ingredient.
+     * @param quantity The ordered quantity.
+     * @param OrderLine The constructor of the order line.
+     */
+
+    public OrderLine( Ingredient ingredient, int quantity ){
+
+        this.ingredient = ingredient;
+        this.quantity = quantity;
+        this.calories = ingredient.getCalorieCount() * quantity;
+        this.cost = Money.times( ingredient.getPrice(), quantity );
+
+    }
+
+    /**
+     * Gets the ordered ingredient.
+     *
+     * @return the ingredient
+     */
+
+    public Ingredient getIngredient(){
+
+        return ingredient;
+
+    }
+
+    /**
+     * Gets the ordered quantity.
+     *
+     * @return the quantity
+     */
+
+    public int getQuantity(){
+
+        return quantity;
+
+    }
+
+    /**
+     * Gets the calories of this line, which is the calories of the ingredient times the quantity.
+     *
+     * @return the calories
+     */
+
+    public int getCalories(){
+
+        return calories;
+
+    }
+
+    /**
+     * Gets the cost of this line, which is the price of the ingredient times the quantity.
+     *
+     * @return the cost in centavos
+     */
+
+    public long getCost(){
+
+        return cost;
+
+    }
+
+}
@@ -0,0 +1,22 @@
+/**
+ * This is what the OrderPipeline calls back every time an order moves to another stage or another preparation step.
+ * The call is made on a thread of the pipeline, never on the Swing thread, so a listener that changes the GUI has to
+ * hand the change over to the Swing thread itself.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public interface OrderListener{
+
+    /**
+     * Is called after the order moved on.
+     *
+     * @param ticket The ticket of the order, with its new stage and step.
+     * @param orderProgressed The method that is called when an order moves on.
+     */
+
+    void orderProgressed( OrderTicket ticket );
+
+}
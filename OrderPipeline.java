@@ -0,0 +1,519 @@
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class takes an order from the moment it is priced to the moment it is recorded, in stages that each run as a
+ * CompletableFuture: compose, reserve the ingredients, wait for the cash, prepare, dispense and record. The GUI only
+ * starts an order, puts the cash in and watches the stages go by through an OrderListener, so it never waits for the
+ * kitchen and a slow customer never freezes it.
+ *
+ * The stages run on a small pool of their own. The preparation is scheduled over the stations of the kitchen by the
+ * PreparationScheduler, and the pipeline only waits for the steps to start and the order to be ready on a timer, so
+ * one order is prepared while the next customer is still paying, and the broth of one order heats while the noodles
+ * of the order before it are blanched. Waiting for the cash times out, and an order the kitchen cannot have ready
+ * within the preparation timeout is refused, once before the cash is taken and again before its slots are booked; an
+ * order that times out, is refused, is cancelled or cannot be reserved puts its ingredients back and hands its cash
+ * back. The change is taken from the cash drawer when the cash is put in, so cash whose change cannot be made is
+ * handed back before the order goes on.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderPipeline{
+
+    public static final long DEFAULT_PAYMENT_TIMEOUT_MILLIS = 120_000;   // The time a customer has to pay, by default
+    public static final long DEFAULT_PREPARATION_TIMEOUT_MILLIS = 60_000; // The time the kitchen has for one order, by default
+
+    private OrderService orderService;              // Adds the order service that reserves and completes the orders
+    private long paymentTimeoutMillis;              // Adds the time a customer has to pay
+    private long preparationTimeoutMillis;          // Adds the time the kitchen has for one order
+    private PreparationScheduler scheduler;         // Adds the scheduler of the kitchen
+    private ExecutorService stages;                 // Adds the threads that run the stages
+    private List<OrderListener> listeners;          // Adds the listeners that are told about every stage
+    private AtomicInteger orderCount;               // Adds the number of orders started
+
+    /**
+     * Constructs a pipeline with the default timeouts and a kitchen with the default stations.
+     *
+     * @param orderService The order service of the vending machine.
+     * @param OrderPipeline The constructor of the pipeline.
+     */
+
+    public OrderPipeline( OrderService orderService ){
+
+        this( orderService, new PreparationScheduler(), DEFAULT_PAYMENT_TIMEOUT_MILLIS, DEFAULT_PREPARATION_TIMEOUT_MILLIS );
+
+    }
+
+    /**
+     * Constructs a pipeline and starts its threads, which are daemons, so they never keep the program running.
+     *
+     * @param orderService The order service of the vending machine.
+     * @param scheduler The scheduler of the kitchen, which tells how long every order takes.
+     * @param paymentTimeoutMillis The time a customer has to pay, in milliseconds.
+     * @param preparationTimeoutMillis The time the kitchen may take for an order once it is paid, in milliseconds.
+     * @param OrderPipeline The constructor of the pipeline.
+     * @throws IllegalArgumentException if a timeout is not positive.
+     */
+
+    public OrderPipeline( OrderService orderService, PreparationScheduler scheduler, long paymentTimeoutMillis, long preparationTimeoutMillis ){
+
+        if( paymentTimeoutMillis <= 0 || preparationTimeoutMillis <= 0 ){
+
+            throw new IllegalArgumentException( "Timeouts must be positive" );
+
+        }
+
+        this.orderService = orderService;
+        this.scheduler = scheduler;
+        this.paymentTimeoutMillis = paymentTimeoutMillis;
+        this.preparationTimeoutMillis = preparationTimeoutMillis;
+        this.stages = Executors.newFixedThreadPool( 2, namedDaemonThreads( "order-pipeline" ) );
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.orderCount = new AtomicInteger();
+
+    }
+
+    /**
+     * Gets the scheduler of the kitchen, for the utilization of its stations.
+     *
+     * @param getScheduler The method to get the scheduler.
+     * @return the scheduler
+     */
+
+    public PreparationScheduler getScheduler(){
+
+        return scheduler;
+
+    }
+
+    /**
+     * Adds a listener that is told every time an order moves on.
+     *
+     * @param listener The listener.
+     * @param addListener The method to add a listener.
+     */
+
+    public void addListener( OrderListener listener ){
+
+        listeners.add( listener );
+
+    }
+
+    /**
+     * Starts an order. It returns right away; the ingredients are reserved on a thread of the pipeline, and the order
+     * then waits for the cash to be put in with pay.
+     *
+     * @param quote The priced order, with the status QUOTED.
+     * @param start The method to start an order.
+     * @return the ticket of the order
+     * @throws IllegalArgumentException if the order was not priced.
+     */
+
+    public OrderTicket start( OrderResult quote ){
+
+        if( quote.getStatus() != OrderStatus.QUOTED ){
+
+            throw new IllegalArgumentException( "Only a quoted order can be started: " + quote.getStatus() );
+
+        }
+
+        OrderTicket ticket = new OrderTicket( orderCount.incrementAndGet(), quote, paymentTimeoutMillis );
+        progressed( ticket );
+
+        CompletableFuture.supplyAsync( () -> reserve( ticket ), stages )
+                .thenCompose( reserved -> ticket.cash() )
+                .thenApplyAsync( payment -> paid( ticket, payment ), stages )
+                .thenCompose( payment -> prepare( ticket ).thenApply( prepared -> payment ) )
+                .thenApplyAsync( payment -> dispense( ticket, payment ), stages )
+                .thenApply( payment -> record( ticket, payment ) )
+                .exceptionally( error -> fail( ticket, error ) );
+
+        return ticket;
+
+    }
+
+    /**
+     * Puts the cash in for an order that is waiting for it. Cash that is not enough, or whose change cannot be made
+     * from the cash drawer, is counted and handed back, and the order keeps waiting, so the customer can try again
+     * before the payment times out.
+     *
+     * @param ticket The ticket of the order.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param pay The method to pay for an order.
+     * @return ACCEPTED if the cash was taken, INSUFFICIENT_CASH or NO_CHANGE if it was handed back, or TIMED_OUT if
+     *         the order was given up already
+     */
+
+    public OrderStatus pay( OrderTicket ticket, long cashTendered ){
+
+        if( cashTendered < ticket.getQuote().getTotalCost() ){
+
+            orderService.reject( ticket.getQuote(), OrderStatus.INSUFFICIENT_CASH, cashTendered );
+            return OrderStatus.INSUFFICIENT_CASH;
+
+        }
+
+        CashPayment payment = orderService.takePayment( ticket.getQuote(), cashTendered );
+
+        if( payment == null ){
+
+            orderService.reject( ticket.getQuote(), OrderStatus.NO_CHANGE, cashTendered );
+            return OrderStatus.NO_CHANGE;
+
+        }
+
+        if( !ticket.pay( payment ) ){
+
+            payment.rollback();
+            return OrderStatus.TIMED_OUT;
+
+        }
+
+        return OrderStatus.ACCEPTED;
+
+    }
+
+    /**
+     * Gives up on an order that is still waiting for the cash, when the customer goes back. An order that was paid
+     * for is always prepared.
+     *
+     * @param ticket The ticket of the order.
+     * @param cancel The method to give up on an order.
+     * @return true if the order was given up now
+     */
+
+    public boolean cancel( OrderTicket ticket ){
+
+        return ticket.cancel();
+
+    }
+
+    /**
+     * Stops the threads of the pipeline. The orders that are on their way are not finished.
+     *
+     * @param close The method to stop the pipeline.
+     */
+
+    public void close(){
+
+        stages.shutdownNow();
+
+    }
+
+    /**
+     * Reserves the ingredients, the first stage. An order that cannot be filled, or that the kitchen could not have
+     * ready in time if it were paid now, is given up right away, before anything is taken.
+     */
+
+    private OrderTicket reserve( OrderTicket ticket ){
+
+        long now = System.currentTimeMillis();
+
+        if( scheduler.getReadyAt( ticket.getQuote().getPreparationSteps(), now ) - now > preparationTimeoutMillis ){
+
+            throw new KitchenBusyException();
+
+        }
+
+        Reservation reservation = orderService.reserve( ticket.getQuote() );
+
+        if( reservation == null ){
+
+            throw new SoldOutException();
+
+        }
+
+        ticket.setReservation( reservation );
+        ticket.moveTo( OrderStage.RESERVED, null );
+        progressed( ticket );
+        ticket.whenReserved().complete( true );
+
+        return ticket;
+
+    }
+
+    /**
+     * Moves the order on once the cash is in.
+     */
+
+    private CashPayment paid( OrderTicket ticket, CashPayment payment ){
+
+        ticket.moveTo( OrderStage.PAID, null );
+        progressed( ticket );
+
+        return payment;
+
+    }
+
+    /**
+     * Schedules the preparation of the order over the stations of the kitchen, tells the listeners about every step
+     * when it starts, and completes when the order is ready. No thread waits for the kitchen, only timers. The kitchen
+     * may have filled up while the customer was paying, so an order that would not be ready within the preparation
+     * timeout books no slots and fails, and its cash is handed back.
+     */
+
+    private CompletableFuture<Void> prepare( OrderTicket ticket ){
+
+        long now = System.currentTimeMillis();
+        PreparationPlan plan = scheduler.schedule( ticket.getQuote().getPreparationSteps(), now, now + preparationTimeoutMillis );
+
+        if( plan == null ){
+
+            return CompletableFuture.failedFuture( new KitchenBusyException() );
+
+        }
+
+        ticket.setPlan( plan );
+        progressed( ticket );
+
+        CompletableFuture<?>[] stepTimers = new CompletableFuture<?>[ plan.getStepCount() ];
+
+        for( int i = 0; i < plan.getStepCount(); i++ ){
+
+            String step = plan.getStep( i );
+            stepTimers[ i ] = CompletableFuture.runAsync( () -> stepStarted( ticket, step ), CompletableFuture.delayedExecutor( plan.getStart( i ) - now, TimeUnit.MILLISECONDS, stages ) );
+
+        }
+
+        ticket.setStepTimers( stepTimers );
+
+        return CompletableFuture.runAsync( () ->{}, CompletableFuture.delayedExecutor( plan.getReadyAt() - now, TimeUnit.MILLISECONDS, stages ) );
+
+    }
+
+    /**
+     * Shows the step that was just started, unless the order moved past the preparation already.
+     */
+
+    private void stepStarted( OrderTicket ticket, String step ){
+
+        if( !ticket.isDone() && ticket.moveTo( OrderStage.PREPARING, step ) ){
+
+            progressed( ticket );
+
+        }
+
+    }
+
+    /**
+     * Hands the ramen and the change out.
+     */
+
+    private CashPayment dispense( OrderTicket ticket, CashPayment payment ){
+
+        ticket.moveTo( OrderStage.DISPENSED, null );
+        progressed( ticket );
+
+        return payment;
+
+    }
+
+    /**
+     * Records the order, the last stage: the stock is used up, the cash goes into the drawer and the order is written
+     * to the history and the journal.
+     */
+
+    private OrderResult record( OrderTicket ticket, CashPayment payment ){
+
+        OrderResult result = orderService.complete( ticket.getQuote(), ticket.getReservation(), payment, System.nanoTime() );
+
+        ticket.getResult().complete( result );
+        ticket.moveTo( OrderStage.RECORDED, null );
+        progressed( ticket );
+
+        return result;
+
+    }
+
+    /**
+     * Gives up on the order after any stage failed: the ingredients are put back, the change goes back into the cash
+     * drawer and the cash, if any, is handed back. An order that was recorded before the error is not given up.
+     */
+
+    private OrderResult fail( OrderTicket ticket, Throwable error ){
+
+        while( error instanceof CompletionException && error.getCause() != null ){
+
+            error = error.getCause();
+
+        }
+
+        OrderStatus status;
+
+        if( error instanceof TimeoutException ){
+
+            status = OrderStatus.TIMED_OUT;
+
+        }
+
+        else if( error instanceof CancellationException ){
+
+            status = OrderStatus.CANCELLED;
+
+        }
+
+        else if( error instanceof KitchenBusyException ){
+
+            status = OrderStatus.KITCHEN_BUSY;
+
+        }
+
+        else{
+
+            if( !( error instanceof SoldOutException ) ){
+
+                System.err.println( "Order #" + ticket.getNumber() + " failed: " + error );
+
+            }
+
+            status = OrderStatus.UNAVAILABLE;
+
+        }
+
+        Reservation reservation = ticket.getReservation();
+
+        if( reservation != null && reservation.isCommitted() ){
+
+            return recorded( ticket );
+
+        }
+
+        if( reservation != null ){
+
+            reservation.rollback();
+
+        }
+
+        long cash = 0;
+
+        if( ticket.cash().isDone() && !ticket.cash().isCompletedExceptionally() ){
+
+            CashPayment payment = ticket.cash().join();
+
+            if( payment.rollback() ){
+
+                cash = payment.getCashTendered();
+
+            }
+
+        }
+
+        ticket.cancel(); // An order that could not be reserved stops waiting for the cash too.
+        ticket.cancelStepTimers();
+
+        OrderResult result = orderService.reject( ticket.getQuote(), status, cash );
+
+        ticket.getResult().complete( result );
+        ticket.whenReserved().complete( false );
+        ticket.moveTo( OrderStage.FAILED, null );
+        progressed( ticket );
+
+        return result;
+
+    }
+
+    /**
+     * Finishes an order that failed after it was recorded, for instance in a listener. The stock is used up and the
+     * order is in the journal, so it stands: the cash is kept in the drawer, the change is handed out and the order is
+     * accepted.
+     */
+
+    private OrderResult recorded( OrderTicket ticket ){
+
+        OrderResult result = ticket.getResult().getNow( null );
+
+        if( result == null ){
+
+            result = orderService.accept( ticket.getQuote(), ticket.cash().join(), -1 );
+            ticket.getResult().complete( result );
+
+        }
+
+        if( ticket.moveTo( OrderStage.RECORDED, null ) ){
+
+            progressed( ticket );
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * Tells the listeners that the order moved on.
+     */
+
+    private void progressed( OrderTicket ticket ){
+
+        for( OrderListener listener : listeners ){
+
+            listener.orderProgressed( ticket );
+
+        }
+
+    }
+
+    /**
+     * Makes the daemon threads of the pipeline, named after what they do.
+     */
+
+    private static ThreadFactory namedDaemonThreads( String name ){
+
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+
+            Thread thread = new Thread( runnable, name + "-" + count.incrementAndGet() );
+            thread.setDaemon( true );
+
+            return thread;
+
+        };
+
+    }
+
+    /**
+     * This is thrown by the reserve stage when there is not enough stock for the order.
+     */
+
+    private static final class SoldOutException extends RuntimeException{
+
+        private static final long serialVersionUID = 1L; // The version of the serialized form of the exception
+
+        SoldOutException(){
+
+            super( "Not enough stock", null, false, false );
+
+        }
+
+    }
+
+    /**
+     * This is thrown when the kitchen could not have the order ready within the preparation timeout.
+     */
+
+    private static final class KitchenBusyException extends RuntimeException{
+
+        private static final long serialVersionUID = 1L; // The version of the serialized form of the exception
+
+        KitchenBusyException(){
+
+            super( "The kitchen cannot have the order ready in time", null, false, false );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+import javax.swing.*;
+import java.awt.BorderLayout;
+
+/**
+ * This class is the panel on the main window that shows the last few orders and how far each one has come: waiting
+ * for payment, the preparation step the kitchen is at, dispensed or given up. It only watches the OrderPipeline, so
+ * the customer can keep using the machine while an order is being prepared.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderProgressPanel extends JPanel implements OrderListener{
+
+    public static final int ORDERS_SHOWN = 4; // Number of orders shown, the newest first
+
+    private static final long serialVersionUID = 1L; // The version of the serialized form of the panel
+
+    private DefaultListModel<OrderTicket> orders; // Adds the orders that are shown
+
+    /**
+     * Constructs the panel and starts listening to the pipeline.
+     *
+     * @param pipeline The order pipeline.
+     * @param OrderProgressPanel The constructor of the panel.
+     */
+
+    public OrderProgressPanel( OrderPipeline pipeline ){
+
+        super( new BorderLayout() );
+
+        orders = new DefaultListModel<>();
+
+        JList<OrderTicket> orderList = new JList<>( orders );
+        orderList.setVisibleRowCount( ORDERS_SHOWN );
+        orderList.setFocusable( false );
+
+        setBorder( BorderFactory.createTitledBorder("Your Orders") );
+        add( new JScrollPane( orderList ), BorderLayout.CENTER );
+
+        pipeline.addListener( this );
+
+    }
+
+    /**
+     * Shows the new stage of the order. The list is changed on the Swing thread.
+     *
+     * @param ticket The ticket of the order.
+     * @param orderProgressed The method that is called when an order moves on.
+     */
+
+    @Override
+    public void orderProgressed( OrderTicket ticket ){
+
+        boolean started = ticket.getStage() == OrderStage.COMPOSED; // Read now, the order may have moved on by the time the list is changed.
+
+        SwingUtilities.invokeLater( () -> show( ticket, started ) );
+
+    }
+
+    /**
+     * Redraws the line of the order, or puts it at the top if it is new. An order that dropped off the list already
+     * is not put back.
+     */
+
+    private void show( OrderTicket ticket, boolean started ){
+
+        int index = orders.indexOf( ticket );
+
+        if( index >= 0 ){
+
+            orders.set( index, ticket ); // Tells the list that the line changed.
+            return;
+
+        }
+
+        if( !started ){
+
+            return;
+
+        }
+
+        orders.add( 0, ticket );
+
+        if( orders.size() > ORDERS_SHOWN ){
+
+            orders.remove( orders.size() - 1 );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * This class is one entry of the order history. It only keeps the ids and quantities of the ingredients and the
+ * totals, so an order takes the same small amount of memory no matter how long the names of the ingredients are.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderRecord{
+
+    private long timestamp;      // Adds the time the order was placed, in milliseconds since the epoch
+    private int[] ingredientIds; // Adds the catalog ids of the ordered ingredients
+    private int[] quantities;    // Adds the ordered quantity of each ingredient
+    private int totalCalories;   // Adds the total calories
+    private long totalCost;      // Adds the total cost in centavos
+
+    /**
+     * Constructs an order record.
+     *
+     * @param timestamp The time the order was placed, in milliseconds since the epoch.
+     * @param ingredientIds The catalog ids of the ordered ingredients.
+     * @param quantities The ordered quantity of each ingredient.
+     * @param totalCalories The total calories.
+     * @param totalCost The total cost in centavos.
+     * @param OrderRecord The constructor of the order record.
+     */
+
+    public OrderRecord( long timestamp, int[] ingredientIds, int[] quantities, int totalCalories, long totalCost ){
+
+        this.timestamp = timestamp;
+        this.ingredientIds = ingredientIds;
+        this.quantities = quantities;
+        this.totalCalories = totalCalories;
+        this.totalCost = totalCost;
+
+    }
+
+    /**
+     * Gets the time the order was placed.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+
+    public long getTimestamp(){
+
+        return timestamp;
+
+    }
+
+    /**
+     * Gets the number of different ingredients in the order.
+     *
+     * @return the number of ingredients
+     */
+
+    public int getIngredientCount(){
+
+        return ingredientIds.length;
+
+    }
+
+    /**
+     * Gets the catalog id of the ingredient at the given position.
+     *
+     * @param index The position of the ingredient in the order.
+     * @return the id of the ingredient
+     */
+
+    public int getIngredientId( int index ){
+
+        return ingredientIds[ index ];
+
+    }
+
+    /**
+     * Gets the ordered quantity of the ingredient at the given position.
+     *
+     * @param index The position of the ingredient in the order.
+     * @return the quantity
+     */
+
+    public int getQuantity( int index ){
+
+        return quantities[ index ];
+
+    }
+
+    /**
+     * Gets the total calories of the order.
+     *
+     * @return the total calories
+     */
+
+    public int getTotalCalories(){
+
+        return totalCalories;
+
+    }
+
+    /**
+     * Gets the total cost of the order in centavos.
+     *
+     * @return the total cost in centavos
+     */
+
+    public long getTotalCost(){
+
+        return totalCost;
+
+    }
+
+    /**
+     * Gets the order as text, with the names of the ingredients taken from the given catalog.
+     *
+     * @param catalog The catalog the ids belong to.
+     * @param describe The method to describe the order.
+     * @return the order details
+     */
+
+    public String describe( IngredientCatalog catalog ){
+
+        StringBuilder builder = new StringBuilder("Order: ");
+
+        for( int i = 0; i < ingredientIds.length; i++ ){
+
+            Ingredient ingredient = catalog.get( ingredientIds[ i ] );
+
+            if( i > 0 ){
+
+                builder.append(", ");
+
+            }
+
+            builder.append( ( ingredient != null ) ? ingredient.getName() : "#" + ingredientIds[ i ] )
+                    .append(" (").append( quantities[ i ] ).append(" orders)");
+
+        }
+
+        builder.append(" Total Calories: ").append( totalCalories ).append(" calories\nTotal Cost: \u20B1")
+                .append( Money.format( totalCost ) );
+
+        return builder.toString();
+
+    }
+
+}
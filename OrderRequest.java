@@ -0,0 +1,58 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is an order as it is given to the OrderService: the ingredients with their quantities and the cash
+ * that the customer put in.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderRequest{
+
+    private Map< String, Integer > ingredients; // Adds the names of the ingredients and their quantities
+    private long cashTendered;                  // Adds the cash the customer put in, in centavos
+
+    /**
+     * Constructs an order request.
+     *
+     * @param ingredients The names of the ingredients and their quantities.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param OrderRequest The constructor of the order request.
+     */
+
+    public OrderRequest( Map< String, Integer > ingredients, long cashTendered ){
+
+        this.ingredients = Collections.unmodifiableMap( new LinkedHashMap<>( ingredients ) );
+        this.cashTendered = cashTendered;
+
+    }
+
+    /**
+     * Gets the names of the ordered ingredients and their quantities.
+     *
+     * @return a read only map of the ingredients
+     */
+
+    public Map< String, Integer > getIngredients(){
+
+        return ingredients;
+
+    }
+
+    /**
+     * Gets the cash the customer put in.
+     *
+     * @return the cash tendered in centavos
+     */
+
+    public long getCashTendered(){
+
+        return cashTendered;
+
+    }
+
+}
@@ -0,0 +1,191 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is what the OrderService gives back for an order: whether it went through, the breakdown of the
+ * calories and the cost, and the change for the customer.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderResult{
+
+    private OrderStatus status;           // Adds the outcome of the order
+    private List<OrderLine> lines;        // Adds the breakdown of the order
+    private List<String> preparationSteps; // Adds the preparation steps of the ordered ingredients
+    private int totalCalories;            // Adds the total calories
+    private long totalCost;               // Adds the total cost in centavos
+    private long cashTendered;            // Adds the cash the customer put in, in centavos
+    private long change;                  // Adds the change for the customer in centavos
+
+    /**
+     * Constructs the result of an order.
+     *
+     * @param status The outcome of the order.
+     * @param lines The breakdown of the order.
+     * @param preparationSteps The preparation steps of the ordered ingredients.
+     * @param totalCalories The total calories.
+     * @param totalCost The total cost in centavos.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param change The change for the customer in centavos.
+     * @param OrderResult The constructor of the order result.
+     */
+
+    public OrderResult( OrderStatus status, List<OrderLine> lines, List<String> preparationSteps, int totalCalories, long totalCost, long cashTendered, long change ){
+
+        this.status = status;
+        this.lines = Collections.unmodifiableList( lines );
+        this.preparationSteps = Collections.unmodifiableList( preparationSteps );
+        this.totalCalories = totalCalories;
+        this.totalCost = totalCost;
+        this.cashTendered = cashTendered;
+        this.change = change;
+
+    }
+
+    /**
+     * Gets the outcome of the order.
+     *
+     * @return the status
+     */
+
+    public OrderStatus getStatus(){
+
+        return status;
+
+    }
+
+    /**
+     * Checks if the order was paid for and the ingredients were taken.
+     *
+     * @return True if the order was accepted. If not, then False.
+     */
+
+    public boolean isAccepted(){
+
+        return status == OrderStatus.ACCEPTED;
+
+    }
+
+    /**
+     * Gets the breakdown of the order, one line per ingredient.
+     *
+     * @return a read only list of the order lines
+     */
+
+    public List<OrderLine> getLines(){
+
+        return lines;
+
+    }
+
+    /**
+     * Gets the preparation steps of the ordered ingredients, for example "Cooking Egg...".
+     *
+     * @return a read only list of the preparation steps
+     */
+
+    public List<String> getPreparationSteps(){
+
+        return preparationSteps;
+
+    }
+
+    /**
+     * Gets the total calories of the order.
+     *
+     * @return the total calories
+     */
+
+    public int getTotalCalories(){
+
+        return totalCalories;
+
+    }
+
+    /**
+     * Gets the total cost of the order.
+     *
+     * @return the total cost in centavos
+     */
+
+    public long getTotalCost(){
+
+        return totalCost;
+
+    }
+
+    /**
+     * Gets the cash the customer put in.
+     *
+     * @return the cash tendered in centavos
+     */
+
+    public long getCashTendered(){
+
+        return cashTendered;
+
+    }
+
+    /**
+     * Gets the change for the customer. It is 0 unless the order was accepted.
+     *
+     * @return the change in centavos
+     */
+
+    public long getChange(){
+
+        return change;
+
+    }
+
+    /**
+     * Gets how much cash is still needed when the customer did not put in enough.
+     *
+     * @return the remaining balance in centavos, or 0 if the cash was enough
+     */
+
+    public long getRemainingBalance(){
+
+        return Math.max( 0, totalCost - cashTendered );
+
+    }
+
+    /**
+     * Gets the text that is shown to the customer while the order is being prepared. It has the preparation steps,
+     * one line per ingredient, and the totals.
+     *
+     * @return the preparation text
+     */
+
+    public String getPreparationText(){
+
+        StringBuilder text = new StringBuilder();
+        text.append("Preparing your Order...\n");
+
+        for( String step : preparationSteps ){
+
+            text.append( step ).append("\n");
+
+        }
+
+        for( OrderLine line : lines ){
+
+            text.append("Adding ")
+                    .append( line.getQuantity() ).append(" units of ")
+                    .append( line.getIngredient().getName() ).append(" (")
+                    .append( line.getCalories() ).append(" calories, \u20B1")
+                    .append( Money.format( line.getCost() ) ).append(")\n");
+
+        }
+
+        text.append("\nTotal Calories: ").append( totalCalories ).append(" calories\n");
+        text.append("Total Cost: \u20B1").append( Money.format( totalCost ) ).append("\n");
+
+        return text.toString();
+
+    }
+
+}
@@ -0,0 +1,712 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class processes the orders of the vending machine without any GUI. It prices the order, checks the stock,
+ * takes the ingredients, collects the money and records the order, so the same logic is used by the RamenView and
+ * by anything that runs without Swing.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderService{
+
+    private static final Comparator<Ingredient> BY_ID = Comparator.comparingInt( Ingredient::getId ); // The usual order of preparation
+
+    private VendingMachine vendingMachine; // Adds the vending machine the orders are placed in
+
+    /**
+     * Constructs the order service for the given vending machine.
+     *
+     * @param vendingMachine The vending machine the orders are placed in.
+     * @param OrderService The constructor of the order service.
+     */
+
+    public OrderService( VendingMachine vendingMachine ){
+
+        this.vendingMachine = vendingMachine;
+
+    }
+
+    /**
+     * Prices the given ingredients without taking anything from the stock. The status is QUOTED if everything is
+     * in stock right now, UNAVAILABLE or UNKNOWN_INGREDIENT if not.
+     *
+     * @param ingredients The names of the ingredients and their quantities.
+     * @param quote The method to price an order.
+     * @return the quote
+     */
+
+    public OrderResult quote( Map< String, Integer > ingredients ){
+
+        OrderResult quote = price( ingredients, true );
+        vendingMachine.getMetrics().orderCompleted( quote.getStatus(), -1 );
+
+        return quote;
+
+    }
+
+    /**
+     * Prices the ingredients chosen by id, without taking anything from the stock. The status is QUOTED if
+     * everything is in stock right now, UNAVAILABLE or UNKNOWN_INGREDIENT if not.
+     *
+     * @param ingredients The ids of the ingredients and their quantities.
+     * @param quote The method to price an order.
+     * @return the quote
+     */
+
+    public OrderResult quote( IngredientQuantities ingredients ){
+
+        OrderResult quote = price( ingredients, true );
+        vendingMachine.getMetrics().orderCompleted( quote.getStatus(), -1 );
+
+        return quote;
+
+    }
+
+    /**
+     * Prices a preset. The lines, the calories and the price were worked out when the preset was added or a price
+     * last changed, so only the stock of its ingredients is checked here.
+     *
+     * @param ramen The preset.
+     * @param quote The method to price a preset.
+     * @return the quote
+     */
+
+    public OrderResult quote( Ramen ramen ){
+
+        OrderResult quote = ramen.getQuote();
+
+        if( quote.getStatus() == OrderStatus.QUOTED && !isInStock( quote.getLines() ) ){
+
+            quote = withStatus( quote, OrderStatus.UNAVAILABLE, 0, 0 );
+
+        }
+
+        vendingMachine.getMetrics().orderCompleted( quote.getStatus(), -1 );
+
+        return quote;
+
+    }
+
+    /**
+     * Places the order. If the cash is enough and every ingredient is in stock, the ingredients are taken out of the
+     * stock in one step, the money is collected and the order is recorded. Otherwise nothing is changed.
+     *
+     * @param request The order.
+     * @param placeOrder The method to place an order.
+     * @return the result of the order
+     */
+
+    public OrderResult placeOrder( OrderRequest request ){
+
+        long start = System.nanoTime();
+        OrderResult result = process( request );
+        vendingMachine.getMetrics().orderCompleted( result.getStatus(), start );
+
+        return result;
+
+    }
+
+    /**
+     * Places a batch of orders, like a burst from the pre-order queue. Every order is priced and checked against the
+     * stock in one pass, in the order given, counting what the orders before it in the batch already need. The
+     * orders that pass are then taken out of the stock with one reservation, collected and recorded together, and
+     * written to the journal as one transaction. The change of every order is taken from the cash drawer as it is
+     * checked, so an order whose change cannot be made is refused up front. If another terminal took stock in the
+     * meantime, so the reservation fails, the accepted orders are placed one by one instead, with the change already
+     * taken for them.
+     *
+     * @param requests The orders, in the order they arrived.
+     * @param placeOrders The method to place a batch of orders.
+     * @return the result of every order, in the same order
+     */
+
+    public List<OrderResult> placeOrders( List<OrderRequest> requests ){
+
+        long start = System.nanoTime();
+        int count = requests.size();
+        OrderResult[] results = new OrderResult[ count ];
+        OrderResult[] accepted = new OrderResult[ count ];
+        CashPayment[] payments = new CashPayment[ count ];
+        IngredientQuantities demand = new IngredientQuantities( vendingMachine.getCatalog().size() );
+        int acceptedCount = 0;
+
+        for( int i = 0; i < count; i++ ){
+
+            long cashTendered = requests.get( i ).getCashTendered();
+            OrderResult quote = price( requests.get( i ).getIngredients(), false );
+
+            if( quote.getStatus() != OrderStatus.QUOTED ){
+
+                results[ i ] = withStatus( quote, quote.getStatus(), cashTendered, 0 );
+
+            }
+
+            else if( cashTendered < quote.getTotalCost() ){
+
+                results[ i ] = withStatus( quote, OrderStatus.INSUFFICIENT_CASH, cashTendered, 0 );
+
+            }
+
+            else if( !fits( quote.getLines(), demand ) ){
+
+                results[ i ] = withStatus( quote, OrderStatus.UNAVAILABLE, cashTendered, 0 );
+
+            }
+
+            else if( ( payments[ i ] = vendingMachine.getCashDrawer().takePayment( cashTendered, quote.getTotalCost() ) ) == null ){
+
+                results[ i ] = withStatus( quote, OrderStatus.NO_CHANGE, cashTendered, 0 );
+
+            }
+
+            else{
+
+                for( OrderLine line : quote.getLines() ){
+
+                    demand.add( line.getIngredient().getId(), line.getQuantity() );
+
+                }
+
+                accepted[ i ] = quote;
+                acceptedCount++;
+
+            }
+
+        }
+
+        if( acceptedCount > 0 ){
+
+            Reservation reservation = reserve( demand );
+
+            if( reservation != null ){
+
+                List<OrderRecord> records = new ArrayList<>( acceptedCount );
+                List<CashPayment> committed = new ArrayList<>( acceptedCount );
+
+                for( int i = 0; i < count; i++ ){
+
+                    if( accepted[ i ] != null ){
+
+                        long cashTendered = requests.get( i ).getCashTendered();
+
+                        records.add( toRecord( accepted[ i ] ) );
+                        results[ i ] = withStatus( accepted[ i ], OrderStatus.ACCEPTED, cashTendered, cashTendered - accepted[ i ].getTotalCost() );
+                        committed.add( payments[ i ] );
+
+                    }
+
+                }
+
+                vendingMachine.completeOrders( reservation, records, committed );
+
+            }
+
+            else{
+
+                for( int i = 0; i < count; i++ ){
+
+                    if( accepted[ i ] != null ){
+
+                        results[ i ] = settle( accepted[ i ], payments[ i ] );
+
+                    }
+
+                }
+
+            }
+
+        }
+
+        for( OrderResult result : results ){
+
+            vendingMachine.getMetrics().orderCompleted( result.getStatus(), start );
+
+        }
+
+        return Arrays.asList( results );
+
+    }
+
+    /**
+     * Places the order of the ingredients chosen by id.
+     *
+     * @param ingredients The ids of the ingredients and their quantities.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param placeOrder The method to place the order.
+     * @return the result of the order
+     */
+
+    public OrderResult placeOrder( IngredientQuantities ingredients, long cashTendered ){
+
+        long start = System.nanoTime();
+        OrderResult result = pay( price( ingredients, false ), cashTendered );
+        vendingMachine.getMetrics().orderCompleted( result.getStatus(), start );
+
+        return result;
+
+    }
+
+    /**
+     * Places the order of a preset, with its precomputed lines and price.
+     *
+     * @param ramen The preset.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param placeOrder The method to place the order of a preset.
+     * @return the result of the order
+     */
+
+    public OrderResult placeOrder( Ramen ramen, long cashTendered ){
+
+        long start = System.nanoTime();
+        OrderResult result = pay( ramen.getQuote(), cashTendered );
+        vendingMachine.getMetrics().orderCompleted( result.getStatus(), start );
+
+        return result;
+
+    }
+
+    /**
+     * Reserves the ingredients of a quote before it is paid for, the first stage of the OrderPipeline. The stock is
+     * held for the customer until the order is completed or the reservation is rolled back.
+     *
+     * @param quote The quote of the order, with the status QUOTED.
+     * @param reserve The method to reserve an order.
+     * @return the reservation, or null if there is not enough stock now
+     */
+
+    public Reservation reserve( OrderResult quote ){
+
+        return reserve( quote.getLines() );
+
+    }
+
+    /**
+     * Takes the cash of a quote that is paid for in the OrderPipeline and sets its change aside from the cash drawer.
+     *
+     * @param quote The quote of the order.
+     * @param cashTendered The cash the customer put in, in centavos, at least the total cost.
+     * @param takePayment The method to take the cash of an order.
+     * @return the payment, or null if the change cannot be made
+     */
+
+    public CashPayment takePayment( OrderResult quote, long cashTendered ){
+
+        return vendingMachine.getCashDrawer().takePayment( cashTendered, quote.getTotalCost() );
+
+    }
+
+    /**
+     * Completes an order whose ingredients were reserved and whose cash was taken, the last stage of the OrderPipeline:
+     * the stock is used up, the money is collected into the cash drawer and the order is recorded and written to the
+     * journal.
+     *
+     * @param quote The quote of the order.
+     * @param reservation The reservation of its ingredients.
+     * @param payment The cash of the order, with its change already taken.
+     * @param startNanos The time the completion was started, from System.nanoTime, for the metrics.
+     * @param complete The method to complete a reserved order.
+     * @return the accepted order, with the change
+     */
+
+    public OrderResult complete( OrderResult quote, Reservation reservation, CashPayment payment, long startNanos ){
+
+        vendingMachine.completeOrder( reservation, toRecord( quote ), payment );
+
+        return accept( quote, payment, startNanos );
+
+    }
+
+    /**
+     * Takes the cash of an order that was recorded already into the cash drawer, if recording it did not already,
+     * hands the change out and counts the order. It is the part of complete that comes after the order is recorded, so
+     * an order that was recorded before something went wrong still keeps its cash.
+     *
+     * @param quote The quote of the order.
+     * @param payment The cash of the order, with its change already taken.
+     * @param startNanos The time the completion was started, from System.nanoTime, or -1 if it is not timed.
+     * @param accept The method to take the cash of a recorded order.
+     * @return the accepted order, with the change
+     */
+
+    public OrderResult accept( OrderResult quote, CashPayment payment, long startNanos ){
+
+        payment.commit();
+
+        long cashTendered = payment.getCashTendered();
+        OrderResult result = withStatus( quote, OrderStatus.ACCEPTED, cashTendered, payment.getChange() );
+        vendingMachine.getMetrics().orderCompleted( result.getStatus(), startNanos );
+
+        return result;
+
+    }
+
+    /**
+     * Gives up on an order that was started in the OrderPipeline and counts it. The cash, if any, is handed back.
+     *
+     * @param quote The quote of the order.
+     * @param status Why the order was given up.
+     * @param cashTendered The cash the customer put in, in centavos, which is handed back.
+     * @param reject The method to give up on an order.
+     * @return the order with the given status
+     */
+
+    public OrderResult reject( OrderResult quote, OrderStatus status, long cashTendered ){
+
+        OrderResult result = withStatus( quote, status, cashTendered, cashTendered );
+        vendingMachine.getMetrics().orderCompleted( status, -1 );
+
+        return result;
+
+    }
+
+    /**
+     * Prices the order, checks the cash, reserves the ingredients and completes the order.
+     *
+     * @param request The order.
+     * @return the result of the order
+     */
+
+    private OrderResult process( OrderRequest request ){
+
+        return pay( price( request.getIngredients(), false ), request.getCashTendered() );
+
+    }
+
+    /**
+     * Checks the cash, takes the change from the cash drawer, reserves the ingredients and completes a priced order.
+     *
+     * @param quote The priced order.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @return the result of the order
+     */
+
+    private OrderResult pay( OrderResult quote, long cashTendered ){
+
+        if( quote.getStatus() != OrderStatus.QUOTED ){
+
+            return withStatus( quote, quote.getStatus(), cashTendered, 0 );
+
+        }
+
+        if( cashTendered < quote.getTotalCost() ){
+
+            return withStatus( quote, OrderStatus.INSUFFICIENT_CASH, cashTendered, 0 );
+
+        }
+
+        CashPayment payment = vendingMachine.getCashDrawer().takePayment( cashTendered, quote.getTotalCost() );
+
+        if( payment == null ){
+
+            return withStatus( quote, OrderStatus.NO_CHANGE, cashTendered, 0 );
+
+        }
+
+        return settle( quote, payment );
+
+    }
+
+    /**
+     * Reserves the ingredients and completes a priced order whose change was already taken. If the stock is too low,
+     * the change goes back into the cash drawer.
+     *
+     * @param quote The priced order.
+     * @param payment The cash of the order.
+     * @return the result of the order
+     */
+
+    private OrderResult settle( OrderResult quote, CashPayment payment ){
+
+        long cashTendered = payment.getCashTendered();
+        Reservation reservation = reserve( quote.getLines() );
+
+        if( reservation == null ){
+
+            payment.rollback();
+
+            return withStatus( quote, OrderStatus.UNAVAILABLE, cashTendered, 0 );
+
+        }
+
+        vendingMachine.completeOrder( reservation, toRecord( quote ), payment );
+
+        return withStatus( quote, OrderStatus.ACCEPTED, cashTendered, payment.getChange() );
+
+    }
+
+    /**
+     * Builds the lines, the totals and the preparation steps of an order. Every ingredient is read from the same
+     * version of the catalog, so an order is never priced half before and half after a reload.
+     *
+     * @param ingredients The names of the ingredients and their quantities.
+     * @param checkStock If true, the status is UNAVAILABLE when the stock is too low right now.
+     * @return the priced order
+     */
+
+    private OrderResult price( Map< String, Integer > ingredients, boolean checkStock ){
+
+        CatalogVersion version = vendingMachine.getCatalog().current();
+        List<OrderLine> lines = new ArrayList<>( ingredients.size() );
+        OrderStatus status = OrderStatus.QUOTED;
+        int totalCalories = 0;
+        long totalCost = 0;
+
+        for( Map.Entry< String, Integer > entry : ingredients.entrySet() ){
+
+            Ingredient ingredient = version.get( entry.getKey() );
+            int quantity = entry.getValue();
+
+            if( ingredient == null || quantity < 0 ){
+
+                status = OrderStatus.UNKNOWN_INGREDIENT;
+                continue;
+
+            }
+
+            if( checkStock && ingredient.getQuantity() < quantity && status == OrderStatus.QUOTED ){
+
+                status = OrderStatus.UNAVAILABLE;
+
+            }
+
+            OrderLine line = new OrderLine( ingredient, quantity );
+            lines.add( line );
+
+            totalCalories += line.getCalories();
+            totalCost = Math.addExact( totalCost, line.getCost() );
+
+        }
+
+        return new OrderResult( status, lines, preparationSteps( lines ), totalCalories, totalCost, 0, 0 );
+
+    }
+
+    /**
+     * Builds the lines, the totals and the preparation steps of an order chosen by id, from one version of the
+     * catalog.
+     *
+     * @param ingredients The ids of the ingredients and their quantities.
+     * @param checkStock If true, the status is UNAVAILABLE when the stock is too low right now.
+     * @return the priced order
+     */
+
+    private OrderResult price( IngredientQuantities ingredients, boolean checkStock ){
+
+        CatalogVersion version = vendingMachine.getCatalog().current();
+        List<OrderLine> lines = new ArrayList<>( ingredients.size() );
+        OrderStatus status = OrderStatus.QUOTED;
+        int totalCalories = 0;
+        long totalCost = 0;
+
+        for( int i = 0; i < ingredients.size(); i++ ){
+
+            Ingredient ingredient = version.get( ingredients.getId( i ) );
+            int quantity = ingredients.getQuantityAt( i );
+
+            if( ingredient == null ){
+
+                status = OrderStatus.UNKNOWN_INGREDIENT;
+                continue;
+
+            }
+
+            if( checkStock && ingredient.getQuantity() < quantity && status == OrderStatus.QUOTED ){
+
+                status = OrderStatus.UNAVAILABLE;
+
+            }
+
+            OrderLine line = new OrderLine( ingredient, quantity );
+            lines.add( line );
+
+            totalCalories += line.getCalories();
+            totalCost = Math.addExact( totalCost, line.getCost() );
+
+        }
+
+        return new OrderResult( status, lines, preparationSteps( lines ), totalCalories, totalCost, 0, 0 );
+
+    }
+
+    /**
+     * Gets the preparation steps of the lines of an order, in the usual order of preparation, no matter the order the
+     * ingredients were chosen in. The usual order is the order of the catalog, so the step of every ingredient is
+     * looked up on the ingredient and the steps are sorted by id.
+     *
+     * @param lines The lines of the order.
+     * @return the steps
+     */
+
+    static List<String> preparationSteps( List<OrderLine> lines ){
+
+        Ingredient[] ingredients = new Ingredient[ lines.size() ];
+
+        for( int i = 0; i < ingredients.length; i++ ){
+
+            ingredients[ i ] = lines.get( i ).getIngredient();
+
+        }
+
+        Arrays.sort( ingredients, BY_ID );
+
+        List<String> steps = new ArrayList<>( ingredients.length );
+
+        for( Ingredient ingredient : ingredients ){
+
+            if( ingredient.getPreparationStep() != null ){
+
+                steps.add( ingredient.getPreparationStep() );
+
+            }
+
+        }
+
+        return steps;
+
+    }
+
+    /**
+     * Checks that every line of an order is in stock right now, without taking anything.
+     *
+     * @param lines The lines of the order.
+     * @return true if there is enough of every ingredient
+     */
+
+    private static boolean isInStock( List<OrderLine> lines ){
+
+        for( int i = 0; i < lines.size(); i++ ){
+
+            if( lines.get( i ).getIngredient().getQuantity() < lines.get( i ).getQuantity() ){
+
+                return false;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Reserves the ingredients of the given lines.
+     *
+     * @param lines The lines of the order.
+     * @return the reservation, or null if there is not enough stock
+     */
+
+    private Reservation reserve( List<OrderLine> lines ){
+
+        Ingredient[] ingredients = new Ingredient[ lines.size() ];
+        int[] quantities = new int[ lines.size() ];
+
+        for( int i = 0; i < lines.size(); i++ ){
+
+            ingredients[ i ] = lines.get( i ).getIngredient();
+            quantities[ i ] = lines.get( i ).getQuantity();
+
+        }
+
+        return vendingMachine.getInventory().reserve( ingredients, quantities );
+
+    }
+
+    /**
+     * Checks that the lines of an order are in stock right now, on top of what the orders before it in the batch
+     * need.
+     *
+     * @param lines The lines of the order.
+     * @param demand The quantities the orders before it need, by ingredient id.
+     * @return true if there is enough of every ingredient
+     */
+
+    private static boolean fits( List<OrderLine> lines, IngredientQuantities demand ){
+
+        for( int i = 0; i < lines.size(); i++ ){
+
+            Ingredient ingredient = lines.get( i ).getIngredient();
+
+            if( ingredient.getQuantity() - demand.get( ingredient.getId() ) < lines.get( i ).getQuantity() ){
+
+                return false;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Reserves the total quantities of a batch, every ingredient once.
+     *
+     * @param demand The total quantities, by ingredient id.
+     * @return the reservation, or null if there is not enough stock
+     */
+
+    private Reservation reserve( IngredientQuantities demand ){
+
+        CatalogVersion version = vendingMachine.getCatalog().current();
+        Ingredient[] ingredients = new Ingredient[ demand.size() ];
+        int[] quantities = new int[ demand.size() ];
+
+        for( int i = 0; i < demand.size(); i++ ){
+
+            ingredients[ i ] = version.get( demand.getId( i ) );
+            quantities[ i ] = demand.getQuantityAt( i );
+
+        }
+
+        return vendingMachine.getInventory().reserve( ingredients, quantities );
+
+    }
+
+    /**
+     * Copies the result with a new status and change.
+     *
+     * @param result The result to copy.
+     * @param status The new status.
+     * @param cashTendered The cash the customer put in, in centavos.
+     * @param change The change for the customer in centavos.
+     * @return the new result
+     */
+
+    private OrderResult withStatus( OrderResult result, OrderStatus status, long cashTendered, long change ){
+
+        return new OrderResult( status, result.getLines(), result.getPreparationSteps(), result.getTotalCalories(), result.getTotalCost(), cashTendered, change );
+
+    }
+
+    /**
+     * Builds the entry that is recorded in the order history.
+     *
+     * @param result The accepted order.
+     * @return the order record
+     */
+
+    private OrderRecord toRecord( OrderResult result ){
+
+        List<OrderLine> lines = result.getLines();
+        int[] ingredientIds = new int[ lines.size() ];
+        int[] quantities = new int[ lines.size() ];
+
+        for( int i = 0; i < lines.size(); i++ ){
+
+            ingredientIds[ i ] = lines.get( i ).getIngredient().getId();
+            quantities[ i ] = lines.get( i ).getQuantity();
+
+        }
+
+        return new OrderRecord( System.currentTimeMillis(), ingredientIds, quantities, result.getTotalCalories(), result.getTotalCost() );
+
+    }
+
+}
\ No newline at end of file
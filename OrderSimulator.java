@@ -0,0 +1,556 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class places orders on a vending machine without the user interface, so the machine can be run under load for
+ * hours. Many customers order at the same time, each on its own thread, at a fixed total rate, and an attendant
+ * restocks every ingredient and fills the cash drawer back to its float now and then. The orders are either made up
+ * or replayed from an order history file. Every report interval it prints the orders per second, the latency
+ * percentiles, how many orders found an ingredient sold out, and how much heap is still in use after the last garbage
+ * collection.
+ *
+ * The latency of an order is counted from the time it was supposed to start, not the time it did start, so a machine
+ * that falls behind shows it in the percentiles instead of quietly placing fewer orders.
+ *
+ * Options, all optional, are given as --name=value:
+ *
+ *   --customers   the number of customers ordering at the same time (64)
+ *   --rate        the orders per second of all the customers together, 0 for as fast as possible (200)
+ *   --duration    the number of seconds to run (60)
+ *   --restock     the milliseconds between two restocks (1000)
+ *   --report      the seconds between two reports (10)
+ *   --mix         an order history file to replay the orders of, instead of made up orders
+ *   --data        the folder of the journal and the snapshots, a new temporary folder if not given
+ *   --seed        the seed of the made up orders (1)
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderSimulator{
+
+    public static final int SYNTHETIC_ORDERS = 1024; // The number of made up orders the customers choose from
+
+    private static final int SHORT_CHANGE_PERCENT = 5;     // The percentage of customers that put in too little cash first
+
+    private VendingMachine vendingMachine;           // Adds the vending machine the orders are placed on
+    private OrderService orderService;               // Adds the order service of the vending machine
+    private List< Map< String, Integer > > mix;      // Adds the orders the customers choose from
+    private LatencyHistogram latency;                // Adds the latency of every order since the start
+    private LatencyHistogram intervalLatency;        // Adds the latency of every order since the last report
+    private LongAdder attempts;                      // Adds the number of orders tried
+    private LongAdder accepted;                      // Adds the number of orders that were paid for
+    private LongAdder stockOuts;                     // Adds the number of orders that found an ingredient sold out
+    private LongAdder failures;                      // Adds the number of orders that failed for another reason
+    private volatile boolean running;                // Adds whether the customers keep ordering
+
+    /**
+     * Constructs a simulator for the given vending machine.
+     *
+     * @param vendingMachine The vending machine the orders are placed on.
+     * @param mix The orders the customers choose from.
+     * @param OrderSimulator The constructor of the simulator.
+     * @throws IllegalArgumentException if there are no orders to choose from.
+     */
+
+    public OrderSimulator( VendingMachine vendingMachine, List< Map< String, Integer > > mix ){
+
+        if( mix.isEmpty() ){
+
+            throw new IllegalArgumentException( "There are no orders to place" );
+
+        }
+
+        this.vendingMachine = vendingMachine;
+        this.orderService = new OrderService( vendingMachine );
+        this.mix = mix;
+        this.latency = new LatencyHistogram( "order" );
+        this.intervalLatency = new LatencyHistogram( "order" );
+        this.attempts = new LongAdder();
+        this.accepted = new LongAdder();
+        this.stockOuts = new LongAdder();
+        this.failures = new LongAdder();
+
+    }
+
+    /**
+     * Runs the simulator from the command line.
+     *
+     * @param args The options, as --name=value.
+     * @throws IOException if the data folder or the order history cannot be read.
+     * @throws InterruptedException if the simulator is interrupted.
+     */
+
+    public static void main( String[] args ) throws IOException, InterruptedException{
+
+        Map< String, String > options = parseOptions( args );
+
+        int customers = Integer.parseInt( options.getOrDefault( "customers", "64" ) );
+        double rate = Double.parseDouble( options.getOrDefault( "rate", "200" ) );
+        long durationMillis = TimeUnit.SECONDS.toMillis( Long.parseLong( options.getOrDefault( "duration", "60" ) ) );
+        long restockMillis = Long.parseLong( options.getOrDefault( "restock", "1000" ) );
+        long reportMillis = TimeUnit.SECONDS.toMillis( Long.parseLong( options.getOrDefault( "report", "10" ) ) );
+        long seed = Long.parseLong( options.getOrDefault( "seed", "1" ) );
+
+        Path dataDirectory = options.containsKey( "data" ) ? Paths.get( options.get( "data" ) ) : Files.createTempDirectory( "ramen-simulator" );
+        Files.createDirectories( dataDirectory );
+
+        VendingMachine vendingMachine = RamenApp.initializeVendingMachine( dataDirectory );
+        List< Map< String, Integer > > mix = options.containsKey( "mix" )
+                ? loadMix( Paths.get( options.get( "mix" ) ), vendingMachine.getCatalog() )
+                : syntheticMix( vendingMachine.getCatalog(), SYNTHETIC_ORDERS, seed );
+
+        System.out.println( "Journal and snapshots are in " + dataDirectory.toAbsolutePath() );
+        System.out.printf( "%d customers, %s orders per second, %d orders in the mix, restocking every %d ms%n",
+                customers, ( rate > 0 ) ? String.valueOf( rate ) : "unlimited", mix.size(), restockMillis );
+
+        new OrderSimulator( vendingMachine, mix ).run( customers, rate, durationMillis, restockMillis, reportMillis, System.out );
+
+        System.exit( 0 );
+
+    }
+
+    /**
+     * Runs the customers and the attendant for the given time, printing a report every interval and a summary at
+     * the end.
+     *
+     * @param customers The number of customers ordering at the same time.
+     * @param ordersPerSecond The orders per second of all the customers together, 0 or less for as fast as possible.
+     * @param durationMillis The time to run.
+     * @param restockMillis The time between two restocks, 0 or less for no restocks.
+     * @param reportMillis The time between two reports.
+     * @param out The stream the reports are printed to.
+     * @param run The method to run the simulator.
+     * @throws InterruptedException if the simulator is interrupted.
+     */
+
+    public void run( int customers, double ordersPerSecond, long durationMillis, long restockMillis, long reportMillis, PrintStream out ) throws InterruptedException{
+
+        // Each customer orders at its share of the rate, the customers start spread out over one period.
+        long periodNanos = ( ordersPerSecond > 0 ) ? ( long ) ( TimeUnit.SECONDS.toNanos( 1 ) * customers / ordersPerSecond ) : 0;
+        long heapAtStart = liveHeapAfterCollection( true );
+        long start = System.nanoTime();
+
+        running = true;
+
+        ExecutorService customerThreads = Executors.newFixedThreadPool( customers, namedDaemonThreads( "customer" ) );
+
+        for( int i = 0; i < customers; i++ ){
+
+            long firstOrder = start + periodNanos * i / customers;
+            customerThreads.execute( () -> order( firstOrder, periodNanos ) );
+
+        }
+
+        Thread attendant = null;
+
+        if( restockMillis > 0 ){
+
+            attendant = namedDaemonThreads( "attendant" ).newThread( () -> restock( restockMillis ) );
+            attendant.start();
+
+        }
+
+        out.println( "seconds   orders/s     p50 us     p99 us   p99.9 us     max us  sold out  heap MB" );
+
+        long end = start + TimeUnit.MILLISECONDS.toNanos( durationMillis );
+        long lastReport = start;
+        long lastAttempts = 0;
+
+        while( System.nanoTime() < end ){
+
+            Thread.sleep( Math.max( 1, Math.min( reportMillis, TimeUnit.NANOSECONDS.toMillis( end - System.nanoTime() ) ) ) );
+
+            long now = System.nanoTime();
+            long tried = attempts.sum();
+
+            out.printf( "%7.0f %10.1f %10.1f %10.1f %10.1f %10.1f %8.2f%% %8.1f%n",
+                    ( now - start ) / 1e9, ( tried - lastAttempts ) / ( ( now - lastReport ) / 1e9 ),
+                    micros( intervalLatency.getPercentile( 50 ) ), micros( intervalLatency.getPercentile( 99 ) ),
+                    micros( intervalLatency.getPercentile( 99.9 ) ), micros( intervalLatency.getMax() ),
+                    getStockOutRate() * 100, liveHeapAfterCollection( false ) / 1048576.0 );
+
+            // The few orders that finish between the read and the reset are only missing from this interval.
+            intervalLatency.reset();
+            lastReport = now;
+            lastAttempts = tried;
+
+        }
+
+        running = false;
+        customerThreads.shutdown();
+        customerThreads.awaitTermination( 1, TimeUnit.MINUTES );
+
+        if( attendant != null ){
+
+            attendant.interrupt();
+            attendant.join();
+
+        }
+
+        double seconds = ( System.nanoTime() - start ) / 1e9;
+        long heapAtEnd = liveHeapAfterCollection( true );
+
+        out.println();
+        out.printf( "orders tried %d, accepted %d, sold out %d (%.2f%%), failed %d%n",
+                attempts.sum(), accepted.sum(), stockOuts.sum(), getStockOutRate() * 100, failures.sum() );
+        out.printf( "throughput %.1f orders per second, %.1f accepted per second%n", attempts.sum() / seconds, accepted.sum() / seconds );
+        out.println( "latency." + latency );
+        out.printf( "heap after collection %.1f MB at the start, %.1f MB at the end, %+.1f MB%n",
+                heapAtStart / 1048576.0, heapAtEnd / 1048576.0, ( heapAtEnd - heapAtStart ) / 1048576.0 );
+        out.println();
+        vendingMachine.getMetrics().dump( out, vendingMachine.getCatalog() );
+
+    }
+
+    /**
+     * Gets the share of the orders tried that found an ingredient sold out.
+     *
+     * @return the share, from 0 to 1
+     */
+
+    public double getStockOutRate(){
+
+        long tried = attempts.sum();
+
+        return ( tried == 0 ) ? 0.0 : stockOuts.sum() / ( double ) tried;
+
+    }
+
+    /**
+     * Gets the latency of every order since the start.
+     *
+     * @return the histogram
+     */
+
+    public LatencyHistogram getLatency(){
+
+        return latency;
+
+    }
+
+    /**
+     * Makes up orders from the ingredients in the catalog: one to four different ingredients, each once or, now and
+     * then, twice. They are made once, up front, so making them does not show up in the latency or the heap.
+     *
+     * @param catalog The catalog of the vending machine.
+     * @param count The number of orders.
+     * @param seed The seed of the random numbers, so a run can be repeated.
+     * @param syntheticMix The method to make up orders.
+     * @return the orders
+     */
+
+    public static List< Map< String, Integer > > syntheticMix( IngredientCatalog catalog, int count, long seed ){
+
+        List<Ingredient> ingredients = catalog.getIngredients();
+        List< Map< String, Integer > > orders = new ArrayList<>( count );
+        Random random = new Random( seed );
+
+        for( int i = 0; i < count; i++ ){
+
+            Map< String, Integer > order = new LinkedHashMap<>();
+            int kinds = Math.min( ingredients.size(), 1 + random.nextInt( 4 ) );
+
+            while( order.size() < kinds ){
+
+                order.put( ingredients.get( random.nextInt( ingredients.size() ) ).getName(), ( random.nextInt( 5 ) == 0 ) ? 2 : 1 );
+
+            }
+
+            orders.add( Collections.unmodifiableMap( order ) );
+
+        }
+
+        return orders;
+
+    }
+
+    /**
+     * Reads the orders of an order history file, the one the OrderHistory writes its older orders to. Ingredients
+     * that are no longer in the catalog are left out.
+     *
+     * @param historyFile The order history file.
+     * @param catalog The catalog of the vending machine, to name the ingredients.
+     * @param loadMix The method to read recorded orders.
+     * @return the orders
+     * @throws IOException if the file cannot be read.
+     */
+
+    public static List< Map< String, Integer > > loadMix( Path historyFile, IngredientCatalog catalog ) throws IOException{
+
+        List< Map< String, Integer > > orders = new ArrayList<>();
+
+        for( String line : Files.readAllLines( historyFile, StandardCharsets.UTF_8 ) ){
+
+            String[] fields = line.split( "," );
+            Map< String, Integer > order = new LinkedHashMap<>();
+
+            // The timestamp, the calories and the cost come first.
+            for( int i = 3; i < fields.length; i++ ){
+
+                int colon = fields[ i ].indexOf(':');
+
+                try{
+
+                    int id = Integer.parseInt( fields[ i ].substring( 0, colon ) );
+                    int quantity = Integer.parseInt( fields[ i ].substring( colon + 1 ) );
+
+                    if( id >= 0 && id < catalog.size() && quantity > 0 ){
+
+                        order.merge( catalog.get( id ).getName(), quantity, Integer::sum );
+
+                    }
+
+                }catch( NumberFormatException | StringIndexOutOfBoundsException e ){
+
+                    // Not an ingredient, the rest of the line is still used.
+
+                }
+
+            }
+
+            if( !order.isEmpty() ){
+
+                orders.add( Collections.unmodifiableMap( order ) );
+
+            }
+
+        }
+
+        return orders;
+
+    }
+
+    /**
+     * Orders like a customer at the machine does, again and again until the simulator stops: the order is priced,
+     * and if everything is there, paid for. Now and then the customer puts in too little cash first and then adds
+     * more, like in the cash window.
+     */
+
+    private void order( long firstOrder, long periodNanos ){
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intended = firstOrder;
+
+        while( running ){
+
+            if( periodNanos > 0 ){
+
+                long wait = intended - System.nanoTime();
+
+                if( wait > 0 ){
+
+                    LockSupport.parkNanos( wait );
+                    continue;
+
+                }
+
+            }else{
+
+                intended = System.nanoTime();
+
+            }
+
+            Map< String, Integer > ingredients = mix.get( random.nextInt( mix.size() ) );
+            OrderStatus status = placeOrder( ingredients, random );
+
+            latency.recordSince( intended );
+            intervalLatency.recordSince( intended );
+            attempts.increment();
+
+            if( status == OrderStatus.ACCEPTED ){
+
+                accepted.increment();
+
+            }else if( status == OrderStatus.UNAVAILABLE ){
+
+                stockOuts.increment();
+
+            }else{
+
+                failures.increment();
+
+            }
+
+            intended += periodNanos;
+
+        }
+
+    }
+
+    /**
+     * Prices and places one order.
+     */
+
+    private OrderStatus placeOrder( Map< String, Integer > ingredients, ThreadLocalRandom random ){
+
+        OrderResult quote = orderService.quote( ingredients );
+
+        if( quote.getStatus() != OrderStatus.QUOTED ){
+
+            return quote.getStatus();
+
+        }
+
+        long totalCost = quote.getTotalCost();
+
+        if( totalCost > Money.CENTAVOS_PER_PESO && random.nextInt( 100 ) < SHORT_CHANGE_PERCENT ){
+
+            OrderResult shortChanged = orderService.placeOrder( new OrderRequest( ingredients, totalCost - Money.CENTAVOS_PER_PESO ) );
+
+            if( shortChanged.getStatus() != OrderStatus.INSUFFICIENT_CASH ){
+
+                return shortChanged.getStatus();
+
+            }
+
+        }
+
+        // Pays with the next 100 pesos up, like most customers do.
+        long cash = ( totalCost + Money.pesos( 100 ) - 1 ) / Money.pesos( 100 ) * Money.pesos( 100 );
+
+        return orderService.placeOrder( new OrderRequest( ingredients, cash ) ).getStatus();
+
+    }
+
+    /**
+     * Restocks every ingredient as far as it goes and fills the cash drawer back to its float, every interval, until
+     * the thread is interrupted.
+     */
+
+    private void restock( long restockMillis ){
+
+        try{
+
+            while( running ){
+
+                Thread.sleep( restockMillis );
+
+                for( Ingredient ingredient : vendingMachine.getCatalog().getIngredients() ){
+
+                    vendingMachine.restockIngredient( ingredient.getName(), ingredient.getCapacity() - ingredient.getQuantity() );
+
+                }
+
+                vendingMachine.resetCashDrawer();
+
+            }
+
+        }catch( InterruptedException e ){
+
+            // The simulator is done.
+
+        }
+
+    }
+
+    /**
+     * Gets the heap that was still in use after the last garbage collection, which is what stays alive, unlike the
+     * heap in use right now, which goes up and down with every collection.
+     *
+     * @param collectFirst If true, a full collection is asked for first, so the number is up to date.
+     */
+
+    private static long liveHeapAfterCollection( boolean collectFirst ){
+
+        if( collectFirst ){
+
+            System.gc();
+
+        }
+
+        long used = 0;
+
+        for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ){
+
+            MemoryUsage usage = pool.getCollectionUsage();
+
+            if( pool.getType() == MemoryType.HEAP && usage != null ){
+
+                used += usage.getUsed();
+
+            }
+
+        }
+
+        return used;
+
+    }
+
+    /**
+     * Reads the options, given as --name=value.
+     *
+     * @throws IllegalArgumentException if an option is not given as --name=value.
+     */
+
+    static Map< String, String > parseOptions( String[] args ){
+
+        Map< String, String > options = new LinkedHashMap<>();
+
+        for( String arg : args ){
+
+            int equals = arg.indexOf('=');
+
+            if( !arg.startsWith( "--" ) || equals < 0 ){
+
+                throw new IllegalArgumentException( "Options are given as --name=value: " + arg );
+
+            }
+
+            options.put( arg.substring( 2, equals ), arg.substring( equals + 1 ) );
+
+        }
+
+        return options;
+
+    }
+
+    /**
+     * Makes threads that are named after what they do and do not keep the program running.
+     */
+
+    private static ThreadFactory namedDaemonThreads( String name ){
+
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+
+            Thread thread = new Thread( runnable, name + "-" + count.incrementAndGet() );
+            thread.setDaemon( true );
+
+            return thread;
+
+        };
+
+    }
+
+    private static double micros( long nanos ){
+
+        return nanos / 1000.0;
+
+    }
+
+}
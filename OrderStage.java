@@ -0,0 +1,20 @@
+/**
+ * This is how far an order has come in the OrderPipeline. An order goes through the stages in this order, or stops at
+ * FAILED from any stage before RECORDED.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public enum OrderStage{
+
+    COMPOSED,   // The order was priced and given to the pipeline
+    RESERVED,   // The ingredients were set aside, the pipeline waits for the cash
+    PAID,       // The cash was put in
+    PREPARING,  // The kitchen is going through the preparation steps
+    DISPENSED,  // The ramen and the change were handed out
+    RECORDED,   // The stock was used up, the money collected and the order written to the history and the journal
+    FAILED      // The order was given up, the ingredients were put back and the cash, if any, was handed back
+
+}
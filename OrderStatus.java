@@ -0,0 +1,21 @@
+/**
+ * This is the outcome of an order that was given to the OrderService.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public enum OrderStatus{
+
+    QUOTED,              // The order was priced, nothing was taken or paid yet
+    ACCEPTED,            // The order was paid for and the ingredients were taken out of the stock
+    INSUFFICIENT_CASH,   // The cash given is less than the total cost
+    NO_CHANGE,           // The change cannot be made from the cash drawer, or the cash cannot be put in with its coins and bills
+    UNAVAILABLE,         // There is not enough stock of at least one ingredient
+    UNKNOWN_INGREDIENT,  // At least one ingredient is not stocked in the vending machine
+    TIMED_OUT,           // The customer did not pay in time, the cash was handed back
+    KITCHEN_BUSY,        // The kitchen could not have the order ready in time, the cash, if any, was handed back
+    CANCELLED            // The customer went back before paying, nothing was taken or paid
+
+}
@@ -0,0 +1,383 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class is one order that is on its way through the OrderPipeline. The GUI holds on to it to put the cash in, or
+ * to go back, and to see how far the order has come; everything else is done by the pipeline.
+ *
+ * The cash is a future that the customer completes. It times out by itself after the payment timeout, so a customer
+ * who walks away only ever holds the ingredients of their order for that long.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderTicket{
+
+    private final int number;                               // Adds the number of the order, counted from 1
+    private final OrderResult quote;                        // Adds the priced order
+    private final CompletableFuture<Boolean> reserved;      // Adds whether the ingredients could be set aside
+    private final CompletableFuture<CashPayment> cash;      // Adds the cash the customer puts in, with its change
+    private final CompletableFuture<OrderResult> result;    // Adds the outcome of the order
+    private final AtomicReference<OrderStage> stage;        // Adds how far the order has come, which only ever moves on
+    private volatile String step;                           // Adds the preparation step the kitchen is at, or null
+    private volatile Reservation reservation;               // Adds the ingredients set aside for the order, or null
+    private volatile PreparationPlan plan;                  // Adds the schedule of the preparation, or null before the payment
+    private volatile CompletableFuture<?>[] stepTimers;     // Adds the timers that show the preparation steps, or null
+
+    /**
+     * Constructs the ticket of an order that was just composed.
+     *
+     * @param number The number of the order.
+     * @param quote The priced order, with the status QUOTED.
+     * @param paymentTimeoutMillis The time the customer has to put the cash in, in milliseconds.
+     * @param OrderTicket The constructor of the ticket.
+     */
+
+    OrderTicket( int number, OrderResult quote, long paymentTimeoutMillis ){
+
+        this.number = number;
+        this.quote = quote;
+        this.reserved = new CompletableFuture<>();
+        this.cash = new CompletableFuture<CashPayment>().orTimeout( paymentTimeoutMillis, TimeUnit.MILLISECONDS );
+        this.result = new CompletableFuture<>();
+        this.stage = new AtomicReference<>( OrderStage.COMPOSED );
+
+    }
+
+    /**
+     * Gets the number of the order.
+     *
+     * @param getNumber The method to get the number of the order.
+     * @return the number, counted from 1
+     */
+
+    public int getNumber(){
+
+        return number;
+
+    }
+
+    /**
+     * Gets the priced order.
+     *
+     * @param getQuote The method to get the priced order.
+     * @return the quote
+     */
+
+    public OrderResult getQuote(){
+
+        return quote;
+
+    }
+
+    /**
+     * Gets how far the order has come.
+     *
+     * @param getStage The method to get the stage of the order.
+     * @return the stage
+     */
+
+    public OrderStage getStage(){
+
+        return stage.get();
+
+    }
+
+    /**
+     * Gets the preparation step the kitchen is at.
+     *
+     * @param getStep The method to get the preparation step.
+     * @return the step, or null if the order is not being prepared
+     */
+
+    public String getStep(){
+
+        return step;
+
+    }
+
+    /**
+     * Gets the schedule of the preparation, with the time the order is ready.
+     *
+     * @param getPlan The method to get the preparation plan.
+     * @return the plan, or null if the order was not paid for yet
+     */
+
+    public PreparationPlan getPlan(){
+
+        return plan;
+
+    }
+
+    /**
+     * Gets the future that tells whether the ingredients could be set aside. The GUI waits for it before it asks for
+     * the cash, so a customer is never asked to pay for an order that is sold out.
+     *
+     * @param whenReserved The method to wait for the reservation.
+     * @return the future, which is true if the order is waiting for the cash, or false if it was given up
+     */
+
+    public CompletableFuture<Boolean> whenReserved(){
+
+        return reserved;
+
+    }
+
+    /**
+     * Gets the future of the outcome of the order. It always completes, with ACCEPTED once the order is recorded or
+     * with the reason it was given up, and never exceptionally.
+     *
+     * @param getResult The method to get the outcome of the order.
+     * @return the future of the outcome
+     */
+
+    public CompletableFuture<OrderResult> getResult(){
+
+        return result;
+
+    }
+
+    /**
+     * Checks if the order was recorded or given up.
+     *
+     * @param isDone The method to check the order.
+     * @return True if nothing will happen to the order anymore. If not, then False.
+     */
+
+    public boolean isDone(){
+
+        return result.isDone();
+
+    }
+
+    /**
+     * Describes the order for the progress panel.
+     *
+     * @return the description
+     */
+
+    @Override
+    public String toString(){
+
+        String text = "Order #" + number + " - \u20B1" + Money.format( quote.getTotalCost() ) + " - ";
+
+        switch( stage.get() ){
+
+            case COMPOSED:
+
+                return text + "Checking the ingredients...";
+
+            case RESERVED:
+
+                return text + "Waiting for payment...";
+
+            case PAID:
+
+                return text + "Paid, waiting for the kitchen..." + readyAt();
+
+            case PREPARING:
+
+                return text + ( ( step == null ) ? "Preparing..." : step ) + readyAt();
+
+            case DISPENSED:
+
+                return text + "Dispensed!";
+
+            case RECORDED:
+
+                return text + "Done! Change: \u20B1" + Money.format( result.join().getChange() );
+
+            default:
+
+                return text + describeFailure();
+
+        }
+
+    }
+
+    /**
+     * Tells the customer the time the order is ready, once it is scheduled.
+     */
+
+    private String readyAt(){
+
+        PreparationPlan plan = this.plan;
+
+        return ( plan == null ) ? "" : String.format( " Ready at %tT", plan.getReadyAt() );
+
+    }
+
+    /**
+     * Tells the customer why the order was given up.
+     */
+
+    private String describeFailure(){
+
+        OrderResult outcome = result.getNow( null );
+        OrderStatus status = ( outcome == null ) ? OrderStatus.UNAVAILABLE : outcome.getStatus();
+        String refund = ( outcome == null || outcome.getCashTendered() == 0 ) ? "" : ", \u20B1" + Money.format( outcome.getCashTendered() ) + " handed back";
+
+        switch( status ){
+
+            case TIMED_OUT:
+
+                return "Timed out" + refund;
+
+            case CANCELLED:
+
+                return "Cancelled";
+
+            case KITCHEN_BUSY:
+
+                return "Kitchen too busy" + refund;
+
+            default:
+
+                return "Sold out" + refund;
+
+        }
+
+    }
+
+    /**
+     * Moves the order to the given stage and step, unless it is at a later stage already. A stage never goes back, so
+     * a preparation step whose timer fires late cannot undo the dispensing or the failure of the order. It is only
+     * called by the OrderPipeline.
+     *
+     * @param stage The new stage.
+     * @param step The preparation step, or null.
+     * @return true if the order moved, false if it is at a later stage
+     */
+
+    boolean moveTo( OrderStage stage, String step ){
+
+        OrderStage current = this.stage.get();
+
+        while( stage.ordinal() >= current.ordinal() ){
+
+            if( this.stage.compareAndSet( current, stage ) ){
+
+                this.step = step;
+
+                return true;
+
+            }
+
+            current = this.stage.get();
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Keeps the schedule of the preparation. It is only called by the OrderPipeline.
+     *
+     * @param plan The preparation plan.
+     */
+
+    void setPlan( PreparationPlan plan ){
+
+        this.plan = plan;
+
+    }
+
+    /**
+     * Keeps the timers that show the preparation steps when they start. It is only called by the OrderPipeline.
+     *
+     * @param stepTimers The timers, one for every step.
+     */
+
+    void setStepTimers( CompletableFuture<?>[] stepTimers ){
+
+        this.stepTimers = stepTimers;
+
+    }
+
+    /**
+     * Stops the timers of the preparation steps that did not go off yet, so a failed order shows no more steps. It is
+     * only called by the OrderPipeline.
+     */
+
+    void cancelStepTimers(){
+
+        CompletableFuture<?>[] timers = stepTimers;
+
+        if( timers != null ){
+
+            for( CompletableFuture<?> timer : timers ){
+
+                timer.cancel( false );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the future of the cash. It is only used by the OrderPipeline.
+     *
+     * @return the future of the cash
+     */
+
+    CompletableFuture<CashPayment> cash(){
+
+        return cash;
+
+    }
+
+    /**
+     * Gets the ingredients set aside for the order. It is only used by the OrderPipeline.
+     *
+     * @return the reservation, or null if nothing was set aside
+     */
+
+    Reservation getReservation(){
+
+        return reservation;
+
+    }
+
+    /**
+     * Keeps the ingredients set aside for the order. It is only called by the OrderPipeline.
+     *
+     * @param reservation The reservation.
+     */
+
+    void setReservation( Reservation reservation ){
+
+        this.reservation = reservation;
+
+    }
+
+    /**
+     * Puts the cash in, if it is enough. It is only called by the OrderPipeline.
+     *
+     * @param payment The cash the customer put in, with its change already taken.
+     * @return true if the cash was taken, false if it is not enough or the order was given up already
+     */
+
+    boolean pay( CashPayment payment ){
+
+        return payment.getCashTendered() >= quote.getTotalCost() && cash.complete( payment );
+
+    }
+
+    /**
+     * Gives up on the order if the cash was not put in yet. It is only called by the OrderPipeline.
+     *
+     * @return true if the order was given up now
+     */
+
+    boolean cancel(){
+
+        return cash.cancel( false );
+
+    }
+
+}
@@ -0,0 +1,177 @@
+/**
+ * This class is the schedule of the preparation of one order, made by the PreparationScheduler: every step with the
+ * station and the unit it is done at, and the time it starts and ends. The order is ready when its last step ends.
+ * The times are in milliseconds, on the clock the scheduler was given.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class PreparationPlan{
+
+    private long queuedAt;              // Adds the time the order was given to the kitchen
+    private String[] steps;             // Adds the preparation steps, in the order they were scheduled, longest first
+    private KitchenStation[] stations;  // Adds the station of every step
+    private int[] units;                // Adds the unit of the station every step is done at
+    private long[] starts;              // Adds the time every step starts
+    private long[] ends;                // Adds the time every step ends
+    private long readyAt;               // Adds the time the last step ends
+
+    /**
+     * Constructs a plan. It is only called by the PreparationScheduler, which fills the arrays in.
+     *
+     * @param queuedAt The time the order was given to the kitchen.
+     * @param stepCount The number of steps.
+     */
+
+    PreparationPlan( long queuedAt, int stepCount ){
+
+        this.queuedAt = queuedAt;
+        this.steps = new String[ stepCount ];
+        this.stations = new KitchenStation[ stepCount ];
+        this.units = new int[ stepCount ];
+        this.starts = new long[ stepCount ];
+        this.ends = new long[ stepCount ];
+        this.readyAt = queuedAt;
+
+    }
+
+    /**
+     * Sets one step of the plan. It is only called by the PreparationScheduler.
+     */
+
+    void setStep( int index, String step, KitchenStation station, int unit, long start, long end ){
+
+        steps[ index ] = step;
+        stations[ index ] = station;
+        units[ index ] = unit;
+        starts[ index ] = start;
+        ends[ index ] = end;
+        readyAt = Math.max( readyAt, end );
+
+    }
+
+    /**
+     * Gets the time the order was given to the kitchen.
+     *
+     * @param getQueuedAt The method to get the time the order was queued.
+     * @return the time in milliseconds
+     */
+
+    public long getQueuedAt(){
+
+        return queuedAt;
+
+    }
+
+    /**
+     * Gets the time the order is ready, when its last step ends.
+     *
+     * @param getReadyAt The method to get the estimated ready time.
+     * @return the time in milliseconds, the time it was queued if it has no steps
+     */
+
+    public long getReadyAt(){
+
+        return readyAt;
+
+    }
+
+    /**
+     * Gets the time from the order being queued to it being ready.
+     *
+     * @param getTotalMillis The method to get the time the order takes.
+     * @return the time in milliseconds
+     */
+
+    public long getTotalMillis(){
+
+        return readyAt - queuedAt;
+
+    }
+
+    /**
+     * Gets the number of steps.
+     *
+     * @param getStepCount The method to get the number of steps.
+     * @return the number of steps
+     */
+
+    public int getStepCount(){
+
+        return steps.length;
+
+    }
+
+    /**
+     * Gets one step.
+     *
+     * @param index The index of the step, in the order the steps start.
+     * @param getStep The method to get a step.
+     * @return the text of the step
+     */
+
+    public String getStep( int index ){
+
+        return steps[ index ];
+
+    }
+
+    /**
+     * Gets the station one step is done at.
+     *
+     * @param index The index of the step.
+     * @param getStation The method to get the station of a step.
+     * @return the station
+     */
+
+    public KitchenStation getStation( int index ){
+
+        return stations[ index ];
+
+    }
+
+    /**
+     * Gets the unit of the station one step is done at.
+     *
+     * @param index The index of the step.
+     * @param getUnit The method to get the unit of a step.
+     * @return the unit, counted from 0
+     */
+
+    public int getUnit( int index ){
+
+        return units[ index ];
+
+    }
+
+    /**
+     * Gets the time one step starts.
+     *
+     * @param index The index of the step.
+     * @param getStart The method to get the start of a step.
+     * @return the time in milliseconds
+     */
+
+    public long getStart( int index ){
+
+        return starts[ index ];
+
+    }
+
+    /**
+     * Gets the time one step ends.
+     *
+     * @param index The index of the step.
+     * @param getEnd The method to get the end of a step.
+     * @return the time in milliseconds
+     */
+
+    public long getEnd( int index ){
+
+        return ends[ index ];
+
+    }
+
+}
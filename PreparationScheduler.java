@@ -0,0 +1,342 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class schedules the preparation steps of the orders over the stations of the kitchen. Every unit of a station
+ * does one step at a time, and the steps of one order are done at the same time where their stations allow it. A
+ * step goes to the unit of its station that is free first, so while the noodles of one order are blanched the broth
+ * of the next order is already heating on another heater, instead of every order waiting for the whole order before
+ * it. The longest steps of an order are scheduled first, so they never wait behind the short ones.
+ *
+ * The scheduler keeps no clock of its own: every call is given the time, in milliseconds, so it runs just the same on
+ * the real clock of the OrderPipeline and on the simulated clock of the KitchenSimulator.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class PreparationScheduler{
+
+    private static final KitchenStation[] STATIONS = KitchenStation.values();
+
+    private long[] stepMillis;                  // Adds the time one step takes, by station
+    private long[][] freeAt;                    // Adds the time every unit is free again, by station and unit
+    private List< ArrayDeque<long[]> > pending;  // Adds the steps that are not over yet, as start and end, by station
+    private long[] finishedMillis;              // Adds the time the units were busy with steps that are over, by station
+    private long firstQueuedAt;                 // Adds the time the first order was queued, or -1 before that
+    private long drainedUntil;                  // Adds the latest time an order was scheduled and the steps drained
+
+    /**
+     * Constructs a scheduler for a kitchen with the default units and step times of every station.
+     *
+     * @param PreparationScheduler The constructor of the scheduler.
+     */
+
+    public PreparationScheduler(){
+
+        this( new EnumMap<>( KitchenStation.class ), new EnumMap<>( KitchenStation.class ) );
+
+    }
+
+    /**
+     * Constructs a scheduler for a kitchen with the given units and step times. A station that is not in a map gets
+     * its default.
+     *
+     * @param units The number of units of the stations.
+     * @param stepMillis The time one step takes at the stations, in milliseconds.
+     * @param PreparationScheduler The constructor of the scheduler.
+     * @throws IllegalArgumentException if a station has no units or a step time is negative.
+     */
+
+    public PreparationScheduler( Map< KitchenStation, Integer > units, Map< KitchenStation, Long > stepMillis ){
+
+        this.stepMillis = new long[ STATIONS.length ];
+        this.freeAt = new long[ STATIONS.length ][];
+        this.pending = new ArrayList<>( STATIONS.length );
+        this.finishedMillis = new long[ STATIONS.length ];
+        this.firstQueuedAt = -1;
+        this.drainedUntil = Long.MIN_VALUE;
+
+        for( KitchenStation station : STATIONS ){
+
+            int count = units.getOrDefault( station, station.getDefaultUnits() );
+            long millis = stepMillis.getOrDefault( station, station.getDefaultStepMillis() );
+
+            if( count <= 0 || millis < 0 ){
+
+                throw new IllegalArgumentException( station.getName() + " needs at least one unit and a step time that is not negative" );
+
+            }
+
+            this.stepMillis[ station.ordinal() ] = millis;
+            this.freeAt[ station.ordinal() ] = new long[ count ];
+            this.pending.add( new ArrayDeque<>() );
+
+        }
+
+    }
+
+    /**
+     * Schedules the preparation steps of an order behind the steps that are already scheduled, and books the units
+     * it takes.
+     *
+     * @param steps The preparation steps of the order.
+     * @param now The time the order is given to the kitchen, in milliseconds.
+     * @param schedule The method to schedule an order.
+     * @return the plan of the order, with the time it is ready
+     */
+
+    public synchronized PreparationPlan schedule( List<String> steps, long now ){
+
+        return schedule( steps, now, Long.MAX_VALUE );
+
+    }
+
+    /**
+     * Schedules the preparation steps of an order behind the steps that are already scheduled, and books the units
+     * it takes, but only if the order is ready by the given time. An order that would be ready later books nothing,
+     * so the orders after it are scheduled as if it never came.
+     *
+     * @param steps The preparation steps of the order.
+     * @param now The time the order is given to the kitchen, in milliseconds.
+     * @param readyBy The latest time the order may be ready, in milliseconds.
+     * @param schedule The method to schedule an order.
+     * @return the plan of the order, with the time it is ready, or null if it would not be ready in time
+     */
+
+    public synchronized PreparationPlan schedule( List<String> steps, long now, long readyBy ){
+
+        long[] booked = new long[ steps.size() ];
+        PreparationPlan plan = plan( steps, now, booked );
+
+        if( plan.getReadyAt() > readyBy ){
+
+            unbook( plan, booked );
+
+            return null;
+
+        }
+
+        if( firstQueuedAt < 0 ){
+
+            firstQueuedAt = now;
+
+        }
+
+        drainedUntil = Math.max( drainedUntil, now );
+
+        for( int station = 0; station < STATIONS.length; station++ ){
+
+            drainFinished( station, drainedUntil );
+
+        }
+
+        for( int i = 0; i < plan.getStepCount(); i++ ){
+
+            pending.get( plan.getStation( i ).ordinal() ).add( new long[]{ plan.getStart( i ), plan.getEnd( i ) } );
+
+        }
+
+        return plan;
+
+    }
+
+    /**
+     * Gets the time an order would be ready if it were scheduled now. Nothing is booked, so it can be asked before the
+     * order is taken.
+     *
+     * @param steps The preparation steps of the order.
+     * @param now The time, in milliseconds.
+     * @param getReadyAt The method to get the time an order would be ready.
+     * @return the time in milliseconds
+     */
+
+    public synchronized long getReadyAt( List<String> steps, long now ){
+
+        long[] booked = new long[ steps.size() ];
+        PreparationPlan plan = plan( steps, now, booked );
+
+        unbook( plan, booked );
+
+        return plan.getReadyAt();
+
+    }
+
+    /**
+     * Plans the steps of an order on the units that are free first, the longest steps first, and marks the units busy.
+     * The time every unit was free before is kept in booked, by step of the plan, so the plan can be taken back.
+     */
+
+    private PreparationPlan plan( List<String> steps, long now, long[] booked ){
+
+        KitchenStation[] stations = new KitchenStation[ steps.size() ];
+        Integer[] longestFirst = new Integer[ steps.size() ];
+
+        for( int i = 0; i < stations.length; i++ ){
+
+            stations[ i ] = KitchenStation.forStep( steps.get( i ) );
+            longestFirst[ i ] = i;
+
+        }
+
+        // The sort is stable, so steps that take as long keep the usual order of preparation.
+        Arrays.sort( longestFirst, ( a, b ) -> Long.compare( stepMillis[ stations[ b ].ordinal() ], stepMillis[ stations[ a ].ordinal() ] ) );
+
+        PreparationPlan plan = new PreparationPlan( now, stations.length );
+
+        for( int i = 0; i < longestFirst.length; i++ ){
+
+            int step = longestFirst[ i ];
+            int station = stations[ step ].ordinal();
+            int unit = firstFreeUnit( freeAt[ station ] );
+            long start = Math.max( now, freeAt[ station ][ unit ] );
+            long end = start + stepMillis[ station ];
+
+            booked[ i ] = freeAt[ station ][ unit ];
+            freeAt[ station ][ unit ] = end;
+            plan.setStep( i, steps.get( step ), stations[ step ], unit, start, end );
+
+        }
+
+        return plan;
+
+    }
+
+    /**
+     * Frees the units a plan marked busy again, the last step first, since two steps of a plan can be on one unit.
+     */
+
+    private void unbook( PreparationPlan plan, long[] booked ){
+
+        for( int i = plan.getStepCount() - 1; i >= 0; i-- ){
+
+            freeAt[ plan.getStation( i ).ordinal() ][ plan.getUnit( i ) ] = booked[ i ];
+
+        }
+
+    }
+
+    /**
+     * Gets the share of the time the units of a station were busy, from the time the first order was queued until
+     * now. It changes nothing, so it can be asked about any time from the last order that was scheduled on.
+     *
+     * @param station The station.
+     * @param now The time, in milliseconds.
+     * @param getUtilization The method to get the utilization of a station.
+     * @return the share, from 0 to 1, or 0 if no order was queued yet
+     * @throws IllegalArgumentException if the time is before the last order was scheduled.
+     */
+
+    public synchronized double getUtilization( KitchenStation station, long now ){
+
+        // The steps that were over when the last order was scheduled only count as a whole, so an earlier time
+        // cannot be told apart from a later one anymore.
+        if( now < drainedUntil ){
+
+            throw new IllegalArgumentException( "The utilization is only known from " + drainedUntil + " on, not at " + now );
+
+        }
+
+        if( firstQueuedAt < 0 || now <= firstQueuedAt ){
+
+            return 0;
+
+        }
+
+        int index = station.ordinal();
+        long busyMillis = finishedMillis[ index ];
+
+        for( long[] step : pending.get( index ) ){
+
+            busyMillis += Math.max( 0, Math.min( now, step[ 1 ] ) - step[ 0 ] );
+
+        }
+
+        return ( double ) busyMillis / ( ( now - firstQueuedAt ) * freeAt[ index ].length );
+
+    }
+
+    /**
+     * Moves the steps of a station that are over by now from the pending steps to the finished time, so the pending
+     * steps only hold the ones still waiting or being done.
+     */
+
+    private void drainFinished( int station, long now ){
+
+        Iterator<long[]> steps = pending.get( station ).iterator();
+
+        while( steps.hasNext() ){
+
+            long[] step = steps.next();
+
+            if( step[ 1 ] <= now ){
+
+                finishedMillis[ station ] += step[ 1 ] - step[ 0 ];
+                steps.remove();
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the time until a unit of a station is free, which is how long a step that is scheduled now waits there.
+     *
+     * @param station The station.
+     * @param now The time, in milliseconds.
+     * @param getBacklogMillis The method to get the backlog of a station.
+     * @return the time in milliseconds, 0 if a unit is free now
+     */
+
+    public synchronized long getBacklogMillis( KitchenStation station, long now ){
+
+        long[] units = freeAt[ station.ordinal() ];
+
+        return Math.max( 0, units[ firstFreeUnit( units ) ] - now );
+
+    }
+
+    /**
+     * Gets the number of units of a station.
+     *
+     * @param station The station.
+     * @param getUnits The method to get the number of units of a station.
+     * @return the number of units
+     */
+
+    public int getUnits( KitchenStation station ){
+
+        return freeAt[ station.ordinal() ].length;
+
+    }
+
+    /**
+     * Finds the unit that is free first.
+     */
+
+    private static int firstFreeUnit( long[] units ){
+
+        int first = 0;
+
+        for( int i = 1; i < units.length; i++ ){
+
+            if( units[ i ] < units[ first ] ){
+
+                first = i;
+
+            }
+
+        }
+
+        return first;
+
+    }
+
+}
@@ -1,8 +1,10 @@
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
 
 /**
- * This is the class that represents a Ramen Dish.
+ * This is the class that represents a Ramen Dish. A preset, like the Tonkotsu Classic, has a fixed recipe and keeps
+ * its price and calories worked out ahead of time by the RamenMenu, so they never have to be added up when it is
+ * ordered. The custom ramen has no recipe, the customer chooses the ingredients. The recipe is kept by ingredient id
+ * in IngredientQuantities, so nothing is boxed or hashed when it is read.
  * 
  * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
  * @version     1.0
@@ -11,36 +13,142 @@ import java.util.Map;
 
 public class Ramen{
 
-    private Map< String, Integer > ingredients;
-    private int calorieCount;
+    private String name;
+    private IngredientCatalog catalog;        // Adds the catalog the ingredient ids of the recipe are from
+    private IngredientQuantities ingredients; // Adds the quantity of every ingredient in the recipe, by id
+    private volatile OrderResult quote; // Adds the precomputed lines, calories and price of the recipe
     private boolean customizable;
 
     /**
      * Is the constructor of the Ramen class.
      *
+     * @param catalog The catalog of the vending machine.
      * @param Ramen The constructor method.
      */
 
-    public Ramen(){
+    public Ramen( IngredientCatalog catalog ){
 
-        ingredients = new HashMap<>();
-        calorieCount = 0;
+        this( "Custom Ramen", catalog );
+
+    }
+
+    /**
+     * Is the constructor of a preset. Its recipe is added with add before it is put on the menu.
+     *
+     * @param name The name of the preset.
+     * @param catalog The catalog of the vending machine.
+     * @param Ramen The constructor method.
+     */
+
+    public Ramen( String name, IngredientCatalog catalog ){
+
+        this.name = name;
+        this.catalog = catalog;
+        this.ingredients = new IngredientQuantities( catalog.size() );
+        this.quote = new OrderResult( OrderStatus.QUOTED, Collections.emptyList(), Collections.emptyList(), 0, 0, 0, 0 );
         customizable = false;
 
     }
 
     /**
-     * Gets the map of ingredients and their quantities in the ramen dish.
+     * Gets the name of the ramen dish.
+     *
+     * @return the name
+     */
+
+    public String getName(){
+
+        return name;
+
+    }
+
+    /**
+     * Adds an ingredient to the recipe, or more of it if it is already there.
+     *
+     * @param ingredient The ingredient, from the catalog of the dish.
+     * @param quantity The quantity to add.
+     * @param add The method to add an ingredient.
+     */
+
+    public void add( Ingredient ingredient, int quantity ){
+
+        ingredients.add( ingredient.getId(), quantity );
+
+    }
+
+    /**
+     * Adds the ingredient with the given name to the recipe, or more of it if it is already there.
+     *
+     * @param ingredientName The name of the ingredient.
+     * @param quantity The quantity to add.
+     * @param add The method to add an ingredient.
+     * @throws IllegalArgumentException if the ingredient is not in the catalog.
+     */
+
+    public void add( String ingredientName, int quantity ){
+
+        Ingredient ingredient = catalog.get( ingredientName );
+
+        if( ingredient == null ){
+
+            throw new IllegalArgumentException( "Ingredient not stocked: " + ingredientName );
+
+        }
+
+        add( ingredient, quantity );
+
+    }
+
+    /**
+     * Removes an ingredient from the recipe.
+     *
+     * @param ingredient The ingredient.
+     * @param remove The method to remove an ingredient.
+     */
+
+    public void remove( Ingredient ingredient ){
+
+        ingredients.remove( ingredient.getId() );
+
+    }
+
+    /**
+     * Gets the quantity of an ingredient in the recipe.
+     *
+     * @param ingredient The ingredient.
+     * @return the quantity, or 0 if it is not in the recipe
+     */
+
+    public int getQuantity( Ingredient ingredient ){
+
+        return ingredients.get( ingredient.getId() );
+
+    }
+
+    /**
+     * Gets the ingredients of the recipe and their quantities, by id, in the order they were added.
      *
-     * @return A map containing ingredient names as keys and their quantities as values.
+     * @return the quantities
      */
 
-    public Map< String, Integer > getIngredients(){
+    public IngredientQuantities getIngredients(){
 
         return ingredients;
 
     }
 
+    /**
+     * Gets the catalog the ingredient ids of the recipe are from.
+     *
+     * @return the catalog
+     */
+
+    public IngredientCatalog getCatalog(){
+
+        return catalog;
+
+    }
+
     /**
      * Gets the total calorie count of the dish.
      *
@@ -49,7 +157,45 @@ public class Ramen{
 
     public int getCalorieCount(){
 
-        return calorieCount;
+        return quote.getTotalCalories();
+
+    }
+
+    /**
+     * Gets the total price of the dish.
+     *
+     * @return the price in centavos
+     */
+
+    public long getPrice(){
+
+        return quote.getTotalCost();
+
+    }
+
+    /**
+     * Gets the precomputed quote of the recipe: its lines, preparation steps, calories and price. It does not check
+     * the stock.
+     *
+     * @param getQuote The method to get the precomputed quote.
+     * @return the quote
+     */
+
+    public OrderResult getQuote(){
+
+        return quote;
+
+    }
+
+    /**
+     * Sets the precomputed quote of the recipe. It is only called by the RamenMenu.
+     *
+     * @param quote The quote.
+     */
+
+    void setQuote( OrderResult quote ){
+
+        this.quote = quote;
 
     }
 
@@ -86,8 +232,8 @@ public class Ramen{
     public String getIngredientsAsString() {
         StringBuilder builder = new StringBuilder();
     
-        for (Map.Entry<String, Integer> entry : ingredients.entrySet()) {
-            builder.append(entry.getKey()).append(" (").append(entry.getValue()).append(" orders), ");
+        for (int i = 0; i < ingredients.size(); i++) {
+            builder.append(catalog.get(ingredients.getId(i)).getName()).append(" (").append(ingredients.getQuantityAt(i)).append(" orders), ");
         }
     
         if (builder.length() > 2) {
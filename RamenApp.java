@@ -1,4 +1,13 @@
 import javax.swing.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is the Main File where everything happens. When you compile and run RamenApp, it initializes a vending machine so that you can order
@@ -21,15 +30,45 @@ public class RamenApp{
 
     public static void main( String[] args ){
 
+        StartupTimer startupTimer = new StartupTimer();
+
         VendingMachine vendingMachine = initializeVendingMachine();
+        startupTimer.markModelReady();
+
+        // Reloads the catalog when catalog.txt is edited, so new prices go live without a restart.
+        try{
+
+            new CatalogWatcher( vendingMachine, Paths.get(""), CatalogWatcher.DEFAULT_QUIET_MILLIS );
+
+        }catch( IOException e ){
+
+            System.err.println( "Could not watch the catalog, edits will only be read after a restart: " + e.getMessage() );
+
+        }
+
+        // Decodes and scales the ingredient images in the background so that the main window comes up right away.
+        // The cache drops the pictures of an ingredient whose image is replaced by a reload of the catalog.
+        ImageCache imageCache = new ImageCache();
+        vendingMachine.getCatalog().addListener( imageCache );
+        AssetPreloader assetPreloader = new AssetPreloader( imageCache );
+        CompletableFuture<Void> assetsReady = assetPreloader.start( vendingMachine.getStockedIngredients(), RamenView.IMAGE_SIZE, RamenView.IMAGE_SIZE );
+        assetsReady.whenComplete( ( result, error ) -> startupTimer.markAssetsReady() );
+
+        // Takes the orders from payment to dispensing on its own threads, so the GUI only starts them and watches.
+        OrderService orderService = new OrderService( vendingMachine );
+        OrderPipeline pipeline = new OrderPipeline( orderService );
 
         SwingUtilities.invokeLater( () ->{
 
-            RamenView view = new RamenView( vendingMachine );
-            RamenController controller = new RamenController( view );
+            RamenView view = new RamenView( vendingMachine, imageCache, pipeline );
+            RamenController controller = new RamenController( view, orderService, pipeline );
 
+            view.waitForAssets( assetsReady );
             controller.start();
 
+            // Runs after the paint events that setVisible queued up.
+            SwingUtilities.invokeLater( startupTimer::markFirstFramePainted );
+
         } );
 
     }
@@ -45,35 +84,162 @@ public class RamenApp{
 
     public static VendingMachine initializeVendingMachine(){
 
-        VendingMachine vendingMachine = new VendingMachine();
-    
-        // Adds ingredients
-        Ingredient noodles = new Ingredient("Noodles", 300, 20, "ramen.jpg");
-        Ingredient egg = new Ingredient("Egg", 100, 30, "egg.jpg");
-        Ingredient chashuPork = new Ingredient("Chashu Pork", 400, 100, "chasupork.jpg");
-        Ingredient friedTofu = new Ingredient("Fried Tofu", 150, 20, "friedTofu.jpg");
-        Ingredient negi = new Ingredient("Negi", 50, 10, "negi.jpg");
-        Ingredient tonkotsuBroth = new Ingredient("Tonkotsu Broth", 200, 60, "tonkotsuBroth.jpg");
-        Ingredient ukokkeiBroth = new Ingredient("Ukokkei Broth", 180, 60, "ukokkeiBroth.jpg");
-        Ingredient misoBroth = new Ingredient("Miso Broth", 250, 60, "misoBroth.jpg");
-        Ingredient shioBroth = new Ingredient("Shio Broth", 220, 60, "shioBroth.jpg");
+        return initializeVendingMachine( Paths.get("") );
+
+    }
+
+    /**
+     * This initializes a Vending Machine that keeps its order history, journal and snapshots in the given folder, so
+     * a simulated machine never touches the files of the real one.
+     * 
+     * @param dataDirectory The folder of the order history, the journal and the snapshots.
+     * @param initializeVendingMachine is the function to be called to initialize the Vending Machine.
+     * 
+     * @return vendingMachine
+     */
+
+    public static VendingMachine initializeVendingMachine( Path dataDirectory ){
+
+        // Keeps the most recent orders in memory, the older ones are written to the order history file.
+        VendingMachine vendingMachine = new VendingMachine( new OrderHistory( OrderHistory.DEFAULT_CAPACITY, dataDirectory.resolve("order-history.csv") ) );
+        stockVendingMachine( vendingMachine );
     
-        vendingMachine.addStockedIngredient( noodles );
-        vendingMachine.addStockedIngredient( egg );
-        vendingMachine.addStockedIngredient( chashuPork );
-        vendingMachine.addStockedIngredient( friedTofu );
-        vendingMachine.addStockedIngredient( negi );
-        vendingMachine.addStockedIngredient( tonkotsuBroth );
-        vendingMachine.addStockedIngredient( ukokkeiBroth );
-        vendingMachine.addStockedIngredient( misoBroth );
-        vendingMachine.addStockedIngredient( shioBroth );
+        // Rebuilds the stock, the money collected and the order history from the last snapshot and the journal written
+        // after it, keeps writing to the journal and takes a new snapshot every minute.
+        try{
+
+            SnapshotManager snapshots = new SnapshotManager( dataDirectory.resolve("snapshots") );
+            snapshots.recover( vendingMachine, new OrderJournal( dataDirectory.resolve("journal") ) );
+            snapshots.start( SnapshotManager.DEFAULT_INTERVAL_MILLIS );
+
+        }catch( IOException e ){
+
+            System.err.println( "Could not open the order journal, orders will not be saved: " + e.getMessage() );
+
+        }
     
+        return vendingMachine;
+
+    }
+
+    /**
+     * Stocks a new vending machine with the ingredients of the catalog in the working folder and the ramen dishes
+     * that every machine sells.
+     * 
+     * @param vendingMachine The vending machine, with nothing stocked yet.
+     * @param stockVendingMachine is the function that adds the ingredients and its respective information.
+     * @throws UncheckedIOException if there is no catalog that can be read.
+     */
+
+    public static void stockVendingMachine( VendingMachine vendingMachine ){
+
+        stockVendingMachine( vendingMachine, loadCatalog() );
+
+    }
+
+    /**
+     * Reads the catalog of ingredients from the working folder, see CatalogFile.
+     * 
+     * @param loadCatalog is the function that reads the catalog.
+     * @return the ingredients of the catalog, to be used with stockVendingMachine
+     * @throws UncheckedIOException if there is no catalog that can be read.
+     */
+
+    public static List<Ingredient> loadCatalog(){
+
+        try{
+
+            return CatalogFile.load( Paths.get("") );
+
+        }catch( IOException e ){
+
+            throw new UncheckedIOException( "Could not read the catalog of ingredients", e );
+
+        }
+
+    }
+
+    /**
+     * Stocks a new vending machine with the given catalog and the ramen dishes that every machine sells. Every
+     * machine gets its own copy of the ingredients, since they hold its stock, so one catalog can stock many machines.
+     * 
+     * @param vendingMachine The vending machine, with nothing stocked yet.
+     * @param catalog The ingredients, as read by loadCatalog.
+     * @param stockVendingMachine is the function that adds the ingredients and its respective information.
+     */
+
+    public static void stockVendingMachine( VendingMachine vendingMachine, List<Ingredient> catalog ){
+
+        // Adds ingredients, all at once so the catalog is only copied once
+        List<Ingredient> ingredients = new ArrayList<>( catalog.size() );
+
+        for( Ingredient ingredient : catalog ){
+
+            ingredients.add( new Ingredient( ingredient.getName(), ingredient.getCalorieCount(), ingredient.getPrice(), ingredient.getImagePath(), ingredient.getPreparationStep(),
+                    ingredient.getCapacity(), ingredient.getLowWaterMark() ) );
+
+        }
+
+        vendingMachine.addStockedIngredients( ingredients );
+
         // Allows custom ramen orders
-        Ramen Ramen = new Ramen();
+        Ramen Ramen = new Ramen( vendingMachine.getCatalog() );
         Ramen.setCustomizable( true );
         vendingMachine.addStockedRamen( Ramen );
-    
-        return vendingMachine;
+
+        // Adds the preset bowls, their prices and calories are worked out once here and again only when a reload of the
+        // catalog changes an ingredient
+        addPreset( vendingMachine, "Tonkotsu Classic", Map.of( "Noodles", 1, "Tonkotsu Broth", 1, "Chashu Pork", 1, "Egg", 1, "Negi", 1 ) );
+        addPreset( vendingMachine, "Shio Light", Map.of( "Noodles", 1, "Shio Broth", 1, "Fried Tofu", 1, "Negi", 1 ) );
+        addPreset( vendingMachine, "Miso Tofu", Map.of( "Noodles", 1, "Miso Broth", 1, "Fried Tofu", 2, "Egg", 1 ) );
+        addPreset( vendingMachine, "Ukokkei Deluxe", Map.of( "Noodles", 1, "Ukokkei Broth", 1, "Chashu Pork", 2, "Egg", 1, "Negi", 1 ) );
+
+    }
+
+    /**
+     * Adds a preset to the menu of the vending machine. A preset that uses an ingredient the catalog does not have is
+     * left off the menu. The ingredients go into the recipe in the order of the catalog, which is also the order of
+     * the customize window, since the map keeps none.
+     *
+     * @param vendingMachine The vending machine.
+     * @param name The name of the preset.
+     * @param recipe The names of the ingredients of the recipe and their quantities.
+     */
+
+    private static void addPreset( VendingMachine vendingMachine, String name, Map< String, Integer > recipe ){
+
+        IngredientCatalog catalog = vendingMachine.getCatalog();
+        Ramen preset = new Ramen( name, catalog );
+        List<String> ingredientNames = new ArrayList<>( recipe.keySet() );
+
+        try{
+
+            for( String ingredientName : ingredientNames ){
+
+                if( catalog.get( ingredientName ) == null ){
+
+                    throw new IllegalArgumentException( "Ingredient not stocked: " + ingredientName );
+
+                }
+
+            }
+
+            ingredientNames.sort( Comparator.comparingInt( ingredientName -> catalog.get( ingredientName ).getId() ) );
+
+            for( String ingredientName : ingredientNames ){
+
+                preset.add( ingredientName, recipe.get( ingredientName ) );
+
+            }
+
+        }catch( IllegalArgumentException e ){
+
+            System.err.println( "Leaving " + name + " off the menu: " + e.getMessage() );
+            return;
+
+        }
+
+        vendingMachine.addStockedRamen( preset );
 
     }
     
@@ -9,17 +9,25 @@
 public class RamenController{
 
     private RamenView view;
+    private OrderService orderService;
+    private OrderPipeline pipeline;
 
     /**
      * Constructs a new RamenController with the provided RamenView.
      *
      * @param view The RamenView to associate with this controller.
+     * @param orderService The OrderService that prices the orders.
+     * @param pipeline The OrderPipeline that takes the orders from payment to dispensing.
      * @param RamenController The method to call the RamenController to initialize.
      */
 
-    public RamenController( RamenView view ){
+    public RamenController( RamenView view, OrderService orderService, OrderPipeline pipeline ){
 
         this.view = view;
+        this.orderService = orderService;
+        this.pipeline = pipeline;
+
+        view.setController( this );
 
     }
 
@@ -36,4 +44,75 @@ public class RamenController{
 
     }
 
-}
\ No newline at end of file
+    /**
+     * Prices the ingredients the user chose, without taking anything from the stock.
+     *
+     * @param ingredients The ids of the ingredients and their quantities.
+     * @param quoteOrder Method to price the order.
+     * @return the quote of the order
+     */
+
+    public OrderResult quoteOrder( IngredientQuantities ingredients ){
+
+        return orderService.quote( ingredients );
+
+    }
+
+    /**
+     * Prices a preset, from its precomputed price and calories.
+     *
+     * @param ramen The preset.
+     * @param quotePreset Method to price a preset.
+     * @return the quote of the preset
+     */
+
+    public OrderResult quotePreset( Ramen ramen ){
+
+        return orderService.quote( ramen );
+
+    }
+
+    /**
+     * Starts a priced order in the OrderPipeline. It returns right away, the order then waits for the cash.
+     *
+     * @param quote The quote of the order.
+     * @param startOrder Method to start the order.
+     * @return the ticket of the order
+     */
+
+    public OrderTicket startOrder( OrderResult quote ){
+
+        return pipeline.start( quote );
+
+    }
+
+    /**
+     * Puts the cash the user entered in for an order that is waiting for it.
+     *
+     * @param ticket The ticket of the order.
+     * @param cashTendered The cash the user put in, in centavos.
+     * @param pay Method to pay for the order.
+     * @return ACCEPTED if the cash was taken, INSUFFICIENT_CASH or NO_CHANGE if it was handed back, or TIMED_OUT if
+     *         the order was given up already
+     */
+
+    public OrderStatus pay( OrderTicket ticket, long cashTendered ){
+
+        return pipeline.pay( ticket, cashTendered );
+
+    }
+
+    /**
+     * Gives up on an order when the user goes back before paying.
+     *
+     * @param ticket The ticket of the order.
+     * @param cancelOrder Method to give up on the order.
+     */
+
+    public void cancelOrder( OrderTicket ticket ){
+
+        pipeline.cancel( ticket );
+
+    }
+
+}
@@ -0,0 +1,191 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class is the menu of ramen dishes in the vending machine. It keeps the price and calories of every preset
+ * worked out ahead of time and listens to the IngredientCatalog, so when a reload changes an ingredient only the presets
+ * with that ingredient are worked out again.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class RamenMenu implements CatalogListener{
+
+    private IngredientCatalog catalog;                      // Adds the catalog the recipes are priced from
+    private List<Ramen> ramen;                              // Adds the ramen dishes in the order they were added
+    private List< List<Ramen> > ramenByIngredient;          // Adds the presets that use each ingredient, by id
+
+    /**
+     * Constructs an empty menu that is priced from the given catalog.
+     *
+     * @param catalog The catalog of the vending machine.
+     * @param RamenMenu The constructor of the menu.
+     */
+
+    public RamenMenu( IngredientCatalog catalog ){
+
+        this.catalog = catalog;
+        this.ramen = new CopyOnWriteArrayList<>();
+        this.ramenByIngredient = new ArrayList<>();
+
+        catalog.addListener( this );
+
+    }
+
+    /**
+     * Adds a ramen dish to the menu and works out its price and calories. The recipe of a preset is not changed
+     * after it is on the menu.
+     *
+     * @param dish The ramen dish.
+     * @param add The method to add a ramen dish.
+     */
+
+    public synchronized void add( Ramen dish ){
+
+        IngredientQuantities ingredients = dish.getIngredients();
+
+        for( int i = 0; i < ingredients.size(); i++ ){
+
+            presetsUsing( ingredients.getId( i ) ).add( dish );
+
+        }
+
+        rebuild( dish );
+        ramen.add( dish );
+
+    }
+
+    /**
+     * Gets the ramen dishes in the order they were added.
+     *
+     * @return a read only list of the ramen dishes
+     */
+
+    public List<Ramen> getRamen(){
+
+        return Collections.unmodifiableList( ramen );
+
+    }
+
+    /**
+     * Gets the ramen dish with the given name. The name is not case sensitive.
+     *
+     * @param name The name of the ramen dish.
+     * @param get The method to get a ramen dish.
+     * @return the ramen dish, or null if it is not on the menu
+     */
+
+    public Ramen get( String name ){
+
+        for( Ramen dish : ramen ){
+
+            if( dish.getName().equalsIgnoreCase( name ) ){
+
+                return dish;
+
+            }
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Does nothing, a recipe can only use ingredients that are already in the catalog, so a new ingredient does not
+     * change any preset.
+     *
+     * @param ingredient The ingredient that was added.
+     */
+
+    @Override
+    public void ingredientAdded( Ingredient ingredient ){
+
+    }
+
+    /**
+     * Works out the presets that use the ingredient again, from the current version of the catalog.
+     *
+     * @param oldIngredient The ingredient as it was before the reload.
+     * @param newIngredient The ingredient as it is now.
+     */
+
+    @Override
+    public synchronized void ingredientChanged( Ingredient oldIngredient, Ingredient newIngredient ){
+
+        int id = newIngredient.getId();
+
+        if( id < 0 || id >= ramenByIngredient.size() ){
+
+            return;
+
+        }
+
+        for( Ramen dish : ramenByIngredient.get( id ) ){
+
+            rebuild( dish );
+
+        }
+
+    }
+
+    /**
+     * Works out the lines, the preparation steps, the calories and the price of a recipe and publishes them on the
+     * ramen dish all at once, so an order never sees the new price with the old calories. Every ingredient is read from
+     * the same version of the catalog, so a reload in the middle never mixes old and new prices.
+     */
+
+    private void rebuild( Ramen dish ){
+
+        CatalogVersion version = catalog.current();
+        IngredientQuantities ingredients = dish.getIngredients();
+        List<OrderLine> lines = new ArrayList<>( ingredients.size() );
+        OrderStatus status = OrderStatus.QUOTED;
+        int totalCalories = 0;
+        long totalCost = 0;
+
+        for( int i = 0; i < ingredients.size(); i++ ){
+
+            Ingredient ingredient = version.get( ingredients.getId( i ) );
+
+            if( ingredient == null ){
+
+                status = OrderStatus.UNKNOWN_INGREDIENT;
+                continue;
+
+            }
+
+            OrderLine line = new OrderLine( ingredient, ingredients.getQuantityAt( i ) );
+            lines.add( line );
+
+            totalCalories += line.getCalories();
+            totalCost = Math.addExact( totalCost, line.getCost() );
+
+        }
+
+        dish.setQuote( new OrderResult( status, Collections.unmodifiableList( lines ),
+                Collections.unmodifiableList( OrderService.preparationSteps( lines ) ), totalCalories, totalCost, 0, 0 ) );
+
+    }
+
+    /**
+     * Gets the list of presets that use the ingredient with the given id, making room for it if needed.
+     */
+
+    private List<Ramen> presetsUsing( int id ){
+
+        while( ramenByIngredient.size() <= id ){
+
+            ramenByIngredient.add( new ArrayList<>() );
+
+        }
+
+        return ramenByIngredient.get( id );
+
+    }
+
+}
@@ -2,8 +2,11 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is the GUI of the whole program. This is where everything in the vending machine is displayed and interactable.
@@ -14,28 +17,39 @@ import java.util.List;
  */
 
 public class RamenView extends JFrame{
+
+    public static final int IMAGE_SIZE = 200; // Width and height of the ingredient images
+    public static final int HISTORY_PAGE_SIZE = 10; // Number of orders shown on one page of the order history
     
     private JComboBox<String> ramenOptionsComboBox;
     private JButton prepareButton;
     private JButton adminButton;
-    private Map< String, Integer > stockedIngredients;
     private VendingMachine vendingMachine;
-    private Map< JCheckBox, Ingredient > ingredientCheckBoxes;
+    private IngredientGrid ingredientGrid; // Adds the grid of ingredients, it is built once and kept up to date
+    private JFrame customizeRamenFrame; // Adds the customize window, it is built once and only shown and hidden
+    private IngredientQuantities selectedIngredients; // Adds the ingredients the customer chose, it is reused for every order
+    private ImageCache imageCache;
+    private OrderPipeline pipeline; // Adds the pipeline that takes the orders from payment to dispensing
+    private RamenController controller;
 
     /**
      * Constructor for the RamenView class. This is also initializes the GUI.
      * 
      * @param vendingMachine Starts the program.
+     * @param imageCache The cache of the scaled ingredient images.
+     * @param pipeline The pipeline of the orders, whose progress is shown on the main window.
      * @param RamenView constructor.
      */
 
-    public RamenView( VendingMachine vendingMachine ){
+    public RamenView( VendingMachine vendingMachine, ImageCache imageCache, OrderPipeline pipeline ){
 
         this.vendingMachine = vendingMachine;
-        stockedIngredients = new HashMap<>();
-        ingredientCheckBoxes = new HashMap<>();
+        this.imageCache = imageCache;
+        this.pipeline = pipeline;
+        selectedIngredients = new IngredientQuantities( vendingMachine.getCatalog().size() );
 
         initializeGUI();
+        initializeCustomizeWindow();
         RamenOptions( vendingMachine.getStockedRamen() );
 
     }
@@ -73,7 +87,19 @@ public class RamenView extends JFrame{
             @Override
             public void actionPerformed( ActionEvent e ){
 
-                showCustomizeRamenWindow();
+                Ramen selectedRamen = getSelectedRamen();
+
+                if( selectedRamen != null && !selectedRamen.isCustomizable() ){
+
+                    orderPreset( selectedRamen );
+
+                }
+
+                else{
+
+                    showCustomizeRamenWindow();
+
+                }
 
             }
 
@@ -96,15 +122,61 @@ public class RamenView extends JFrame{
 
         add( buttonPanel, BorderLayout.SOUTH );
 
+        // Shows the orders that are being paid for, prepared and dispensed, while the buttons stay usable.
+        add( new OrderProgressPanel( pipeline ), BorderLayout.CENTER );
+
         int preferredWidth, preferredHeight; // Set the preferred width of the window
-        preferredWidth = 350;
-        preferredHeight = 200;
+        preferredWidth = 450;
+        preferredHeight = 260;
         setSize( preferredWidth, preferredHeight );
 
         setLocationRelativeTo( null );
         
     }
 
+    /**
+     * Sets the controller that the orders are passed to.
+     * 
+     * @param controller The controller of the view.
+     * @param setController Method to set the controller.
+     */
+
+    public void setController( RamenController controller ){
+
+        this.controller = controller;
+
+    }
+
+    /**
+     * Disables the Buy Ramen button until the ingredient images are loaded, so that the first customize window opens
+     * with the images already scaled.
+     * 
+     * @param assetsReady The signal that completes when the images are loaded.
+     * @param waitForAssets Method to wait for the images.
+     */
+
+    public void waitForAssets( CompletableFuture<Void> assetsReady ){
+
+        if( assetsReady.isDone() ){
+
+            ingredientGrid.showImages();
+            return;
+
+        }
+
+        prepareButton.setEnabled( false );
+        prepareButton.setText("Loading...");
+
+        assetsReady.whenComplete( ( result, error ) -> SwingUtilities.invokeLater( () ->{
+
+            ingredientGrid.showImages();
+            prepareButton.setText("Buy Ramen");
+            prepareButton.setEnabled( true );
+
+        } ) );
+
+    }
+
     /**
      * Gets the selected ramen.
      * 
@@ -135,27 +207,26 @@ public class RamenView extends JFrame{
      * @return selected ingredients
      */
 
-    private Map< String, Integer > getSelectedIngredients(){
+    private IngredientQuantities getSelectedIngredients(){
 
-        Map< String, Integer > selectedIngredients = new HashMap<>();
+        selectedIngredients.clear();
 
-        for ( Map.Entry< JCheckBox, Ingredient > entry : ingredientCheckBoxes.entrySet() ){
+        for ( int id = 0; id < ingredientGrid.getIngredientCount(); id++ ){
 
-            JCheckBox checkBox = entry.getKey();
-            Ingredient ingredient = entry.getValue();
+            Ingredient ingredient = vendingMachine.getCatalog().get( id );
 
-            if ( checkBox.isSelected() ){
+            if ( ingredientGrid.isSelected( id ) ){
 
                 int availableQuantity, quantity;
 
-                availableQuantity = stockedIngredients.get( ingredient.getName() );
+                availableQuantity = ingredient.getQuantity();
                 quantity = getQuantityForIngredient( ingredient.getName(), availableQuantity );
 
                 if( quantity > 0 ){
 
                     // Ensure that the selected quantity does not exceed the available quantity
                     quantity = Math.min( quantity, availableQuantity );
-                    selectedIngredients.put( ingredient.getName(), quantity );
+                    selectedIngredients.set( ingredient.getId(), quantity );
 
                 }
 
@@ -236,43 +307,54 @@ public class RamenView extends JFrame{
 
             }
 
+            else{
+
+                // The presets are listed too, so the index of an option is still the index of its ramen.
+                ramenOptionsComboBox.addItem( ramen.getName() + " - Total Calories: " + ramen.getCalorieCount() );
+
+            }
+
         }
 
     }
 
     /**
-     * It is a GUI that shows the customization of the ramen. It is activated when user presses Buy Ramen.
-     * 
-     * @param showCustomizeRamenWindow shows all the ingredients with their respective information. Here you can customize your Ramen order.
-     * @return to previous windows, and a boolean.
-     * 
+     * Orders a preset. Its price and calories were worked out ahead of time, so there is nothing to choose, only the
+     * cash to put in.
+     *
+     * @param ramen The preset.
+     * @param orderPreset Orders a preset.
      */
 
-    public void showCustomizeRamenWindow(){
+    public void orderPreset( Ramen ramen ){
 
-        JFrame customizeRamenFrame = new JFrame("Customize Ramen");
-        customizeRamenFrame.setDefaultCloseOperation( JFrame.DISPOSE_ON_CLOSE );
-        customizeRamenFrame.setLayout( new BorderLayout() );
+        OrderResult quote = controller.quotePreset( ramen );
 
-        // Clears the previous ingredient checkboxes and stocked ingredients.
-        ingredientCheckBoxes.clear();
-        stockedIngredients.clear();
+        if( quote.getStatus() != OrderStatus.QUOTED ){
 
-        Map<String, Double> ingredientPrices = new HashMap<>();
+            JOptionPane.showMessageDialog( this, "Sorry, the " + ramen.getName() + " is sold out. Please choose another Ramen!", "Error", JOptionPane.ERROR_MESSAGE );
+            return;
 
-        for( Ingredient ingredient : vendingMachine.getStockedIngredients() ){
+        }
 
-            ingredientPrices.put( ingredient.getName(), ingredient.getPrice() );
+        startOrder( quote, null );
 
-        }
+    }
+
+    /**
+     * Builds the customize window once, with the grid of ingredients and the buttons. After this the window is only
+     * shown and hidden, the grid keeps its prices and quantities up to date by itself.
+     *
+     * @param initializeCustomizeWindow builds the customize window.
+     */
 
-        Ramen selectedRamen = getSelectedRamen();
+    private void initializeCustomizeWindow(){
 
-        if( selectedRamen != null ){
+        customizeRamenFrame = new JFrame("Customize Ramen");
+        customizeRamenFrame.setDefaultCloseOperation( JFrame.HIDE_ON_CLOSE );
+        customizeRamenFrame.setLayout( new BorderLayout() );
 
-        JPanel ingredientPanel = new JPanel( new GridLayout(0, 1) );
-        ingredientPanel.setBorder( BorderFactory.createTitledBorder("Please Choose What You Desire!") );
-        addIngredientsToPanel( vendingMachine.getStockedIngredients(), ingredientPrices, ingredientPanel );
+        ingredientGrid = new IngredientGrid( vendingMachine, imageCache );
 
         JButton prepareRamenButton = new JButton("Prepare Order");
         prepareRamenButton.addActionListener( new ActionListener(){
@@ -280,260 +362,205 @@ public class RamenView extends JFrame{
             @Override
             public void actionPerformed( ActionEvent e ){
 
-                Map< String, Integer > selectedIngredients = getSelectedIngredients();
-                int totalCalories = 0;
-                double totalCost = 0.0;
-
-                StringBuilder preparationSteps = new StringBuilder();
-                preparationSteps.append("Preparing your Order...\n");
+                IngredientQuantities selection = getSelectedIngredients();
+                OrderResult quote = controller.quoteOrder( selection );
 
-                // if it contains the key, for example, egg and chasu pork, it will display the corresponding texts.
-                if( selectedIngredients.containsKey("Noodles") ){
-
-                    preparationSteps.append("Blanching noodles...\n");
-
-                }
+                if( quote.getStatus() != OrderStatus.QUOTED ){
 
-                if( selectedIngredients.containsKey("Egg") ){
-
-                    preparationSteps.append("Cooking Egg...\n");
-
-                }
-
-                if( selectedIngredients.containsKey("Chashu Pork") ){
-
-                    preparationSteps.append("Slicing Chashu Pork...\n");
-
-                }
-
-                if( selectedIngredients.containsKey("Fried Tofu") ){
-
-                    preparationSteps.append("Frying Fried Tofu...\n");
+                    // Display an error message to the user indicating that the selected ingredients are not available.
+                    JOptionPane.showMessageDialog( RamenView.this, "Some of the Ingredients you chose are not available. Please Choose another Ingredient!", "Error", JOptionPane.ERROR_MESSAGE );
+                    return;
 
                 }
 
-                if( selectedIngredients.containsKey("Negi") ){
-
-                    preparationSteps.append("Chopping Negi (green onions)...\n");
+                startOrder( quote, customizeRamenFrame );
 
-                }
-
-                if( selectedIngredients.containsKey("Tonkotsu Broth") ){
+            }
 
-                    preparationSteps.append("Heating Tonkotsu broth...\n");
+        } );
 
-                }
+        JButton backButton = new JButton("Back");
+        backButton.addActionListener( new ActionListener() {
 
-                if( selectedIngredients.containsKey("Ukokkei Broth") ){
+            @Override
+            public void actionPerformed( ActionEvent e ){
 
-                    preparationSteps.append("Heating Ukokkei broth...\n");
+                customizeRamenFrame.setVisible( false ); // Hides the customization window when back button is clicked
 
-                }
+            }
 
-                if( selectedIngredients.containsKey("Miso Broth") ){
+        });
 
-                    preparationSteps.append("Heating Miso broth...\n");
+        JPanel mainPanel = new JPanel( new BorderLayout() );
+        mainPanel.add( ingredientGrid, BorderLayout.CENTER );
 
-                }
+        // Creates a panel for the buttons and add them in a horizontal layout
+        JPanel buttonPanel = new JPanel( new FlowLayout() );
+        buttonPanel.add( prepareRamenButton );
+        buttonPanel.add( backButton );
 
-                if( selectedIngredients.containsKey("Shio Broth") ){
+        // Adds the button panel to the main panel
+        mainPanel.add( buttonPanel, BorderLayout.SOUTH );
 
-                    preparationSteps.append("Heating Shio broth...\n");
+        customizeRamenFrame.add( mainPanel );
+        customizeRamenFrame.pack();
 
-                }
+        // Set the width and height of the window
+        int preferredWidth = 1100; // Adjust this value to set the width
+        int preferredHeight = 700; // Adjust this value to set the height
 
-                for( Map.Entry< String, Integer > entry : selectedIngredients.entrySet() ){
+        customizeRamenFrame.setSize( preferredWidth, preferredHeight );
 
-                    String ingredient = entry.getKey();
-                    int quantity = entry.getValue();
-                    int calorieCount = stockedIngredients.get( ingredient );
-                    double price = vendingMachine.getIngredientPrice( ingredient );
+    }
 
-                    totalCalories += ( calorieCount * quantity );
-                    totalCost += ( price * quantity );
-                    
-                    // preparation texts
-                    preparationSteps.append("Adding ")
-                            .append( quantity ).append(" units of ")
-                            .append( ingredient ).append(" (")
-                            .append( quantity * calorieCount ).append(" calories, \u20B1")
-                            .append( quantity * price ).append(")\n");
+    /**
+     * It is a GUI that shows the customization of the ramen. It is activated when user presses Buy Ramen. The window
+     * and its grid are already built and up to date, so this only clears the last selection and shows it.
+     * 
+     * @param showCustomizeRamenWindow shows all the ingredients with their respective information. Here you can customize your Ramen order.
+     * 
+     */
 
-                }
+    public void showCustomizeRamenWindow(){
 
-                boolean validInput = false;
-                double cashProvided = 0.0;
+        long start = System.nanoTime();
 
-                    while( !validInput ){
+        if( getSelectedRamen() == null ){
 
-                        // Ask the user for cash input
-                        String cashInputStr = JOptionPane.showInputDialog(RamenView.this, "Enter Amount of Cash:");
+            return;
 
-                        if( cashInputStr != null ) { // Check if the user didn't cancel the input
+        }
 
-                            try{
+        ingredientGrid.clearSelection();
+        customizeRamenFrame.setLocationRelativeTo( null );
+        customizeRamenFrame.setVisible( true );
+        customizeRamenFrame.toFront();
+        vendingMachine.getMetrics().getCustomizeWindowLatency().recordSince( start );
 
-                                cashProvided = Double.parseDouble( cashInputStr );
+    }
 
-                                if( cashProvided >= totalCost ){
+    /**
+     * Starts an order in the pipeline and asks for the cash once its ingredients are set aside. Nothing here waits
+     * for the pipeline: the ingredients are reserved, and the order is prepared and dispensed, on its own threads, and
+     * the progress panel shows how far it has come.
+     *
+     * @param quote The quote of the order.
+     * @param window The window to hide once the order is paid for, or null.
+     */
 
-                                    validInput = true;
+    private void startOrder( OrderResult quote, JFrame window ){
 
-                                }
-                                
-                                else{
+        OrderTicket ticket = controller.startOrder( quote );
 
-                                    double remainingBalance = totalCost - cashProvided;
-                                    String remainingBalanceMessage = String.format("Remaining Balance Needed: \u20B1%.2f", remainingBalance);
-                                    int option = JOptionPane.showOptionDialog(
-                                        RamenView.this,
-                                        "Insufficient cash. Dispensing Cash Back...\n" + remainingBalanceMessage,
-                                        "Insufficient Cash",
-                                        JOptionPane.DEFAULT_OPTION,
-                                        JOptionPane.WARNING_MESSAGE,
-                                        null,
-                                        new Object[] {"Back", "Retry"},
-                                        "Retry"
-                                    );
+        ticket.whenReserved().thenAccept( reserved -> SwingUtilities.invokeLater( () ->{
 
-                                    if( option == 0 ){
+            if( !reserved && ticket.getResult().join().getStatus() == OrderStatus.KITCHEN_BUSY ){
 
-                                        // User pressed "Back" button
-                                        return;
+                JOptionPane.showMessageDialog( RamenView.this, "Sorry, the kitchen is too busy to have your order ready in time.\nPlease order again in a moment!", "Kitchen Busy", JOptionPane.WARNING_MESSAGE );
+                return;
 
-                                    }
+            }
 
-                                }
+            if( !reserved ){
 
-                            }catch( NumberFormatException ex ){
+                // Another order took the last of an ingredient between the quote and the reservation.
+                JOptionPane.showMessageDialog( RamenView.this, "Some of the Ingredients you chose are not available. Please Choose another Ingredient!", "Error", JOptionPane.ERROR_MESSAGE );
+                return;
 
-                                JOptionPane.showMessageDialog(RamenView.this, "Invalid cash input. Please enter a valid number.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
 
-                            }
+            if( askForCash( ticket ) && window != null ){
 
-                        }
-                        
-                        else{
+                window.setVisible( false );
 
-                            // User pressed "Cancel" button
-                            return;
+            }
 
-                        }
+        } ) );
 
-                    }
+    }
 
-                // Calculates the change
-                double change = cashProvided - totalCost;
-                String changeMessage = String.format("Change: \u20B1%.2f", change);
-                JOptionPane.showMessageDialog( RamenView.this, "Order placed successfully!\n" + changeMessage, "Order Placed", JOptionPane.INFORMATION_MESSAGE );
+    /**
+     * Asks the user for cash until it is enough for the order, then puts it in. If the cash is not enough, or the
+     * change cannot be made from the coins and bills in the machine, the user can try again or go back. The dialog
+     * only takes the cash; the order is prepared by the pipeline, so the orders before it keep moving while the user
+     * pays.
+     *
+     * @param ticket The ticket of the order, which is waiting for the cash.
+     * @return true if the cash was taken, false if the user went back or the payment timed out
+     */
 
-                vendingMachine.collectMoney(totalCost);
+    private boolean askForCash( OrderTicket ticket ){
 
-                // Displays total calorie count and total cost
-                preparationSteps.append("\nTotal Calories: ").append( totalCalories ).append(" calories\n");
-                preparationSteps.append("Total Cost: \u20B1").append( totalCost ).append("\n");
+        long totalCost = ticket.getQuote().getTotalCost();
 
-                // Checks if the selected ingredients are available for purchase ( quantity > 0 )
-                boolean ingredientsAvailable = selectedIngredients.entrySet().stream().allMatch(entry -> {
+        while( true ){
 
-                    String ingredientName = entry.getKey();
-                    int quantityUsed = entry.getValue();
-                    Ingredient ingredient = vendingMachine.getStockedIngredients().stream()
+            // Ask the user for cash input
+            String cashInputStr = JOptionPane.showInputDialog(RamenView.this, "Total: \u20B1" + Money.format( totalCost ) + "\nEnter Amount of Cash:");
 
-                        .filter( ing -> ing.getName().equals( ingredientName ) )
-                        .findFirst()
-                        .orElse( null );
+            if( cashInputStr != null ) { // Check if the user didn't cancel the input
 
-                    return ingredient != null && ingredient.getQuantity() >= quantityUsed;
+                try{
 
-                } );
-        
-                if( ingredientsAvailable ){
+                    long cashProvided = Money.parse( cashInputStr );
 
-                    String preparationText = preparationSteps.toString();
-                    displayRamenPreparation( preparationText );
+                    OrderStatus status = controller.pay( ticket, cashProvided );
 
-                    for( Map.Entry<String, Integer> entry : selectedIngredients.entrySet() ){
-                        
-                        String ingredientName;
-                        int quantityUsed;
+                    if( status == OrderStatus.ACCEPTED ){
 
-                        ingredientName = entry.getKey();
-                        quantityUsed = entry.getValue();
+                        return true;
 
-                        Ingredient ingredient = vendingMachine.getStockedIngredients().stream()
+                    }
 
-                            .filter(ing -> ing.getName().equals(ingredientName))
-                            .findFirst()
-                            .orElse(null);
+                    if( status == OrderStatus.TIMED_OUT ){
 
-                        if( ingredient != null ){
+                        // The cash was enough, so the order was given up while the user was paying.
+                        JOptionPane.showMessageDialog( RamenView.this, "Sorry, you took too long to pay. Dispensing Cash Back...\nPlease order again!", "Timed Out", JOptionPane.WARNING_MESSAGE );
+                        return false;
 
-                            int currentQuantity, newQuantity;
+                    }
+                    
+                    else{
 
-                            currentQuantity = ingredient.getQuantity();
-                            newQuantity = Math.max( 0, currentQuantity - quantityUsed );
-                            ingredient.setQuantity( newQuantity );
+                        String message = ( status == OrderStatus.NO_CHANGE )
+                                ? "Sorry, the machine cannot give change for \u20B1" + Money.format( cashProvided ) + ". Dispensing Cash Back...\nPlease put in a smaller amount or the exact cash, in whole pesos."
+                                : "Insufficient cash. Dispensing Cash Back...\nRemaining Balance Needed: \u20B1" + Money.format( totalCost - cashProvided );
+                        int option = JOptionPane.showOptionDialog(
+                            RamenView.this,
+                            message,
+                            ( status == OrderStatus.NO_CHANGE ) ? "No Change" : "Insufficient Cash",
+                            JOptionPane.DEFAULT_OPTION,
+                            JOptionPane.WARNING_MESSAGE,
+                            null,
+                            new Object[] {"Back", "Retry"},
+                            "Retry"
+                        );
+
+                        if( option == 0 ){
+
+                            // User pressed "Back" button
+                            controller.cancelOrder( ticket );
+                            return false;
 
                         }
 
                     }
-        
-                    // Display a message to the user indicating that the order was prepared.
-                    displayRamenPreparation("Your order and change has been dispensed!");
-
-                    String orderDetails = "\nOrder: " + selectedRamen.getIngredientsAsString() + " Total Calories: " + totalCalories + " calories\nTotal Cost: \u20B1" + totalCost;
-                    vendingMachine.recordOrder(orderDetails);
-
-                    customizeRamenFrame.dispose();
-
-                }
 
-                else{
+                }catch( NumberFormatException ex ){
 
-                    // Display an error message to the user indicating that the selected ingredients are not available.
-                    JOptionPane.showMessageDialog( RamenView.this, "Some of the Ingredients you chose are not available. Please Choose another Ingredient!\n Dispensing Cash Inserted...", "Error", JOptionPane.ERROR_MESSAGE );
+                    JOptionPane.showMessageDialog(RamenView.this, "Invalid cash input. Please enter a valid number.", "Error", JOptionPane.ERROR_MESSAGE);
 
                 }
 
             }
+            
+            else{
 
-        } );
-
-            JButton backButton = new JButton("Back");
-            backButton.addActionListener( new ActionListener() {
-
-                @Override
-                public void actionPerformed( ActionEvent e ){
-
-                    customizeRamenFrame.dispose(); // Close the customization window when back button is clicked
-
-                }
-
-            });
-
-            JPanel mainPanel = new JPanel( new BorderLayout() );
-            mainPanel.add( ingredientPanel, BorderLayout.CENTER );
-
-            // Creates a panel for the buttons and add them in a horizontal layout
-            JPanel buttonPanel = new JPanel( new FlowLayout() );
-            buttonPanel.add( prepareRamenButton );
-            buttonPanel.add( backButton );
-
-            // Adds the button panel to the main panel
-            mainPanel.add( buttonPanel, BorderLayout.SOUTH );
-
-            customizeRamenFrame.add( mainPanel );
-            customizeRamenFrame.pack();
-
-            // Set the width and height of the window
-            int preferredWidth = 1100; // Adjust this value to set the width
-            int preferredHeight = 700; // Adjust this value to set the height
-
-            customizeRamenFrame.setSize( preferredWidth, preferredHeight );
+                // User pressed "Cancel" button
+                controller.cancelOrder( ticket );
+                return false;
 
-            customizeRamenFrame.setLocationRelativeTo( null );
-            customizeRamenFrame.setVisible( true );
+            }
 
         }
 
@@ -550,19 +577,10 @@ public class RamenView extends JFrame{
 
     private void restockIngredient( String ingredientName, int quantityToAdd ){
 
-        Ingredient ingredient = vendingMachine.getStockedIngredients().stream()
-
-            .filter( ing -> ing.getName().equals( ingredientName ) )
-            .findFirst()
-            .orElse(null);
+        int added = vendingMachine.restockIngredient( ingredientName, quantityToAdd );
     
-        if( ingredient != null ){
-
-            int currentQuantity, newQuantity;
+        if( added >= 0 ){
 
-            currentQuantity = ingredient.getQuantity();
-            newQuantity = Math.min( 10, currentQuantity + quantityToAdd );
-            ingredient.setQuantity( newQuantity );
             JOptionPane.showMessageDialog( this, ingredientName + " has been restocked successfully!", "Success", JOptionPane.INFORMATION_MESSAGE );
 
         }
@@ -584,7 +602,7 @@ public class RamenView extends JFrame{
 
     private void showMaintenanceWindow(){
 
-        String[] options = { "Restock Ingredients", "Collect Money", "Show Order History", "Cancel" };
+        String[] options = { "Restock Ingredients", "Restock Plan", "Collect Money", "Show Order History", "Show Metrics", "Cancel" };
 
         int option;
 
@@ -610,18 +628,32 @@ public class RamenView extends JFrame{
         
         else if( option == 1 ){
 
+            // Shows what runs out soon
+            showRestockPlan();
+
+        }
+
+        else if( option == 2 ){
+
             // Collects Money
             collectMoneyWindow();
 
         }
         
-        else if( option == 2 ){
+        else if( option == 3 ){
 
             // Collects Money
             showOrderHistory();
 
         }
 
+        else if( option == 4 ){
+
+            // Dumps the metrics
+            showMetrics();
+
+        }
+
         else{
 
             // Cancel - Does nothing, the user cancelled the dialog.
@@ -651,14 +683,20 @@ public class RamenView extends JFrame{
     
         JComboBox<String> ingredientComboBox = new JComboBox<>( ingredientNames );
         JTextField quantityField = new JTextField(5);
+        JLabel quantityLabel = new JLabel();
     
         JPanel inputPanel = new JPanel();
 
         inputPanel.setLayout( new GridLayout(2, 2) );
         inputPanel.add( new JLabel("Select Ingredient: ") );
         inputPanel.add( ingredientComboBox );
-        inputPanel.add( new JLabel("Enter Quantity (0 to 10): ") );
+        inputPanel.add( quantityLabel );
         inputPanel.add( quantityField );
+
+        // Every ingredient has its own capacity, so the label shows the room left in the one that is selected.
+        Runnable showRoomLeft = () -> quantityLabel.setText( "Enter Quantity (0 to " + roomLeft( ( String ) ingredientComboBox.getSelectedItem() ) + "): " );
+        ingredientComboBox.addActionListener( e -> showRoomLeft.run() );
+        showRoomLeft.run();
         
         int result;
 
@@ -667,6 +705,7 @@ public class RamenView extends JFrame{
         if( result == JOptionPane.OK_OPTION ){
 
             String selectedIngredientName = ( String ) ingredientComboBox.getSelectedItem();
+            int roomLeft = roomLeft( selectedIngredientName );
 
             try{
 
@@ -674,7 +713,7 @@ public class RamenView extends JFrame{
 
                 quantityToAdd = Integer.parseInt( quantityField.getText() );
 
-                if( quantityToAdd >= 0 && quantityToAdd <= 10 ){
+                if( quantityToAdd >= 0 && quantityToAdd <= roomLeft ){
 
                     restockIngredient( selectedIngredientName, quantityToAdd ); // calls the function to restock ingredients.
 
@@ -682,7 +721,7 @@ public class RamenView extends JFrame{
                 
                 else{
 
-                    JOptionPane.showMessageDialog( this, "Invalid quantity. Please enter a value between 0 and 10.", "Error", JOptionPane.ERROR_MESSAGE );
+                    JOptionPane.showMessageDialog( this, "Invalid quantity. Please enter a value between 0 and " + roomLeft + ".", "Error", JOptionPane.ERROR_MESSAGE );
                     // If the quantity is invalid, loop back to the restock dialog
                     restockIngredients();
 
@@ -701,111 +740,174 @@ public class RamenView extends JFrame{
     }
 
     /**
-     * It is a GUI that is in the Maintenance Features. It is activated when user presses Maintenance then Collect Money.
-     * 
-     * @param collectMoneyWindow Collects the money the vending machine has culminated.
-     * 
+     * Gets the quantity that still fits in the bin of the ingredient with the given name.
      */
 
-    private void collectMoneyWindow(){
+    private int roomLeft( String ingredientName ){
 
-        double moneyToCollect = vendingMachine.getTotalMoneyCollected();
-        String message = String.format("Total money collected: \u20B1%.2f", moneyToCollect);
-        JOptionPane.showMessageDialog( this, message, "Money Collection", JOptionPane.INFORMATION_MESSAGE );
-        vendingMachine.resetTotalMoneyCollected(); // Reset the total money collected after displaying
+        Ingredient ingredient = vendingMachine.getIngredient( ingredientName );
+
+        return ( ingredient != null ) ? Math.max( 0, ingredient.getCapacity() - ingredient.getQuantity() ) : 0;
 
     }
 
     /**
-     * It is a GUI that is in the Maintenance Features. It is activated when user presses Maintenance then Show Order History.
+     * It is a GUI that is in the Maintenance Features. It is activated when user presses Maintenance then Restock Plan.
+     * It shows the ingredients that run out within the hour at the rate they are used at or are at their low-water
+     * mark, and restocks all of them at once if the user agrees.
      * 
-     * @param showOrderHistory Collects the money the vending machine has culminated.
+     * @param showRestockPlan shows the restock plan.
      * 
      */
-    
-    private void showOrderHistory(){
 
-        StringBuilder history = new StringBuilder();
-        history.append("Order History:\n");
-    
-        List<String> orderHistory = vendingMachine.getOrderHistory();
+    private void showRestockPlan(){
+
+        List<RestockSuggestion> plan = vendingMachine.getRestockPlanner().plan( System.currentTimeMillis(), RestockPlanner.DEFAULT_HORIZON_MILLIS );
 
-        if( orderHistory.isEmpty() ){
+        if( plan.isEmpty() ){
 
-            history.append("No orders yet.");
+            JOptionPane.showMessageDialog( this, "Nothing runs out within the hour or is running low.", "Restock Plan", JOptionPane.INFORMATION_MESSAGE );
+            return;
 
         }
 
-        else{
+        StringBuilder message = new StringBuilder( "These run out within the hour or are running low:\n\n" );
+
+        for( RestockSuggestion suggestion : plan ){
+
+            message.append( suggestion ).append( "\n" );
+
+        }
+
+        message.append( "\nRestock all of them now?" );
+
+        int result = JOptionPane.showConfirmDialog( this, message.toString(), "Restock Plan", JOptionPane.YES_NO_OPTION );
+
+        if( result == JOptionPane.YES_OPTION ){
 
-            for( String order : orderHistory ){
+            for( RestockSuggestion suggestion : plan ){
 
-                history.append(order).append("\n");
+                vendingMachine.restockIngredient( suggestion.getIngredient().getName(), suggestion.getQuantityToAdd() );
 
             }
 
+            JOptionPane.showMessageDialog( this, plan.size() + " ingredients have been restocked successfully!", "Success", JOptionPane.INFORMATION_MESSAGE );
+
         }
-    
-        JOptionPane.showMessageDialog(this, history.toString(), "Order History", JOptionPane.INFORMATION_MESSAGE);
 
     }
 
     /**
-     * Displays the ramen preparation window.
+     * It is a GUI that is in the Maintenance Features. It is activated when user presses Maintenance then Collect Money.
      * 
-     * @param displayRamenPreparation displays the ramen preparation.
+     * @param collectMoneyWindow Collects the money the vending machine has culminated.
      * 
      */
 
-    public void displayRamenPreparation( String preparationSteps ){
+    private void collectMoneyWindow(){
 
-        String message = preparationSteps + "\nPlease Enjoy Your Order!";
-        JOptionPane.showMessageDialog( this, message, "Preparing Order!", JOptionPane.INFORMATION_MESSAGE );
+        long moneyCollected = vendingMachine.resetTotalMoneyCollected(); // Takes the money out and resets the total in one step
+        long cashTakenOut = vendingMachine.resetCashDrawer(); // Leaves only the float in the drawer for change
+        String message = "Total money collected: \u20B1" + Money.format( moneyCollected )
+                + "\nCash taken out of the drawer: \u20B1" + Money.format( cashTakenOut )
+                + "\nFloat left for change: \u20B1" + Money.format( vendingMachine.getCashDrawer().getFloat() );
+        JOptionPane.showMessageDialog( this, message, "Money Collection", JOptionPane.INFORMATION_MESSAGE );
 
     }
-    
+
     /**
-     * This is where the images get added into the GUI. It also shows the price of the ingredient and the quanitity left. 
+     * It is a GUI that is in the Maintenance Features. It is activated when user presses Maintenance then Show Metrics.
+     * The metrics are also printed and saved to metrics.txt, so they can be sent to whoever looks after the machine.
      * 
-     * @param addIngredientsToPanel displays the ramen preparation.
+     * @param showMetrics shows the counts and the latencies of the vending machine.
      * 
      */
 
-    public void addIngredientsToPanel( List<Ingredient> ingredients, Map< String, Double > ingredientPrices, JPanel panel ){
+    private void showMetrics(){
 
-        int rows = 2;
-        int columns = 4;
-        panel.setLayout( new GridLayout( rows, columns, 0, 0 ) );
-    
-        for( Ingredient ingredient : ingredients ){
+        MachineMetrics metrics = vendingMachine.getMetrics();
+        String text = metrics.describe( vendingMachine.getCatalog() );
 
-            JCheckBox checkBox = new JCheckBox( ingredient.getName() );
-            JLabel priceLabel = new JLabel("\u20B1" + ingredientPrices.get(ingredient.getName()));
-            JLabel quantityLabel = new JLabel("Quantity: " + ingredient.getQuantity());
-    
-            // Load the image for the ingredient
-            ImageIcon imageIcon = new ImageIcon( ingredient.getImagePath() );
-
-            Image image = imageIcon.getImage();
-            Image scaledImage = image.getScaledInstance( 200, 200, Image.SCALE_SMOOTH );
-            ImageIcon scaledImageIcon = new ImageIcon( scaledImage );
-            JLabel imageLabel = new JLabel( scaledImageIcon );
-            imageLabel.setHorizontalAlignment( JLabel.CENTER ); // Centers the image horizontally
-
-            JPanel labelPanel = new JPanel( new GridLayout(2, 1) );
-            labelPanel.add( priceLabel );
-            labelPanel.add( quantityLabel );
-
-            JPanel ingredientEntryPanel = new JPanel( new BorderLayout() );
-            ingredientEntryPanel.add( imageLabel, BorderLayout.CENTER );
-            ingredientEntryPanel.add( labelPanel, BorderLayout.SOUTH ); // Add the price and quantity labels
-            ingredientEntryPanel.add( checkBox, BorderLayout.NORTH ); // Move the checkbox to the top
+        System.out.print( text );
+
+        try{
+
+            metrics.dump( Paths.get("metrics.txt"), vendingMachine.getCatalog() );
+
+        }catch( IOException e ){
+
+            System.err.println( "Could not save the metrics: " + e.getMessage() );
+
+        }
+
+        JTextArea textArea = new JTextArea( text, 20, 80 );
+        textArea.setEditable( false );
+        textArea.setFont( new Font( Font.MONOSPACED, Font.PLAIN, 12 ) );
+        JOptionPane.showMessageDialog( this, new JScrollPane( textArea ), "Metrics", JOptionPane.INFORMATION_MESSAGE );
+
+    }
+
+    /**
+     * It is a GUI that is in the Maintenance Features. It is activated when user presses Maintenance then Show Order History.
+     * 
+     * @param showOrderHistory Collects the money the vending machine has culminated.
+     * 
+     */
     
-            ingredientCheckBoxes.put( checkBox, ingredient );
-            int calorieCount = ingredient.getCalorieCount();
-            stockedIngredients.put( ingredient.getName(), calorieCount );
+    private void showOrderHistory(){
+
+        OrderHistory orderHistory = vendingMachine.getOrderHistory();
+        int offset = 0;
+
+        while( true ){
+
+            StringBuilder history = new StringBuilder();
+            history.append("Order History:\n");
 
-            panel.add( ingredientEntryPanel );
+            List<OrderRecord> page = orderHistory.getRecent( offset, HISTORY_PAGE_SIZE );
+
+            if( page.isEmpty() ){
+
+                history.append("No orders yet.");
+
+            }
+
+            else{
+
+                history.append("Showing orders ").append( offset + 1 ).append(" to ").append( offset + page.size() )
+                        .append(" of the ").append( orderHistory.size() ).append(" most recent\n");
+
+                for( OrderRecord order : page ){
+
+                    history.append("\n").append( order.describe( vendingMachine.getCatalog() ) ).append("\n");
+
+                }
+
+            }
+
+            String[] options = { "Newer", "Older", "Close" };
+
+            int option;
+
+            option = JOptionPane.showOptionDialog( this, history.toString(), "Order History", JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[2] );
+
+            if( option == 0 && offset > 0 ){
+
+                offset = Math.max( 0, offset - HISTORY_PAGE_SIZE );
+
+            }
+
+            else if( option == 1 && offset + HISTORY_PAGE_SIZE < orderHistory.size() ){
+
+                offset += HISTORY_PAGE_SIZE;
+
+            }
+
+            else if( option != 0 && option != 1 ){
+
+                return;
+
+            }
 
         }
 
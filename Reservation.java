@@ -0,0 +1,140 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class holds the ingredients that were set aside for one order. The stock is already taken out when the
+ * reservation is made, so the order can either commit it once it is paid for, or roll it back to put the
+ * ingredients back in the machine.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class Reservation{
+
+    private static final int PENDING = 0;      // The reservation is still open
+    private static final int COMMITTED = 1;    // The ingredients were used for the order
+    private static final int ROLLED_BACK = 2;  // The ingredients were put back
+
+    private Ingredient[] ingredients; // Adds the reserved ingredients
+    private int[] quantities;         // Adds the reserved quantity of each ingredient
+    private AtomicInteger state;      // Adds the state of the reservation
+
+    /**
+     * Constructs a reservation of ingredients whose stock was already taken.
+     *
+     * @param ingredients The reserved ingredients.
+     * @param quantities The reserved quantity of each ingredient.
+     * @param Reservation The constructor of the reservation.
+     */
+
+    public Reservation( Ingredient[] ingredients, int[] quantities ){
+
+        this.ingredients = ingredients;
+        this.quantities = quantities;
+        this.state = new AtomicInteger( PENDING );
+
+    }
+
+    /**
+     * Commits the reservation, so the ingredients stay taken out of the stock.
+     *
+     * @param commit The method to commit the reservation.
+     * @return True if the reservation was committed now. If it was already committed or rolled back, then False.
+     */
+
+    public boolean commit(){
+
+        return state.compareAndSet( PENDING, COMMITTED );
+
+    }
+
+    /**
+     * Rolls back the reservation and puts all the reserved ingredients back into the stock.
+     *
+     * @param rollback The method to roll back the reservation.
+     * @return True if the reservation was rolled back now. If it was already committed or rolled back, then False.
+     */
+
+    public boolean rollback(){
+
+        if( !state.compareAndSet( PENDING, ROLLED_BACK ) ){
+
+            return false;
+
+        }
+
+        for( int i = 0; i < ingredients.length; i++ ){
+
+            ingredients[ i ].release( quantities[ i ] );
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Opens a committed reservation again, so it can still be rolled back. It is only called by the VendingMachine
+     * when the order it was committed for could not be written to the journal.
+     *
+     * @return True if the reservation was opened again. If it was not committed, then False.
+     */
+
+    boolean reopen(){
+
+        return state.compareAndSet( COMMITTED, PENDING );
+
+    }
+
+    /**
+     * Checks if the reservation is committed.
+     *
+     * @return True if it is committed. If not, then False.
+     */
+
+    public boolean isCommitted(){
+
+        return state.get() == COMMITTED;
+
+    }
+
+    /**
+     * Gets the number of reserved ingredients.
+     *
+     * @return the number of reserved ingredients
+     */
+
+    public int size(){
+
+        return ingredients.length;
+
+    }
+
+    /**
+     * Gets the reserved ingredient at the given position.
+     *
+     * @param index The position of the ingredient in the reservation.
+     * @return the reserved ingredient
+     */
+
+    public Ingredient getIngredient( int index ){
+
+        return ingredients[ index ];
+
+    }
+
+    /**
+     * Gets the reserved quantity at the given position.
+     *
+     * @param index The position of the ingredient in the reservation.
+     * @return the reserved quantity
+     */
+
+    public int getQuantity( int index ){
+
+        return quantities[ index ];
+
+    }
+
+}
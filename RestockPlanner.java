@@ -0,0 +1,270 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class plans the restocking of the vending machine from how fast every ingredient is used. For every ingredient
+ * it keeps one exponentially decayed counter of the units ordered: an order adds its quantity, and the counter loses
+ * half of its weight every half life. The counter divided by the mean life of the decay is the rate the ingredient is
+ * used at, weighted towards the recent orders, so the lunch rush shows up within minutes and fades again after.
+ *
+ * The counters are updated with every order, and read in constant time per ingredient, so the plan never goes over
+ * the order history again. The history is only read once, when the vending machine is recovered, oldest order first.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class RestockPlanner{
+
+    public static final long DEFAULT_HALF_LIFE_MILLIS = 30 * 60_000L; // The time an order takes to count half as much, by default
+    public static final long DEFAULT_HORIZON_MILLIS = 60 * 60_000L;   // The time the stock should last for, by default
+
+    private static final long MILLIS_PER_HOUR = 60 * 60_000L;
+
+    private IngredientCatalog catalog;              // Adds the catalog the stock is read from
+    private double decayPerMilli;                   // Adds the rate of the decay, ln 2 over the half life
+    private volatile DecayedCounter[] consumption;  // Adds the decayed units ordered of every ingredient, by id
+
+    /**
+     * Constructs a planner for the ingredients of the given catalog with no orders counted yet.
+     *
+     * @param catalog The catalog of the vending machine.
+     * @param halfLifeMillis The time an order takes to count half as much, in milliseconds.
+     * @param RestockPlanner The constructor of the planner.
+     * @throws IllegalArgumentException if the half life is not positive.
+     */
+
+    public RestockPlanner( IngredientCatalog catalog, long halfLifeMillis ){
+
+        if( halfLifeMillis <= 0 ){
+
+            throw new IllegalArgumentException( "Half life must be positive: " + halfLifeMillis );
+
+        }
+
+        this.catalog = catalog;
+        this.decayPerMilli = Math.log( 2 ) / halfLifeMillis;
+        this.consumption = new DecayedCounter[ 0 ];
+
+    }
+
+    /**
+     * Makes room for the counter of a new ingredient. It is called when the ingredient is stocked, so counting an
+     * order never has to.
+     *
+     * @param id The id of the ingredient.
+     * @param ingredientAdded The method to make room for an ingredient.
+     */
+
+    public synchronized void ingredientAdded( int id ){
+
+        if( id < consumption.length ){
+
+            return;
+
+        }
+
+        // The counters that are already there are kept, so nothing that is counted while the array grows is lost.
+        DecayedCounter[] more = Arrays.copyOf( consumption, id + 1 );
+
+        for( int i = consumption.length; i <= id; i++ ){
+
+            more[ i ] = new DecayedCounter();
+
+        }
+
+        consumption = more;
+
+    }
+
+    /**
+     * Counts the ingredients of an order at the time it was placed. Only the counters of its ingredients are touched,
+     * so orders of different ingredients never wait for each other.
+     *
+     * @param order The order.
+     * @param record The method to count an order.
+     */
+
+    public void record( OrderRecord order ){
+
+        DecayedCounter[] consumption = this.consumption;
+
+        for( int i = 0; i < order.getIngredientCount(); i++ ){
+
+            int id = order.getIngredientId( i );
+
+            if( id >= 0 && id < consumption.length ){
+
+                consumption[ id ].add( order.getQuantity( i ), order.getTimestamp(), decayPerMilli );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Counts every order of the history, oldest first, in one pass. It is called once, when the vending machine is
+     * recovered and before any new order is placed.
+     *
+     * @param history The order history.
+     * @param replay The method to count the history.
+     */
+
+    public void replay( OrderHistory history ){
+
+        history.forEach( this::record );
+
+    }
+
+    /**
+     * Gets the rate the ingredient is used at right now, weighted towards the recent orders.
+     *
+     * @param id The id of the ingredient.
+     * @param now The time, in milliseconds since the epoch.
+     * @return the units used per hour, or 0 if the ingredient was never ordered
+     */
+
+    public double getRatePerHour( int id, long now ){
+
+        DecayedCounter[] consumption = this.consumption;
+
+        if( id < 0 || id >= consumption.length ){
+
+            return 0;
+
+        }
+
+        // A counter that is fed a steady rate settles at rate times the mean life, which is one over the decay.
+        return consumption[ id ].valueAt( now, decayPerMilli ) * decayPerMilli * MILLIS_PER_HOUR;
+
+    }
+
+    /**
+     * Gets the time until the ingredient runs out if it keeps being used at the rate it is used at right now.
+     *
+     * @param id The id of the ingredient.
+     * @param now The time, in milliseconds since the epoch.
+     * @param getMillisToStockout The method to project the stockout.
+     * @return the time in milliseconds, 0 if it is out already, or Long.MAX_VALUE if it is not being used
+     */
+
+    public long getMillisToStockout( int id, long now ){
+
+        Ingredient ingredient = catalog.get( id );
+
+        if( ingredient == null ){
+
+            return Long.MAX_VALUE;
+
+        }
+
+        return millisToStockout( ingredient.getQuantity(), getRatePerHour( id, now ) );
+
+    }
+
+    /**
+     * Makes the restock list: every ingredient that runs out within the horizon at its current rate or is at its
+     * low-water mark already, with the quantity that fills it up to its capacity again. The ingredient that runs out
+     * first is first. Every ingredient takes constant time, no matter how many orders were counted.
+     *
+     * @param now The time, in milliseconds since the epoch.
+     * @param horizonMillis The time the stock should last for, in milliseconds.
+     * @param plan The method to make the restock list.
+     * @return the ingredients to restock
+     */
+
+    public List<RestockSuggestion> plan( long now, long horizonMillis ){
+
+        List<RestockSuggestion> suggestions = new ArrayList<>();
+
+        for( Ingredient ingredient : catalog.getIngredients() ){
+
+            int quantity = ingredient.getQuantity();
+            double ratePerHour = getRatePerHour( ingredient.getId(), now );
+            long millisToStockout = millisToStockout( quantity, ratePerHour );
+
+            if( ( millisToStockout <= horizonMillis || quantity <= ingredient.getLowWaterMark() ) && quantity < ingredient.getCapacity() ){
+
+                suggestions.add( new RestockSuggestion( ingredient, quantity, ratePerHour, millisToStockout, ingredient.getCapacity() - quantity ) );
+
+            }
+
+        }
+
+        suggestions.sort( Comparator.comparingLong( RestockSuggestion::getMillisToStockout ) );
+
+        return suggestions;
+
+    }
+
+    /**
+     * Works out the time until the stock runs out at the given rate.
+     */
+
+    private static long millisToStockout( int quantity, double ratePerHour ){
+
+        if( quantity <= 0 ){
+
+            return 0;
+
+        }
+
+        if( ratePerHour <= 0 ){
+
+            return Long.MAX_VALUE;
+
+        }
+
+        return ( long ) Math.min( Long.MAX_VALUE, quantity / ratePerHour * MILLIS_PER_HOUR );
+
+    }
+
+    /**
+     * This is the decayed counter of one ingredient. It keeps its value as of the last order it counted, and decays
+     * it to the time it is read, so it only changes when its ingredient is ordered.
+     */
+
+    private static final class DecayedCounter{
+
+        private double value;   // Adds the decayed units, as of the time below
+        private long time;      // Adds the time of the newest order counted, in milliseconds since the epoch
+
+        /**
+         * Decays the counter to the time of the order and adds its quantity. An order that is older than the newest
+         * one counted, which happens when terminals finish out of order, is decayed to the newest time instead.
+         */
+
+        synchronized void add( int quantity, long orderTime, double decayPerMilli ){
+
+            if( orderTime >= time ){
+
+                value = value * Math.exp( -decayPerMilli * ( orderTime - time ) ) + quantity;
+                time = orderTime;
+
+            }
+
+            else{
+
+                value += quantity * Math.exp( -decayPerMilli * ( time - orderTime ) );
+
+            }
+
+        }
+
+        /**
+         * Gets the value of the counter decayed to the given time.
+         */
+
+        synchronized double valueAt( long now, double decayPerMilli ){
+
+            return value * Math.exp( -decayPerMilli * Math.max( 0, now - time ) );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+/**
+ * This class is one line of the restock list made by the RestockPlanner: an ingredient that runs out soon, how fast
+ * it is used, when it runs out, and how much to add to fill it up.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class RestockSuggestion{
+
+    private Ingredient ingredient;  // Adds the ingredient to restock
+    private int quantity;           // Adds the stock of the ingredient when the plan was made
+    private double ratePerHour;     // Adds the units used per hour
+    private long millisToStockout;  // Adds the time until it runs out
+    private int quantityToAdd;      // Adds the quantity that fills it up
+
+    /**
+     * Constructs a line of the restock list.
+     *
+     * @param ingredient The ingredient to restock.
+     * @param quantity The stock of the ingredient when the plan was made.
+     * @param ratePerHour The units used per hour.
+     * @param millisToStockout The time until it runs out, in milliseconds.
+     * @param quantityToAdd The quantity that fills it up.
+     * @param RestockSuggestion The constructor of the line.
+     */
+
+    public RestockSuggestion( Ingredient ingredient, int quantity, double ratePerHour, long millisToStockout, int quantityToAdd ){
+
+        this.ingredient = ingredient;
+        this.quantity = quantity;
+        this.ratePerHour = ratePerHour;
+        this.millisToStockout = millisToStockout;
+        this.quantityToAdd = quantityToAdd;
+
+    }
+
+    /**
+     * Gets the ingredient to restock.
+     *
+     * @return the ingredient
+     */
+
+    public Ingredient getIngredient(){
+
+        return ingredient;
+
+    }
+
+    /**
+     * Gets the stock of the ingredient when the plan was made.
+     *
+     * @return the quantity
+     */
+
+    public int getQuantity(){
+
+        return quantity;
+
+    }
+
+    /**
+     * Gets how fast the ingredient is used.
+     *
+     * @return the units used per hour
+     */
+
+    public double getRatePerHour(){
+
+        return ratePerHour;
+
+    }
+
+    /**
+     * Gets the time until the ingredient runs out at the rate it is used at.
+     *
+     * @return the time in milliseconds, 0 if it is out already
+     */
+
+    public long getMillisToStockout(){
+
+        return millisToStockout;
+
+    }
+
+    /**
+     * Gets the quantity that fills the ingredient up.
+     *
+     * @return the quantity to add
+     */
+
+    public int getQuantityToAdd(){
+
+        return quantityToAdd;
+
+    }
+
+    /**
+     * Describes the line for the maintenance window.
+     *
+     * @return the description
+     */
+
+    @Override
+    public String toString(){
+
+        String stockout = ( millisToStockout == 0 ) ? "out of stock" : "out in " + Math.max( 1, millisToStockout / 60_000 ) + " min";
+
+        return ingredient.getName() + ": " + quantity + " left, " + String.format( "%.1f", ratePerHour ) + " per hour, " + stockout + ", add " + quantityToAdd;
+
+    }
+
+}
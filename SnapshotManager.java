@@ -0,0 +1,395 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * This class saves the state of the vending machine as small binary snapshots, so the program does not have to
+ * replay the whole OrderJournal when it starts. Snapshots are taken on a background thread from a copy of the state
+ * that is kept up to date by reading the journal, so the vending machine itself is never locked and ordering goes
+ * on while a snapshot is written. Once a snapshot is on the disk, the journal segments before it are deleted.
+ *
+ * A snapshot file is named after the journal position it was taken at and holds:
+ *
+ *   int   magic number
+ *   int   format version
+ *   long  time it was taken, in milliseconds since the epoch
+ *   ...   the MachineState
+ *   long  CRC32C of everything before it
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class SnapshotManager{
+
+    public static final long DEFAULT_INTERVAL_MILLIS = 60_000; // The time between two snapshots by default
+    public static final int SNAPSHOTS_KEPT = 2;                // The number of snapshots kept, in case the newest is damaged
+
+    private static final int MAGIC = 0x52414D4E; // "RAMN"
+    private static final int VERSION = 3; // Version 1 kept the money as a double, version 2 had no cash drawer
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private Path directory;                      // Adds the folder of the snapshot files
+    private VendingMachine vendingMachine;       // Adds the vending machine the snapshots are taken of
+    private OrderJournal journal;                // Adds the journal the state is read from
+    private MachineState state;                  // Adds the copy of the state that snapshots are written from
+    private long lastSnapshotPosition;           // Adds the journal position of the newest snapshot
+    private JournalBatch pending;                // Adds the records read for the next snapshot, until all of them are read
+    private ScheduledExecutorService scheduler;  // Adds the thread that takes the snapshots
+
+    /**
+     * Constructs a snapshot manager that keeps its files in the given folder.
+     *
+     * @param directory The folder of the snapshot files.
+     * @param SnapshotManager The constructor of the snapshot manager.
+     */
+
+    public SnapshotManager( Path directory ){
+
+        this.directory = directory;
+        this.lastSnapshotPosition = -1;
+        this.pending = new JournalBatch( 1024 );
+
+    }
+
+    /**
+     * Rebuilds the vending machine from the newest snapshot that can be read and the part of the journal written
+     * after it, and then lets the vending machine keep writing to the journal. If there is no snapshot, the whole
+     * journal is replayed.
+     *
+     * @param vendingMachine The vending machine, with its ingredients stocked and no orders placed yet.
+     * @param journal The journal of the vending machine.
+     * @param recover The method to rebuild the vending machine.
+     * @return the number of journal transactions that were replayed
+     * @throws IOException if neither the snapshots nor the journal can be read.
+     */
+
+    public long recover( VendingMachine vendingMachine, OrderJournal journal ) throws IOException{
+
+        Files.createDirectories( directory );
+
+        this.vendingMachine = vendingMachine;
+        this.journal = journal;
+
+        IOException failure = null;
+
+        for( long position : listSnapshots() ){
+
+            try{
+
+                MachineState snapshot = load( snapshotPath( position ), vendingMachine );
+                long transactions = vendingMachine.recover( journal, snapshot );
+
+                state = snapshot;
+                lastSnapshotPosition = position;
+
+                return transactions;
+
+            }catch( IOException e ){
+
+                // Falls back to the snapshot before it.
+                System.err.println( "Could not use snapshot " + snapshotPath( position ) + ": " + e.getMessage() );
+                failure = e;
+
+            }
+
+        }
+
+        state = MachineState.of( vendingMachine );
+
+        try{
+
+            return vendingMachine.recover( journal, state );
+
+        }catch( IOException e ){
+
+            if( failure != null ){
+
+                e.addSuppressed( failure );
+
+            }
+
+            throw e;
+
+        }
+
+    }
+
+    /**
+     * Starts taking a snapshot every interval on a background thread.
+     *
+     * @param intervalMillis The time between two snapshots.
+     * @param start The method to start the snapshots.
+     * @throws IllegalStateException if recover was not called first.
+     */
+
+    public synchronized void start( long intervalMillis ){
+
+        if( state == null ){
+
+            throw new IllegalStateException( "The vending machine was not recovered yet" );
+
+        }
+
+        if( scheduler != null ){
+
+            return;
+
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+
+            Thread thread = new Thread( runnable, "snapshot-writer" );
+            thread.setDaemon( true );
+            thread.setPriority( Thread.NORM_PRIORITY - 1 );
+
+            return thread;
+
+        } );
+
+        scheduler.scheduleWithFixedDelay( () -> {
+
+            try{
+
+                snapshot();
+
+            }catch( IOException e ){
+
+                System.err.println( "Could not take a snapshot: " + e.getMessage() );
+
+            }
+
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS );
+
+    }
+
+    /**
+     * Stops taking snapshots.
+     */
+
+    public synchronized void stop(){
+
+        if( scheduler != null ){
+
+            scheduler.shutdown();
+            scheduler = null;
+
+        }
+
+    }
+
+    /**
+     * Takes a snapshot now, unless nothing was written to the journal since the last one, and then deletes the older
+     * snapshots and the journal segments that are no longer needed.
+     *
+     * @param snapshot The method to take a snapshot.
+     * @return the journal position of the snapshot, or -1 if none was needed
+     * @throws IOException if the journal cannot be read or the snapshot cannot be written.
+     */
+
+    public synchronized long snapshot() throws IOException{
+
+        if( state == null ){
+
+            throw new IllegalStateException( "The vending machine was not recovered yet" );
+
+        }
+
+        long to = journal.getDurablePosition();
+
+        // The records are only applied once all of them were read, so a read that fails part way is read again from
+        // the same position next time instead of counting the records before the failure twice.
+        pending.clear();
+        journal.read( state.getJournalPosition(), to, pending::add );
+
+        for( int i = 0; i < pending.size(); i++ ){
+
+            state.visit( pending.getType( i ), pending.getId( i ), pending.getQuantity( i ), pending.getAmount( i ), pending.getTimestamp( i ) );
+
+        }
+
+        pending.clear();
+        state.setJournalPosition( to );
+
+        if( to == lastSnapshotPosition ){
+
+            return -1;
+
+        }
+
+        // The names and prices are not in the journal, so they are copied from the catalog.
+        state.copyCatalog( vendingMachine.getCatalog() );
+        write( state );
+        lastSnapshotPosition = to;
+
+        List<Long> positions = listSnapshots();
+
+        for( int i = SNAPSHOTS_KEPT; i < positions.size(); i++ ){
+
+            Files.deleteIfExists( snapshotPath( positions.get( i ) ) );
+
+        }
+
+        // Keeps the journal back to the oldest snapshot that is kept, so either of them can still be used.
+        long oldest = positions.get( Math.min( positions.size(), SNAPSHOTS_KEPT ) - 1 );
+        journal.deleteSegmentsBefore( oldest );
+
+        return to;
+
+    }
+
+    /**
+     * Gets the journal position of the newest snapshot.
+     *
+     * @return the position, or -1 if there is no snapshot yet
+     */
+
+    public synchronized long getLastSnapshotPosition(){
+
+        return lastSnapshotPosition;
+
+    }
+
+    /**
+     * Writes the state to a new snapshot file. It is written to a temporary file that is forced to the disk and then
+     * renamed, so a crash never leaves a half written snapshot behind.
+     */
+
+    private void write( MachineState snapshot ) throws IOException{
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream( 4096 );
+        DataOutputStream out = new DataOutputStream( bytes );
+
+        out.writeInt( MAGIC );
+        out.writeInt( VERSION );
+        out.writeLong( System.currentTimeMillis() );
+        snapshot.write( out );
+
+        CRC32C checksum = new CRC32C();
+        checksum.update( bytes.toByteArray() );
+        out.writeLong( checksum.getValue() );
+        out.flush();
+
+        Path target = snapshotPath( snapshot.getJournalPosition() );
+        Path temporary = directory.resolve( target.getFileName() + ".tmp" );
+
+        try( FileChannel channel = FileChannel.open( temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) ){
+
+            ByteBuffer buffer = ByteBuffer.wrap( bytes.toByteArray() );
+
+            while( buffer.hasRemaining() ){
+
+                channel.write( buffer );
+
+            }
+
+            channel.force( true );
+
+        }
+
+        Files.move( temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+
+    }
+
+    /**
+     * Reads a snapshot file and checks its checksum.
+     */
+
+    private static MachineState load( Path file, VendingMachine vendingMachine ) throws IOException{
+
+        byte[] bytes = Files.readAllBytes( file );
+
+        if( bytes.length < 24 ){
+
+            throw new IOException( "The snapshot is too short" );
+
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update( bytes, 0, bytes.length - 8 );
+
+        if( ByteBuffer.wrap( bytes, bytes.length - 8, 8 ).getLong() != checksum.getValue() ){
+
+            throw new IOException( "The snapshot checksum does not match" );
+
+        }
+
+        DataInputStream in = new DataInputStream( new ByteArrayInputStream( bytes, 0, bytes.length - 8 ) );
+
+        int magic = in.readInt();
+        int version = in.readInt();
+
+        if( magic != MAGIC || version < 2 || version > VERSION ){
+
+            throw new IOException( "Not a snapshot of this version" );
+
+        }
+
+        in.readLong(); // The time it was taken.
+
+        return MachineState.read( in, version >= 3, vendingMachine.getCatalog(), vendingMachine.getCashDrawer(), vendingMachine.getOrderHistory().getCapacity() );
+
+    }
+
+    /**
+     * Lists the journal positions of the snapshot files in the folder, newest first.
+     */
+
+    private List<Long> listSnapshots() throws IOException{
+
+        List<Long> positions = new ArrayList<>();
+
+        try( DirectoryStream<Path> files = Files.newDirectoryStream( directory, SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX ) ){
+
+            for( Path file : files ){
+
+                String name = file.getFileName().toString();
+
+                try{
+
+                    positions.add( Long.parseLong( name.substring( SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length() ) ) );
+
+                }catch( NumberFormatException e ){
+
+                    // Not one of ours.
+
+                }
+
+            }
+
+        }
+
+        positions.sort( ( a, b ) -> Long.compare( b, a ) );
+
+        return positions;
+
+    }
+
+    /**
+     * Gets the path of the snapshot file taken at the given journal position.
+     */
+
+    private Path snapshotPath( long position ){
+
+        return directory.resolve( String.format( "%s%020d%s", SNAPSHOT_PREFIX, position, SNAPSHOT_SUFFIX ) );
+
+    }
+
+}
@@ -0,0 +1,115 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class keeps track of how long each part of the startup takes, from the start of the JVM until the main
+ * window is painted, and prints a report once everything is done.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class StartupTimer{
+
+    private long jvmStartMillis;             // Adds the time the JVM was started
+    private volatile long modelReadyMillis;  // Adds the time the vending machine was ready
+    private volatile long assetsReadyMillis; // Adds the time the images were loaded
+    private volatile long firstFrameMillis;  // Adds the time the main window was first painted
+    private boolean reported;                // Adds whether the report was already printed
+
+    /**
+     * Constructs the startup timer. The start time is taken from the JVM itself so that the class loading before
+     * main is counted too.
+     *
+     * @param StartupTimer The constructor of the startup timer.
+     */
+
+    public StartupTimer(){
+
+        jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    }
+
+    /**
+     * Marks that the vending machine model is ready.
+     */
+
+    public void markModelReady(){
+
+        modelReadyMillis = System.currentTimeMillis();
+
+    }
+
+    /**
+     * Marks that all the images are loaded.
+     */
+
+    public void markAssetsReady(){
+
+        assetsReadyMillis = System.currentTimeMillis();
+        reportIfDone();
+
+    }
+
+    /**
+     * Marks that the main window was painted for the first time.
+     */
+
+    public void markFirstFramePainted(){
+
+        firstFrameMillis = System.currentTimeMillis();
+        reportIfDone();
+
+    }
+
+    /**
+     * Prints the report once the images are loaded and the main window is painted, whichever comes last.
+     */
+
+    private synchronized void reportIfDone(){
+
+        if( reported || assetsReadyMillis == 0 || firstFrameMillis == 0 ){
+
+            return;
+
+        }
+
+        reported = true;
+        System.out.println( getReport() );
+
+    }
+
+    /**
+     * Gets the startup report. Every time is in milliseconds since the start of the JVM.
+     *
+     * @return the startup report
+     */
+
+    public String getReport(){
+
+        StringBuilder report = new StringBuilder();
+
+        report.append("Startup Report:\n");
+        report.append("  JVM start:           0 ms\n");
+        report.append("  Model ready:         ").append( sinceStart( modelReadyMillis ) ).append(" ms\n");
+        report.append("  Assets ready:        ").append( sinceStart( assetsReadyMillis ) ).append(" ms\n");
+        report.append("  First frame painted: ").append( sinceStart( firstFrameMillis ) ).append(" ms");
+
+        return report.toString();
+
+    }
+
+    /**
+     * Gets the milliseconds from the JVM start to the given time, or -1 if it did not happen yet.
+     *
+     * @param millis The time of the mark.
+     * @return the milliseconds since the JVM start
+     */
+
+    private long sinceStart( long millis ){
+
+        return ( millis == 0 ) ? -1 : millis - jvmStartMillis;
+
+    }
+
+}
@@ -1,5 +1,6 @@
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class represents a ramen vending machine that manages the stocked ingredients and ramen dishes available for purchase.
@@ -11,10 +12,16 @@ import java.util.List;
 
 public class VendingMachine{
 
-    private List<Ingredient> stockedIngredients;
-    private List<Ramen> stockedRamen;
-    private double totalMoneyCollected;
-    private List<String> orderHistory;
+    private IngredientCatalog catalog;
+    private InventoryEngine inventory;
+    private RamenMenu menu;
+    private AtomicLong totalMoneyCollected; // In centavos, it is atomic so that orders never wait for each other to pay
+    private OrderHistory orderHistory;
+    private OrderJournal journal;
+    private MachineMetrics metrics;
+    private RestockPlanner restockPlanner; // Adds the planner that keeps how fast every ingredient is used
+    private CashDrawer cashDrawer; // Adds the coins and bills in the machine, which the change is made from
+    private volatile MachineEventBus events; // Adds the bus that tells the listeners about changes, once anyone listens
 
     /**
      * Constructs empty lists for stocked ingredients and ramen dishes.
@@ -23,9 +30,26 @@ public class VendingMachine{
 
     public VendingMachine(){
 
-        stockedIngredients = new ArrayList<>();
-        stockedRamen = new ArrayList<>();
-        orderHistory = new ArrayList<>();
+        this( new OrderHistory( OrderHistory.DEFAULT_CAPACITY, null ) );
+
+    }
+
+    /**
+     * Constructs empty lists for stocked ingredients and ramen dishes, with the given order history.
+     *
+     * @param orderHistory the order history, which decides how many orders are kept in memory.
+     */
+
+    public VendingMachine( OrderHistory orderHistory ){
+
+        catalog = new IngredientCatalog();
+        inventory = new InventoryEngine( catalog );
+        menu = new RamenMenu( catalog );
+        this.orderHistory = orderHistory;
+        totalMoneyCollected = new AtomicLong();
+        metrics = new MachineMetrics();
+        restockPlanner = new RestockPlanner( catalog, RestockPlanner.DEFAULT_HALF_LIFE_MILLIS );
+        cashDrawer = new CashDrawer();
 
     }
     
@@ -38,21 +62,113 @@ public class VendingMachine{
 
     public List<Ingredient> getStockedIngredients(){
 
-        return stockedIngredients;
+        return catalog.getIngredients();
 
     }
 
     /**
-     * Adds an ingredient to the stocked ingredients list and sets the default quantity to 10.
+     * Returns the catalog of the stocked ingredients, which can look up an ingredient by its name or its id.
+     *
+     * @param getCatalog Gets the catalog.
+     * @return the ingredient catalog.
+     */
+
+    public IngredientCatalog getCatalog(){
+
+        return catalog;
+
+    }
+
+    /**
+     * Returns the inventory engine, which reserves and restocks the ingredients safely when many orders come in at once.
+     *
+     * @param getInventory Gets the inventory engine.
+     * @return the inventory engine.
+     */
+
+    public InventoryEngine getInventory(){
+
+        return inventory;
+
+    }
+
+    /**
+     * Returns the stocked ingredient with the given name. The name is not case sensitive.
+     *
+     * @param ingredientName The name of the ingredient.
+     * @return the ingredient, or null if it is not stocked.
+     */
+
+    public Ingredient getIngredient( String ingredientName ){
+
+        return catalog.get( ingredientName );
+
+    }
+
+    /**
+     * Adds an ingredient to the stocked ingredients list and fills it up to its capacity.
      *
      * @param ingredient the Ingredient to be added to the stocked ingredients.
      * @param addStockedIngredient the method to add the ingredient.
+     * @throws IllegalArgumentException if an ingredient with the same name is already stocked.
      */
 
     public void addStockedIngredient( Ingredient ingredient ){
 
-        stockedIngredients.add( ingredient );
-        ingredient.setQuantity(10); // Sets the default quantity to 10 for each ingredient.
+        catalog.add( ingredient );
+        ingredient.setQuantity( ingredient.getCapacity() ); // Fills every ingredient up to its capacity.
+        metrics.ingredientAdded( ingredient.getId() );
+        restockPlanner.ingredientAdded( ingredient.getId() );
+
+    }
+
+    /**
+     * Adds many ingredients to the stocked ingredients list at once and fills each up to its capacity. The
+     * catalog is only copied once, so it is much faster than adding them one at a time.
+     *
+     * @param ingredients the Ingredients to be added to the stocked ingredients, in the order of their ids.
+     * @param addStockedIngredients the method to add the ingredients.
+     * @throws IllegalArgumentException if an ingredient with the same name is already stocked. Then none are added.
+     */
+
+    public void addStockedIngredients( List<Ingredient> ingredients ){
+
+        if( ingredients.isEmpty() ){
+
+            return;
+
+        }
+
+        catalog.addAll( ingredients );
+
+        for( Ingredient ingredient : ingredients ){
+
+            ingredient.setQuantity( ingredient.getCapacity() ); // Fills every ingredient up to its capacity.
+
+        }
+
+        metrics.ingredientAdded( ingredients.get( ingredients.size() - 1 ).getId() );
+        restockPlanner.ingredientAdded( ingredients.get( ingredients.size() - 1 ).getId() );
+
+    }
+
+    /**
+     * Reloads the catalog of the vending machine from an edited catalog file. Ingredients are matched by name: a new
+     * one is stocked full, a changed one keeps its id and its stock, and orders that are in
+     * flight finish with the prices they started with.
+     *
+     * @param ingredients the ingredients as they are in the file, which are not in a catalog yet.
+     * @param reloadCatalog the method to reload the catalog.
+     * @return the number of ingredients that were added or changed
+     */
+
+    public int reloadCatalog( List<Ingredient> ingredients ){
+
+        int changed = catalog.reload( ingredients );
+        metrics.ingredientAdded( catalog.size() - 1 );
+        restockPlanner.ingredientAdded( catalog.size() - 1 );
+
+        return changed;
 
     }
 
@@ -65,12 +181,25 @@ public class VendingMachine{
 
     public List<Ramen> getStockedRamen(){
 
-        return stockedRamen;
+        return menu.getRamen();
 
     }
 
     /**
-     * Allows the ramen customization.
+     * Returns the menu of ramen dishes, which keeps the prices and calories of the presets up to date.
+     *
+     * @param getMenu Gets the menu.
+     * @return the menu
+     */
+
+    public RamenMenu getMenu(){
+
+        return menu;
+
+    }
+
+    /**
+     * Adds a ramen dish, either the customizable one or a preset with a fixed recipe.
      *
      * @param ramen the Ramen to be added.
      * @param addStockedRamen the Ramen to be added to allow the customization.
@@ -78,7 +207,7 @@ public class VendingMachine{
 
     public void addStockedRamen( Ramen ramen ){
 
-        stockedRamen.add( ramen );
+        menu.add( ramen );
 
     }
 
@@ -88,61 +217,512 @@ public class VendingMachine{
      *
      * @param ingredientName The name of the ingredient whose price is to be retrieved.
      * @param getIngredientPrice Method to get the Ingredient price.
-     * @return The price of the specified ingredient, or 0.0 if not found.
+     * @return The price of the specified ingredient in centavos, or 0 if not found.
+     */
+
+    public long getIngredientPrice( String ingredientName ){
+
+        Ingredient ingredient = catalog.get( ingredientName );
+
+        return ( ingredient != null ) ? ingredient.getPrice() : 0; // Return 0 if ingredient not found
+
+    }
+
+    /**
+     * Gets the total money collected.
+     *
+     * @param getTotalMoneyCollected The total money collected.
+     * @return The total money collected in centavos.
+     */
+
+    public long getTotalMoneyCollected(){
+
+        return totalMoneyCollected.get();
+
+    }
+
+    /**
+     * Collects the total amount of money. It is written to the journal before it is counted.
+     *
+     * @param amount The culmination of money to be collected, in centavos.
+     * @param collectMoney Method to call and collect the amount.
+     */
+
+    public void collectMoney( long amount ){
+
+        if( journal != null ){
+
+            journal.awaitDurable( journal.append( OrderJournal.COLLECT, 0, 0, amount ) );
+
+        }
+
+        totalMoneyCollected.addAndGet( amount );
+        moneyChanged();
+
+    }
+
+    /**
+     * Resets the total money collected to zero after admin collects the money. 
+     *
+     * @param resetTotalMoneyCollected The name of the ingredient whose price is to be retrieved.
+     * @return the money that was collected until now, in centavos. Orders paid while the admin is collecting are
+     *         never lost, they are either in this amount or in the next one.
      */
 
-    public double getIngredientPrice( String ingredientName ){
+    public long resetTotalMoneyCollected(){
+
+        long collected = totalMoneyCollected.getAndSet( 0 );
 
-        for( Ingredient ingredient : stockedIngredients ){
+        if( journal != null ){
 
-            if( ingredient.getName().equalsIgnoreCase( ingredientName ) ){
+            try{
 
-                return ingredient.getPrice();
+                journal.awaitDurable( journal.append( OrderJournal.RESET_MONEY, 0, 0, collected ) );
+
+            }catch( RuntimeException | Error e ){
+
+                // The reset is not on the disk, so the money is still in the machine.
+                totalMoneyCollected.addAndGet( collected );
+                throw e;
 
             }
 
         }
 
-        return 0.0; // Return 0 if ingredient not found
+        moneyChanged();
+
+        return collected;
 
     }
 
     /**
-     * Gets the total money collected.
+     * Takes everything above the float out of the cash drawer and fills it up to the float again, like the admin does
+     * when the money is collected, and writes the pieces that were taken out to the journal. If the journal cannot be
+     * written, the pieces are put back.
      *
-     * @param getTotalMoneyCollected The total money collected.
-     * @return The total money collected.
+     * @param resetCashDrawer The method to take the money out of the cash drawer.
+     * @return the value taken out, in centavos, less what was put in to fill the float
      */
 
-    public double getTotalMoneyCollected(){
+    public long resetCashDrawer(){
+
+        long[] taken = new long[ cashDrawer.getDenominationCount() ];
+        long value = cashDrawer.resetToFloat( taken );
+
+        if( journal != null ){
+
+            JournalBatch batch = new JournalBatch( taken.length );
+            long timestamp = System.currentTimeMillis();
+
+            for( int i = 0; i < taken.length; i++ ){
+
+                if( taken[ i ] != 0 ){
+
+                    batch.add( OrderJournal.DRAWER, i, ( int ) -taken[ i ], 0, timestamp );
 
-        return totalMoneyCollected;
+                }
+
+            }
+
+            try{
+
+                if( batch.size() > 0 ){
+
+                    journal.awaitDurable( journal.append( batch ) );
+
+                }
+
+            }catch( RuntimeException | Error e ){
+
+                // The reset is not on the disk, so the pieces are still in the drawer.
+                for( int i = 0; i < taken.length; i++ ){
+
+                    cashDrawer.deposit( i, taken[ i ] );
+
+                }
+
+                throw e;
+
+            }
+
+        }
+
+        return value;
 
     }
 
     /**
-     * Collects the total amount of money.
+     * Restocks the ingredient with the given name, without going over its capacity, and writes the change to the
+     * journal.
      *
-     * @param amount The culmination of money to be collected.
-     * @param collectMoney Method to call and collect the amount.
+     * @param ingredientName The name of the ingredient.
+     * @param quantityToAdd The quantity to add.
+     * @param restockIngredient The method to restock an ingredient.
+     * @return the quantity that was actually added, or -1 if the ingredient is not stocked.
      */
 
-    public void collectMoney( double amount ){
+    public int restockIngredient( String ingredientName, int quantityToAdd ){
+
+        int added = inventory.restock( ingredientName, quantityToAdd );
+
+        if( added < 0 ){
+
+            return added;
+
+        }
 
-        totalMoneyCollected += amount;
+        Ingredient ingredient = catalog.get( ingredientName );
+
+        if( added > 0 && journal != null ){
+
+            try{
+
+                journal.awaitDurable( journal.append( OrderJournal.STOCK, ingredient.getId(), added, 0 ) );
+
+            }catch( RuntimeException | Error e ){
+
+                // The restock is not on the disk, so the stock that was put in is taken out again.
+                ingredient.adjustQuantity( -added );
+                throw e;
+
+            }
+
+        }
+
+        metrics.restocked( ingredient.getId(), added );
+
+        return added;
 
     }
 
     /**
-     * Resets the total money collected to zero after admin collects the money. 
+     * Completes a paid order: the reserved ingredients are used up, the money is collected and the order is recorded.
+     * All of it is written to the journal as one transaction, so after a crash either the whole order is there or none
+     * of it is. The transaction is on the disk before the money and the order are counted; if it cannot be written,
+     * nothing is counted and the reservation is left open, so it can still be rolled back.
      *
-     * @param resetTotalMoneyCollected The name of the ingredient whose price is to be retrieved.
-     * @return 0 after the admin collects the money.
+     * @param reservation The ingredients reserved for the order.
+     * @param order The record of the order, with the total cost that is collected.
+     * @param completeOrder The method to complete an order.
      */
 
-    public void resetTotalMoneyCollected(){
+    public void completeOrder( Reservation reservation, OrderRecord order ){
+
+        completeOrder( reservation, order, null );
+
+    }
+
+    /**
+     * Completes a paid order like completeOrder, and commits its payment: the pieces the cash was put in with, less
+     * the change, are written to the journal in the same transaction, so the cash drawer comes back as well after a
+     * crash. The payment is only committed once the transaction is on the disk; if it cannot be written, the payment
+     * is left open, so it can still be rolled back.
+     *
+     * @param reservation The ingredients reserved for the order.
+     * @param order The record of the order, with the total cost that is collected.
+     * @param payment The cash of the order, with its change already taken, or null if no cash went into the drawer.
+     * @param completeOrder The method to complete an order.
+     */
+
+    public void completeOrder( Reservation reservation, OrderRecord order, CashPayment payment ){
+
+        if( !reservation.commit() ){
 
-        totalMoneyCollected = 0.0;
+            throw new IllegalStateException( "The reservation was already committed or rolled back" );
+
+        }
+
+        if( journal != null ){
+
+            JournalBatch batch = new JournalBatch( reservation.size() + order.getIngredientCount() + cashDrawer.getDenominationCount() + 2 );
+            long timestamp = order.getTimestamp();
+
+            for( int i = 0; i < reservation.size(); i++ ){
+
+                batch.add( OrderJournal.STOCK, reservation.getIngredient( i ).getId(), -reservation.getQuantity( i ), 0, timestamp );
+
+            }
+
+            batch.add( OrderJournal.COLLECT, 0, 0, order.getTotalCost(), timestamp );
+            addPayments( batch, ( payment == null ) ? List.of() : List.of( payment ), timestamp );
+            addOrder( batch, order );
+
+            write( batch, reservation );
+
+        }
+
+        if( payment != null ){
+
+            payment.commit();
+
+        }
+
+        totalMoneyCollected.addAndGet( order.getTotalCost() );
+
+        orderHistory.add( order );
+        restockPlanner.record( order );
+
+        moneyChanged();
+
+    }
+
+    /**
+     * Completes a batch of paid orders whose ingredients were reserved together: the stock is used up once, the money
+     * of all of them is collected at once, their payments are committed and they are recorded in the history together.
+     * The whole batch is one transaction in the journal, so it waits for the disk only once, and it is on the disk
+     * before anything is counted.
+     *
+     * @param reservation The ingredients reserved for all the orders, each ingredient once with the total quantity.
+     * @param orders The records of the orders, in the order they were placed.
+     * @param payments The cash of the orders, with their change already taken.
+     * @param completeOrders The method to complete a batch of orders.
+     */
+
+    public void completeOrders( Reservation reservation, List<OrderRecord> orders, List<CashPayment> payments ){
+
+        if( !reservation.commit() ){
+
+            throw new IllegalStateException( "The reservation was already committed or rolled back" );
+
+        }
+
+        long total = 0;
+        int lines = 0;
+
+        for( int i = 0; i < orders.size(); i++ ){
+
+            total = Math.addExact( total, orders.get( i ).getTotalCost() );
+            lines += orders.get( i ).getIngredientCount() + 1;
+
+        }
+
+        if( journal != null ){
+
+            JournalBatch batch = new JournalBatch( reservation.size() + lines + cashDrawer.getDenominationCount() + 1 );
+            long timestamp = System.currentTimeMillis();
+
+            for( int i = 0; i < reservation.size(); i++ ){
+
+                batch.add( OrderJournal.STOCK, reservation.getIngredient( i ).getId(), -reservation.getQuantity( i ), 0, timestamp );
+
+            }
+
+            batch.add( OrderJournal.COLLECT, 0, 0, total, timestamp );
+            addPayments( batch, payments, timestamp );
+
+            for( int i = 0; i < orders.size(); i++ ){
+
+                addOrder( batch, orders.get( i ) );
+
+            }
+
+            write( batch, reservation );
+
+        }
+
+        for( int i = 0; i < payments.size(); i++ ){
+
+            payments.get( i ).commit();
+
+        }
+
+        totalMoneyCollected.addAndGet( total );
+
+        orderHistory.addAll( orders );
+
+        for( int i = 0; i < orders.size(); i++ ){
+
+            restockPlanner.record( orders.get( i ) );
+
+        }
+
+        moneyChanged();
+
+    }
+
+    /**
+     * Replays the journal into this vending machine and then keeps writing every change to it. It is called once,
+     * after the ingredients are stocked and before any order is placed.
+     *
+     * @param journal The journal to replay and write to.
+     * @param recover The method to rebuild the state from the journal.
+     * @return the number of transactions that were replayed.
+     * @throws IOException if the journal cannot be read.
+     */
+
+    public long recover( OrderJournal journal ) throws IOException{
+
+        return recover( journal, MachineState.of( this ) );
+
+    }
+
+    /**
+     * Starts from a snapshot, replays the part of the journal that was written after it and then keeps writing every
+     * change to the journal. It is called once, after the ingredients are stocked and before any order is placed.
+     *
+     * @param journal The journal to replay and write to.
+     * @param state The state from the snapshot. The journal is replayed into it as well.
+     * @return the number of transactions that were replayed.
+     * @throws IOException if the journal cannot be read or does not reach back to the snapshot.
+     */
+
+    public long recover( OrderJournal journal, MachineState state ) throws IOException{
+
+        long transactions = journal.recover( state.getJournalPosition(), state );
+        state.setJournalPosition( journal.getPosition() );
+        state.applyTo( this );
+        restockPlanner.replay( orderHistory );
+        this.journal = journal;
+
+        moneyChanged();
+
+        return transactions;
+
+    }
+
+    /**
+     * Returns the journal the changes are written to.
+     *
+     * @return the journal, or null if the changes are only kept in memory.
+     */
+
+    public OrderJournal getJournal(){
+
+        return journal;
+
+    }
+
+    /**
+     * Adds a listener that is told about the changes to the stock, the prices and the money. The changes are told on
+     * the thread of the event bus, a burst of them in one call, so a slow listener never delays an order. The bus is
+     * started with the first listener.
+     *
+     * @param listener The listener.
+     * @param addListener The method to add a listener.
+     */
+
+    public synchronized void addListener( MachineListener listener ){
+
+        if( events == null ){
+
+            events = new MachineEventBus( this, MachineEventBus.DEFAULT_FRAME_MILLIS );
+            catalog.addListener( events );
+            catalog.publishTo( events );
+
+        }
+
+        events.addListener( listener );
+
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener.
+     * @param removeListener The method to remove a listener.
+     */
+
+    public synchronized void removeListener( MachineListener listener ){
+
+        if( events != null ){
+
+            events.removeListener( listener );
+
+        }
+
+    }
+
+    /**
+     * Gets the event bus of this vending machine.
+     *
+     * @return the event bus, or null if nobody listens yet
+     */
+
+    public MachineEventBus getEvents(){
+
+        return events;
+
+    }
+
+    /**
+     * Tells the event bus that the money changed.
+     */
+
+    private void moneyChanged(){
+
+        MachineEventBus events = this.events;
+
+        if( events != null ){
+
+            events.moneyChanged();
+
+        }
+
+    }
+
+    /**
+     * Writes the transaction of a committed reservation to the journal and waits until it is on the disk. If that
+     * fails, the reservation is opened again before the error is passed on.
+     */
+
+    private void write( JournalBatch batch, Reservation reservation ){
+
+        try{
+
+            journal.awaitDurable( journal.append( batch ) );
+
+        }catch( RuntimeException | Error e ){
+
+            reservation.reopen();
+            throw e;
+
+        }
+
+    }
+
+    /**
+     * Adds what the payments change in the cash drawer to the batch, one record per denomination that changes: the
+     * pieces the cash was put in with, less the pieces of the change.
+     */
+
+    private void addPayments( JournalBatch batch, List<CashPayment> payments, long timestamp ){
+
+        for( int i = 0; i < cashDrawer.getDenominationCount(); i++ ){
+
+            int pieces = 0;
+
+            for( int j = 0; j < payments.size(); j++ ){
+
+                pieces += payments.get( j ).getTenderedPieces( i ) - payments.get( j ).getChangePieces( i );
+
+            }
+
+            if( pieces != 0 ){
+
+                batch.add( OrderJournal.DRAWER, i, pieces, 0, timestamp );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Adds the records of an order to the batch, one per ingredient and one for the totals.
+     *
+     * @param batch The batch of the transaction.
+     * @param order The order.
+     */
+
+    private void addOrder( JournalBatch batch, OrderRecord order ){
+
+        for( int i = 0; i < order.getIngredientCount(); i++ ){
+
+            batch.add( OrderJournal.ORDER_LINE, order.getIngredientId( i ), order.getQuantity( i ), 0, order.getTimestamp() );
+
+        }
+
+        batch.add( OrderJournal.ORDER_END, order.getTotalCalories(), 0, order.getTotalCost(), order.getTimestamp() );
 
     }
 
@@ -153,21 +733,69 @@ public class VendingMachine{
      * @param recordOrderHistory The method to call the order details to be recorded.
      */
 
-     public void recordOrder(String order) {
+     public void recordOrder( OrderRecord order ) {
+
+        if( journal != null ){
+
+            JournalBatch batch = new JournalBatch( order.getIngredientCount() + 1 );
+            addOrder( batch, order );
+
+            journal.awaitDurable( journal.append( batch ) );
+
+        }
 
         orderHistory.add(order);
+        restockPlanner.record( order );
 
     }
     
 
+    /**
+     * Gets the metrics of this vending machine.
+     *
+     * @return the metrics
+     */
+
+    public MachineMetrics getMetrics(){
+
+        return metrics;
+
+    }
+
+    /**
+     * Gets the restock planner of this vending machine, which knows how fast every ingredient is used.
+     *
+     * @param getRestockPlanner gets the restock planner.
+     * @return the restock planner
+     */
+
+    public RestockPlanner getRestockPlanner(){
+
+        return restockPlanner;
+
+    }
+
+    /**
+     * Gets the cash drawer of this vending machine, which holds the coins and bills the change is made from.
+     *
+     * @param getCashDrawer gets the cash drawer.
+     * @return the cash drawer
+     */
+
+    public CashDrawer getCashDrawer(){
+
+        return cashDrawer;
+
+    }
+
     /**
      * Gets the order history.
      *
      * @param getOrderHistory gets the order history.
-     * @return The list of order history.
+     * @return The order history, which keeps the most recent orders.
      */
 
-    public List<String> getOrderHistory(){
+    public OrderHistory getOrderHistory(){
 
         return orderHistory;
 
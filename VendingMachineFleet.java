@@ -0,0 +1,290 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This class runs many vending machines, one per kiosk, in the same program. Every machine keeps its own stock, money
+ * and order history, and orders at one kiosk never wait for another kiosk. Questions about the whole fleet, like the
+ * money collected or which machines are running low, are answered by going over the machines in parallel.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class VendingMachineFleet{
+
+    public static final int DEFAULT_HISTORY_CAPACITY = 100; // The number of orders every kiosk keeps in memory
+
+    private volatile String[] ids;                 // Adds the id of every kiosk, by index
+    private volatile VendingMachine[] machines;    // Adds the vending machine of every kiosk, by index
+    private volatile OrderService[] orderServices; // Adds the order service of every kiosk, by index
+    private Map< String, Integer > indexes;        // Adds the index of every kiosk, by id
+
+    /**
+     * Constructs a fleet without machines.
+     *
+     * @param VendingMachineFleet The constructor of the fleet.
+     */
+
+    public VendingMachineFleet(){
+
+        ids = new String[ 0 ];
+        machines = new VendingMachine[ 0 ];
+        orderServices = new OrderService[ 0 ];
+        indexes = new ConcurrentHashMap<>();
+
+    }
+
+    /**
+     * Builds a fleet of kiosks named kiosk-0001, kiosk-0002 and so on, each stocked like the real machine and keeping
+     * its orders in memory only.
+     *
+     * @param count The number of kiosks.
+     * @param historyCapacity The number of orders every kiosk keeps in memory.
+     * @param create The method to build a fleet.
+     * @return the fleet
+     */
+
+    public static VendingMachineFleet create( int count, int historyCapacity ){
+
+        VendingMachineFleet fleet = new VendingMachineFleet();
+        VendingMachine[] created = new VendingMachine[ count ];
+        List<Ingredient> catalog = RamenApp.loadCatalog();
+
+        // The machines do not share anything, so they are built in parallel.
+        IntStream.range( 0, count ).parallel().forEach( i -> {
+
+            created[ i ] = new VendingMachine( new OrderHistory( historyCapacity, null ) );
+            RamenApp.stockVendingMachine( created[ i ], catalog );
+
+        } );
+
+        for( int i = 0; i < count; i++ ){
+
+            fleet.addMachine( String.format( "kiosk-%04d", i + 1 ), created[ i ] );
+
+        }
+
+        return fleet;
+
+    }
+
+    /**
+     * Adds a kiosk to the fleet.
+     *
+     * @param id The id of the kiosk.
+     * @param vendingMachine The vending machine of the kiosk.
+     * @param addMachine The method to add a kiosk.
+     * @return the index of the kiosk
+     * @throws IllegalArgumentException if there is already a kiosk with the same id.
+     */
+
+    public synchronized int addMachine( String id, VendingMachine vendingMachine ){
+
+        if( indexes.containsKey( id ) ){
+
+            throw new IllegalArgumentException( "There is already a kiosk called " + id );
+
+        }
+
+        int index = machines.length;
+
+        String[] moreIds = Arrays.copyOf( ids, index + 1 );
+        VendingMachine[] moreMachines = Arrays.copyOf( machines, index + 1 );
+        OrderService[] moreOrderServices = Arrays.copyOf( orderServices, index + 1 );
+
+        moreIds[ index ] = id;
+        moreMachines[ index ] = vendingMachine;
+        moreOrderServices[ index ] = new OrderService( vendingMachine );
+
+        // The order services are published last, so a kiosk can only be ordered from once everything else is there.
+        ids = moreIds;
+        machines = moreMachines;
+        orderServices = moreOrderServices;
+        indexes.put( id, index );
+
+        return index;
+
+    }
+
+    /**
+     * Gets the number of kiosks.
+     *
+     * @return the number of kiosks
+     */
+
+    public int size(){
+
+        return orderServices.length;
+
+    }
+
+    /**
+     * Gets the id of a kiosk.
+     *
+     * @param index The index of the kiosk.
+     * @return the id
+     */
+
+    public String getId( int index ){
+
+        return ids[ index ];
+
+    }
+
+    /**
+     * Gets the index of a kiosk.
+     *
+     * @param id The id of the kiosk.
+     * @return the index, or -1 if there is no such kiosk
+     */
+
+    public int indexOf( String id ){
+
+        Integer index = indexes.get( id );
+
+        return ( index != null ) ? index : -1;
+
+    }
+
+    /**
+     * Gets the vending machine of a kiosk.
+     *
+     * @param index The index of the kiosk.
+     * @return the vending machine
+     */
+
+    public VendingMachine getMachine( int index ){
+
+        return machines[ index ];
+
+    }
+
+    /**
+     * Gets the order service of a kiosk, which is where its orders are placed.
+     *
+     * @param index The index of the kiosk.
+     * @return the order service
+     */
+
+    public OrderService getOrderService( int index ){
+
+        return orderServices[ index ];
+
+    }
+
+    /**
+     * Adds up the money collected by every kiosk.
+     *
+     * @return the money in centavos
+     */
+
+    public long getTotalMoneyCollected(){
+
+        VendingMachine[] all = machines;
+
+        return IntStream.range( 0, all.length ).parallel().mapToLong( i -> all[ i ].getTotalMoneyCollected() ).sum();
+
+    }
+
+    /**
+     * Adds up the orders placed at every kiosk.
+     *
+     * @return the number of orders
+     */
+
+    public long getTotalOrdersPlaced(){
+
+        VendingMachine[] all = machines;
+
+        return IntStream.range( 0, all.length ).parallel().mapToLong( i -> all[ i ].getMetrics().getOrdersPlaced() ).sum();
+
+    }
+
+    /**
+     * Finds the kiosks that have an ingredient at or below the given quantity.
+     *
+     * @param threshold The quantity.
+     * @param getLowStockMachines The method to find the kiosks that are running low.
+     * @return the ids of the kiosks, in the order they were added
+     */
+
+    public List<String> getLowStockMachines( int threshold ){
+
+        VendingMachine[] all = machines;
+        String[] allIds = ids;
+
+        return IntStream.range( 0, Math.min( all.length, allIds.length ) ).parallel()
+                .filter( i -> isLowOnStock( all[ i ], threshold ) )
+                .mapToObj( i -> allIds[ i ] )
+                .collect( Collectors.toCollection( ArrayList::new ) );
+
+    }
+
+    /**
+     * Finds the kiosks that have an ingredient at or below its own low-water mark.
+     *
+     * @param getLowStockMachines The method to find the kiosks that need restocking.
+     * @return the ids of the kiosks, in the order they were added
+     */
+
+    public List<String> getLowStockMachines(){
+
+        VendingMachine[] all = machines;
+        String[] allIds = ids;
+
+        return IntStream.range( 0, Math.min( all.length, allIds.length ) ).parallel()
+                .filter( i -> isBelowLowWaterMark( all[ i ] ) )
+                .mapToObj( i -> allIds[ i ] )
+                .collect( Collectors.toCollection( ArrayList::new ) );
+
+    }
+
+    /**
+     * Checks if a vending machine has an ingredient at or below its low-water mark.
+     */
+
+    private static boolean isBelowLowWaterMark( VendingMachine vendingMachine ){
+
+        for( Ingredient ingredient : vendingMachine.getCatalog().getIngredients() ){
+
+            if( ingredient.isLow() ){
+
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Checks if a vending machine has an ingredient at or below the given quantity.
+     */
+
+    private static boolean isLowOnStock( VendingMachine vendingMachine, int threshold ){
+
+        IngredientCatalog catalog = vendingMachine.getCatalog();
+
+        for( int id = 0; id < catalog.size(); id++ ){
+
+            if( catalog.get( id ).getQuantity() <= threshold ){
+
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+}
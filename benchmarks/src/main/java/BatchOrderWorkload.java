@@ -0,0 +1,61 @@
+import java.util.List;
+
+/**
+ * This workload places the same bursts of orders as SingleOrder, but each burst with one call to
+ * OrderService.placeOrders, which checks the stock in one pass, reserves it once and writes one journal
+ * transaction.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class BatchOrderWorkload extends SingleOrderWorkload{
+
+    /**
+     * Constructs the workload without a journal.
+     */
+
+    public BatchOrderWorkload(){
+
+        this( false );
+
+    }
+
+    /**
+     * Constructs the workload.
+     *
+     * @param journaled If true, the orders are written to a journal in a temporary folder and wait for the disk.
+     */
+
+    protected BatchOrderWorkload( boolean journaled ){
+
+        super( journaled );
+
+    }
+
+    /**
+     * Places one burst of orders as one batch.
+     */
+
+    @Override
+    public long run( int step ){
+
+        List<OrderResult> results = orderService.placeOrders( bursts.get( step % bursts.size() ) );
+        long accepted = 0;
+
+        for( int i = 0; i < results.size(); i++ ){
+
+            if( results.get( i ).isAccepted() ){
+
+                accepted++;
+
+            }
+
+        }
+
+        return accepted;
+
+    }
+
+}
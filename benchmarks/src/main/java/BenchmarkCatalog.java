@@ -0,0 +1,183 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class builds the vending machines the benchmarks run against. The first nine ingredients are the ones the
+ * real machine stocks, the rest are made up toppings with the same kind of prices and calories.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public final class BenchmarkCatalog{
+
+    public static final long SEED = 42; // The seed of every random choice, so runs can be compared
+
+    private static final String[] NAMES = { "Noodles", "Egg", "Chashu Pork", "Fried Tofu", "Negi", "Tonkotsu Broth", "Ukokkei Broth", "Miso Broth", "Shio Broth" };
+    private static final int[] CALORIES = { 300, 100, 400, 150, 50, 200, 180, 250, 220 };
+    private static final int[] PESOS = { 20, 30, 100, 20, 10, 60, 60, 60, 60 };
+
+    /**
+     * There are no BenchmarkCatalog objects.
+     */
+
+    private BenchmarkCatalog(){
+
+    }
+
+    /**
+     * Builds a vending machine with the given number of ingredients and an order history that is only kept in memory.
+     *
+     * @param catalogSize The number of ingredients.
+     * @param vendingMachine The method to build a vending machine.
+     * @return the vending machine
+     */
+
+    public static VendingMachine vendingMachine( int catalogSize ){
+
+        return vendingMachine( catalogSize, Ingredient.DEFAULT_CAPACITY );
+
+    }
+
+    /**
+     * Builds a vending machine with the given number of ingredients, each holding the given capacity, and an order
+     * history that is only kept in memory. The low-water mark of every ingredient is a fifth of its capacity.
+     *
+     * @param catalogSize The number of ingredients.
+     * @param capacity The most every ingredient holds.
+     * @param vendingMachine The method to build a vending machine.
+     * @return the vending machine, with every ingredient full
+     */
+
+    public static VendingMachine vendingMachine( int catalogSize, int capacity ){
+
+        VendingMachine vendingMachine = new VendingMachine( new OrderHistory( OrderHistory.DEFAULT_CAPACITY, null ) );
+        List<Ingredient> ingredients = new ArrayList<>( catalogSize );
+
+        for( int i = 0; i < catalogSize; i++ ){
+
+            if( i < NAMES.length ){
+
+                ingredients.add( new Ingredient( NAMES[ i ], CALORIES[ i ], Money.pesos( PESOS[ i ] ), "ramen.jpg", null, capacity, capacity / 5 ) );
+
+            }
+
+            else{
+
+                ingredients.add( new Ingredient( "Topping " + i, CALORIES[ i % CALORIES.length ], Money.pesos( PESOS[ i % PESOS.length ] ), "ramen.jpg", null, capacity, capacity / 5 ) );
+
+            }
+
+        }
+
+        vendingMachine.addStockedIngredients( ingredients );
+
+        return vendingMachine;
+
+    }
+
+    /**
+     * Gets the names of the stocked ingredients in a shuffled order, so lookups do not walk the catalog in order.
+     *
+     * @param vendingMachine The vending machine.
+     * @param shuffledNames The method to get the names.
+     * @return the names
+     */
+
+    public static String[] shuffledNames( VendingMachine vendingMachine ){
+
+        List<String> names = new ArrayList<>();
+
+        for( Ingredient ingredient : vendingMachine.getStockedIngredients() ){
+
+            names.add( ingredient.getName() );
+
+        }
+
+        Collections.shuffle( names, new Random( SEED ) );
+
+        return names.toArray( new String[ 0 ] );
+
+    }
+
+    /**
+     * Builds orders of a few random ingredients, one of each, like the customize window sends.
+     *
+     * @param vendingMachine The vending machine.
+     * @param count The number of orders.
+     * @param ingredientsPerOrder The number of ingredients in every order.
+     * @param orders The method to build orders.
+     * @return the orders, ingredient names and quantities
+     */
+
+    public static List< Map< String, Integer > > orders( VendingMachine vendingMachine, int count, int ingredientsPerOrder ){
+
+        List<Ingredient> ingredients = vendingMachine.getStockedIngredients();
+        List< Map< String, Integer > > orders = new ArrayList<>( count );
+        Random random = new Random( SEED );
+
+        for( int i = 0; i < count; i++ ){
+
+            Map< String, Integer > order = new LinkedHashMap<>();
+
+            while( order.size() < Math.min( ingredientsPerOrder, ingredients.size() ) ){
+
+                order.put( ingredients.get( random.nextInt( ingredients.size() ) ).getName(), 1 );
+
+            }
+
+            orders.add( order );
+
+        }
+
+        return orders;
+
+    }
+
+    /**
+     * Builds the history records of the given orders.
+     *
+     * @param vendingMachine The vending machine.
+     * @param orders The orders.
+     * @param records The method to build history records.
+     * @return the records
+     */
+
+    public static OrderRecord[] records( VendingMachine vendingMachine, List< Map< String, Integer > > orders ){
+
+        OrderRecord[] records = new OrderRecord[ orders.size() ];
+
+        for( int i = 0; i < records.length; i++ ){
+
+            Map< String, Integer > order = orders.get( i );
+            int[] ids = new int[ order.size() ];
+            int[] quantities = new int[ order.size() ];
+            int calories = 0;
+            long cost = 0;
+            int j = 0;
+
+            for( Map.Entry< String, Integer > entry : order.entrySet() ){
+
+                Ingredient ingredient = vendingMachine.getIngredient( entry.getKey() );
+                ids[ j ] = ingredient.getId();
+                quantities[ j ] = entry.getValue();
+                calories += ingredient.getCalorieCount() * entry.getValue();
+                cost += Money.times( ingredient.getPrice(), entry.getValue() );
+                j++;
+
+            }
+
+            records[ i ] = new OrderRecord( System.currentTimeMillis(), ids, quantities, calories, cost );
+
+        }
+
+        return records;
+
+    }
+
+}
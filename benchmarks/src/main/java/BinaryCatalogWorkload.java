@@ -0,0 +1,34 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * This workload reads the same catalog as TextCatalog from its compiled form, which is memory mapped, the way the
+ * program reads catalog.bin when it starts.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class BinaryCatalogWorkload extends TextCatalogWorkload{
+
+    /**
+     * Reads the compiled catalog.
+     */
+
+    @Override
+    public long run( int step ){
+
+        try{
+
+            return CatalogFile.readBinary( binary ).size();
+
+        }catch( IOException e ){
+
+            throw new UncheckedIOException( e );
+
+        }
+
+    }
+
+}
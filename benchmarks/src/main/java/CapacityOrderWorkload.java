@@ -0,0 +1,81 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload places orders of five ingredients on the real catalog of nine ingredients, each holding the capacity
+ * given to setUp, like a lunch rush. When an order cannot be filled the attendant fills every ingredient up to its
+ * capacity and the order is placed again, so the time of the refills is part of the time of the orders. At a capacity
+ * of 10 the machine is refilled every few orders; at a capacity in the thousands it almost never is.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class CapacityOrderWorkload implements Workload{
+
+    public static final int CATALOG_SIZE = 9;   // The number of stocked ingredients, like the real machine
+    public static final int ORDERS = 1024;      // The number of different orders
+
+    private VendingMachine vendingMachine;      // Adds the vending machine
+    private OrderService orderService;          // Adds the order service
+    private List<OrderRequest> requests;        // Adds the orders, paid in full
+
+    /**
+     * Builds the vending machine at the given capacity and the orders.
+     */
+
+    @Override
+    public void setUp( int capacity ){
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( CATALOG_SIZE, capacity );
+        orderService = new OrderService( vendingMachine );
+        requests = new ArrayList<>( ORDERS );
+
+        for( Map< String, Integer > order : BenchmarkCatalog.orders( vendingMachine, ORDERS, 5 ) ){
+
+            requests.add( new OrderRequest( order, orderService.quote( order ).getTotalCost() ) );
+
+        }
+
+    }
+
+    /**
+     * Places one order, and refills the machine and places it again if it could not be filled.
+     */
+
+    @Override
+    public long run( int step ){
+
+        OrderRequest request = requests.get( step % requests.size() );
+        OrderResult result = orderService.placeOrder( request );
+
+        if( result.getStatus() == OrderStatus.UNAVAILABLE ){
+
+            for( Ingredient ingredient : vendingMachine.getCatalog().getIngredients() ){
+
+                vendingMachine.restockIngredient( ingredient.getName(), ingredient.getCapacity() - ingredient.getQuantity() );
+
+            }
+
+            result = orderService.placeOrder( request );
+
+        }
+
+        return result.isAccepted() ? 1 : 0;
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
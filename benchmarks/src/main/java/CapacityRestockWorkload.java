@@ -0,0 +1,57 @@
+import benchmarks.Workload;
+
+/**
+ * This workload takes half of the capacity given to setUp out of an ingredient and restocks it again with
+ * VendingMachine.restockIngredient, the way an attendant refills a bin of a busy site in one go. A restock is one
+ * atomic add no matter how large it is, so the time should not grow with the capacity.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class CapacityRestockWorkload implements Workload{
+
+    public static final int CATALOG_SIZE = 9;   // The number of stocked ingredients, like the real machine
+
+    private VendingMachine vendingMachine;      // Adds the vending machine
+    private String[] names;                     // Adds the names that are restocked
+    private int refill;                         // Adds the quantity taken and restocked every time
+
+    /**
+     * Builds the vending machine at the given capacity and shuffles the names.
+     */
+
+    @Override
+    public void setUp( int capacity ){
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( CATALOG_SIZE, capacity );
+        names = BenchmarkCatalog.shuffledNames( vendingMachine );
+        refill = Math.max( 1, capacity / 2 );
+
+    }
+
+    /**
+     * Takes half of the capacity of an ingredient and restocks it.
+     */
+
+    @Override
+    public long run( int step ){
+
+        String name = names[ step % names.length ];
+        vendingMachine.getIngredient( name ).tryTake( refill );
+
+        return vendingMachine.restockIngredient( name, refill );
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
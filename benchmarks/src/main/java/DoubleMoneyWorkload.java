@@ -0,0 +1,100 @@
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload is the money path as it was before prices were kept in centavos: the cost of an order of five
+ * ingredients is added up in doubles, the change is worked out, the cost is added to a double total behind a lock
+ * and rounded to centavos for the journal. It is kept to compare against LongMoneyWorkload.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class DoubleMoneyWorkload implements Workload{
+
+    private double[][] prices;        // Adds the prices of the ingredients of every order, in pesos
+    private int[][] quantities;       // Adds the quantities of every order
+    private double cashTendered;      // Adds the cash the customer puts in
+    private double totalMoneyCollected; // Adds the money collected
+    private Object moneyLock;         // Adds the lock of the money collected
+
+    /**
+     * Builds the orders.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        VendingMachine vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        List< Map< String, Integer > > orders = BenchmarkCatalog.orders( vendingMachine, 64, 5 );
+
+        prices = new double[ orders.size() ][];
+        quantities = new int[ orders.size() ][];
+        cashTendered = 1000.0;
+        moneyLock = new Object();
+
+        for( int i = 0; i < orders.size(); i++ ){
+
+            prices[ i ] = new double[ orders.get( i ).size() ];
+            quantities[ i ] = new int[ orders.get( i ).size() ];
+            int j = 0;
+
+            for( Map.Entry< String, Integer > entry : orders.get( i ).entrySet() ){
+
+                prices[ i ][ j ] = vendingMachine.getIngredientPrice( entry.getKey() ) / 100.0;
+                quantities[ i ][ j ] = entry.getValue();
+                j++;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Pays for one order.
+     */
+
+    @Override
+    public long run( int step ){
+
+        int order = step % prices.length;
+        double totalCost = 0.0;
+
+        for( int j = 0; j < prices[ order ].length; j++ ){
+
+            totalCost += prices[ order ][ j ] * quantities[ order ][ j ];
+
+        }
+
+        if( cashTendered < totalCost ){
+
+            return 0;
+
+        }
+
+        double change = cashTendered - totalCost;
+
+        synchronized( moneyLock ){
+
+            totalMoneyCollected += totalCost;
+
+        }
+
+        return Math.round( totalCost * 100 ) + Math.round( change * 100 );
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
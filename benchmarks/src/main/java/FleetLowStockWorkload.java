@@ -0,0 +1,56 @@
+import java.util.List;
+
+import benchmarks.Workload;
+
+/**
+ * This workload finds the kiosks of a fleet that are running low on an ingredient, in parallel. One kiosk in ten is
+ * low.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class FleetLowStockWorkload implements Workload{
+
+    private VendingMachineFleet fleet; // Adds the fleet
+
+    /**
+     * Builds the fleet and runs every tenth kiosk low on one ingredient.
+     */
+
+    @Override
+    public void setUp( int fleetSize ){
+
+        fleet = VendingMachineFleet.create( fleetSize, VendingMachineFleet.DEFAULT_HISTORY_CAPACITY );
+
+        for( int i = 0; i < fleet.size(); i += 10 ){
+
+            List<Ingredient> ingredients = fleet.getMachine( i ).getStockedIngredients();
+            ingredients.get( i % ingredients.size() ).tryTake( 9 );
+
+        }
+
+    }
+
+    /**
+     * Finds the kiosks once.
+     */
+
+    @Override
+    public long run( int step ){
+
+        return fleet.getLowStockMachines( 2 ).size();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
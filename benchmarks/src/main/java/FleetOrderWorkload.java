@@ -0,0 +1,83 @@
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload places orders of three ingredients at random kiosks of a fleet, paid with a thousand peso bill. When
+ * a kiosk runs out of stock or of change, the order is turned away and the kiosk is restocked or its cash drawer is
+ * filled back to its float, like an attendant would.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class FleetOrderWorkload implements Workload{
+
+    private VendingMachineFleet fleet;     // Adds the fleet
+    private OrderRequest[] requests;       // Adds the orders that are placed
+
+    /**
+     * Builds the fleet and the orders.
+     */
+
+    @Override
+    public void setUp( int fleetSize ){
+
+        fleet = VendingMachineFleet.create( fleetSize, VendingMachineFleet.DEFAULT_HISTORY_CAPACITY );
+
+        List< Map< String, Integer > > orders = BenchmarkCatalog.orders( fleet.getMachine( 0 ), 64, 3 );
+        requests = new OrderRequest[ orders.size() ];
+
+        for( int i = 0; i < requests.length; i++ ){
+
+            requests[ i ] = new OrderRequest( orders.get( i ), Money.pesos( 1000 ) );
+
+        }
+
+    }
+
+    /**
+     * Places one order at a random kiosk.
+     */
+
+    @Override
+    public long run( int step ){
+
+        int kiosk = ( ( step * 0x9E3779B1 ) >>> 1 ) % fleet.size();
+        OrderRequest request = requests[ step % requests.length ];
+        OrderResult result = fleet.getOrderService( kiosk ).placeOrder( request );
+
+        if( result.getStatus() == OrderStatus.UNAVAILABLE ){
+
+            VendingMachine vendingMachine = fleet.getMachine( kiosk );
+
+            for( String name : request.getIngredients().keySet() ){
+
+                vendingMachine.restockIngredient( name, 10 );
+
+            }
+
+        }
+
+        else if( result.getStatus() == OrderStatus.NO_CHANGE ){
+
+            fleet.getMachine( kiosk ).resetCashDrawer();
+
+        }
+
+        return result.getChange();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
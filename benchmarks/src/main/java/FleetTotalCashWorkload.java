@@ -0,0 +1,52 @@
+import benchmarks.Workload;
+
+/**
+ * This workload adds up the money collected by every kiosk of a fleet, in parallel.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class FleetTotalCashWorkload implements Workload{
+
+    private VendingMachineFleet fleet; // Adds the fleet
+
+    /**
+     * Builds the fleet and gives every kiosk some money.
+     */
+
+    @Override
+    public void setUp( int fleetSize ){
+
+        fleet = VendingMachineFleet.create( fleetSize, VendingMachineFleet.DEFAULT_HISTORY_CAPACITY );
+
+        for( int i = 0; i < fleet.size(); i++ ){
+
+            fleet.getMachine( i ).collectMoney( Money.pesos( i % 500 ) );
+
+        }
+
+    }
+
+    /**
+     * Adds up the money once.
+     */
+
+    @Override
+    public long run( int step ){
+
+        return fleet.getTotalMoneyCollected();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
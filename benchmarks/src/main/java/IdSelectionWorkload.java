@@ -0,0 +1,83 @@
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload puts together an order of five ingredients in IngredientQuantities, the way the customize window
+ * does, and then goes over it to add up the calories, looking every ingredient up by id. Every thread clears and
+ * reuses its own quantities for every order, so it should create nothing. Compare it with MapSelection.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class IdSelectionWorkload implements Workload{
+
+    private IngredientCatalog catalog;       // Adds the catalog of the vending machine
+    private int[][] orders;                  // Adds the ids of the ingredients of every order
+    private ThreadLocal<IngredientQuantities> selections; // Adds the order every thread puts together, it is reused
+
+    /**
+     * Builds the vending machine and the orders.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        VendingMachine vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        List< Map< String, Integer > > chosen = BenchmarkCatalog.orders( vendingMachine, 64, 5 );
+
+        catalog = vendingMachine.getCatalog();
+        orders = new int[ chosen.size() ][];
+        selections = ThreadLocal.withInitial( () -> new IngredientQuantities( catalog.size() ) );
+
+        for( int i = 0; i < orders.length; i++ ){
+
+            orders[ i ] = chosen.get( i ).keySet().stream().mapToInt( name -> catalog.get( name ).getId() ).toArray();
+
+        }
+
+    }
+
+    /**
+     * Puts together one order and adds up its calories.
+     */
+
+    @Override
+    public long run( int step ){
+
+        int[] ids = orders[ step % orders.length ];
+        IngredientQuantities selection = selections.get();
+
+        selection.clear();
+
+        for( int id : ids ){
+
+            selection.set( id, 1 );
+
+        }
+
+        long calories = 0;
+
+        for( int i = 0; i < selection.size(); i++ ){
+
+            calories += catalog.get( selection.getId( i ) ).getCalorieCount() * selection.getQuantityAt( i );
+
+        }
+
+        return calories;
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
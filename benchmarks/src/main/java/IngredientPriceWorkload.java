@@ -0,0 +1,48 @@
+import benchmarks.Workload;
+
+/**
+ * This workload looks up the price of an ingredient by its name with VendingMachine.getIngredientPrice.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class IngredientPriceWorkload implements Workload{
+
+    private VendingMachine vendingMachine; // Adds the vending machine
+    private String[] names;                // Adds the names that are looked up
+
+    /**
+     * Builds the vending machine and shuffles the names.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        names = BenchmarkCatalog.shuffledNames( vendingMachine );
+
+    }
+
+    /**
+     * Looks up one price.
+     */
+
+    @Override
+    public long run( int step ){
+
+        return vendingMachine.getIngredientPrice( names[ step % names.length ] );
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
@@ -0,0 +1,55 @@
+import benchmarks.Workload;
+
+/**
+ * This workload builds the text of a ramen dish with Ramen.getIngredientsAsString. The dish has every stocked
+ * ingredient, so the text grows with the catalog.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class IngredientsAsStringWorkload implements Workload{
+
+    private Ramen ramen; // Adds the ramen dish
+
+    /**
+     * Builds a ramen dish with every stocked ingredient.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        VendingMachine vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+
+        ramen = new Ramen( vendingMachine.getCatalog() );
+
+        for( Ingredient ingredient : vendingMachine.getStockedIngredients() ){
+
+            ramen.add( ingredient, 1 );
+
+        }
+
+    }
+
+    /**
+     * Builds the text of the dish.
+     */
+
+    @Override
+    public long run( int step ){
+
+        return ramen.getIngredientsAsString().length();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
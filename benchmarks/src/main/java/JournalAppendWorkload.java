@@ -0,0 +1,119 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import benchmarks.Workload;
+
+/**
+ * This workload writes transactions with OrderJournal.append and never waits for the disk, so it measures how fast
+ * records go into the mapped segments and not how fast the disk forces them. Every time a segment is full the ones
+ * before it are deleted, so a long run does not fill the disk.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class JournalAppendWorkload implements Workload{
+
+    private Path directory;         // Adds the temporary folder of the journal
+    private OrderJournal journal;   // Adds the journal
+    private JournalBatch batch;     // Adds the transaction that is written again and again
+
+    /**
+     * Opens an empty journal in a temporary folder and builds the transaction.
+     */
+
+    @Override
+    public void setUp( int recordsPerTransaction ) throws IOException{
+
+        directory = Files.createTempDirectory( "journal-append-benchmark" );
+        journal = new OrderJournal( directory );
+        journal.recover( null );
+        batch = orderBatch( recordsPerTransaction );
+
+    }
+
+    /**
+     * Writes one transaction, and deletes the full segments once a new one was started.
+     */
+
+    @Override
+    public long run( int step ){
+
+        long end = journal.append( batch );
+
+        if( end % OrderJournal.DEFAULT_SEGMENT_SIZE < ( long ) batch.size() * OrderJournal.RECORD_SIZE ){
+
+            try{
+
+                journal.deleteSegmentsBefore( end );
+
+            }catch( IOException e ){
+
+                throw new UncheckedIOException( e );
+
+            }
+
+        }
+
+        return end;
+
+    }
+
+    /**
+     * Closes the journal and deletes its folder.
+     */
+
+    @Override
+    public void tearDown() throws IOException{
+
+        journal.close();
+        delete( directory );
+
+    }
+
+    /**
+     * Builds the transaction of an order with the given number of records: one line for every ingredient and the end
+     * of the order.
+     *
+     * @param records The number of records, at least 1.
+     * @return the transaction
+     */
+
+    static JournalBatch orderBatch( int records ){
+
+        JournalBatch batch = new JournalBatch( records );
+        long timestamp = System.currentTimeMillis();
+
+        for( int i = 0; i < records - 1; i++ ){
+
+            batch.add( OrderJournal.ORDER_LINE, i, 1, 0, timestamp );
+
+        }
+
+        return batch.add( OrderJournal.ORDER_END, 650, 0, Money.pesos( 230 ), timestamp );
+
+    }
+
+    /**
+     * Deletes a folder and everything in it.
+     *
+     * @param directory The folder.
+     * @throws IOException if the folder cannot be read.
+     */
+
+    static void delete( Path directory ) throws IOException{
+
+        try( Stream<Path> files = Files.walk( directory ) ){
+
+            files.sorted( Comparator.reverseOrder() ).forEach( file -> file.toFile().delete() );
+
+        }
+
+    }
+
+}
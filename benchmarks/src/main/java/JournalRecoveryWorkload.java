@@ -0,0 +1,85 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import benchmarks.Workload;
+
+/**
+ * This workload reads a whole journal back with OrderJournal.recover, like the vending machine does when it starts
+ * without a snapshot. The journal is written once when the workload is set up, in transactions of five records like
+ * an order of four ingredients, and every run opens it again and recovers it from the start.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class JournalRecoveryWorkload implements Workload{
+
+    public static final int RECORDS_PER_TRANSACTION = 5; // The records of every transaction in the journal
+
+    private Path directory;     // Adds the temporary folder of the journal
+    private long checksum;      // Adds the sum of the quantities read back, so the reading is not optimized away
+
+    /**
+     * Writes a journal with the given number of records, rounded down to whole transactions, to a temporary folder.
+     */
+
+    @Override
+    public void setUp( int records ) throws IOException{
+
+        directory = Files.createTempDirectory( "journal-recovery-benchmark" );
+
+        OrderJournal journal = new OrderJournal( directory );
+        JournalBatch batch = JournalAppendWorkload.orderBatch( RECORDS_PER_TRANSACTION );
+
+        journal.recover( null );
+
+        for( int i = 0; i < records / RECORDS_PER_TRANSACTION; i++ ){
+
+            journal.append( batch );
+
+        }
+
+        journal.awaitDurable( journal.getPosition() );
+        journal.close();
+
+    }
+
+    /**
+     * Opens the journal and recovers every record in it.
+     */
+
+    @Override
+    public long run( int step ){
+
+        OrderJournal journal = new OrderJournal( directory );
+
+        try{
+
+            long transactions = journal.recover( ( type, id, quantity, amount, timestamp ) -> checksum += quantity );
+            journal.close();
+
+            return transactions + checksum;
+
+        }catch( IOException e ){
+
+            throw new UncheckedIOException( e );
+
+        }
+
+    }
+
+    /**
+     * Deletes the folder of the journal.
+     */
+
+    @Override
+    public void tearDown() throws IOException{
+
+        JournalAppendWorkload.delete( directory );
+
+    }
+
+}
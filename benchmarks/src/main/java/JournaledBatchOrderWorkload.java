@@ -0,0 +1,21 @@
+/**
+ * This workload is BatchOrder with a journal, so every batch waits for the disk.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class JournaledBatchOrderWorkload extends BatchOrderWorkload{
+
+    /**
+     * Constructs the workload with a journal.
+     */
+
+    public JournaledBatchOrderWorkload(){
+
+        super( true );
+
+    }
+
+}
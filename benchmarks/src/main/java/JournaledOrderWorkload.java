@@ -0,0 +1,71 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import benchmarks.Workload;
+
+/**
+ * This workload records orders with VendingMachine.recordOrder while the vending machine writes to an OrderJournal
+ * in a temporary folder, so every call waits until its order is forced to the disk. Threads that order at the same
+ * time share the forces.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class JournaledOrderWorkload implements Workload{
+
+    private Path directory;                // Adds the temporary folder of the journal
+    private OrderJournal journal;          // Adds the journal
+    private VendingMachine vendingMachine; // Adds the vending machine
+    private OrderRecord[] records;         // Adds the orders that are recorded
+
+    /**
+     * Builds the vending machine and opens the journal in a temporary folder.
+     */
+
+    @Override
+    public void setUp( int catalogSize ) throws IOException{
+
+        directory = Files.createTempDirectory( "journal-benchmark" );
+        journal = new OrderJournal( directory );
+        vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        vendingMachine.recover( journal );
+        records = BenchmarkCatalog.records( vendingMachine, BenchmarkCatalog.orders( vendingMachine, 64, 5 ) );
+
+    }
+
+    /**
+     * Records one order and waits until it is on the disk.
+     */
+
+    @Override
+    public long run( int step ){
+
+        vendingMachine.recordOrder( records[ step % records.length ] );
+
+        return journal.getPosition();
+
+    }
+
+    /**
+     * Closes the journal and deletes its folder.
+     */
+
+    @Override
+    public void tearDown() throws IOException{
+
+        journal.close();
+
+        try( Stream<Path> files = Files.walk( directory ) ){
+
+            files.sorted( Comparator.reverseOrder() ).forEach( file -> file.toFile().delete() );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,21 @@
+/**
+ * This workload is SingleOrder with a journal, so every order waits for the disk.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class JournaledSingleOrderWorkload extends SingleOrderWorkload{
+
+    /**
+     * Constructs the workload with a journal.
+     */
+
+    public JournaledSingleOrderWorkload(){
+
+        super( true );
+
+    }
+
+}
@@ -0,0 +1,93 @@
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload is the money path with prices in centavos: the cost of an order of five ingredients is added up in
+ * longs, the change is worked out and the cost is collected by VendingMachine.collectMoney, without a journal. It is
+ * compared against DoubleMoneyWorkload.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class LongMoneyWorkload implements Workload{
+
+    private VendingMachine vendingMachine; // Adds the vending machine that collects the money
+    private long[][] prices;               // Adds the prices of the ingredients of every order, in centavos
+    private int[][] quantities;            // Adds the quantities of every order
+    private long cashTendered;             // Adds the cash the customer puts in, in centavos
+
+    /**
+     * Builds the orders.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        List< Map< String, Integer > > orders = BenchmarkCatalog.orders( vendingMachine, 64, 5 );
+
+        prices = new long[ orders.size() ][];
+        quantities = new int[ orders.size() ][];
+        cashTendered = Money.pesos( 1000 );
+
+        for( int i = 0; i < orders.size(); i++ ){
+
+            prices[ i ] = new long[ orders.get( i ).size() ];
+            quantities[ i ] = new int[ orders.get( i ).size() ];
+            int j = 0;
+
+            for( Map.Entry< String, Integer > entry : orders.get( i ).entrySet() ){
+
+                prices[ i ][ j ] = vendingMachine.getIngredientPrice( entry.getKey() );
+                quantities[ i ][ j ] = entry.getValue();
+                j++;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Pays for one order.
+     */
+
+    @Override
+    public long run( int step ){
+
+        int order = step % prices.length;
+        long totalCost = 0;
+
+        for( int j = 0; j < prices[ order ].length; j++ ){
+
+            totalCost = Math.addExact( totalCost, Money.times( prices[ order ][ j ], quantities[ order ][ j ] ) );
+
+        }
+
+        if( cashTendered < totalCost ){
+
+            return 0;
+
+        }
+
+        long change = cashTendered - totalCost;
+        vendingMachine.collectMoney( totalCost );
+
+        return totalCost + change;
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
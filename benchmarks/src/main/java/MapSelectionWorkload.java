@@ -0,0 +1,80 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload puts together an order of five ingredients the old way, in a HashMap of ingredient names and boxed
+ * quantities, and then goes over it to add up the calories, looking every ingredient up by name. Compare it with
+ * IdSelection, which does the same with IngredientQuantities. Run it with the GC profiler to see the bytes created
+ * per order.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class MapSelectionWorkload implements Workload{
+
+    private VendingMachine vendingMachine; // Adds the vending machine
+    private String[][] orders;             // Adds the names of the ingredients of every order
+
+    /**
+     * Builds the vending machine and the orders.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+
+        List< Map< String, Integer > > chosen = BenchmarkCatalog.orders( vendingMachine, 64, 5 );
+        orders = new String[ chosen.size() ][];
+
+        for( int i = 0; i < orders.length; i++ ){
+
+            orders[ i ] = chosen.get( i ).keySet().toArray( new String[ 0 ] );
+
+        }
+
+    }
+
+    /**
+     * Puts together one order and adds up its calories.
+     */
+
+    @Override
+    public long run( int step ){
+
+        String[] names = orders[ step % orders.length ];
+        Map< String, Integer > selection = new HashMap<>();
+
+        for( String name : names ){
+
+            selection.put( name, 1 );
+
+        }
+
+        long calories = 0;
+
+        for( Map.Entry< String, Integer > entry : selection.entrySet() ){
+
+            calories += vendingMachine.getIngredient( entry.getKey() ).getCalorieCount() * entry.getValue();
+
+        }
+
+        return calories;
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
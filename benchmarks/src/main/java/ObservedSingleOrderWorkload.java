@@ -0,0 +1,56 @@
+import java.io.IOException;
+
+/**
+ * This workload is SingleOrder with a slow listener on the vending machine, which takes 5 ms for every change it is
+ * told about. The changes are told on the thread of the event bus, so the orders should be as fast as in SingleOrder.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class ObservedSingleOrderWorkload extends SingleOrderWorkload{
+
+    public static final long LISTENER_MILLIS = 5; // How long the listener takes for every change
+
+    /**
+     * Builds the vending machine and adds the slow listener.
+     */
+
+    @Override
+    public void setUp( int size ) throws IOException{
+
+        super.setUp( size );
+
+        vendingMachine.addListener( change ->{
+
+            try{
+
+                Thread.sleep( LISTENER_MILLIS );
+
+            }catch( InterruptedException e ){
+
+                Thread.currentThread().interrupt();
+
+            }
+
+        } );
+
+    }
+
+    /**
+     * Stops the event bus and prints how many calls the listener got.
+     */
+
+    @Override
+    public void tearDown() throws IOException{
+
+        MachineEventBus events = vendingMachine.getEvents();
+        System.out.println( "Listener calls: " + events.getDispatchCount() );
+        events.close();
+
+        super.tearDown();
+
+    }
+
+}
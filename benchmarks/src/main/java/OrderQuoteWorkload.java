@@ -0,0 +1,56 @@
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload prices an order of five ingredients with OrderService.quote, which works out the lines, the total
+ * calories and the total cost that the customize window shows.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderQuoteWorkload implements Workload{
+
+    private OrderService orderService;              // Adds the order service
+    private List< Map< String, Integer > > orders;  // Adds the orders that are priced
+
+    /**
+     * Builds the vending machine and the orders.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        VendingMachine vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+
+        orderService = new OrderService( vendingMachine );
+        orders = BenchmarkCatalog.orders( vendingMachine, 64, 5 );
+
+    }
+
+    /**
+     * Prices one order.
+     */
+
+    @Override
+    public long run( int step ){
+
+        OrderResult quote = orderService.quote( orders.get( step % orders.size() ) );
+
+        return quote.getTotalCost() + quote.getTotalCalories();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
@@ -0,0 +1,73 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload prices a preset of five ingredients with OrderService.quote, which only checks the stock, since the
+ * lines, the calories and the price of a preset are worked out when it is added. Compare it with OrderQuote, which
+ * prices the same kind of order from its ingredient map.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class PresetQuoteWorkload implements Workload{
+
+    private OrderService orderService;              // Adds the order service
+    private List<Ramen> presets;                    // Adds the presets that are priced
+
+    /**
+     * Builds the vending machine and adds the orders to its menu as presets.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        VendingMachine vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+
+        orderService = new OrderService( vendingMachine );
+        presets = new ArrayList<>();
+
+        for( Map< String, Integer > order : BenchmarkCatalog.orders( vendingMachine, 64, 5 ) ){
+
+            Ramen preset = new Ramen( "Preset " + presets.size(), vendingMachine.getCatalog() );
+
+            for( Map.Entry< String, Integer > entry : order.entrySet() ){
+
+                preset.add( entry.getKey(), entry.getValue() );
+
+            }
+
+            vendingMachine.addStockedRamen( preset );
+            presets.add( preset );
+
+        }
+
+    }
+
+    /**
+     * Prices one preset.
+     */
+
+    @Override
+    public long run( int step ){
+
+        OrderResult quote = orderService.quote( presets.get( step % presets.size() ) );
+
+        return quote.getTotalCost() + quote.getTotalCalories();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
@@ -0,0 +1,50 @@
+import benchmarks.Workload;
+
+/**
+ * This workload records orders in the order history with VendingMachine.recordOrder, without a journal.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class RecordOrderWorkload implements Workload{
+
+    private VendingMachine vendingMachine; // Adds the vending machine
+    private OrderRecord[] records;         // Adds the orders that are recorded
+
+    /**
+     * Builds the vending machine and the orders.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        records = BenchmarkCatalog.records( vendingMachine, BenchmarkCatalog.orders( vendingMachine, 64, 5 ) );
+
+    }
+
+    /**
+     * Records one order.
+     */
+
+    @Override
+    public long run( int step ){
+
+        vendingMachine.recordOrder( records[ step % records.length ] );
+
+        return vendingMachine.getOrderHistory().size();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
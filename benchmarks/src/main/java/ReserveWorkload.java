@@ -0,0 +1,84 @@
+import java.util.List;
+import java.util.Map;
+
+import benchmarks.Workload;
+
+/**
+ * This workload reserves the ingredients of an order with InventoryEngine.reserve and rolls the reservation back, so
+ * threads that order at the same time compete for the same stock without running it out.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class ReserveWorkload implements Workload{
+
+    private InventoryEngine inventory; // Adds the inventory
+    private Ingredient[][] ingredients; // Adds the ingredients of every order
+    private int[][] quantities;         // Adds the quantities of every order
+
+    /**
+     * Builds the vending machine and the orders.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        VendingMachine vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        List< Map< String, Integer > > orders = BenchmarkCatalog.orders( vendingMachine, 64, 5 );
+
+        inventory = vendingMachine.getInventory();
+        ingredients = new Ingredient[ orders.size() ][];
+        quantities = new int[ orders.size() ][];
+
+        for( int i = 0; i < orders.size(); i++ ){
+
+            ingredients[ i ] = new Ingredient[ orders.get( i ).size() ];
+            quantities[ i ] = new int[ orders.get( i ).size() ];
+            int j = 0;
+
+            for( Map.Entry< String, Integer > entry : orders.get( i ).entrySet() ){
+
+                ingredients[ i ][ j ] = vendingMachine.getIngredient( entry.getKey() );
+                quantities[ i ][ j ] = entry.getValue();
+                j++;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Reserves the ingredients of one order and gives them back.
+     */
+
+    @Override
+    public long run( int step ){
+
+        int order = step % ingredients.length;
+        Reservation reservation = inventory.reserve( ingredients[ order ], quantities[ order ] );
+
+        if( reservation == null ){
+
+            return 0;
+
+        }
+
+        reservation.rollback();
+
+        return reservation.size();
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
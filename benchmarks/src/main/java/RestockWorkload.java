@@ -0,0 +1,52 @@
+import benchmarks.Workload;
+
+/**
+ * This workload takes one of an ingredient and puts it back with VendingMachine.restockIngredient, which looks the
+ * ingredient up by its name like the restock window does.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class RestockWorkload implements Workload{
+
+    private VendingMachine vendingMachine; // Adds the vending machine
+    private String[] names;                // Adds the names that are restocked
+
+    /**
+     * Builds the vending machine and shuffles the names.
+     */
+
+    @Override
+    public void setUp( int catalogSize ){
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( catalogSize );
+        names = BenchmarkCatalog.shuffledNames( vendingMachine );
+
+    }
+
+    /**
+     * Takes one of an ingredient and restocks it.
+     */
+
+    @Override
+    public long run( int step ){
+
+        String name = names[ step % names.length ];
+        vendingMachine.getIngredient( name ).tryTake( 1 );
+
+        return vendingMachine.restockIngredient( name, 1 );
+
+    }
+
+    /**
+     * Does nothing, there is nothing to clean up.
+     */
+
+    @Override
+    public void tearDown(){
+
+    }
+
+}
@@ -0,0 +1,147 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import benchmarks.Workload;
+
+/**
+ * This workload places a burst of orders one at a time with OrderService.placeOrder, the way they were placed before
+ * there was a batch API. The size of the burst is the size given to setUp, so it can be compared with BatchOrder at
+ * the same size. Every ingredient is stocked far over the usual limit, so the orders never sell out.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class SingleOrderWorkload implements Workload{
+
+    public static final int CATALOG_SIZE = 100;  // The number of stocked ingredients
+    public static final int ORDERS = 1024;       // The number of different orders, the largest burst
+
+    private boolean journaled;                  // Adds whether the orders are written to a journal
+    private Path directory;                     // Adds the temporary folder of the journal
+    private OrderJournal journal;               // Adds the journal, or null
+    protected VendingMachine vendingMachine;    // Adds the vending machine
+    protected OrderService orderService;        // Adds the order service
+    protected List< List<OrderRequest> > bursts; // Adds the orders, cut into bursts of the given size
+    protected int burstSize;                    // Adds the number of orders in a burst
+
+    /**
+     * Constructs the workload without a journal.
+     */
+
+    public SingleOrderWorkload(){
+
+        this( false );
+
+    }
+
+    /**
+     * Constructs the workload.
+     *
+     * @param journaled If true, the orders are written to a journal in a temporary folder and wait for the disk.
+     */
+
+    protected SingleOrderWorkload( boolean journaled ){
+
+        this.journaled = journaled;
+
+    }
+
+    /**
+     * Builds the vending machine and the bursts of orders.
+     */
+
+    @Override
+    public void setUp( int size ) throws IOException{
+
+        vendingMachine = BenchmarkCatalog.vendingMachine( CATALOG_SIZE );
+
+        for( Ingredient ingredient : vendingMachine.getStockedIngredients() ){
+
+            ingredient.adjustQuantity( 1_000_000_000 );
+
+        }
+
+        if( journaled ){
+
+            directory = Files.createTempDirectory( "batch-benchmark" );
+            journal = new OrderJournal( directory );
+            vendingMachine.recover( journal );
+
+        }
+
+        orderService = new OrderService( vendingMachine );
+        burstSize = Math.max( 1, Math.min( size, ORDERS ) );
+        bursts = new ArrayList<>();
+
+        List<OrderRequest> requests = new ArrayList<>( ORDERS );
+
+        for( Map< String, Integer > order : BenchmarkCatalog.orders( vendingMachine, ORDERS, 5 ) ){
+
+            requests.add( new OrderRequest( order, orderService.quote( order ).getTotalCost() ) );
+
+        }
+
+        for( int i = 0; i + burstSize <= requests.size(); i += burstSize ){
+
+            bursts.add( requests.subList( i, i + burstSize ) );
+
+        }
+
+    }
+
+    /**
+     * Places one burst of orders, one order at a time.
+     */
+
+    @Override
+    public long run( int step ){
+
+        List<OrderRequest> burst = bursts.get( step % bursts.size() );
+        long accepted = 0;
+
+        for( int i = 0; i < burst.size(); i++ ){
+
+            if( orderService.placeOrder( burst.get( i ) ).isAccepted() ){
+
+                accepted++;
+
+            }
+
+        }
+
+        return accepted;
+
+    }
+
+    /**
+     * Closes the journal and deletes its folder.
+     */
+
+    @Override
+    public void tearDown() throws IOException{
+
+        if( journal == null ){
+
+            return;
+
+        }
+
+        journal.close();
+
+        try( Stream<Path> files = Files.walk( directory ) ){
+
+            files.sorted( Comparator.reverseOrder() ).forEach( file -> file.toFile().delete() );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import benchmarks.Workload;
+
+/**
+ * This workload reads a catalog of the given number of ingredients from its text form, the way the program reads
+ * catalog.txt when it has not been compiled yet.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class TextCatalogWorkload implements Workload{
+
+    private Path directory;   // Adds the temporary folder of the catalogs
+    protected Path text;      // Adds the text catalog
+    protected Path binary;    // Adds the compiled catalog
+
+    /**
+     * Writes the catalog in both forms to a temporary folder.
+     */
+
+    @Override
+    public void setUp( int size ) throws IOException{
+
+        directory = Files.createTempDirectory( "catalog-benchmark" );
+        text = directory.resolve( CatalogFile.TEXT_NAME );
+        binary = directory.resolve( CatalogFile.BINARY_NAME );
+
+        List<Ingredient> ingredients = BenchmarkCatalog.vendingMachine( size ).getStockedIngredients();
+        StringBuilder lines = new StringBuilder();
+
+        for( Ingredient ingredient : ingredients ){
+
+            lines.append( ingredient.getName() ).append(" | ").append( ingredient.getCalorieCount() ).append(" | ")
+                    .append( Money.format( ingredient.getPrice() ) ).append(" | ").append( ingredient.getImagePath() )
+                    .append(" | Preparing ").append( ingredient.getName() ).append("...\n");
+
+        }
+
+        Files.writeString( text, lines );
+        CatalogFile.writeBinary( CatalogFile.readText( text ), binary );
+
+    }
+
+    /**
+     * Reads the text catalog.
+     */
+
+    @Override
+    public long run( int step ){
+
+        try{
+
+            return CatalogFile.readText( text ).size();
+
+        }catch( IOException e ){
+
+            throw new UncheckedIOException( e );
+
+        }
+
+    }
+
+    /**
+     * Deletes the temporary folder.
+     */
+
+    @Override
+    public void tearDown() throws IOException{
+
+        try( Stream<Path> files = Files.walk( directory ) ){
+
+            files.sorted( Comparator.reverseOrder() ).forEach( file -> file.toFile().delete() );
+
+        }
+
+    }
+
+}
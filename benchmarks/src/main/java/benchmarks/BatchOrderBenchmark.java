@@ -0,0 +1,111 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class compares placing bursts of orders one at a time with placing them as one batch, for bursts of 1 to 1024
+ * orders, in memory and with a journal. Every call places one burst, and the orders row of the results is the number
+ * of orders placed per time, so the rows of the same burst size can be compared directly.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar BatchOrderBenchmark -p workload=SingleOrder,BatchOrder
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class BatchOrderBenchmark{
+
+    @Param({ "SingleOrder", "BatchOrder", "JournaledSingleOrder", "JournaledBatchOrder", "ObservedSingleOrder" })
+    public String workload;     // How the orders are placed
+
+    @Param({ "1", "4", "16", "64", "256", "1024" })
+    public int batchSize;       // The number of orders in a burst
+
+    private Workload target;    // Adds the workload of this run
+
+    /**
+     * Creates the workload and builds its vending machine.
+     *
+     * @throws Exception if the workload cannot be set up.
+     */
+
+    @Setup( Level.Trial )
+    public void setUp() throws Exception{
+
+        target = Workload.create( workload );
+        target.setUp( batchSize );
+
+    }
+
+    /**
+     * Cleans up the workload.
+     *
+     * @throws Exception if the workload cannot be cleaned up.
+     */
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception{
+
+        target.tearDown();
+
+    }
+
+    /**
+     * Places bursts on one thread.
+     *
+     * @param step The step of the thread.
+     * @param counter The count of the orders placed.
+     * @return the number of accepted orders
+     */
+
+    @Benchmark
+    @Threads( 1 )
+    public long oneThread( Step step, OrderCounter counter ){
+
+        counter.orders += batchSize;
+
+        return target.run( step.next() );
+
+    }
+
+    /**
+     * Places bursts on four threads at once.
+     *
+     * @param step The step of the thread.
+     * @param counter The count of the orders placed.
+     * @return the number of accepted orders
+     */
+
+    @Benchmark
+    @Threads( 4 )
+    public long fourThreads( Step step, OrderCounter counter ){
+
+        counter.orders += batchSize;
+
+        return target.run( step.next() );
+
+    }
+
+}
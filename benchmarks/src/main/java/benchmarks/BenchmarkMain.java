@@ -0,0 +1,48 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the benchmarks with the usual JMH command line options, and always with the GC profiler so every
+ * result also shows how many bytes each operation allocates.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class BenchmarkMain{
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args The JMH command line options, -h lists them.
+     * @throws Exception if the options are wrong or a benchmark fails.
+     */
+
+    public static void main( String[] args ) throws Exception{
+
+        CommandLineOptions commandLine = new CommandLineOptions( args );
+
+        if( commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats() ){
+
+            // Lets JMH print what was asked for.
+            org.openjdk.jmh.Main.main( args );
+            return;
+
+        }
+
+        Options options = new OptionsBuilder()
+                .parent( commandLine )
+                .addProfiler( GCProfiler.class )
+                .build();
+
+        new Runner( options ).run();
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures restocking and ordering at capacities of 10 portions per ingredient, like the small machine,
+ * and 1000 and 5000, like the bins of a high-volume site. CapacityOrder includes the refills an attendant makes when
+ * an order cannot be filled, so it shows how much of the time of a small machine goes to refilling. Every workload
+ * and capacity runs in its own JVM.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar CapacityBenchmark -p workload=CapacityOrder
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class CapacityBenchmark{
+
+    @Param({ "CapacityRestock", "CapacityOrder" })
+    public String workload;     // The operation that is measured
+
+    @Param({ "10", "1000", "5000" })
+    public int capacity;        // The most every ingredient holds
+
+    private Workload target;    // Adds the workload of this run
+
+    /**
+     * Creates the workload and builds its vending machine.
+     *
+     * @throws Exception if the workload cannot be set up.
+     */
+
+    @Setup( Level.Trial )
+    public void setUp() throws Exception{
+
+        target = Workload.create( workload );
+        target.setUp( capacity );
+
+    }
+
+    /**
+     * Cleans up the workload.
+     *
+     * @throws Exception if the workload cannot be cleaned up.
+     */
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception{
+
+        target.tearDown();
+
+    }
+
+    /**
+     * Runs the operation on one thread.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 1 )
+    public long oneThread( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+    /**
+     * Runs the operation on four threads at once, like four ordering terminals.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 4 )
+    public long fourThreads( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+}
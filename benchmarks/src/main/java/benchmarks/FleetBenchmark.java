@@ -0,0 +1,104 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures a fleet of kiosks in one program: orders placed at random kiosks, and the fleet-wide questions
+ * that go over every kiosk in parallel. It runs with 10, 1000 and 10000 kiosks, each stocked like the real machine.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar FleetBenchmark -p fleetSize=10000
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class FleetBenchmark{
+
+    @Param({ "FleetOrder", "FleetTotalCash", "FleetLowStock" })
+    public String workload;     // The operation that is measured
+
+    @Param({ "10", "1000", "10000" })
+    public int fleetSize;       // The number of kiosks
+
+    private Workload target;    // Adds the workload of this run
+
+    /**
+     * Creates the workload and builds its fleet.
+     *
+     * @throws Exception if the workload cannot be set up.
+     */
+
+    @Setup( Level.Trial )
+    public void setUp() throws Exception{
+
+        target = Workload.create( workload );
+        target.setUp( fleetSize );
+
+    }
+
+    /**
+     * Cleans up the workload.
+     *
+     * @throws Exception if the workload cannot be cleaned up.
+     */
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception{
+
+        target.tearDown();
+
+    }
+
+    /**
+     * Runs the operation on one thread.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 1 )
+    public long oneThread( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+    /**
+     * Runs the operation on four threads at once.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 4 )
+    public long fourThreads( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+}
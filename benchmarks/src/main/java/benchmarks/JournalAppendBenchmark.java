@@ -0,0 +1,102 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures how fast transactions are written to the OrderJournal, without waiting for the disk, with one
+ * record per transaction, like a restock, and five, like an order of four ingredients. The waits for the disk are
+ * measured by the JournaledOrder workload of OrderPipelineBenchmark instead.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar JournalAppendBenchmark
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class JournalAppendBenchmark{
+
+    @Param({ "1", "5" })
+    public int recordsPerTransaction;   // The records of every transaction
+
+    private Workload target;            // Adds the workload of this run
+
+    /**
+     * Creates the workload and opens its journal.
+     *
+     * @throws Exception if the workload cannot be set up.
+     */
+
+    @Setup( Level.Trial )
+    public void setUp() throws Exception{
+
+        target = Workload.create( "JournalAppend" );
+        target.setUp( recordsPerTransaction );
+
+    }
+
+    /**
+     * Cleans up the workload.
+     *
+     * @throws Exception if the workload cannot be cleaned up.
+     */
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception{
+
+        target.tearDown();
+
+    }
+
+    /**
+     * Writes transactions on one thread.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 1 )
+    public long oneThread( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+    /**
+     * Writes transactions on four threads at once, like four ordering terminals.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 4 )
+    public long fourThreads( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+}
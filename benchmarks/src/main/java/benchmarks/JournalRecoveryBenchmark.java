@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures how long it takes to recover a journal of 10 million records from the start, like a vending
+ * machine that starts without a snapshot after months of orders. Every measurement is one whole recovery, and the
+ * journal is written once, before the first one.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar JournalRecoveryBenchmark
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 2 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class JournalRecoveryBenchmark{
+
+    @Param({ "10000000" })
+    public int records;         // The records in the journal
+
+    private Workload target;    // Adds the workload of this run
+
+    /**
+     * Creates the workload and writes its journal.
+     *
+     * @throws Exception if the workload cannot be set up.
+     */
+
+    @Setup( Level.Trial )
+    public void setUp() throws Exception{
+
+        target = Workload.create( "JournalRecovery" );
+        target.setUp( records );
+
+    }
+
+    /**
+     * Cleans up the workload.
+     *
+     * @throws Exception if the workload cannot be cleaned up.
+     */
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception{
+
+        target.tearDown();
+
+    }
+
+    /**
+     * Recovers the whole journal once.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    public long recover( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This counts the orders a benchmark placed, so JMH reports orders per time next to calls per time. It is used when
+ * one call places more than one order, like a batch.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@State( Scope.Thread )
+@AuxCounters( AuxCounters.Type.OPERATIONS )
+public class OrderCounter{
+
+    public long orders; // The number of orders placed in this iteration
+
+    /**
+     * Starts every iteration at 0.
+     */
+
+    @Setup( Level.Iteration )
+    public void reset(){
+
+        orders = 0;
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the operations of the order pipeline at catalog sizes of 9 ingredients, like the real machine,
+ * 100 and 10000, on one thread and on four threads that order at the same time. Every workload and catalog size runs
+ * in its own JVM. The allocation rate is reported by the GC profiler, which BenchmarkMain always turns on.
+ *
+ *   mvn -B package
+ *   java -jar benchmarks/target/benchmarks.jar OrderPipelineBenchmark -p workload=IngredientPrice,OrderQuote
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class OrderPipelineBenchmark{
+
+    @Param({ "IngredientPrice", "IngredientsAsString", "OrderQuote", "PresetQuote", "MapSelection", "IdSelection", "RecordOrder", "Restock", "Reserve", "JournaledOrder", "DoubleMoney", "LongMoney", "TextCatalog", "BinaryCatalog" })
+    public String workload;     // The operation that is measured
+
+    @Param({ "9", "100", "10000" })
+    public int catalogSize;     // The number of stocked ingredients
+
+    private Workload target;    // Adds the workload of this run
+
+    /**
+     * Creates the workload and builds its vending machine.
+     *
+     * @throws Exception if the workload cannot be set up.
+     */
+
+    @Setup( Level.Trial )
+    public void setUp() throws Exception{
+
+        target = Workload.create( workload );
+        target.setUp( catalogSize );
+
+    }
+
+    /**
+     * Cleans up the workload.
+     *
+     * @throws Exception if the workload cannot be cleaned up.
+     */
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws Exception{
+
+        target.tearDown();
+
+    }
+
+    /**
+     * Runs the operation on one thread.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 1 )
+    public long oneThread( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+    /**
+     * Runs the operation on four threads at once, like four ordering terminals.
+     *
+     * @param step The step of the thread.
+     * @return the result of the operation
+     */
+
+    @Benchmark
+    @Threads( 4 )
+    public long fourThreads( Step step ){
+
+        return target.run( step.next() );
+
+    }
+
+}
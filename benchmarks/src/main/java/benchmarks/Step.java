@@ -0,0 +1,48 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * This class keeps the step of one benchmark thread, which the workloads use to pick their input. Every thread starts
+ * somewhere else, so they do not all pick the same ingredients or kiosks at the same time.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+@State( Scope.Thread )
+public class Step{
+
+    private int next; // Adds the next step
+
+    /**
+     * Picks the first step of the thread.
+     *
+     * @param threadParams The index of the thread.
+     */
+
+    @Setup( Level.Trial )
+    public void setUp( ThreadParams threadParams ){
+
+        next = threadParams.getThreadIndex() * 7919;
+
+    }
+
+    /**
+     * Gets the next step.
+     *
+     * @return the step, never negative
+     */
+
+    public int next(){
+
+        return next++ & Integer.MAX_VALUE;
+
+    }
+
+}
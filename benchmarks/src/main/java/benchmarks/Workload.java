@@ -0,0 +1,62 @@
+package benchmarks;
+
+/**
+ * This is one operation of the vending machine that is measured by the benchmarks. JMH does not allow benchmarks in
+ * the default package, where the vending machine classes are, so the benchmarks only know this interface and the
+ * workloads next to the vending machine classes implement it.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public interface Workload{
+
+    /**
+     * Builds the vending machine and whatever else the operation needs. It is not measured.
+     *
+     * @param size The number of stocked ingredients, the number of kiosks for the fleet workloads, the number of
+     *             orders in a burst for the batch workloads, the capacity of every ingredient for the capacity
+     *             workloads, the records of every transaction for JournalAppend, or the records in the journal for
+     *             JournalRecovery.
+     * @param setUp The method to get the workload ready.
+     * @throws Exception if the workload cannot be set up.
+     */
+
+    void setUp( int size ) throws Exception;
+
+    /**
+     * Runs the operation once. It is called from many threads at once when the benchmark has more than one thread.
+     *
+     * @param step A number that is different every call on the same thread, never negative, to pick the input.
+     * @param run The method to run the operation.
+     * @return a value that depends on the work, so it is not optimized away
+     */
+
+    long run( int step );
+
+    /**
+     * Cleans up after the benchmark, for example files that were written.
+     *
+     * @param tearDown The method to clean up.
+     * @throws Exception if the workload cannot be cleaned up.
+     */
+
+    void tearDown() throws Exception;
+
+    /**
+     * Creates the workload with the given name. The workload is the class named the name followed by Workload.
+     *
+     * @param name The name of the workload, for example IngredientPrice.
+     * @param create The method to create a workload.
+     * @return the workload
+     * @throws ReflectiveOperationException if there is no such workload.
+     */
+
+    static Workload create( String name ) throws ReflectiveOperationException{
+
+        return ( Workload ) Class.forName( name + "Workload" ).getDeclaredConstructor().newInstance();
+
+    }
+
+}
@@ -0,0 +1,198 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class tests the CashDrawer: the change it makes from its tables is checked against a brute-force search over
+ * every count of every denomination, on drawers whose counts are changed at random between the checks, and the pieces
+ * of a payment go in and out of the drawer as they should.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class CashDrawerTest{
+
+    private static final int DRAWERS = 30_000;                                          // The drawers the change is checked on
+    private static final long UNIT = Money.CENTAVOS_PER_PESO;                           // The smallest coin
+    private static final int MAX_UNITS = ( int ) ( CashDrawer.MAX_CHANGE / UNIT );      // The most change, in smallest coins
+    private static final int NONE = Integer.MAX_VALUE;                                  // The pieces of change that cannot be made
+
+    /**
+     * Checks that the change is found exactly when it can be made, that it is made from pieces that are in the drawer
+     * and add up to the amount, and that no other way of making it takes fewer pieces.
+     */
+
+    @Test
+    public void fewestPiecesMatchBruteForce(){
+
+        Random random = new Random( 7 );
+        CashDrawer drawer = new CashDrawer();
+        int[] pieces = new int[ drawer.getDenominationCount() ];
+
+        for( int d = 0; d < DRAWERS; d++ ){
+
+            // Every tenth drawer is new, the others change some counts of the one before, so the tables are filled in
+            // from scratch as well as from the denomination whose count changed.
+            boolean fresh = d % 10 == 0;
+
+            if( fresh ){
+
+                drawer = new CashDrawer();
+
+            }
+
+            for( int i = 0; i < pieces.length; i++ ){
+
+                if( fresh || random.nextInt( 3 ) == 0 ){
+
+                    drawer.deposit( i, randomCount( random, drawer, i ) - drawer.getCount( i ) );
+
+                }
+
+            }
+
+            int units = random.nextInt( MAX_UNITS + 1 );
+            int fewest = bruteForce( drawer, units );
+
+            assertEquals( fewest != NONE, drawer.findChange( units * UNIT, pieces ), "Whether " + units + " can be made from drawer " + d );
+
+            if( fewest == NONE ){
+
+                continue;
+
+            }
+
+            long total = 0;
+            int count = 0;
+
+            for( int i = 0; i < pieces.length; i++ ){
+
+                assertTrue( pieces[ i ] >= 0 && pieces[ i ] <= drawer.getCount( i ), "The change of " + units + " from drawer " + d + " takes pieces the drawer does not have" );
+
+                total += pieces[ i ] * drawer.getDenomination( i );
+                count += pieces[ i ];
+
+            }
+
+            assertEquals( units * UNIT, total, "The change from drawer " + d );
+            assertEquals( fewest, count, "The pieces of the change of " + units + " from drawer " + d );
+
+        }
+
+    }
+
+    /**
+     * Checks that taking a payment sets its change aside, that committing it puts the cash in, and that rolling it back
+     * puts the change back and leaves the drawer as it was.
+     */
+
+    @Test
+    public void paymentMovesItsPieces(){
+
+        CashDrawer drawer = new CashDrawer();
+        long before = drawer.getTotal();
+
+        CashPayment rolledBack = drawer.takePayment( Money.pesos( 1000 ), Money.pesos( 135 ) );
+
+        assertNotNull( rolledBack );
+        assertEquals( before - Money.pesos( 865 ), drawer.getTotal() );
+        assertTrue( rolledBack.rollback() );
+        assertEquals( before, drawer.getTotal() );
+
+        CashPayment committed = drawer.takePayment( Money.pesos( 1000 ), Money.pesos( 135 ) );
+
+        assertTrue( committed.commit() );
+        assertEquals( before + Money.pesos( 135 ), drawer.getTotal() );
+        assertEquals( 1, committed.getTenderedPieces( 0 ) );
+        assertEquals( 1, drawer.getCount( 0 ) );
+
+        for( int i = 1; i < drawer.getDenominationCount(); i++ ){
+
+            assertEquals( 0, committed.getTenderedPieces( i ) );
+
+        }
+
+    }
+
+    /**
+     * Picks the pieces of a denomination for a drawer: none, a few, a few dozen or more than any change could use.
+     */
+
+    private static long randomCount( Random random, CashDrawer drawer, int index ){
+
+        switch( random.nextInt( 4 ) ){
+
+            case 0:
+
+                return 0;
+
+            case 1:
+
+                return 1 + random.nextInt( 5 );
+
+            case 2:
+
+                return random.nextInt( 40 );
+
+            default:
+
+                return CashDrawer.MAX_CHANGE / drawer.getDenomination( index ) + random.nextInt( 3 );
+
+        }
+
+    }
+
+    /**
+     * Finds the fewest pieces for an amount, in smallest coins, by trying every count of every denomination the drawer
+     * has, one denomination after the other.
+     */
+
+    private static int bruteForce( CashDrawer drawer, int units ){
+
+        int[] fewest = new int[ units + 1 ];
+        int[] next = new int[ units + 1 ];
+
+        Arrays.fill( fewest, NONE );
+        fewest[ 0 ] = 0;
+
+        for( int i = 0; i < drawer.getDenominationCount(); i++ ){
+
+            int value = ( int ) ( drawer.getDenomination( i ) / UNIT );
+            long count = drawer.getCount( i );
+
+            for( int amount = 0; amount <= units; amount++ ){
+
+                int best = NONE;
+
+                for( int taken = 0; taken <= count && taken * value <= amount; taken++ ){
+
+                    if( fewest[ amount - taken * value ] != NONE ){
+
+                        best = Math.min( best, fewest[ amount - taken * value ] + taken );
+
+                    }
+
+                }
+
+                next[ amount ] = best;
+
+            }
+
+            int[] swap = fewest;
+            fewest = next;
+            next = swap;
+
+        }
+
+        return fewest[ units ];
+
+    }
+
+}
@@ -0,0 +1,395 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class tests the OrderJournal: that what is written is read back, over segment files as well, and that a
+ * transaction that was cut off, a damaged record or a segment that cannot be made never lets a half transaction in.
+ *
+ * The segments only hold four records, so the transactions run over many of them. The files are cut off and damaged
+ * by hand after the journal is closed, the way a crash would leave them.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class OrderJournalTest{
+
+    private static final long SEGMENT_SIZE = 4 * OrderJournal.RECORD_SIZE; // Four records in every segment file
+
+    @TempDir
+    Path directory; // The folder of the segment files, new for every test
+
+    /**
+     * Checks that every transaction is read back with the same records, after the journal was closed and opened again.
+     *
+     * @throws IOException if the journal cannot be read.
+     */
+
+    @Test
+    public void recoverReplaysEveryTransaction() throws IOException{
+
+        JournalBatch expected = new JournalBatch( 32 );
+        long end = write( 0, 10, expected );
+
+        JournalBatch actual = new JournalBatch( 32 );
+        OrderJournal journal = open();
+
+        assertEquals( 10, journal.recover( actual::add ) );
+        assertEquals( end, journal.getPosition() );
+        assertSameRecords( expected, actual );
+
+        journal.close();
+
+    }
+
+    /**
+     * Checks that transactions longer than a segment are spread over as many segment files as they need and read back
+     * whole, and that a journal can be read back from the end of any transaction.
+     *
+     * @throws IOException if the journal cannot be read.
+     */
+
+    @Test
+    public void transactionsRunOverSegments() throws IOException{
+
+        OrderJournal journal = open();
+        journal.recover( null );
+
+        JournalBatch first = records( 1, 3 );
+        JournalBatch longest = records( 2, 9 );
+        JournalBatch last = records( 3, 2 );
+
+        long afterFirst = journal.append( first );
+        journal.append( longest );
+        long end = journal.append( last );
+
+        journal.awaitDurable( end );
+        journal.close();
+
+        // 14 records of four to a segment need four segments.
+        assertEquals( 4, segmentCount() );
+
+        JournalBatch actual = new JournalBatch( 16 );
+        journal = open();
+
+        assertEquals( 2, journal.recover( afterFirst, actual::add ) );
+        assertEquals( end, journal.getPosition() );
+        assertSameRecords( join( longest, last ), actual );
+
+        journal.close();
+
+    }
+
+    /**
+     * Checks that a transaction whose last record never reached the disk is not replayed, and that its records are
+     * wiped so they can never run into the transaction written after them.
+     *
+     * @throws IOException if the journal cannot be read.
+     */
+
+    @Test
+    public void cutOffTransactionIsWiped() throws IOException{
+
+        // One transaction of one record, so the cut off one after it stays in the same segment.
+        JournalBatch expected = new JournalBatch( 16 );
+        long end = write( 0, 1, expected );
+
+        OrderJournal journal = open();
+        journal.recover( null );
+        long cutOffEnd = journal.append( records( 9, 3 ) );
+        journal.awaitDurable( cutOffEnd );
+        journal.close();
+
+        overwrite( cutOffEnd - OrderJournal.RECORD_SIZE, new byte[ OrderJournal.RECORD_SIZE ] );
+
+        JournalBatch actual = new JournalBatch( 16 );
+        journal = open();
+
+        assertEquals( 1, journal.recover( actual::add ) );
+        assertEquals( end, journal.getPosition() );
+        assertSameRecords( expected, actual );
+
+        journal.close();
+
+        for( long at = end; at < cutOffEnd; at += OrderJournal.RECORD_SIZE ){
+
+            assertArrayEquals( new byte[ OrderJournal.RECORD_SIZE ], readRecord( at ), "The record at " + at + " was not wiped" );
+
+        }
+
+    }
+
+    /**
+     * Checks that a record whose checksum does not match ends the journal: the transactions before it are replayed,
+     * it and everything after it are dropped, and new transactions are written in its place.
+     *
+     * @throws IOException if the journal cannot be read.
+     */
+
+    @Test
+    public void damagedRecordEndsTheJournal() throws IOException{
+
+        JournalBatch expected = new JournalBatch( 16 );
+        long damagedAt = write( 0, 2, expected );
+        write( damagedAt, 3, new JournalBatch( 16 ) );
+
+        // Flips a bit of the amount of the first record of the third transaction.
+        byte[] record = readRecord( damagedAt );
+        record[ 16 ] ^= 1;
+        overwrite( damagedAt, record );
+
+        JournalBatch actual = new JournalBatch( 16 );
+        OrderJournal journal = open();
+
+        assertEquals( 2, journal.recover( actual::add ) );
+        assertEquals( damagedAt, journal.getPosition() );
+        assertSameRecords( expected, actual );
+
+        JournalBatch replacement = records( 7, 2 );
+        journal.awaitDurable( journal.append( replacement ) );
+        journal.close();
+
+        actual.clear();
+        journal = open();
+
+        assertEquals( 3, journal.recover( actual::add ) );
+        assertSameRecords( join( expected, replacement ), actual );
+
+        journal.close();
+
+    }
+
+    /**
+     * Checks that a batch that needs a segment that cannot be made fails before any of it is written and leaves the
+     * journal where it was, so the next transaction and the recovery after it never see a part of it.
+     *
+     * @throws IOException if the journal cannot be read.
+     */
+
+    @Test
+    public void batchThatCannotGetItsSegmentIsNotWritten() throws IOException{
+
+        OrderJournal journal = open();
+        journal.recover( null );
+
+        JournalBatch first = records( 1, 3 );
+        long end = journal.append( first );
+
+        // A folder in the place of the next segment file makes mapping it fail.
+        Path blocked = Files.createDirectory( segmentPath( SEGMENT_SIZE ) );
+
+        assertThrows( UncheckedIOException.class, () -> journal.append( records( 2, 3 ) ) );
+        assertEquals( end, journal.getPosition() );
+
+        Files.delete( blocked );
+
+        JournalBatch second = records( 3, 2 );
+        journal.awaitDurable( journal.append( second ) );
+        journal.close();
+
+        JournalBatch actual = new JournalBatch( 16 );
+        OrderJournal reopened = open();
+
+        assertEquals( 2, reopened.recover( actual::add ) );
+        assertSameRecords( join( first, second ), actual );
+
+        reopened.close();
+
+    }
+
+    /**
+     * Checks that recovery from a position the journal does not hold is refused, also when there are no segments at
+     * all, instead of quietly starting an empty journal there.
+     *
+     * @throws IOException if the journal cannot be written.
+     */
+
+    @Test
+    public void positionOutsideTheJournalIsRefused() throws IOException{
+
+        OrderJournal empty = open();
+
+        assertThrows( IOException.class, () -> empty.recover( 2 * OrderJournal.RECORD_SIZE, null ) );
+        assertEquals( 0, segmentCount() );
+
+        long end = write( 0, 2, new JournalBatch( 16 ) );
+        OrderJournal journal = open();
+
+        assertThrows( IOException.class, () -> journal.recover( end + 2 * SEGMENT_SIZE, null ) );
+
+    }
+
+    /**
+     * Opens a journal of the test folder with the small segments.
+     */
+
+    private OrderJournal open(){
+
+        return new OrderJournal( directory, SEGMENT_SIZE, 1 );
+
+    }
+
+    /**
+     * Opens the journal, writes transactions of one to three records after what is there and closes it again.
+     */
+
+    private long write( long from, int transactions, JournalBatch written ) throws IOException{
+
+        OrderJournal journal = open();
+        journal.recover( from, null );
+
+        long end = from;
+
+        for( int i = 0; i < transactions; i++ ){
+
+            JournalBatch batch = records( ( int ) ( from / OrderJournal.RECORD_SIZE ) + i, i % 3 + 1 );
+            end = journal.append( batch );
+            append( written, batch );
+
+        }
+
+        journal.awaitDurable( end );
+        journal.close();
+
+        return end;
+
+    }
+
+    /**
+     * Makes a transaction of the given number of records, with fields that tell every record apart.
+     */
+
+    private static JournalBatch records( int transaction, int count ){
+
+        JournalBatch batch = new JournalBatch( count );
+
+        for( int i = 0; i < count; i++ ){
+
+            batch.add( OrderJournal.STOCK, transaction, -i - 1, transaction * 100L + i, 1_000L + transaction );
+
+        }
+
+        return batch;
+
+    }
+
+    /**
+     * Puts the records of two transactions after each other.
+     */
+
+    private static JournalBatch join( JournalBatch first, JournalBatch second ){
+
+        JournalBatch joined = new JournalBatch( first.size() + second.size() );
+        append( joined, first );
+        append( joined, second );
+
+        return joined;
+
+    }
+
+    /**
+     * Adds the records of a batch to another.
+     */
+
+    private static void append( JournalBatch to, JournalBatch from ){
+
+        for( int i = 0; i < from.size(); i++ ){
+
+            to.add( from.getType( i ), from.getId( i ), from.getQuantity( i ), from.getAmount( i ), from.getTimestamp( i ) );
+
+        }
+
+    }
+
+    /**
+     * Checks that two lists of records hold the same records in the same order.
+     */
+
+    private static void assertSameRecords( JournalBatch expected, JournalBatch actual ){
+
+        assertEquals( expected.size(), actual.size(), "The number of records" );
+
+        for( int i = 0; i < expected.size(); i++ ){
+
+            assertEquals( expected.getType( i ), actual.getType( i ), "The type of record " + i );
+            assertEquals( expected.getId( i ), actual.getId( i ), "The id of record " + i );
+            assertEquals( expected.getQuantity( i ), actual.getQuantity( i ), "The quantity of record " + i );
+            assertEquals( expected.getAmount( i ), actual.getAmount( i ), "The amount of record " + i );
+            assertEquals( expected.getTimestamp( i ), actual.getTimestamp( i ), "The timestamp of record " + i );
+
+        }
+
+    }
+
+    /**
+     * Reads the bytes of the record at a position straight from its segment file.
+     */
+
+    private byte[] readRecord( long position ) throws IOException{
+
+        ByteBuffer record = ByteBuffer.allocate( OrderJournal.RECORD_SIZE );
+
+        try( FileChannel channel = FileChannel.open( segmentPath( position ), StandardOpenOption.READ ) ){
+
+            channel.read( record, position % SEGMENT_SIZE );
+
+        }
+
+        return record.array();
+
+    }
+
+    /**
+     * Writes the bytes of a record at a position straight into its segment file.
+     */
+
+    private void overwrite( long position, byte[] record ) throws IOException{
+
+        try( FileChannel channel = FileChannel.open( segmentPath( position ), StandardOpenOption.WRITE ) ){
+
+            channel.write( ByteBuffer.wrap( record ), position % SEGMENT_SIZE );
+            channel.force( true );
+
+        }
+
+    }
+
+    /**
+     * Gets the segment file that holds a position, named the way the journal names them.
+     */
+
+    private Path segmentPath( long position ){
+
+        return directory.resolve( String.format( "journal-%020d.log", position / SEGMENT_SIZE * SEGMENT_SIZE ) );
+
+    }
+
+    /**
+     * Counts the segment files in the folder.
+     */
+
+    private long segmentCount() throws IOException{
+
+        try( Stream<Path> files = Files.list( directory ) ){
+
+            return files.filter( file -> file.getFileName().toString().startsWith( "journal-" ) ).count();
+
+        }
+
+    }
+
+}
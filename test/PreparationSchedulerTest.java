@@ -0,0 +1,207 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class tests the PreparationScheduler the way the KitchenSimulator drives it: on a clock that only moves when
+ * the test moves it, so every time is known in advance and nothing waits.
+ *
+ * The kitchen has the default stations, one noodle boiler of 3 seconds and two broth heaters of 4 seconds.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class PreparationSchedulerTest{
+
+    private static final List<String> ORDER = List.of( "Heating Miso broth...", "Blanching noodles...", "Slicing chashu...", "Serving..." );
+
+    /**
+     * Checks that the broth of the next order is heating while the noodles of the order before are still boiling.
+     */
+
+    @Test
+    public void nextBrothHeatsWhileNoodlesBoil(){
+
+        PreparationScheduler scheduler = new PreparationScheduler();
+
+        PreparationPlan first = scheduler.schedule( ORDER, 0 );
+        PreparationPlan second = scheduler.schedule( ORDER, 1_000 );
+
+        long noodlesDone = first.getEnd( indexOf( first, KitchenStation.NOODLE_BOILER ) );
+        long brothStarted = second.getStart( indexOf( second, KitchenStation.BROTH_HEATER ) );
+
+        assertEquals( 3_000, noodlesDone );
+        assertEquals( 1_000, brothStarted );
+        assertTrue( brothStarted < noodlesDone, "The broth of the second order waited for the noodles of the first" );
+
+    }
+
+    /**
+     * Checks that orders that arrive at the same time are never ready before the orders scheduled ahead of them.
+     */
+
+    @Test
+    public void readyTimesNeverGoBackForEqualArrivals(){
+
+        PreparationScheduler scheduler = new PreparationScheduler();
+        long lastReady = 0;
+
+        for( int i = 0; i < 50; i++ ){
+
+            PreparationPlan plan = scheduler.schedule( ORDER, 10_000 );
+
+            assertTrue( plan.getReadyAt() >= lastReady, "Order " + ( i + 1 ) + " is ready before the order ahead of it" );
+            assertEquals( plan.getReadyAt() - 10_000, plan.getTotalMillis() );
+            lastReady = plan.getReadyAt();
+
+        }
+
+        // The single noodle boiler is the bottleneck, so the last order waits for the 49 before it.
+        assertEquals( 10_000 + 50 * 3_000, lastReady );
+
+    }
+
+    /**
+     * Checks that the utilization of every station stays between 0 and 1 while orders keep arriving at random.
+     */
+
+    @Test
+    public void utilizationStaysBetweenZeroAndOne(){
+
+        PreparationScheduler scheduler = new PreparationScheduler();
+        Random random = new Random( 1 );
+        long now = 5_000;
+
+        for( KitchenStation station : KitchenStation.values() ){
+
+            assertEquals( 0, scheduler.getUtilization( station, now ) );
+
+        }
+
+        for( int i = 0; i < 500; i++ ){
+
+            now += random.nextInt( 4_000 );
+            scheduler.schedule( ORDER, now );
+
+            for( KitchenStation station : KitchenStation.values() ){
+
+                double utilization = scheduler.getUtilization( station, now + random.nextInt( 2_000 ) );
+
+                assertTrue( utilization >= 0 && utilization <= 1, station.getName() + " is " + utilization + " busy" );
+
+            }
+
+        }
+
+        // More orders arrive than the boiler can take, so it is never idle once the first order is in.
+        assertEquals( 1, scheduler.getUtilization( KitchenStation.NOODLE_BOILER, now ), 1e-9 );
+
+    }
+
+    /**
+     * Checks that the steps that schedule() drains count just as they did before, so the utilization does not change
+     * because an order was scheduled in between.
+     */
+
+    @Test
+    public void drainedStepsStillCount(){
+
+        Map< KitchenStation, Integer > units = new EnumMap<>( KitchenStation.class );
+        units.put( KitchenStation.BROTH_HEATER, 1 );
+
+        PreparationScheduler drained = new PreparationScheduler( units, new EnumMap<>( KitchenStation.class ) );
+        PreparationScheduler kept = new PreparationScheduler( units, new EnumMap<>( KitchenStation.class ) );
+
+        drained.schedule( ORDER, 0 );
+        kept.schedule( ORDER, 0 );
+
+        // The second order comes after the first is ready, so every step of the first is drained.
+        drained.schedule( List.of( "Serving..." ), 20_000 );
+
+        assertEquals( kept.getUtilization( KitchenStation.BROTH_HEATER, 20_000 ), drained.getUtilization( KitchenStation.BROTH_HEATER, 20_000 ) );
+        assertEquals( 0.2, drained.getUtilization( KitchenStation.BROTH_HEATER, 20_000 ), 1e-9 );
+
+    }
+
+    /**
+     * Checks that asking for the utilization changes nothing: a later time asked first does not change the answer for
+     * an earlier one, and a time before the last order was scheduled is refused rather than answered for another time.
+     */
+
+    @Test
+    public void utilizationIsOnlyRead(){
+
+        PreparationScheduler asked = new PreparationScheduler();
+        PreparationScheduler fresh = new PreparationScheduler();
+
+        asked.schedule( ORDER, 0 );
+        fresh.schedule( ORDER, 0 );
+
+        asked.getUtilization( KitchenStation.BROTH_HEATER, 60_000 );
+
+        assertEquals( fresh.getUtilization( KitchenStation.BROTH_HEATER, 2_000 ), asked.getUtilization( KitchenStation.BROTH_HEATER, 2_000 ) );
+        assertEquals( 1, asked.getUtilization( KitchenStation.NOODLE_BOILER, 2_000 ), 1e-9 );
+
+        asked.schedule( ORDER, 10_000 );
+
+        assertThrows( IllegalArgumentException.class, () -> asked.getUtilization( KitchenStation.BROTH_HEATER, 9_999 ) );
+
+    }
+
+    /**
+     * Checks that an order that would be ready too late books nothing, so the orders after it are ready just as soon
+     * as if it never came, and that the time an order would be ready can be asked without booking it.
+     */
+
+    @Test
+    public void lateOrderBooksNothing(){
+
+        PreparationScheduler scheduler = new PreparationScheduler();
+
+        for( int i = 0; i < 3; i++ ){
+
+            scheduler.schedule( ORDER, 0 );
+
+        }
+
+        long readyAt = scheduler.getReadyAt( ORDER, 0 );
+
+        assertEquals( 4 * 3_000, readyAt );
+        assertEquals( readyAt, scheduler.getReadyAt( ORDER, 0 ) );
+        assertNull( scheduler.schedule( ORDER, 0, readyAt - 1 ) );
+        assertEquals( 3 * 3_000, scheduler.getBacklogMillis( KitchenStation.NOODLE_BOILER, 0 ) );
+        assertEquals( readyAt, scheduler.schedule( ORDER, 0, readyAt ).getReadyAt() );
+
+    }
+
+    /**
+     * Finds the step of a plan that is done at the given station.
+     */
+
+    private static int indexOf( PreparationPlan plan, KitchenStation station ){
+
+        for( int i = 0; i < plan.getStepCount(); i++ ){
+
+            if( plan.getStation( i ) == station ){
+
+                return i;
+
+            }
+
+        }
+
+        throw new AssertionError( "The plan has no step at the " + station.getName() );
+
+    }
+
+}
@@ -0,0 +1,265 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class tests the SnapshotManager together with the OrderJournal: a machine that is restarted from a snapshot
+ * and the tail of the journal after it has the same stock, money, cash drawer and recent orders as before, the
+ * journal is only compacted up to the oldest snapshot that is kept, and a damaged snapshot falls back to the one
+ * before it.
+ *
+ * The machines are stocked with three ingredients of their own and keep their journal in small segments, so the
+ * snapshots really delete segment files.
+ *
+ * @author      Fredrikzen Abenoajar <fredrikzen_abenojar@dlsu.edu.ph>
+ * @version     1.0
+ * @since       1.0
+ */
+
+public class SnapshotManagerTest{
+
+    private static final long SEGMENT_SIZE = 8 * OrderJournal.RECORD_SIZE; // Eight records in every segment file
+    private static final int HISTORY_CAPACITY = 100;                       // The orders every machine keeps in memory
+
+    @TempDir
+    Path directory; // The folder of the journal and the snapshots, new for every test
+
+    private List<VendingMachine> started = new ArrayList<>(); // The machines whose journals are closed after the test
+
+    /**
+     * Closes the journals of the machines the test started.
+     *
+     * @throws IOException never.
+     */
+
+    @AfterEach
+    public void closeJournals() throws IOException{
+
+        for( VendingMachine vendingMachine : started ){
+
+            vendingMachine.getJournal().close();
+
+        }
+
+    }
+
+    /**
+     * Checks that a snapshot, the compaction after it and a tail of orders written after that bring a restarted
+     * machine back to the same stock, money, cash drawer and recent orders.
+     *
+     * @throws IOException if the journal or the snapshots cannot be read or written.
+     */
+
+    @Test
+    public void restartFromSnapshotAndTail() throws IOException{
+
+        SnapshotManager snapshots = new SnapshotManager( directory.resolve( "snapshots" ) );
+        VendingMachine before = start( snapshots );
+
+        for( int i = 0; i < 6; i++ ){
+
+            order( before, 1_000 + i, i % 3 + 1 );
+
+        }
+
+        before.restockIngredient( "Noodles", 4 );
+        before.resetCashDrawer();
+        order( before, 1_500, 1 );
+
+        long position = snapshots.snapshot();
+
+        assertEquals( before.getJournal().getDurablePosition(), position );
+        assertSegmentsFrom( position );
+
+        // The tail, written after the snapshot.
+        order( before, 2_000, 2 );
+        order( before, 2_001, 3 );
+        before.collectMoney( 5_000 );
+        before.resetCashDrawer();
+        order( before, 2_002, 2 );
+
+        VendingMachine after = start( new SnapshotManager( directory.resolve( "snapshots" ) ) );
+
+        assertSameState( before, after );
+
+    }
+
+    /**
+     * Checks that the journal is kept back to the oldest of the snapshots that are kept, so a damaged newest snapshot
+     * falls back to the one before it and the journal after that one still brings the machine all the way back.
+     *
+     * @throws IOException if the journal or the snapshots cannot be read or written.
+     */
+
+    @Test
+    public void damagedSnapshotFallsBackToTheOneBefore() throws IOException{
+
+        SnapshotManager snapshots = new SnapshotManager( directory.resolve( "snapshots" ) );
+        VendingMachine before = start( snapshots );
+
+        order( before, 1_000, 2 );
+        order( before, 1_001, 1 );
+        long older = snapshots.snapshot();
+
+        for( int i = 0; i < 5; i++ ){
+
+            order( before, 1_100 + i, 3 );
+
+        }
+
+        long newer = snapshots.snapshot();
+
+        assertTrue( newer > older );
+        assertSegmentsFrom( older );
+
+        order( before, 2_000, 1 );
+
+        // Flips a byte in the middle of the newest snapshot, so its checksum no longer matches.
+        Path newest = snapshotPath( newer );
+        byte[] bytes = Files.readAllBytes( newest );
+        bytes[ bytes.length / 2 ] ^= 1;
+        Files.write( newest, bytes );
+
+        SnapshotManager restarted = new SnapshotManager( directory.resolve( "snapshots" ) );
+        VendingMachine after = start( restarted );
+
+        assertEquals( older, restarted.getLastSnapshotPosition() );
+        assertSameState( before, after );
+
+    }
+
+    /**
+     * Makes a machine with three ingredients and recovers it from the folder of the test.
+     */
+
+    private VendingMachine start( SnapshotManager snapshots ) throws IOException{
+
+        VendingMachine vendingMachine = new VendingMachine( new OrderHistory( HISTORY_CAPACITY, null ) );
+
+        RamenApp.stockVendingMachine( vendingMachine, List.of(
+                new Ingredient( "Noodles", 300, 2_000, "ramen.jpg", "Blanching noodles...", 40, 5 ),
+                new Ingredient( "Miso Broth", 100, 1_500, "misoBroth.jpg", "Heating Miso broth...", 40, 5 ),
+                new Ingredient( "Egg", 80, 2_500, "egg.jpg", "Cooking the egg...", 40, 5 ) ) );
+
+        snapshots.recover( vendingMachine, new OrderJournal( directory.resolve( "journal" ), SEGMENT_SIZE, 1 ) );
+        started.add( vendingMachine );
+
+        return vendingMachine;
+
+    }
+
+    /**
+     * Places an order of noodles, broth and the given number of eggs, paid with a five hundred peso bill.
+     */
+
+    private static void order( VendingMachine vendingMachine, long timestamp, int eggs ){
+
+        Ingredient[] ingredients = { vendingMachine.getIngredient( "Noodles" ), vendingMachine.getIngredient( "Miso Broth" ), vendingMachine.getIngredient( "Egg" ) };
+        int[] quantities = { 1, 1, eggs };
+        int[] ids = new int[ ingredients.length ];
+        long cost = 0;
+        int calories = 0;
+
+        for( int i = 0; i < ingredients.length; i++ ){
+
+            ids[ i ] = ingredients[ i ].getId();
+            cost += ingredients[ i ].getPrice() * quantities[ i ];
+            calories += ingredients[ i ].getCalorieCount() * quantities[ i ];
+
+        }
+
+        Reservation reservation = vendingMachine.getInventory().reserve( ingredients, quantities );
+        CashPayment payment = vendingMachine.getCashDrawer().takePayment( Money.pesos( 500 ), cost );
+        vendingMachine.completeOrder( reservation, new OrderRecord( timestamp, ids, quantities, calories, cost ), payment );
+
+    }
+
+    /**
+     * Checks that two machines have the same stock, money, cash drawer and recent orders.
+     */
+
+    private static void assertSameState( VendingMachine expected, VendingMachine actual ){
+
+        for( Ingredient ingredient : expected.getStockedIngredients() ){
+
+            assertEquals( ingredient.getQuantity(), actual.getIngredient( ingredient.getName() ).getQuantity(), "The stock of " + ingredient.getName() );
+
+        }
+
+        assertEquals( expected.getTotalMoneyCollected(), actual.getTotalMoneyCollected(), "The money collected" );
+
+        for( int i = 0; i < expected.getCashDrawer().getDenominationCount(); i++ ){
+
+            assertEquals( expected.getCashDrawer().getCount( i ), actual.getCashDrawer().getCount( i ), "The pieces of " + Money.format( expected.getCashDrawer().getDenomination( i ) ) );
+
+        }
+
+        List<OrderRecord> expectedOrders = expected.getOrderHistory().getRecent( 0, HISTORY_CAPACITY );
+        List<OrderRecord> actualOrders = actual.getOrderHistory().getRecent( 0, HISTORY_CAPACITY );
+
+        assertEquals( expectedOrders.size(), actualOrders.size(), "The number of recent orders" );
+
+        for( int i = 0; i < expectedOrders.size(); i++ ){
+
+            OrderRecord order = expectedOrders.get( i );
+            OrderRecord restored = actualOrders.get( i );
+
+            assertEquals( order.getTimestamp(), restored.getTimestamp(), "The time of order " + i );
+            assertEquals( order.getTotalCost(), restored.getTotalCost(), "The cost of order " + i );
+            assertEquals( order.getTotalCalories(), restored.getTotalCalories(), "The calories of order " + i );
+            assertEquals( order.getIngredientCount(), restored.getIngredientCount(), "The ingredients of order " + i );
+
+            for( int j = 0; j < order.getIngredientCount(); j++ ){
+
+                assertEquals( order.getIngredientId( j ), restored.getIngredientId( j ), "An ingredient of order " + i );
+                assertEquals( order.getQuantity( j ), restored.getQuantity( j ), "A quantity of order " + i );
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Checks that the segments before the given position were deleted and that the journal still holds the position.
+     */
+
+    private void assertSegmentsFrom( long position ) throws IOException{
+
+        long first;
+
+        try( Stream<Path> files = Files.list( directory.resolve( "journal" ) ) ){
+
+            first = files.map( file -> file.getFileName().toString() )
+                    .filter( name -> name.startsWith( "journal-" ) )
+                    .mapToLong( name -> Long.parseLong( name.substring( "journal-".length(), name.length() - ".log".length() ) ) )
+                    .min().getAsLong();
+
+        }
+
+        assertTrue( first <= position, "The segment of position " + position + " was deleted" );
+        assertTrue( first + SEGMENT_SIZE > position, "The segments before position " + position + " were kept" );
+
+    }
+
+    /**
+     * Gets the snapshot file taken at the given journal position, named the way the snapshot manager names them.
+     */
+
+    private Path snapshotPath( long position ){
+
+        return directory.resolve( "snapshots" ).resolve( String.format( "snapshot-%020d.bin", position ) );
+
+    }
+
+}